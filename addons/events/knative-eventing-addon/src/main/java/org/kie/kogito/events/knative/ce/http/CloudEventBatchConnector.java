@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.events.knative.ce.http;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import io.vertx.core.Vertx;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.spi.Connector;
+import org.eclipse.microprofile.reactive.messaging.spi.OutgoingConnectorFactory;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.eclipse.microprofile.reactive.streams.operators.SubscriberBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Outgoing connector sending the CloudEvents of a channel in batches, through a {@link CloudEventBatchSink}.
+ * To be used in place of the HTTP connector, e.g.:
+ *
+ * <pre>
+ * mp.messaging.outgoing.kogito_outgoing_stream.connector=knative-batch
+ * mp.messaging.outgoing.kogito_outgoing_stream.url=${K_SINK}
+ * mp.messaging.outgoing.kogito_outgoing_stream.batch.max-events=100
+ * mp.messaging.outgoing.kogito_outgoing_stream.batch.linger-ms=10
+ * </pre>
+ *
+ * See {@link CloudEventBatchSinkConfig} for the other attributes.
+ * Every message is acknowledged once the batch containing it has been accepted by the sink, and negatively
+ * acknowledged when it cannot be delivered, including when the sink refuses it right away (e.g. once closed).
+ */
+@ApplicationScoped
+@Connector(CloudEventBatchConnector.CONNECTOR_NAME)
+public class CloudEventBatchConnector implements OutgoingConnectorFactory {
+
+    public static final String CONNECTOR_NAME = "knative-batch";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CloudEventBatchConnector.class);
+
+    @Inject
+    Vertx vertx;
+
+    private final List<CloudEventBatchSink> sinks = new CopyOnWriteArrayList<>();
+
+    @Override
+    public SubscriberBuilder<? extends Message<?>, Void> getSubscriberBuilder(Config config) {
+        CloudEventBatchSink sink = new CloudEventBatchSink(vertx, CloudEventBatchSinkConfig.from(name -> config.getOptionalValue(name, String.class).orElse(null)));
+        sinks.add(sink);
+        return ReactiveStreams.<Message<?>> builder()
+                .forEach(message -> deliver(sink, message));
+    }
+
+    static void deliver(CloudEventBatchSink sink, Message<?> message) {
+        CompletionStage<Void> delivered;
+        try {
+            delivered = sink.send(String.valueOf(message.getPayload()));
+        } catch (RuntimeException e) {
+            // the stream must keep going for the next messages, only this one is failed
+            LOGGER.warn("Unable to queue CloudEvent for the sink", e);
+            message.nack(e);
+            return;
+        }
+        delivered.whenComplete((r, e) -> {
+            if (e == null) {
+                message.ack();
+            } else {
+                message.nack(e);
+            }
+        });
+    }
+
+    @PreDestroy
+    void close() {
+        sinks.forEach(CloudEventBatchSink::close);
+    }
+}
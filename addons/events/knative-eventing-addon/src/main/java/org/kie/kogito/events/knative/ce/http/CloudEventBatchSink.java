@@ -0,0 +1,297 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.events.knative.ce.http;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.RequestOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends structured CloudEvents (JSON) to an HTTP sink (e.g. a Knative broker) in batched content mode:
+ * the events are gathered in a single <code>application/cloudevents-batch+json</code> request,
+ * sent when the batch reaches its maximum number of events or bytes, or when its linger time is over.
+ * <p>
+ * Connections are kept alive and reused, either pipelining the HTTP/1.1 requests or multiplexing them on HTTP/2.
+ * A failed request (I/O error, 429 or 5xx response) is retried with the same events, so that the sink can
+ * discard the duplicates by event id; an event whose id is already waiting to be delivered is not sent twice.
+ */
+public class CloudEventBatchSink implements AutoCloseable {
+
+    public static final String BATCH_CONTENT_TYPE = "application/cloudevents-batch+json";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CloudEventBatchSink.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Vertx vertx;
+    private final CloudEventBatchSinkConfig config;
+    private final HttpClient client;
+    private final RequestOptions requestOptions;
+
+    private final Map<String, CompletableFuture<Void>> pendingById = new HashMap<>();
+    private List<PendingEvent> batch = new ArrayList<>();
+    private int batchBytes;
+    private long lingerTimer = -1;
+    private int inFlight;
+    private boolean closed;
+
+    public CloudEventBatchSink(Vertx vertx, CloudEventBatchSinkConfig config) {
+        this.vertx = vertx;
+        this.config = config;
+        URI uri = URI.create(config.getUrl());
+        boolean ssl = "https".equalsIgnoreCase(uri.getScheme());
+        this.requestOptions = new RequestOptions()
+                .setHost(uri.getHost())
+                .setPort(uri.getPort() > 0 ? uri.getPort() : (ssl ? 443 : 80))
+                .setSsl(ssl)
+                .setURI(uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath() + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery()));
+        HttpClientOptions options = new HttpClientOptions()
+                .setKeepAlive(true)
+                .setMaxPoolSize(config.getMaxConnections());
+        if (config.isHttp2()) {
+            options.setProtocolVersion(HttpVersion.HTTP_2)
+                    .setHttp2ClearTextUpgrade(false)
+                    .setHttp2MaxPoolSize(config.getMaxConnections())
+                    .setUseAlpn(ssl);
+        } else {
+            options.setPipelining(true)
+                    .setPipeliningLimit(config.getPipeliningLimit());
+        }
+        this.client = vertx.createHttpClient(options);
+    }
+
+    /**
+     * Queues the given structured CloudEvent for the next batch.
+     *
+     * @param cloudEvent the CloudEvent in JSON format
+     * @return a stage completed once the sink has accepted the batch containing the event,
+     * or exceptionally when the event could not be delivered after all the retries
+     */
+    public CompletionStage<Void> send(String cloudEvent) {
+        byte[] data = cloudEvent.getBytes(StandardCharsets.UTF_8);
+        String id = eventId(data);
+        List<PendingEvent> ready = null;
+        CompletableFuture<Void> delivered;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("The CloudEvent sink " + config.getUrl() + " is closed");
+            }
+            if (id != null && pendingById.containsKey(id)) {
+                return pendingById.get(id);
+            }
+            delivered = new CompletableFuture<>();
+            if (id != null) {
+                pendingById.put(id, delivered);
+            }
+            batch.add(new PendingEvent(id, data, delivered));
+            batchBytes += data.length;
+            if (batch.size() >= config.getMaxBatchEvents() || batchBytes >= config.getMaxBatchBytes()) {
+                ready = takeBatch();
+            } else if (lingerTimer < 0) {
+                lingerTimer = vertx.setTimer(config.getLingerMillis(), t -> lingerExpired());
+            }
+        }
+        if (ready != null) {
+            post(ready, 0);
+        }
+        return delivered;
+    }
+
+    /**
+     * Sends the events still waiting for their batch to be complete, and closes the connections
+     * once all the requests in flight are over.
+     */
+    @Override
+    public void close() {
+        List<PendingEvent> ready;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            ready = takeBatch();
+        }
+        if (ready.isEmpty()) {
+            closeClientIfIdle();
+        } else {
+            post(ready, 0);
+        }
+    }
+
+    private void lingerExpired() {
+        List<PendingEvent> ready;
+        synchronized (this) {
+            lingerTimer = -1;
+            ready = takeBatch();
+        }
+        if (!ready.isEmpty()) {
+            post(ready, 0);
+        }
+    }
+
+    // to be called holding the lock
+    private List<PendingEvent> takeBatch() {
+        if (lingerTimer >= 0) {
+            vertx.cancelTimer(lingerTimer);
+            lingerTimer = -1;
+        }
+        List<PendingEvent> ready = batch;
+        if (!ready.isEmpty()) {
+            inFlight++;
+            batch = new ArrayList<>();
+            batchBytes = 0;
+        }
+        return ready;
+    }
+
+    private void post(List<PendingEvent> events, int attempt) {
+        int size = events.size() + 1;
+        for (PendingEvent event : events) {
+            size += event.data.length;
+        }
+        Buffer body = Buffer.buffer(size).appendByte((byte) '[');
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) {
+                body.appendByte((byte) ',');
+            }
+            body.appendBytes(events.get(i).data);
+        }
+        body.appendByte((byte) ']');
+
+        // the request and the response can both report a failure, only the first outcome counts
+        AtomicBoolean settled = new AtomicBoolean();
+        Consumer<Throwable> failure = e -> {
+            if (settled.compareAndSet(false, true)) {
+                retryOrFail(events, attempt, e);
+            }
+        };
+        HttpClientRequest request = client.request(HttpMethod.POST, requestOptions);
+        request.putHeader(HttpHeaders.CONTENT_TYPE, BATCH_CONTENT_TYPE)
+                .setTimeout(config.getRequestTimeoutMillis())
+                .handler(response -> response.exceptionHandler(failure::accept)
+                        .bodyHandler(content -> {
+                            int status = response.statusCode();
+                            if (status >= 200 && status < 300) {
+                                if (settled.compareAndSet(false, true)) {
+                                    complete(events, null);
+                                }
+                            } else if (status == 429 || status >= 500) {
+                                failure.accept(new IllegalStateException("CloudEvent sink " + config.getUrl() + " answered " + status + " " + response.statusMessage()));
+                            } else if (settled.compareAndSet(false, true)) {
+                                complete(events, new IllegalStateException("CloudEvent sink " + config.getUrl() + " rejected the batch with " + status + " " + response.statusMessage()));
+                            }
+                        }))
+                .exceptionHandler(failure::accept)
+                .end(body);
+    }
+
+    private void retryOrFail(List<PendingEvent> events, int attempt, Throwable error) {
+        if (attempt >= config.getMaxRetries()) {
+            complete(events, error);
+            return;
+        }
+        long delay = config.getRetryBackoffMillis() << Math.min(attempt, 16);
+        LOGGER.debug("Retrying in {} ms the batch of {} CloudEvents sent to {}: {}", delay, events.size(), config.getUrl(), error.getMessage());
+        vertx.setTimer(delay, t -> post(events, attempt + 1));
+    }
+
+    private void complete(List<PendingEvent> events, Throwable error) {
+        if (error != null) {
+            LOGGER.warn("Unable to send a batch of {} CloudEvents to {}", events.size(), config.getUrl(), error);
+        }
+        synchronized (this) {
+            for (PendingEvent event : events) {
+                if (event.id != null) {
+                    pendingById.remove(event.id);
+                }
+            }
+            inFlight--;
+        }
+        for (PendingEvent event : events) {
+            if (error == null) {
+                event.delivered.complete(null);
+            } else {
+                event.delivered.completeExceptionally(error);
+            }
+        }
+        closeClientIfIdle();
+    }
+
+    private void closeClientIfIdle() {
+        synchronized (this) {
+            if (!closed || inFlight > 0) {
+                return;
+            }
+        }
+        client.close();
+    }
+
+    /**
+     * Reads the top level <code>id</code> attribute of the event, without parsing the rest of the document.
+     */
+    static String eventId(byte[] cloudEvent) {
+        try (JsonParser parser = JSON_FACTORY.createParser(cloudEvent)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("id".equals(name) && value == JsonToken.VALUE_STRING) {
+                    return parser.getText();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The CloudEvent is not a valid JSON document", e);
+        }
+    }
+
+    private static class PendingEvent {
+
+        private final String id;
+        private final byte[] data;
+        private final CompletableFuture<Void> delivered;
+
+        private PendingEvent(String id, byte[] data, CompletableFuture<Void> delivered) {
+            this.id = id;
+            this.data = data;
+            this.delivered = delivered;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.events.knative.ce.http;
+
+import java.util.function.Function;
+
+/**
+ * Settings of a {@link CloudEventBatchSink}.
+ */
+public class CloudEventBatchSinkConfig {
+
+    static final String URL = "url";
+    static final String MAX_BATCH_EVENTS = "batch.max-events";
+    static final String MAX_BATCH_BYTES = "batch.max-bytes";
+    static final String LINGER_MILLIS = "batch.linger-ms";
+    static final String MAX_RETRIES = "max-retries";
+    static final String RETRY_BACKOFF_MILLIS = "retry-backoff-ms";
+    static final String HTTP2 = "http2";
+    static final String PIPELINING_LIMIT = "pipelining-limit";
+    static final String MAX_CONNECTIONS = "max-connections";
+    static final String REQUEST_TIMEOUT_MILLIS = "request-timeout-ms";
+
+    private String url;
+    private int maxBatchEvents = 100;
+    private int maxBatchBytes = 256 * 1024;
+    private long lingerMillis = 10;
+    private int maxRetries = 3;
+    private long retryBackoffMillis = 100;
+    private boolean http2;
+    private int pipeliningLimit = 10;
+    private int maxConnections = 5;
+    private long requestTimeoutMillis = 30_000;
+
+    public CloudEventBatchSinkConfig(String url) {
+        if (url == null || url.isEmpty()) {
+            throw new IllegalArgumentException("The url of the CloudEvent sink is required");
+        }
+        this.url = url;
+    }
+
+    /**
+     * Reads the settings from the given lookup (e.g. the connector attributes of a channel),
+     * keeping the defaults for the missing ones.
+     */
+    static CloudEventBatchSinkConfig from(Function<String, String> properties) {
+        CloudEventBatchSinkConfig config = new CloudEventBatchSinkConfig(properties.apply(URL));
+        String value;
+        if ((value = properties.apply(MAX_BATCH_EVENTS)) != null) {
+            config.withMaxBatchEvents(Integer.parseInt(value));
+        }
+        if ((value = properties.apply(MAX_BATCH_BYTES)) != null) {
+            config.withMaxBatchBytes(Integer.parseInt(value));
+        }
+        if ((value = properties.apply(LINGER_MILLIS)) != null) {
+            config.withLingerMillis(Long.parseLong(value));
+        }
+        if ((value = properties.apply(MAX_RETRIES)) != null) {
+            config.withMaxRetries(Integer.parseInt(value));
+        }
+        if ((value = properties.apply(RETRY_BACKOFF_MILLIS)) != null) {
+            config.withRetryBackoffMillis(Long.parseLong(value));
+        }
+        if ((value = properties.apply(HTTP2)) != null) {
+            config.withHttp2(Boolean.parseBoolean(value));
+        }
+        if ((value = properties.apply(PIPELINING_LIMIT)) != null) {
+            config.withPipeliningLimit(Integer.parseInt(value));
+        }
+        if ((value = properties.apply(MAX_CONNECTIONS)) != null) {
+            config.withMaxConnections(Integer.parseInt(value));
+        }
+        if ((value = properties.apply(REQUEST_TIMEOUT_MILLIS)) != null) {
+            config.withRequestTimeoutMillis(Long.parseLong(value));
+        }
+        return config;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getMaxBatchEvents() {
+        return maxBatchEvents;
+    }
+
+    /**
+     * Maximum number of events sent in a single request.
+     */
+    public CloudEventBatchSinkConfig withMaxBatchEvents(int maxBatchEvents) {
+        this.maxBatchEvents = positive(MAX_BATCH_EVENTS, maxBatchEvents);
+        return this;
+    }
+
+    public int getMaxBatchBytes() {
+        return maxBatchBytes;
+    }
+
+    /**
+     * Size, in bytes, that triggers the sending of the current batch.
+     */
+    public CloudEventBatchSinkConfig withMaxBatchBytes(int maxBatchBytes) {
+        this.maxBatchBytes = positive(MAX_BATCH_BYTES, maxBatchBytes);
+        return this;
+    }
+
+    public long getLingerMillis() {
+        return lingerMillis;
+    }
+
+    /**
+     * How long the first event of a batch waits for other events before the batch is sent anyway.
+     */
+    public CloudEventBatchSinkConfig withLingerMillis(long lingerMillis) {
+        this.lingerMillis = positive(LINGER_MILLIS, lingerMillis);
+        return this;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public CloudEventBatchSinkConfig withMaxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException(MAX_RETRIES + " cannot be negative");
+        }
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    public long getRetryBackoffMillis() {
+        return retryBackoffMillis;
+    }
+
+    /**
+     * Delay before the first retry, doubled at every following attempt.
+     */
+    public CloudEventBatchSinkConfig withRetryBackoffMillis(long retryBackoffMillis) {
+        this.retryBackoffMillis = positive(RETRY_BACKOFF_MILLIS, retryBackoffMillis);
+        return this;
+    }
+
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    /**
+     * Uses HTTP/2 (with prior knowledge on clear text) instead of pipelined HTTP/1.1 requests.
+     */
+    public CloudEventBatchSinkConfig withHttp2(boolean http2) {
+        this.http2 = http2;
+        return this;
+    }
+
+    public int getPipeliningLimit() {
+        return pipeliningLimit;
+    }
+
+    public CloudEventBatchSinkConfig withPipeliningLimit(int pipeliningLimit) {
+        this.pipeliningLimit = positive(PIPELINING_LIMIT, pipeliningLimit);
+        return this;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public CloudEventBatchSinkConfig withMaxConnections(int maxConnections) {
+        this.maxConnections = positive(MAX_CONNECTIONS, maxConnections);
+        return this;
+    }
+
+    public long getRequestTimeoutMillis() {
+        return requestTimeoutMillis;
+    }
+
+    /**
+     * Time after which a request without response is considered failed (and retried).
+     */
+    public CloudEventBatchSinkConfig withRequestTimeoutMillis(long requestTimeoutMillis) {
+        this.requestTimeoutMillis = positive(REQUEST_TIMEOUT_MILLIS, requestTimeoutMillis);
+        return this;
+    }
+
+    private static int positive(String name, int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
+    private static long positive(String name, long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "CloudEventBatchSinkConfig{" +
+                "url='" + url + '\'' +
+                ", maxBatchEvents=" + maxBatchEvents +
+                ", maxBatchBytes=" + maxBatchBytes +
+                ", lingerMillis=" + lingerMillis +
+                ", maxRetries=" + maxRetries +
+                ", http2=" + http2 +
+                '}';
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.events.knative.ce.http;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpVersion;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CloudEventBatchSinkTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private Vertx vertx;
+    private HttpServer server;
+    private final Queue<Received> received = new ConcurrentLinkedQueue<>();
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        vertx = Vertx.vertx();
+        CompletableFuture<HttpServer> started = new CompletableFuture<>();
+        vertx.createHttpServer()
+                .requestHandler(request -> request.bodyHandler(body -> {
+                    received.add(new Received(request, body.toString()));
+                    Integer status = statuses.poll();
+                    request.response().setStatusCode(status == null ? 202 : status).end();
+                }))
+                .listen(0, ar -> {
+                    if (ar.succeeded()) {
+                        started.complete(ar.result());
+                    } else {
+                        started.completeExceptionally(ar.cause());
+                    }
+                });
+        server = started.get(10, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    void stopServer() {
+        vertx.close();
+    }
+
+    @Test
+    void eventsAreSentInBatchesBoundedBySize() throws Exception {
+        CloudEventBatchSink sink = sink(config().withMaxBatchEvents(10).withLingerMillis(60_000));
+        List<CompletionStage<Void>> sent = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            sent.add(sink.send(event("e" + i)));
+        }
+        sink.close();
+        awaitAll(sent);
+
+        assertThat(received).hasSize(3);
+        assertThat(received).allSatisfy(r -> assertThat(r.contentType).isEqualTo(CloudEventBatchSink.BATCH_CONTENT_TYPE));
+        assertThat(received).extracting(r -> r.events().size()).containsExactlyInAnyOrder(10, 10, 5);
+        assertThat(received).flatExtracting(Received::ids).hasSize(25).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void batchIsSentWhenItsSizeInBytesIsReached() throws Exception {
+        CloudEventBatchSink sink = sink(config().withMaxBatchBytes(event("e0").length() * 2).withLingerMillis(60_000));
+        awaitAll(sink.send(event("e0")), sink.send(event("e1")));
+
+        assertThat(received).hasSize(1);
+        assertThat(received.peek().ids()).containsExactly("e0", "e1");
+    }
+
+    @Test
+    void batchIsSentWhenLingerIsOver() throws Exception {
+        CloudEventBatchSink sink = sink(config().withLingerMillis(20));
+        awaitAll(sink.send(event("e0")), sink.send(event("e1")), sink.send(event("e2")));
+
+        assertThat(received).hasSize(1);
+        assertThat(received.peek().ids()).containsExactly("e0", "e1", "e2");
+    }
+
+    @Test
+    void pendingEventIsNotSentTwice() throws Exception {
+        CloudEventBatchSink sink = sink(config().withLingerMillis(20));
+        CompletionStage<Void> first = sink.send(event("e0"));
+        CompletionStage<Void> second = sink.send(event("e0"));
+        awaitAll(first, second);
+
+        assertThat(second).isSameAs(first);
+        assertThat(received).hasSize(1);
+        assertThat(received.peek().ids()).containsExactly("e0");
+    }
+
+    @Test
+    void failedBatchIsRetriedWithTheSameEvents() throws Exception {
+        statuses.add(503);
+        statuses.add(429);
+        CloudEventBatchSink sink = sink(config().withLingerMillis(5).withRetryBackoffMillis(5));
+        awaitAll(sink.send(event("e0")), sink.send(event("e1")));
+
+        assertThat(received).hasSize(3);
+        assertThat(received).extracting(r -> r.body).containsOnly(received.peek().body);
+        assertThat(received.peek().ids()).containsExactly("e0", "e1");
+    }
+
+    @Test
+    void eventsFailOnceTheRetriesAreOver() {
+        statuses.add(500);
+        statuses.add(500);
+        CloudEventBatchSink sink = sink(config().withLingerMillis(5).withRetryBackoffMillis(5).withMaxRetries(1));
+
+        assertThatThrownBy(() -> awaitAll(sink.send(event("e0")))).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(received).hasSize(2);
+    }
+
+    @Test
+    void rejectedBatchIsNotRetried() {
+        statuses.add(400);
+        CloudEventBatchSink sink = sink(config().withLingerMillis(5).withRetryBackoffMillis(5));
+
+        assertThatThrownBy(() -> awaitAll(sink.send(event("e0")))).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(received).hasSize(1);
+    }
+
+    @Test
+    void http2ConnectionsAreUsedWhenEnabled() throws Exception {
+        CloudEventBatchSink sink = sink(config().withLingerMillis(5).withHttp2(true));
+        awaitAll(sink.send(event("e0")));
+
+        assertThat(received).hasSize(1);
+        assertThat(received.peek().version).isEqualTo(HttpVersion.HTTP_2);
+    }
+
+    @Test
+    void sendAfterCloseIsRejected() {
+        CloudEventBatchSink sink = sink(config());
+        sink.close();
+
+        assertThatThrownBy(() -> sink.send(event("e0"))).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void connectorNacksMessageRefusedBySink() throws Exception {
+        CloudEventBatchSink sink = sink(config().withLingerMillis(5));
+        Message<String> accepted = message(event("e0"));
+        CloudEventBatchConnector.deliver(sink, accepted);
+        verify(accepted, timeout(10_000)).ack();
+
+        sink.close();
+        Message<String> refused = message(event("e1"));
+        CloudEventBatchConnector.deliver(sink, refused);
+        verify(refused).nack(any(IllegalStateException.class));
+        verify(refused, never()).ack();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Message<String> message(String payload) {
+        Message<String> message = mock(Message.class);
+        when(message.getPayload()).thenReturn(payload);
+        when(message.ack()).thenReturn(CompletableFuture.completedFuture(null));
+        when(message.nack(any())).thenReturn(CompletableFuture.completedFuture(null));
+        return message;
+    }
+
+    @Test
+    void eventIdIsReadFromTheTopLevelAttribute() {
+        assertThat(CloudEventBatchSink.eventId("{\"data\":{\"id\":\"nested\"},\"id\":\"top\"}".getBytes())).isEqualTo("top");
+        assertThat(CloudEventBatchSink.eventId("{\"source\":\"/test\"}".getBytes())).isNull();
+    }
+
+    @Test
+    void batchingReducesTheNumberOfRequests() throws Exception {
+        int events = 2000;
+        publish(sink(config().withMaxBatchEvents(1)), events, "single");
+        int singleRequests = received.size();
+        received.clear();
+        publish(sink(config().withMaxBatchEvents(100).withLingerMillis(5)), events, "batched");
+
+        assertThat(singleRequests).isEqualTo(events);
+        assertThat(received.size()).isLessThan(events / 10 + 2);
+        assertThat(received).flatExtracting(Received::ids).hasSize(events).doesNotHaveDuplicates();
+    }
+
+    private void publish(CloudEventBatchSink sink, int events, String prefix) throws Exception {
+        List<CompletionStage<Void>> sent = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            sent.add(sink.send(event(prefix + i)));
+        }
+        awaitAll(sent);
+        sink.close();
+    }
+
+    private CloudEventBatchSink sink(CloudEventBatchSinkConfig config) {
+        return new CloudEventBatchSink(vertx, config);
+    }
+
+    private CloudEventBatchSinkConfig config() {
+        return new CloudEventBatchSinkConfig("http://localhost:" + server.actualPort() + "/broker");
+    }
+
+    private static String event(String id) {
+        return "{\"specversion\":\"1.0\",\"id\":\"" + id + "\",\"source\":\"/process/test\",\"type\":\"process.test\"," +
+                "\"kogitoprocinstanceid\":\"" + id + "-instance\",\"data\":{\"value\":" + id.length() + ",\"name\":\"test\"}}";
+    }
+
+    @SafeVarargs
+    private static void awaitAll(CompletionStage<Void>... stages) throws Exception {
+        awaitAll(Arrays.asList(stages));
+    }
+
+    private static void awaitAll(List<CompletionStage<Void>> stages) throws InterruptedException, ExecutionException, TimeoutException {
+        CompletableFuture.allOf(stages.stream().map(CompletionStage::toCompletableFuture).toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+    }
+
+    private static class Received {
+
+        private final String contentType;
+        private final HttpVersion version;
+        private final String body;
+
+        private Received(HttpServerRequest request, String body) {
+            this.contentType = request.getHeader("Content-Type");
+            this.version = request.version();
+            this.body = body;
+        }
+
+        List<JsonNode> events() {
+            try {
+                List<JsonNode> events = new ArrayList<>();
+                MAPPER.readTree(body).forEach(events::add);
+                return events;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        List<String> ids() {
+            List<String> ids = new ArrayList<>();
+            events().forEach(e -> ids.add(e.get("id").asText()));
+            return ids;
+        }
+    }
+}
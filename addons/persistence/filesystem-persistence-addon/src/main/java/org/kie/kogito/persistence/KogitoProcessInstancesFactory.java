@@ -16,22 +16,84 @@
 package org.kie.kogito.persistence;
 
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+import org.kie.kogito.persistence.filesystem.FileSystemProcessInstanceArchive;
 import org.kie.kogito.persistence.filesystem.FileSystemProcessInstances;
 import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstanceArchive;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * This class must always have exact FQCN as <code>org.kie.kogito.persistence.KogitoProcessInstancesFactory</code>
  *
  */
 public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory {
-   
-	
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KogitoProcessInstancesFactory.class);
+
+    private ScheduledExecutorService compactionScheduler;
+
     public FileSystemProcessInstances createProcessInstances(Process<?> process) {
         return new FileSystemProcessInstances(process, Paths.get(path()));
     }
-    
+
+    @Override
+    public Optional<ProcessInstanceArchive<?>> createProcessInstanceArchive(Process<?> process) {
+        if (archivePath() == null) {
+            return Optional.empty();
+        }
+        FileSystemProcessInstanceArchive<?> archive = new FileSystemProcessInstanceArchive<>(process, Paths.get(archivePath()), archiveRetention());
+        Duration interval = archiveCompactionInterval();
+        if (archiveRetention() != null && interval != null) {
+            compactionScheduler().scheduleWithFixedDelay(() -> compact(process, archive), interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return Optional.of(archive);
+    }
+
     public abstract String path();
-    
+
+    /**
+     * Location of the archive of the completed and aborted process instances, <code>null</code> when they are not archived.
+     */
+    public String archivePath() {
+        return null;
+    }
+
+    /**
+     * How long archived process instances are kept, <code>null</code> to keep them forever.
+     */
+    public Duration archiveRetention() {
+        return null;
+    }
+
+    public Duration archiveCompactionInterval() {
+        return Duration.ofHours(1);
+    }
+
+    private synchronized ScheduledExecutorService compactionScheduler() {
+        if (compactionScheduler == null) {
+            compactionScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "kogito-archive-compaction");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return compactionScheduler;
+    }
+
+    private static void compact(Process<?> process, ProcessInstanceArchive<?> archive) {
+        try {
+            int discarded = archive.compact();
+            LOGGER.debug("Discarded {} archived instances of process {}", discarded, process.id());
+        } catch (RuntimeException e) {
+            LOGGER.error("Unable to compact the process instance archive of process {}", process.id(), e);
+        }
+    }
 }
@@ -0,0 +1,398 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.persistence.filesystem;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceArchive;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * File system based archive of completed and aborted process instances.
+ * <p>
+ * Archived instances are appended, compressed, to segment files stored in a directory per process
+ * (<code>segment-000000001</code>, <code>segment-000000002</code>, ...). The last segment is the active one and a new
+ * segment is started once it grows over the configured size. An in memory index of the location of every archived
+ * instance is rebuilt from the segments when the archive is opened.
+ * <p>
+ * Instances older than the retention are no longer returned and {@link #compact()} reclaims their space,
+ * deleting the sealed segments that only hold discarded instances and rewriting the others.
+ */
+public class FileSystemProcessInstanceArchive<T> implements ProcessInstanceArchive<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemProcessInstanceArchive.class);
+
+    public static final long DEFAULT_MAX_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_FORMAT = SEGMENT_PREFIX + "%09d";
+
+    private final Process<?> process;
+    private final Path storage;
+    private final Duration retention;
+    private final long maxSegmentSize;
+    private final ProcessInstanceMarshaller marshaller;
+    private final Clock clock;
+
+    private final Map<String, Location> index = new HashMap<>();
+    private final TreeMap<Integer, Long> segmentSizes = new TreeMap<>();
+
+    public FileSystemProcessInstanceArchive(Process<?> process, Path storage) {
+        this(process, storage, null);
+    }
+
+    public FileSystemProcessInstanceArchive(Process<?> process, Path storage, Duration retention) {
+        this(process, storage, retention, DEFAULT_MAX_SEGMENT_SIZE, new ProcessInstanceMarshaller(), Clock.systemUTC());
+    }
+
+    /**
+     * @param retention how long archived instances are kept, <code>null</code> to keep them forever
+     * @param maxSegmentSize size in bytes after which a new segment is started
+     */
+    public FileSystemProcessInstanceArchive(Process<?> process, Path storage, Duration retention, long maxSegmentSize, ProcessInstanceMarshaller marshaller, Clock clock) {
+        this.process = process;
+        this.storage = Paths.get(storage.toString(), process.id());
+        this.retention = retention;
+        this.maxSegmentSize = maxSegmentSize;
+        this.marshaller = marshaller;
+        this.clock = clock;
+
+        try {
+            Files.createDirectories(this.storage);
+            open();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to open the process instance archive of process " + process.id(), e);
+        }
+    }
+
+    @Override
+    public synchronized void archive(ProcessInstance<T> instance) {
+        if (((AbstractProcessInstance<?>) instance).internalGetProcessInstance() == null) {
+            LOGGER.warn("Process instance {} is not connected and cannot be archived", instance.id());
+            return;
+        }
+        Record record = new Record(instance.id(), clock.millis(), instance.status(), deflate(marshaller.marshallProcessInstance(instance)));
+        byte[] data = record.toBytes();
+
+        Map.Entry<Integer, Long> active = segmentSizes.lastEntry();
+        int segment = active.getKey();
+        long offset = active.getValue();
+        if (offset > 0 && offset + data.length > maxSegmentSize) {
+            segment++;
+            offset = 0;
+        }
+        try (OutputStream out = Files.newOutputStream(segmentPath(segment), StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to archive process instance with id " + instance.id(), e);
+        }
+        segmentSizes.put(segment, offset + data.length);
+        index.put(record.id, new Location(segment, offset, record.archivedAt));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public synchronized Optional<ProcessInstance<T>> findById(String id) {
+        Location location = index.get(id);
+        if (location == null || isExpired(location.archivedAt)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(segmentPath(location.segment), StandardOpenOption.READ)) {
+            channel.position(location.offset);
+            Record record = Record.read(new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel))));
+            return Optional.of(marshaller.unmarshallReadOnlyProcessInstance(inflate(record.data), process));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read archived process instance with id " + id, e);
+        }
+    }
+
+    public synchronized int size() {
+        return (int) index.values().stream().filter(location -> !isExpired(location.archivedAt)).count();
+    }
+
+    @Override
+    public synchronized int compact() {
+        index.values().removeIf(location -> isExpired(location.archivedAt));
+
+        int discarded = 0;
+        int active = segmentSizes.lastKey();
+        for (Integer segment : new ArrayList<>(segmentSizes.headMap(active).keySet())) {
+            try {
+                discarded += compact(segment);
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to compact segment " + segment + " of the process instance archive of process " + process.id(), e);
+            }
+        }
+        return discarded;
+    }
+
+    private int compact(int segment) throws IOException {
+        Path path = segmentPath(segment);
+        List<Record> live = new ArrayList<>();
+        int discarded = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            long offset = 0;
+            for (Record record = Record.read(in); record != null; record = Record.read(in)) {
+                if (isAt(record.id, segment, offset)) {
+                    live.add(record);
+                } else {
+                    discarded++;
+                }
+                offset += record.size();
+            }
+        }
+        if (discarded == 0) {
+            return 0;
+        }
+        if (live.isEmpty()) {
+            Files.delete(path);
+            segmentSizes.remove(segment);
+            return discarded;
+        }
+
+        Path compacted = storage.resolve(path.getFileName() + ".compact");
+        long offset = 0;
+        try (OutputStream out = Files.newOutputStream(compacted)) {
+            for (Record record : live) {
+                out.write(record.toBytes());
+                index.put(record.id, new Location(segment, offset, record.archivedAt));
+                offset += record.size();
+            }
+        }
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        segmentSizes.put(segment, offset);
+        return discarded;
+    }
+
+    private void open() throws IOException {
+        try (Stream<Path> files = Files.list(storage)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && !name.endsWith(".compact"))
+                    .map(name -> Integer.valueOf(name.substring(SEGMENT_PREFIX.length())))
+                    .sorted()
+                    .forEach(segment -> segmentSizes.put(segment, 0L));
+        }
+        for (Integer segment : segmentSizes.keySet()) {
+            segmentSizes.put(segment, load(segment));
+        }
+        if (segmentSizes.isEmpty()) {
+            segmentSizes.put(1, 0L);
+        }
+    }
+
+    private long load(int segment) throws IOException {
+        Path path = segmentPath(segment);
+        long offset = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            for (Record record = Record.read(in); record != null; record = Record.read(in)) {
+                index.put(record.id, new Location(segment, offset, record.archivedAt));
+                offset += record.size();
+            }
+        } catch (EOFException | CorruptedRecordException e) {
+            // a record was only partially written, the archive continues after the last complete one
+            LOGGER.warn("Discarding incomplete process instance archive record at offset {} of {}", offset, path);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(offset);
+            }
+        }
+        return offset;
+    }
+
+    private boolean isAt(String id, int segment, long offset) {
+        Location location = index.get(id);
+        return location != null && location.segment == segment && location.offset == offset;
+    }
+
+    private boolean isExpired(long archivedAt) {
+        return retention != null && archivedAt + retention.toMillis() <= clock.millis();
+    }
+
+    private Path segmentPath(int segment) {
+        return storage.resolve(String.format(SEGMENT_FORMAT, segment));
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16)) {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4)) {
+            inflater.setInput(data);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && inflater.needsInput()) {
+                    throw new DataFormatException("Truncated archived process instance");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (IOException | DataFormatException e) {
+            throw new RuntimeException("Unable to decompress archived process instance", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static class Location {
+
+        private final int segment;
+        private final long offset;
+        private final long archivedAt;
+
+        Location(int segment, long offset, long archivedAt) {
+            this.segment = segment;
+            this.offset = offset;
+            this.archivedAt = archivedAt;
+        }
+    }
+
+    /**
+     * An archived process instance: id, archive time, status and compressed marshalled instance,
+     * followed by the checksum of the whole record.
+     */
+    private static class Record {
+
+        private final String id;
+        private final long archivedAt;
+        private final int status;
+        private final byte[] data;
+        private byte[] bytes;
+
+        Record(String id, long archivedAt, int status, byte[] data) {
+            this.id = id;
+            this.archivedAt = archivedAt;
+            this.status = status;
+            this.data = data;
+        }
+
+        byte[] toBytes() {
+            if (bytes == null) {
+                try (ByteArrayOutputStream baos = new ByteArrayOutputStream(data.length + 64);
+                     DataOutputStream out = new DataOutputStream(baos)) {
+                    writeHeader(out);
+                    out.write(data);
+                    CRC32 crc = new CRC32();
+                    crc.update(baos.toByteArray());
+                    out.writeLong(crc.getValue());
+                    out.flush();
+                    bytes = baos.toByteArray();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return bytes;
+        }
+
+        long size() {
+            return toBytes().length;
+        }
+
+        private void writeHeader(DataOutputStream out) throws IOException {
+            out.writeUTF(id);
+            out.writeLong(archivedAt);
+            out.writeInt(status);
+            out.writeInt(data.length);
+        }
+
+        /**
+         * Reads the record at the current position of the stream, returns <code>null</code> at the end of the segment.
+         */
+        static Record read(DataInputStream in) throws IOException {
+            in.mark(2);
+            if (in.read() == -1) {
+                return null;
+            }
+            in.reset();
+            return readRecord(in);
+        }
+
+        private static Record readRecord(DataInputStream in) throws IOException {
+            Record record = new Record(in.readUTF(), in.readLong(), in.readInt(), readData(in));
+            long crc = in.readLong();
+            byte[] bytes = record.toBytes();
+            if (ByteBuffer.wrap(bytes, bytes.length - Long.BYTES, Long.BYTES).getLong() != crc) {
+                throw new CorruptedRecordException(record.id);
+            }
+            return record;
+        }
+
+        private static byte[] readData(DataInputStream in) throws IOException {
+            int length = in.readInt();
+            if (length < 0) {
+                throw new CorruptedRecordException(null);
+            }
+            byte[] data = new byte[length];
+            in.readFully(data);
+            return data;
+        }
+    }
+
+    private static class CorruptedRecordException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        CorruptedRecordException(String id) {
+            super("Corrupted archive record for process instance " + id);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.persistence.filesystem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.kogito.auth.SecurityPolicy;
+import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
+import org.kie.kogito.persistence.filesystem.FileSystemProcessInstanceArchive;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.WorkItem;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
+import org.kie.kogito.services.identity.StaticIdentityProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_ABORTED;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_ACTIVE;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_COMPLETED;
+
+class FileSystemProcessInstanceArchiveTest {
+
+    private SecurityPolicy securityPolicy = SecurityPolicy.of(new StaticIdentityProvider("john"));
+
+    @TempDir
+    Path storage;
+
+    private BpmnProcess createProcess() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new ArchivingProcessInstancesFactory());
+        process.configure();
+        return process;
+    }
+
+    private BpmnProcess createInMemoryProcess() {
+        // instances are kept connected in memory, so that they can be archived as they are
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.configure();
+        return process;
+    }
+
+    private ProcessInstance<BpmnVariables> startInstance(BpmnProcess process, String value) {
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", value)));
+        processInstance.start();
+        return processInstance;
+    }
+
+    @Test
+    void testCompletedInstanceIsArchived() {
+        BpmnProcess process = createProcess();
+        ProcessInstance<BpmnVariables> processInstance = startInstance(process, "completed");
+
+        WorkItem workItem = processInstance.workItems(securityPolicy).get(0);
+        processInstance.completeWorkItem(workItem.getId(), null, securityPolicy);
+        assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(process.instances().size()).isZero();
+
+        ProcessInstance<BpmnVariables> archived = process.archive().get().findById(processInstance.id()).get();
+        assertThat(archived.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(archived.variables().get("test")).isEqualTo("completed");
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> archived.abort());
+    }
+
+    @Test
+    void testAbortedInstanceIsArchived() {
+        BpmnProcess process = createProcess();
+        ProcessInstance<BpmnVariables> processInstance = startInstance(process, "aborted");
+
+        processInstance.abort();
+        assertThat(process.instances().size()).isZero();
+
+        ProcessInstance<BpmnVariables> archived = process.archive().get().findById(processInstance.id()).get();
+        assertThat(archived.status()).isEqualTo(STATE_ABORTED);
+        assertThat(archived.variables().get("test")).isEqualTo("aborted");
+    }
+
+    @Test
+    void testActiveInstanceIsNotArchived() {
+        BpmnProcess process = createProcess();
+        ProcessInstance<BpmnVariables> processInstance = startInstance(process, "active");
+
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+        assertThat(process.archive().get().findById(processInstance.id())).isEmpty();
+        processInstance.abort();
+    }
+
+    @Test
+    void testIndexIsRebuiltWhenReopened() throws IOException {
+        BpmnProcess process = createInMemoryProcess();
+        MutableClock clock = new MutableClock();
+        FileSystemProcessInstanceArchive<BpmnVariables> archive = archive(process, null, 1, clock);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ProcessInstance<BpmnVariables> processInstance = startInstance(process, "value" + i);
+            archive.archive(processInstance);
+            ids.add(processInstance.id());
+        }
+        // every record exceeds the segment size, so each one gets its own segment
+        assertThat(segments()).hasSize(5);
+
+        FileSystemProcessInstanceArchive<BpmnVariables> reopened = archive(process, null, 1, clock);
+        assertThat(reopened.size()).isEqualTo(5);
+        for (int i = 0; i < ids.size(); i++) {
+            assertThat(reopened.findById(ids.get(i)).get().variables().get("test")).isEqualTo("value" + i);
+        }
+    }
+
+    @Test
+    void testIncompleteRecordIsDiscardedWhenReopened() throws IOException {
+        BpmnProcess process = createInMemoryProcess();
+        MutableClock clock = new MutableClock();
+        FileSystemProcessInstanceArchive<BpmnVariables> archive = archive(process, null, FileSystemProcessInstanceArchive.DEFAULT_MAX_SEGMENT_SIZE, clock);
+        ProcessInstance<BpmnVariables> first = startInstance(process, "first");
+        archive.archive(first);
+        ProcessInstance<BpmnVariables> second = startInstance(process, "second");
+        archive.archive(second);
+
+        Path segment = segments().get(0);
+        byte[] data = Files.readAllBytes(segment);
+        Files.write(segment, Arrays.copyOf(data, data.length - 10));
+
+        FileSystemProcessInstanceArchive<BpmnVariables> reopened = archive(process, null, FileSystemProcessInstanceArchive.DEFAULT_MAX_SEGMENT_SIZE, clock);
+        assertThat(reopened.findById(first.id())).isPresent();
+        assertThat(reopened.findById(second.id())).isEmpty();
+
+        ProcessInstance<BpmnVariables> third = startInstance(process, "third");
+        reopened.archive(third);
+        assertThat(archive(process, null, FileSystemProcessInstanceArchive.DEFAULT_MAX_SEGMENT_SIZE, clock).findById(third.id())).isPresent();
+    }
+
+    @Test
+    void testCompactionAppliesRetention() throws IOException {
+        BpmnProcess process = createInMemoryProcess();
+        MutableClock clock = new MutableClock();
+        FileSystemProcessInstanceArchive<BpmnVariables> archive = archive(process, Duration.ofDays(1), 1, clock);
+        for (int i = 0; i < 3; i++) {
+            archive.archive(startInstance(process, "expired" + i));
+        }
+        clock.advance(Duration.ofHours(12));
+        ProcessInstance<BpmnVariables> kept = startInstance(process, "kept");
+        archive.archive(kept);
+        ProcessInstance<BpmnVariables> active = startInstance(process, "active");
+        archive.archive(active);
+        assertThat(segments()).hasSize(5);
+
+        clock.advance(Duration.ofHours(13));
+        assertThat(archive.size()).isEqualTo(2);
+        assertThat(archive.compact()).isEqualTo(3);
+        assertThat(segments()).hasSize(2);
+        assertThat(archive.findById(kept.id()).get().variables().get("test")).isEqualTo("kept");
+
+        clock.advance(Duration.ofDays(1));
+        assertThat(archive.findById(kept.id())).isEmpty();
+        // the active segment is never compacted
+        assertThat(archive.compact()).isEqualTo(1);
+        assertThat(segments()).hasSize(1);
+    }
+
+    @Test
+    void testCompactionRewritesSegmentsWithSupersededInstances() throws IOException {
+        BpmnProcess process = createInMemoryProcess();
+        MutableClock clock = new MutableClock();
+        FileSystemProcessInstanceArchive<BpmnVariables> archive = archive(process, null, 20_000, clock);
+        List<ProcessInstance<BpmnVariables>> instances = new ArrayList<>();
+        while (segments().size() < 3) {
+            ProcessInstance<BpmnVariables> processInstance = startInstance(process, "value" + instances.size());
+            archive.archive(processInstance);
+            instances.add(processInstance);
+        }
+        ProcessInstance<BpmnVariables> superseded = instances.get(0);
+        archive.archive(superseded);
+        long sizeBefore = Files.size(segments().get(0));
+
+        assertThat(archive.compact()).isEqualTo(1);
+        assertThat(Files.size(segments().get(0))).isLessThan(sizeBefore);
+        assertThat(archive.size()).isEqualTo(instances.size());
+        for (int i = 0; i < instances.size(); i++) {
+            assertThat(archive.findById(instances.get(i).id()).get().variables().get("test")).isEqualTo("value" + i);
+        }
+        assertThat(archive(process, null, 20_000, clock).size()).isEqualTo(instances.size());
+    }
+
+    @Test
+    void testArchivedRecordsAreCompressed() throws IOException {
+        BpmnProcess process = createInMemoryProcess();
+        FileSystemProcessInstanceArchive<BpmnVariables> archive = archive(process, null, 1024 * 1024, new MutableClock());
+        ProcessInstanceMarshaller marshaller = new ProcessInstanceMarshaller();
+        int count = 50;
+        List<String> ids = new ArrayList<>(count);
+        long marshalledBytes = 0;
+        for (int i = 0; i < count; i++) {
+            ProcessInstance<BpmnVariables> processInstance = startInstance(process, "value" + i);
+            marshalledBytes += marshaller.marshallProcessInstance(processInstance).length;
+            archive.archive(processInstance);
+            ids.add(processInstance.id());
+        }
+
+        FileSystemProcessInstanceArchive<BpmnVariables> reopened = archive(process, null, 1024 * 1024, new MutableClock());
+        for (String id : ids) {
+            assertThat(reopened.findById(id)).isPresent();
+        }
+        long archivedBytes = 0;
+        for (Path segment : segments()) {
+            archivedBytes += Files.size(segment);
+        }
+        assertThat(archivedBytes).isLessThan(marshalledBytes);
+    }
+
+    private FileSystemProcessInstanceArchive<BpmnVariables> archive(BpmnProcess process, Duration retention, long maxSegmentSize, Clock clock) {
+        return new FileSystemProcessInstanceArchive<>(process, storage.resolve("archive"), retention, maxSegmentSize, new ProcessInstanceMarshaller(), clock);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(storage.resolve("archive").resolve("UserTask"))) {
+            List<Path> segments = new ArrayList<>();
+            files.sorted().forEach(segments::add);
+            return segments;
+        }
+    }
+
+    private class ArchivingProcessInstancesFactory extends KogitoProcessInstancesFactory {
+
+        @Override
+        public String path() {
+            return storage.resolve("instances").toString();
+        }
+
+        @Override
+        public String archivePath() {
+            return storage.resolve("completed").toString();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2020-06-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
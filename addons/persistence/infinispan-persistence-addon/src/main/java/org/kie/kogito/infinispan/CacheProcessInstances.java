@@ -40,9 +40,13 @@ public class CacheProcessInstances implements MutableProcessInstances {
     private org.kie.kogito.process.Process<?> process;
 
     public CacheProcessInstances(Process<?> process, RemoteCacheManager cacheManager, String templateName, String proto, BaseMarshaller<?>... marshallers) {
+        this(process, cacheManager, templateName, new ProtoStreamObjectMarshallingStrategy(proto, marshallers));
+    }
+
+    public CacheProcessInstances(Process<?> process, RemoteCacheManager cacheManager, String templateName, ProtoStreamObjectMarshallingStrategy marshallingStrategy) {
         this.process = process;
         this.cache = cacheManager.administration().getOrCreateCache(process.id() + "_store", ignoreNullOrEmpty(templateName));
-        this.marshaller = new ProcessInstanceMarshaller(new ProtoStreamObjectMarshallingStrategy(proto, marshallers));
+        this.marshaller = new ProcessInstanceMarshaller(marshallingStrategy);
     }
 
     @Override
@@ -4,7 +4,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.infinispan.protostream.BaseMarshaller;
@@ -23,11 +23,30 @@ import org.kie.kogito.infinispan.marshallers.LongMessageMarshaller;
 import org.kie.kogito.infinispan.marshallers.StringMessageMarshaller;
 
 
+/**
+ * Marshals process variables with ProtoStream, using the proto file and the marshallers generated at build time.
+ * <p>
+ * Building the serialization context parses the proto files, so a single strategy is meant to be shared by all
+ * the processes of an application (see {@link org.kie.kogito.persistence.KogitoProcessInstancesFactory}).
+ * The marshaller lookup done for every variable on every marshalling pass is cached per class.
+ */
 public class ProtoStreamObjectMarshallingStrategy implements ObjectMarshallingStrategy {
-    
+
+    static final String APPLICATION_PROTO = "kogito-application.proto";
+
     private SerializationContext serializationContext;
     private Map<String, Class<?>> typeToClassMapping = new ConcurrentHashMap<>();
-    
+    private final ClassValue<Optional<String>> typeNames = new ClassValue<Optional<String>>() {
+
+        @Override
+        protected Optional<String> computeValue(Class<?> type) {
+            if (!serializationContext.canMarshall(type)) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(serializationContext.getMarshaller(type)).map(BaseMarshaller::getTypeName);
+        }
+    };
+
     public ProtoStreamObjectMarshallingStrategy(String proto, BaseMarshaller<?>...marshallers) {
         serializationContext = new SerializationContextImpl(Configuration.builder().build());        
         
@@ -42,7 +61,7 @@ public class ProtoStreamObjectMarshallingStrategy implements ObjectMarshallingSt
                                 new DateMessageMarshaller());
             
             if (proto != null) {
-                serializationContext.registerProtoFiles(FileDescriptorSource.fromString(UUID.randomUUID().toString(), proto));
+                serializationContext.registerProtoFiles(FileDescriptorSource.fromString(APPLICATION_PROTO, proto));
                                 
                 registerMarshaller(marshallers);
                 
@@ -58,7 +77,7 @@ public class ProtoStreamObjectMarshallingStrategy implements ObjectMarshallingSt
         if (object == null) {
             return false;
         }
-        return serializationContext.canMarshall(object.getClass());
+        return typeNames.get(object.getClass()).isPresent();
     }
 
 
@@ -76,11 +95,7 @@ public class ProtoStreamObjectMarshallingStrategy implements ObjectMarshallingSt
 
     @Override
     public String getType(Class<?> clazz) {
-        BaseMarshaller<?> marshaller = serializationContext.getMarshaller(clazz);
-        if (marshaller == null) {
-            throw new IllegalStateException("No marshaller found for class " + clazz.getCanonicalName());
-        }
-        return marshaller.getTypeName();
+        return typeNames.get(clazz).orElseThrow(() -> new IllegalStateException("No marshaller found for class " + clazz.getCanonicalName()));
     }
     
     public void registerMarshaller(BaseMarshaller<?>... marshallers) {
@@ -88,6 +103,7 @@ public class ProtoStreamObjectMarshallingStrategy implements ObjectMarshallingSt
             serializationContext.registerMarshaller(marshaller);
             
             typeToClassMapping.putIfAbsent(marshaller.getTypeName(), marshaller.getJavaClass());
+            typeNames.remove(marshaller.getJavaClass());
         }
     }
 
@@ -21,6 +21,7 @@ import java.util.List;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.protostream.BaseMarshaller;
 import org.kie.kogito.infinispan.CacheProcessInstances;
+import org.kie.kogito.infinispan.ProtoStreamObjectMarshallingStrategy;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
 
@@ -32,13 +33,25 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
    
     protected RemoteCacheManager cacheManager; 
 
+    private ProtoStreamObjectMarshallingStrategy marshallingStrategy;
+
     public KogitoProcessInstancesFactory(RemoteCacheManager cacheManager) {
         this.cacheManager = cacheManager;
     }
     
     public CacheProcessInstances createProcessInstances(Process<?> process) {
-        List<BaseMarshaller<?>> marshallers = marshallers();
-        return new CacheProcessInstances(process, cacheManager, template(), proto(), marshallers.toArray(new BaseMarshaller<?>[0]));
+        return new CacheProcessInstances(process, cacheManager, template(), marshallingStrategy());
+    }
+
+    /**
+     * The marshalling strategy built from the generated proto and marshallers, shared by all the processes.
+     */
+    public synchronized ProtoStreamObjectMarshallingStrategy marshallingStrategy() {
+        if (marshallingStrategy == null) {
+            List<BaseMarshaller<?>> marshallers = marshallers();
+            marshallingStrategy = new ProtoStreamObjectMarshallingStrategy(proto(), marshallers.toArray(new BaseMarshaller<?>[0]));
+        }
+        return marshallingStrategy;
     }
     
     public String proto() {
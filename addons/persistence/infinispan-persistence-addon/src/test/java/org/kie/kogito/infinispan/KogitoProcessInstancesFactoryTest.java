@@ -17,6 +17,7 @@ package org.kie.kogito.infinispan;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.RemoteCacheManagerAdmin;
@@ -35,6 +36,7 @@ import org.kie.kogito.process.impl.AbstractProcess;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -57,6 +59,26 @@ class KogitoProcessInstancesFactoryTest {
         assertEquals(myMarshallers, factory.marshallers());
     }
 
+    @Test
+    void testMarshallingStrategyIsSharedAcrossProcesses() {
+        RemoteCacheManager cacheManager = mock(RemoteCacheManager.class);
+        when(cacheManager.administration()).thenReturn(mock(RemoteCacheManagerAdmin.class));
+        AtomicInteger protoCalls = new AtomicInteger();
+        KogitoProcessInstancesFactory factory = new KogitoProcessInstancesFactory(cacheManager) {
+            @Override
+            public String proto() {
+                protoCalls.incrementAndGet();
+                return null;
+            }
+        };
+        factory.createProcessInstances(new MyProcessImpl());
+        ProtoStreamObjectMarshallingStrategy strategy = factory.marshallingStrategy();
+        factory.createProcessInstances(new MyProcessImpl());
+
+        assertSame(strategy, factory.marshallingStrategy());
+        assertEquals(1, protoCalls.get());
+    }
+
     private static class MyProcessImpl extends AbstractProcess<Model> {
 
         @Override
@@ -16,15 +16,21 @@
 package org.kie.kogito.infinispan;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
 import java.util.Date;
 
+import org.infinispan.protostream.MessageMarshaller;
 import org.junit.jupiter.api.Test;
 
 public class ProtoStreamObjectMarshallingStrategyTest {
 
+    private static final String PERSON_PROTO = "syntax = \"proto2\";\npackage test;\nmessage Person {\n  optional string name = 1;\n}\n";
+
     private ProtoStreamObjectMarshallingStrategy protoStreamMarshallerStrategy = new ProtoStreamObjectMarshallingStrategy(null);    
     
     @Test
@@ -145,4 +151,73 @@ public class ProtoStreamObjectMarshallingStrategyTest {
         assertEquals(value, returned, "Values should be the same");
         
     }
+
+    @Test
+    public void testMarshallerRegisteredAfterLookup() throws Exception {
+        ProtoStreamObjectMarshallingStrategy strategy = new ProtoStreamObjectMarshallingStrategy(PERSON_PROTO);
+        Person value = new Person("john");
+
+        assertFalse(strategy.accept(value), "Person type should not be accepted before its marshaller is registered");
+        assertThrows(IllegalStateException.class, () -> strategy.getType(Person.class));
+
+        strategy.registerMarshaller(new PersonMarshaller());
+
+        assertTrue(strategy.accept(value), "Person type should be accepted");
+        assertEquals("test.Person", strategy.getType(Person.class));
+        byte[] data = strategy.marshal(null, null, value);
+        Object returned = strategy.unmarshal("test.Person", null, null, data, this.getClass().getClassLoader());
+        assertEquals("john", ((Person) returned).name);
+    }
+
+    @Test
+    public void testRegisterMarshallerInvalidatesCachedType() throws Exception {
+        ProtoStreamObjectMarshallingStrategy strategy = new ProtoStreamObjectMarshallingStrategy(PERSON_PROTO);
+        Person value = new Person("john");
+
+        // both lookups are cached, the type of Person as missing
+        for (int i = 0; i < 2; i++) {
+            assertFalse(strategy.accept(value));
+            assertEquals("kogito.String", strategy.getType(String.class));
+        }
+
+        strategy.registerMarshaller(new PersonMarshaller());
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(strategy.accept(value));
+            assertEquals("test.Person", strategy.getType(Person.class));
+            assertEquals("kogito.String", strategy.getType(String.class));
+        }
+    }
+
+    private static class Person {
+
+        private final String name;
+
+        Person(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class PersonMarshaller implements MessageMarshaller<Person> {
+
+        @Override
+        public Class<? extends Person> getJavaClass() {
+            return Person.class;
+        }
+
+        @Override
+        public String getTypeName() {
+            return "test.Person";
+        }
+
+        @Override
+        public Person readFrom(ProtoStreamReader reader) throws IOException {
+            return new Person(reader.readString("name"));
+        }
+
+        @Override
+        public void writeTo(ProtoStreamWriter writer, Person person) throws IOException {
+            writer.writeString("name", person.name);
+        }
+    }
 }
@@ -16,7 +16,9 @@
 package org.kie.kogito.mongodb;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +26,9 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.kie.kogito.Model;
 import org.kie.kogito.mongodb.marshalling.DocumentMarshallingStrategy;
 import org.kie.kogito.mongodb.marshalling.DocumentProcessInstanceMarshaller;
@@ -31,12 +36,14 @@ import org.kie.kogito.mongodb.model.ProcessInstanceDocument;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstanceFilter;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.kie.kogito.mongodb.utils.DocumentConstants.DOCUMENT_ID;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE;
 import static org.kie.kogito.mongodb.utils.DocumentUtils.getCollection;
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
@@ -73,6 +80,34 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         return list;
     }
 
+    @Override
+    public Collection<String> findIds(ProcessInstanceFilter filter) {
+        List<Bson> conditions = new ArrayList<>();
+        if (!filter.getStatuses().isEmpty()) {
+            conditions.add(Filters.in(PROCESS_INSTANCE + ".state", filter.getStatuses()));
+        }
+        if (filter.getErrorNodeId() != null) {
+            conditions.add(Filters.eq(PROCESS_INSTANCE + ".errorNodeId", filter.getErrorNodeId()));
+        }
+        if (filter.getStartedAfter() != null) {
+            conditions.add(startDate("$gte", filter.getStartedAfter()));
+        }
+        if (filter.getStartedBefore() != null) {
+            conditions.add(startDate("$lt", filter.getStartedBefore()));
+        }
+        List<String> ids = new ArrayList<>();
+        // only the ids are fetched, the process instances are loaded one by one by the caller
+        collection.find(conditions.isEmpty() ? new Document() : Filters.and(conditions))
+                .projection(Projections.include(DOCUMENT_ID))
+                .forEach(doc -> ids.add(doc.getId()));
+        return ids;
+    }
+
+    private static Bson startDate(String operator, Date date) {
+        // the start date is stored as a string, as all the int64 fields of the process instance
+        return Filters.expr(new Document(operator, Arrays.asList(new Document("$toLong", "$" + PROCESS_INSTANCE + ".startDate"), date.getTime())));
+    }
+
     @Override
     public void create(String id, ProcessInstance<T> instance) {
         updateStorage(id, instance, true);
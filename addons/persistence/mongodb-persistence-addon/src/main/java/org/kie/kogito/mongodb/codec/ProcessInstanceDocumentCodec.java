@@ -15,15 +15,14 @@
 
 package org.kie.kogito.mongodb.codec;
 
-import java.util.stream.Collectors;
+import java.util.HashMap;
+import java.util.Map;
 
-import com.mongodb.MongoClientSettings;
 import org.bson.BsonReader;
 import org.bson.BsonString;
+import org.bson.BsonType;
 import org.bson.BsonValue;
 import org.bson.BsonWriter;
-import org.bson.Document;
-import org.bson.codecs.Codec;
 import org.bson.codecs.CollectibleCodec;
 import org.bson.codecs.DecoderContext;
 import org.bson.codecs.EncoderContext;
@@ -32,25 +31,32 @@ import org.kie.kogito.mongodb.model.ProcessInstanceDocument;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.DOCUMENT_ID;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.NAME;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE;
-import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ID;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.STRATEGIES;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.VALUE;
 
 public class ProcessInstanceDocumentCodec implements CollectibleCodec<ProcessInstanceDocument> {
 
-    private final Codec<Document> documentCodec;
+    private final ProcessInstanceMessageCodec processInstanceCodec;
 
     public ProcessInstanceDocumentCodec() {
-        documentCodec = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+        processInstanceCodec = new ProcessInstanceMessageCodec();
     }
 
     @Override
     public void encode(BsonWriter writer, ProcessInstanceDocument piDoc, EncoderContext encoderContext) {
-        Document doc = new Document();
-        doc.put(DOCUMENT_ID, piDoc.getProcessInstance().get(PROCESS_INSTANCE_ID));
-        doc.put(PROCESS_INSTANCE, piDoc.getProcessInstance());
-        doc.put(STRATEGIES, piDoc.getStrategies().entrySet().stream().map(e -> new Document().append(NAME, e.getKey()).append(VALUE, e.getValue())).collect(Collectors.toList()));
-        documentCodec.encode(writer, doc, encoderContext);
+        writer.writeStartDocument();
+        writer.writeString(DOCUMENT_ID, piDoc.getProcessInstanceMessage().getId());
+        writer.writeName(PROCESS_INSTANCE);
+        processInstanceCodec.encode(writer, piDoc.getProcessInstanceMessage(), encoderContext);
+        writer.writeStartArray(STRATEGIES);
+        for (Map.Entry<String, Integer> strategy : piDoc.getStrategies().entrySet()) {
+            writer.writeStartDocument();
+            writer.writeString(NAME, strategy.getKey());
+            writer.writeInt32(VALUE, strategy.getValue());
+            writer.writeEndDocument();
+        }
+        writer.writeEndArray();
+        writer.writeEndDocument();
     }
 
     @Override
@@ -61,7 +67,7 @@ public class ProcessInstanceDocumentCodec implements CollectibleCodec<ProcessIns
     @Override
     public ProcessInstanceDocument generateIdIfAbsentFromDocument(ProcessInstanceDocument document) {
         if (!documentHasId(document)) {
-            document.setId(document.getProcessInstance().getString(PROCESS_INSTANCE_ID));
+            document.setId(document.getProcessInstanceMessage().getId());
         }
         return document;
     }
@@ -78,11 +84,45 @@ public class ProcessInstanceDocumentCodec implements CollectibleCodec<ProcessIns
 
     @Override
     public ProcessInstanceDocument decode(BsonReader reader, DecoderContext decoderContext) {
-        Document document = documentCodec.decode(reader, decoderContext);
         ProcessInstanceDocument piDoc = new ProcessInstanceDocument();
-        piDoc.setId(document.getString(DOCUMENT_ID));
-        piDoc.setProcessInstance((Document) (document.get(PROCESS_INSTANCE)));
-        piDoc.setStrategies(document.getList(STRATEGIES, Document.class).stream().collect(Collectors.toMap(d -> d.getString(NAME), d -> d.getInteger(VALUE))));
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (DOCUMENT_ID.equals(name)) {
+                piDoc.setId(reader.readString());
+            } else if (PROCESS_INSTANCE.equals(name)) {
+                piDoc.setProcessInstanceMessage(processInstanceCodec.decode(reader, decoderContext));
+            } else if (STRATEGIES.equals(name)) {
+                piDoc.setStrategies(readStrategies(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
         return piDoc;
     }
+
+    private static Map<String, Integer> readStrategies(BsonReader reader) {
+        Map<String, Integer> strategies = new HashMap<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String strategy = null;
+            Integer index = null;
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                String name = reader.readName();
+                if (NAME.equals(name)) {
+                    strategy = reader.readString();
+                } else if (VALUE.equals(name)) {
+                    index = reader.readInt32();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+            strategies.put(strategy, index);
+        }
+        reader.readEndArray();
+        return strategies;
+    }
 }
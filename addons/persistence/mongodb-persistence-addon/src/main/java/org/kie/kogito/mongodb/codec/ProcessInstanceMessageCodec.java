@@ -0,0 +1,456 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.mongodb.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+import com.google.protobuf.UnknownFieldSet;
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInvalidOperationException;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.codecs.BsonValueCodec;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonReader;
+import org.bson.json.JsonWriterSettings;
+import org.jbpm.marshalling.impl.JBPMMessages;
+import org.jbpm.marshalling.impl.JBPMMessages.ProcessInstance;
+
+import static org.kie.kogito.mongodb.utils.DocumentConstants.UNKNOWN_FIELDS;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.VALUE;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.VARIABLE;
+import static org.kie.kogito.mongodb.utils.DocumentUtils.getObjectMapper;
+
+/**
+ * Writes a {@link ProcessInstance} message straight to BSON (and reads it back) walking the protobuf descriptor,
+ * without going through the protobuf JSON format.
+ * <p>
+ * The resulting document is the same produced by the previous JSON based mapping, so that existing collections
+ * can still be read: fields are named after their JSON name, 64 bits integers are stored as strings, enums by name,
+ * bytes as base64 strings, except the values of the process variables that hold the JSON written by the
+ * {@link org.kie.kogito.mongodb.marshalling.DocumentMarshallingStrategy} and are stored as embedded BSON values.
+ * Fields not declared in the descriptor, written by a newer version of the marshaller, are kept as the base64
+ * of their protobuf encoding under {@value org.kie.kogito.mongodb.utils.DocumentConstants#UNKNOWN_FIELDS}
+ * and read back as declared fields once the descriptor knows them.
+ */
+public class ProcessInstanceMessageCodec implements Codec<ProcessInstance> {
+
+    private static final Map<Descriptor, Map<String, FieldDescriptor>> FIELDS_BY_NAME = new ConcurrentHashMap<>();
+    private static final BsonValueCodec BSON_VALUE_CODEC = new BsonValueCodec();
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
+
+    @Override
+    public void encode(BsonWriter writer, ProcessInstance processInstance, EncoderContext encoderContext) {
+        writeMessage(writer, processInstance, false);
+    }
+
+    @Override
+    public ProcessInstance decode(BsonReader reader, DecoderContext decoderContext) {
+        ProcessInstance.Builder builder = ProcessInstance.newBuilder();
+        readMessage(reader, builder, false);
+        return builder.build();
+    }
+
+    @Override
+    public Class<ProcessInstance> getEncoderClass() {
+        return ProcessInstance.class;
+    }
+
+    public Document toDocument(ProcessInstance processInstance) {
+        BsonDocument document = new BsonDocument();
+        encode(new BsonDocumentWriter(document), processInstance, ENCODER_CONTEXT);
+        return documentCodec().decode(new BsonDocumentReader(document), DECODER_CONTEXT);
+    }
+
+    public ProcessInstance fromDocument(Document document) {
+        return decode(new BsonDocumentReader(document.toBsonDocument(Document.class, MongoClientSettings.getDefaultCodecRegistry())), DECODER_CONTEXT);
+    }
+
+    private static Codec<Document> documentCodec() {
+        return MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+    }
+
+    private static void writeMessage(BsonWriter writer, Message message, boolean variable) {
+        writer.writeStartDocument();
+        for (FieldDescriptor field : message.getDescriptorForType().getFields()) {
+            if (field.isRepeated()) {
+                int count = message.getRepeatedFieldCount(field);
+                if (count > 0) {
+                    boolean variables = isVariables(field);
+                    writer.writeName(field.getJsonName());
+                    writer.writeStartArray();
+                    for (Object value : (List<?>) message.getField(field)) {
+                        writeValue(writer, field, value, variables);
+                    }
+                    writer.writeEndArray();
+                }
+            } else if (message.hasField(field)) {
+                writer.writeName(field.getJsonName());
+                writeValue(writer, field, message.getField(field), variable);
+            }
+        }
+        UnknownFieldSet unknownFields = message.getUnknownFields();
+        if (!unknownFields.asMap().isEmpty()) {
+            writer.writeName(UNKNOWN_FIELDS);
+            writer.writeString(Base64.getEncoder().encodeToString(unknownFields.toByteArray()));
+        }
+        writer.writeEndDocument();
+    }
+
+    private static void writeValue(BsonWriter writer, FieldDescriptor field, Object value, boolean variable) {
+        switch (field.getJavaType()) {
+            case INT:
+                if (isUnsigned(field)) {
+                    writeNumber(writer, Integer.toUnsignedLong((Integer) value));
+                } else {
+                    writer.writeInt32((Integer) value);
+                }
+                break;
+            case LONG:
+                writer.writeString(isUnsigned(field) ? Long.toUnsignedString((Long) value) : value.toString());
+                break;
+            case FLOAT:
+                writeDouble(writer, Double.parseDouble(value.toString()));
+                break;
+            case DOUBLE:
+                writeDouble(writer, (Double) value);
+                break;
+            case BOOLEAN:
+                writer.writeBoolean((Boolean) value);
+                break;
+            case STRING:
+                writer.writeString((String) value);
+                break;
+            case BYTE_STRING:
+                if (variable && VALUE.equals(field.getName())) {
+                    JsonReader json = new JsonReader(((ByteString) value).toStringUtf8());
+                    json.readBsonType();
+                    copyValue(json, writer);
+                } else {
+                    writer.writeString(Base64.getEncoder().encodeToString(((ByteString) value).toByteArray()));
+                }
+                break;
+            case ENUM:
+                EnumValueDescriptor enumValue = (EnumValueDescriptor) value;
+                if (enumValue.getIndex() == -1) {
+                    writer.writeInt32(enumValue.getNumber());
+                } else {
+                    writer.writeString(enumValue.getName());
+                }
+                break;
+            case MESSAGE:
+                writeMessage(writer, (Message) value, variable);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported type " + field.getType() + " for field " + field.getFullName());
+        }
+    }
+
+    private static void writeNumber(BsonWriter writer, long value) {
+        if (value == (int) value) {
+            writer.writeInt32((int) value);
+        } else {
+            writer.writeInt64(value);
+        }
+    }
+
+    private static void writeDouble(BsonWriter writer, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            writer.writeString(Double.toString(value));
+        } else {
+            writer.writeDouble(value);
+        }
+    }
+
+    private static void readMessage(BsonReader reader, Message.Builder builder, boolean variable) {
+        Map<String, FieldDescriptor> fields = fieldsByName(builder.getDescriptorForType());
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (UNKNOWN_FIELDS.equals(name)) {
+                mergeUnknownFields(builder, reader.readString());
+                continue;
+            }
+            FieldDescriptor field = fields.get(name);
+            if (field == null) {
+                throw new IllegalArgumentException("Cannot find field: " + name + " in message " + builder.getDescriptorForType().getFullName());
+            }
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+            } else if (field.isRepeated()) {
+                boolean variables = isVariables(field);
+                reader.readStartArray();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    builder.addRepeatedField(field, readValue(reader, builder, field, variables));
+                }
+                reader.readEndArray();
+            } else {
+                builder.setField(field, readValue(reader, builder, field, variable));
+            }
+        }
+        reader.readEndDocument();
+    }
+
+    // parsed rather than merged as an unknown field set, so that fields declared since they were written are read as such
+    private static void mergeUnknownFields(Message.Builder builder, String value) {
+        try {
+            builder.mergeFrom(decodeBase64(value));
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalArgumentException("Invalid unknown fields " + value, e);
+        }
+    }
+
+    private static Object readValue(BsonReader reader, Message.Builder builder, FieldDescriptor field, boolean variable) {
+        switch (field.getJavaType()) {
+            case INT:
+                long intValue = readLong(reader, isUnsigned(field));
+                return isUnsigned(field) ? (int) intValue : Math.toIntExact(intValue);
+            case LONG:
+                return readLong(reader, isUnsigned(field));
+            case FLOAT:
+                return (float) readDouble(reader);
+            case DOUBLE:
+                return readDouble(reader);
+            case BOOLEAN:
+                return reader.getCurrentBsonType() == BsonType.STRING ? Boolean.parseBoolean(reader.readString()) : reader.readBoolean();
+            case STRING:
+                return reader.readString();
+            case BYTE_STRING:
+                if (variable && VALUE.equals(field.getName())) {
+                    return ByteString.copyFrom(toJson(reader));
+                }
+                return ByteString.copyFrom(decodeBase64(reader.readString()));
+            case ENUM:
+                EnumValueDescriptor enumValue = reader.getCurrentBsonType() == BsonType.STRING ? field.getEnumType().findValueByName(reader.readString())
+                        : field.getEnumType().findValueByNumber((int) readLong(reader, false));
+                if (enumValue == null) {
+                    throw new IllegalArgumentException("Invalid enum value for field " + field.getFullName());
+                }
+                return enumValue;
+            case MESSAGE:
+                Message.Builder child = builder.newBuilderForField(field);
+                readMessage(reader, child, variable);
+                return child.build();
+            default:
+                throw new IllegalArgumentException("Unsupported type " + field.getType() + " for field " + field.getFullName());
+        }
+    }
+
+    private static long readLong(BsonReader reader, boolean unsigned) {
+        switch (reader.getCurrentBsonType()) {
+            case INT32:
+                return reader.readInt32();
+            case INT64:
+                return reader.readInt64();
+            case DOUBLE:
+                double value = reader.readDouble();
+                if (value != (long) value) {
+                    throw new IllegalArgumentException("Not an integer value: " + value);
+                }
+                return (long) value;
+            case STRING:
+                String text = reader.readString();
+                return unsigned ? Long.parseUnsignedLong(text) : Long.parseLong(text);
+            default:
+                throw new BsonInvalidOperationException("Expected a number but found " + reader.getCurrentBsonType());
+        }
+    }
+
+    private static double readDouble(BsonReader reader) {
+        switch (reader.getCurrentBsonType()) {
+            case DOUBLE:
+                return reader.readDouble();
+            case INT32:
+                return reader.readInt32();
+            case INT64:
+                return reader.readInt64();
+            case STRING:
+                return Double.parseDouble(reader.readString());
+            default:
+                throw new BsonInvalidOperationException("Expected a number but found " + reader.getCurrentBsonType());
+        }
+    }
+
+    private static byte[] decodeBase64(String value) {
+        try {
+            return Base64.getDecoder().decode(value);
+        } catch (IllegalArgumentException e) {
+            return Base64.getUrlDecoder().decode(value);
+        }
+    }
+
+    private static boolean isUnsigned(FieldDescriptor field) {
+        switch (field.getType()) {
+            case UINT32:
+            case FIXED32:
+            case UINT64:
+            case FIXED64:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isVariables(FieldDescriptor field) {
+        return VARIABLE.equals(field.getName()) && field.getJavaType() == FieldDescriptor.JavaType.MESSAGE
+                && field.getMessageType() == JBPMMessages.Variable.getDescriptor();
+    }
+
+    private static Map<String, FieldDescriptor> fieldsByName(Descriptor descriptor) {
+        return FIELDS_BY_NAME.computeIfAbsent(descriptor, d -> {
+            Map<String, FieldDescriptor> fields = new HashMap<>();
+            for (FieldDescriptor field : d.getFields()) {
+                fields.put(field.getName(), field);
+                fields.put(field.getJsonName(), field);
+            }
+            return fields;
+        });
+    }
+
+    /**
+     * Copies the current value of the reader, that is the JSON of a variable, to the writer.
+     */
+    private static void copyValue(BsonReader reader, BsonWriter writer) {
+        switch (reader.getCurrentBsonType()) {
+            case DOCUMENT:
+                reader.readStartDocument();
+                writer.writeStartDocument();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    writer.writeName(reader.readName());
+                    copyValue(reader, writer);
+                }
+                reader.readEndDocument();
+                writer.writeEndDocument();
+                break;
+            case ARRAY:
+                reader.readStartArray();
+                writer.writeStartArray();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    copyValue(reader, writer);
+                }
+                reader.readEndArray();
+                writer.writeEndArray();
+                break;
+            case STRING:
+                writer.writeString(reader.readString());
+                break;
+            case INT32:
+                writer.writeInt32(reader.readInt32());
+                break;
+            case INT64:
+                writer.writeInt64(reader.readInt64());
+                break;
+            case DOUBLE:
+                writer.writeDouble(reader.readDouble());
+                break;
+            case BOOLEAN:
+                writer.writeBoolean(reader.readBoolean());
+                break;
+            case NULL:
+                reader.readNull();
+                writer.writeNull();
+                break;
+            default:
+                BSON_VALUE_CODEC.encode(writer, BSON_VALUE_CODEC.decode(reader, DECODER_CONTEXT), ENCODER_CONTEXT);
+        }
+    }
+
+    /**
+     * Converts the current value of the reader, that is the BSON of a variable, back to the JSON expected by the
+     * {@link org.kie.kogito.mongodb.marshalling.DocumentMarshallingStrategy}.
+     */
+    private static byte[] toJson(BsonReader reader) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        try (JsonGenerator generator = getObjectMapper().getFactory().createGenerator(json)) {
+            copyValue(reader, generator);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return json.toByteArray();
+    }
+
+    private static void copyValue(BsonReader reader, JsonGenerator generator) throws IOException {
+        switch (reader.getCurrentBsonType()) {
+            case DOCUMENT:
+                reader.readStartDocument();
+                generator.writeStartObject();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    generator.writeFieldName(reader.readName());
+                    copyValue(reader, generator);
+                }
+                reader.readEndDocument();
+                generator.writeEndObject();
+                break;
+            case ARRAY:
+                reader.readStartArray();
+                generator.writeStartArray();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    copyValue(reader, generator);
+                }
+                reader.readEndArray();
+                generator.writeEndArray();
+                break;
+            case STRING:
+                generator.writeString(reader.readString());
+                break;
+            case INT32:
+                generator.writeNumber(reader.readInt32());
+                break;
+            case INT64:
+                generator.writeNumber(reader.readInt64());
+                break;
+            case BOOLEAN:
+                generator.writeBoolean(reader.readBoolean());
+                break;
+            case NULL:
+                reader.readNull();
+                generator.writeNull();
+                break;
+            default:
+                // extended JSON representation, as written by the relaxed mode of Document.toJson()
+                BsonValue value = BSON_VALUE_CODEC.decode(reader, DECODER_CONTEXT);
+                if (value.isDouble() && !Double.isNaN(value.asDouble().getValue()) && !Double.isInfinite(value.asDouble().getValue())) {
+                    generator.writeNumber(value.asDouble().getValue());
+                } else {
+                    generator.writeTree(getObjectMapper().readTree(new BsonDocument(VALUE, value).toJson(JSON_SETTINGS)).get(VALUE));
+                }
+        }
+    }
+}
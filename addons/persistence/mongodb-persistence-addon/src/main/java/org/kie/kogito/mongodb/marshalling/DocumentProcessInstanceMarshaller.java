@@ -20,6 +20,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.util.Collections;
+import java.util.Map;
 
 import org.drools.core.impl.EnvironmentImpl;
 import org.drools.core.marshalling.impl.ClassObjectMarshallingStrategyAcceptor;
@@ -27,9 +28,12 @@ import org.drools.core.marshalling.impl.KogitoMarshallerReaderContext;
 import org.drools.core.marshalling.impl.KogitoProcessMarshallerWriteContext;
 import org.drools.core.marshalling.impl.MarshallerReaderContext;
 import org.drools.core.marshalling.impl.SerializablePlaceholderResolverStrategy;
+import org.jbpm.marshalling.impl.AbstractProtobufProcessInstanceMarshaller;
 import org.jbpm.marshalling.impl.JBPMMessages;
 import org.jbpm.marshalling.impl.ProcessMarshallerRegistry;
+import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.workflow.instance.WorkflowProcessInstance;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
 import org.kie.api.marshalling.ObjectMarshallingStrategy;
 import org.kie.api.runtime.Environment;
 import org.kie.api.runtime.EnvironmentName;
@@ -83,9 +87,7 @@ public class DocumentProcessInstanceMarshaller {
     public WorkflowProcessInstance unmarshallWorkflowProcessInstance(ProcessInstanceDocument doc, Process<?> process) {
 
         try (ByteArrayInputStream bais = new ByteArrayInputStream(getDummyByteArray())) {
-            MarshallerReaderContext context = new KogitoMarshallerReaderContext(bais,
-                                                                                Collections.singletonMap(process.id(), ((AbstractProcess<?>) process).process()),
-                                                                                null, null, null, env);
+            MarshallerReaderContext context = createReaderContext(bais, process);
             JBPMMessages.ProcessInstance instance = new ProcessInstanceMessageMapper().apply(context, doc);
             context.parameterObject = instance;
             org.jbpm.marshalling.impl.ProcessInstanceMarshaller marshaller = ProcessMarshallerRegistry.INSTANCE.getMarshaller(instance.getProcessType());
@@ -100,9 +102,45 @@ public class DocumentProcessInstanceMarshaller {
         return (ProcessInstance<T>) ((AbstractProcess<?>) process).createInstance(unmarshallWorkflowProcessInstance(doc, process));
     }
 
+    /**
+     * Returns a read-only view of the process instance that decodes its header only: its variables are decoded
+     * when first accessed and its node instances when first needed, e.g. to list its work items.
+     */
     @SuppressWarnings("unchecked")
     public <T> ProcessInstance<T> unmarshallReadOnlyProcessInstance(ProcessInstanceDocument doc, Process<?> process) {
-        return (ProcessInstance<T>) ((AbstractProcess<?>) process).createReadOnlyInstance(unmarshallWorkflowProcessInstance(doc, process));
+        try (ByteArrayInputStream bais = new ByteArrayInputStream(getDummyByteArray())) {
+            MarshallerReaderContext context = createReaderContext(bais, process);
+            JBPMMessages.ProcessInstance instance = new ProcessInstanceMessageMapper().apply(context, doc);
+            org.jbpm.marshalling.impl.ProcessInstanceMarshaller marshaller = ProcessMarshallerRegistry.INSTANCE.getMarshaller(instance.getProcessType());
+            if (!(marshaller instanceof AbstractProtobufProcessInstanceMarshaller)) {
+                context.parameterObject = instance;
+                return (ProcessInstance<T>) ((AbstractProcess<?>) process).createReadOnlyInstance((WorkflowProcessInstance) marshaller.readProcessInstance(context));
+            }
+
+            WorkflowProcessInstanceImpl header = ((AbstractProtobufProcessInstanceMarshaller) marshaller).readProcessInstanceHeader(context, instance);
+            // an empty variable scope, for the model to be bound before the variables are decoded
+            header.getContextInstance(VariableScope.VARIABLE_SCOPE);
+
+            AbstractProcessInstance<?> processInstance = (AbstractProcessInstance<?>) ((AbstractProcess<?>) process).createReadOnlyInstance(header);
+            processInstance.internalSetLazyContent(() -> readVariables(context, instance), () -> unmarshallWorkflowProcessInstance(doc, process));
+            return (ProcessInstance<T>) processInstance;
+        } catch (Exception e) {
+            throw new DocumentUnmarshallingException(process.id(), e, DOCUMENT_UNMARSHALLING_ERROR_MSG);
+        }
+    }
+
+    private Map<String, Object> readVariables(MarshallerReaderContext context, JBPMMessages.ProcessInstance instance) {
+        try {
+            return AbstractProtobufProcessInstanceMarshaller.readVariables(context, instance);
+        } catch (Exception e) {
+            throw new DocumentUnmarshallingException(instance.getId(), e, DOCUMENT_UNMARSHALLING_ERROR_MSG);
+        }
+    }
+
+    private MarshallerReaderContext createReaderContext(ByteArrayInputStream bais, Process<?> process) throws IOException {
+        return new KogitoMarshallerReaderContext(bais,
+                                                 Collections.singletonMap(process.id(), ((AbstractProcess<?>) process).process()),
+                                                 null, null, null, env);
     }
 
     //This is to get dummy byte arrays to create context using existing marshaling framework
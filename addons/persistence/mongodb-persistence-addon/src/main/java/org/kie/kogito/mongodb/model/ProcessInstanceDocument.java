@@ -19,6 +19,8 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.bson.Document;
+import org.jbpm.marshalling.impl.JBPMMessages;
+import org.kie.kogito.mongodb.codec.ProcessInstanceMessageCodec;
 
 public class ProcessInstanceDocument {
 
@@ -26,6 +28,8 @@ public class ProcessInstanceDocument {
 
     private Document processInstance;
 
+    private JBPMMessages.ProcessInstance processInstanceMessage;
+
     private Map<String, Integer> strategies = new HashMap<>();
 
     public ProcessInstanceDocument() {
@@ -41,11 +45,27 @@ public class ProcessInstanceDocument {
     }
 
     public Document getProcessInstance() {
+        if (processInstance == null && processInstanceMessage != null) {
+            processInstance = new ProcessInstanceMessageCodec().toDocument(processInstanceMessage);
+        }
         return processInstance;
     }
 
     public void setProcessInstance(Document processInstance) {
         this.processInstance = processInstance;
+        this.processInstanceMessage = null;
+    }
+
+    public JBPMMessages.ProcessInstance getProcessInstanceMessage() {
+        if (processInstanceMessage == null && processInstance != null) {
+            processInstanceMessage = new ProcessInstanceMessageCodec().fromDocument(processInstance);
+        }
+        return processInstanceMessage;
+    }
+
+    public void setProcessInstanceMessage(JBPMMessages.ProcessInstance processInstanceMessage) {
+        this.processInstanceMessage = processInstanceMessage;
+        this.processInstance = null;
     }
 
     public Map<String, Integer> getStrategies() {
@@ -19,6 +19,7 @@ public class DocumentConstants {
 
     public static final String VARIABLE = "variable";
     public static final String VALUE = "value";
+    public static final String UNKNOWN_FIELDS = "_unknownFields";
     public static final String DOCUMENT_ID = "_id";
     public static final String PROCESS_INSTANCE_ID = "id";
     public static final String STRATEGIES = "strategies";
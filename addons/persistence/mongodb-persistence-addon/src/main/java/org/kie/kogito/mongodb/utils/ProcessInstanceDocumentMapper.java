@@ -16,35 +16,24 @@
 package org.kie.kogito.mongodb.utils;
 
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.protobuf.util.JsonFormat;
-import org.bson.Document;
 import org.drools.core.marshalling.impl.KogitoProcessMarshallerWriteContext;
 import org.jbpm.marshalling.impl.JBPMMessages;
 import org.jbpm.marshalling.impl.JBPMMessages.ProcessInstance;
 import org.kie.kogito.mongodb.marshalling.DocumentMarshallingException;
 import org.kie.kogito.mongodb.model.ProcessInstanceDocument;
 
-import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ID;
-import static org.kie.kogito.mongodb.utils.DocumentConstants.VALUE;
-import static org.kie.kogito.mongodb.utils.DocumentConstants.VARIABLE;
-import static org.kie.kogito.mongodb.utils.DocumentUtils.getObjectMapper;
-
 public class ProcessInstanceDocumentMapper implements BiFunction<KogitoProcessMarshallerWriteContext, JBPMMessages.ProcessInstance, ProcessInstanceDocument> {
 
     @Override
     public ProcessInstanceDocument apply(KogitoProcessMarshallerWriteContext context, ProcessInstance processInstance) {
         ProcessInstanceDocument doc = new ProcessInstanceDocument();
         try {
-            JsonNode instanceNode = getObjectMapper().readTree(JsonFormat.printer().print(processInstance));
-            doc.setId(instanceNode.get(PROCESS_INSTANCE_ID).asText());
-            applyVariables(instanceNode, VARIABLE);
-            doc.setProcessInstance(Optional.ofNullable(instanceNode).map(json -> Document.parse(json.toString())).orElse(null));
+            doc.setId(processInstance.getId());
+            // the message is written as is by the ProcessInstanceDocumentCodec, no intermediate document is built
+            doc.setProcessInstanceMessage(processInstance);
             if (context != null) {
                 doc.setStrategies(context.usedStrategies.entrySet().stream().collect(Collectors.toMap(e -> e.getKey().getName(), Map.Entry::getValue)));
             }
@@ -53,21 +42,4 @@ public class ProcessInstanceDocumentMapper implements BiFunction<KogitoProcessMa
         }
         return doc;
     }
-
-    private void applyVariables(JsonNode parent, String variable) {
-        if (parent.has(variable) && parent.get(variable).isArray()) {
-            parent.get(variable).forEach(node -> {
-                if (node.get(VALUE) != null) {
-                    try {
-                        byte[] value = node.get(VALUE).binaryValue();
-                        ((ObjectNode) node).set(VALUE, getObjectMapper().readTree(new String(value)));
-                    } catch (Exception e) {
-                        throw new DocumentMarshallingException(e);
-                    }
-                }
-            });
-        }
-        parent.forEach(child -> applyVariables(child, variable));
-    }
-
 }
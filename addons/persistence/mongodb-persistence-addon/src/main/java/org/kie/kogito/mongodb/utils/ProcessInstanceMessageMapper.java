@@ -18,9 +18,6 @@ package org.kie.kogito.mongodb.utils;
 import java.util.Map;
 import java.util.function.BiFunction;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.protobuf.util.JsonFormat;
 import org.drools.core.marshalling.impl.MarshallerReaderContext;
 import org.jbpm.marshalling.impl.JBPMMessages;
 import org.jbpm.marshalling.impl.JBPMMessages.ProcessInstance;
@@ -28,48 +25,21 @@ import org.kie.api.marshalling.ObjectMarshallingStrategy;
 import org.kie.kogito.mongodb.marshalling.DocumentUnmarshallingException;
 import org.kie.kogito.mongodb.model.ProcessInstanceDocument;
 
-import static org.kie.kogito.mongodb.utils.DocumentConstants.VALUE;
-import static org.kie.kogito.mongodb.utils.DocumentConstants.VARIABLE;
-import static org.kie.kogito.mongodb.utils.DocumentUtils.getObjectMapper;
-
 public class ProcessInstanceMessageMapper implements BiFunction<MarshallerReaderContext, ProcessInstanceDocument, JBPMMessages.ProcessInstance> {
 
     @Override
     public ProcessInstance apply(MarshallerReaderContext context, ProcessInstanceDocument doc) {
-        JBPMMessages.ProcessInstance.Builder builder = JBPMMessages.ProcessInstance.newBuilder();
-        JsonFormat.Parser parser = JsonFormat.parser();
         try {
-            JsonNode rootNode = getObjectMapper().readTree(doc.getProcessInstance().toJson());
-            applyVariables(rootNode, VARIABLE);
-            String json = getObjectMapper().writeValueAsString(rootNode);
-            parser.merge(json, builder);
+            ProcessInstance instance = doc.getProcessInstanceMessage();
             for (Map.Entry<String, Integer> entry : doc.getStrategies().entrySet()) {
                 ObjectMarshallingStrategy strategyObject = context.resolverStrategyFactory.getStrategyObject(entry.getKey());
                 if (strategyObject != null) {
                     context.usedStrategies.put(entry.getValue(), strategyObject);
                 }
             }
-
+            return instance;
         } catch (Exception e) {
             throw new DocumentUnmarshallingException(e);
         }
-        return builder.build();
-    }
-
-    private void applyVariables(JsonNode parent, String variable) {
-        if (parent.has(variable) && parent.get(variable).isArray()) {
-            parent.get(variable).forEach(node -> {
-                if (node.get(VALUE) != null) {
-
-                    try {
-                        String valueAsString = getObjectMapper().writeValueAsString(node.path(VALUE));
-                        ((ObjectNode) node).put(VALUE, valueAsString.getBytes());
-                    } catch (Exception e) {
-                        throw new DocumentUnmarshallingException(e);
-                    }
-                }
-            });
-        }
-        parent.forEach(child -> applyVariables(child, variable));
     }
 }
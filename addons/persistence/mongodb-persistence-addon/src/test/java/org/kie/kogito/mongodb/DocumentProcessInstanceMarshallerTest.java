@@ -20,10 +20,17 @@ import java.net.URISyntaxException;
 import java.util.Collection;
 import java.util.Collections;
 
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
 import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
 import org.drools.core.io.impl.ClassPathResource;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.mongodb.codec.ProcessInstanceDocumentCodec;
 import org.kie.kogito.mongodb.marshalling.DocumentMarshallingException;
 import org.kie.kogito.mongodb.marshalling.DocumentMarshallingStrategy;
 import org.kie.kogito.mongodb.marshalling.DocumentProcessInstanceMarshaller;
@@ -32,6 +39,8 @@ import org.kie.kogito.mongodb.model.ProcessInstanceDocument;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.Sig;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -89,6 +98,29 @@ class DocumentProcessInstanceMarshallerTest {
         assertNotNull(processInstanceReadOnly, "Unmarshalled value should not be null");
         ProcessInstance<BpmnVariables> pi = marshaller.unmarshallReadOnlyProcessInstance(doc, process);
         assertNotNull(pi, "Unmarshalled value should not be null");
+        assertThat(pi.id()).isEqualTo(processInstance.id());
+        assertThat(pi.status()).isEqualTo(ProcessInstance.STATE_ACTIVE);
+        assertThat(pi.description()).isEqualTo("User Task");
+        assertThat(pi.variables().get("test")).isEqualTo("testValue");
+        assertThat(((AbstractProcessInstance<?>) pi).internalGetProcessInstance().getNodeInstances()).hasSize(1);
+    }
+
+    @Test
+    void testDeliveredEventsAreKept() {
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "testValue")));
+        processInstance.start();
+        processInstance.send(Sig.of("unknown", null, null, "event-1"));
+
+        // written to and read back from BSON as stored in the collection
+        ProcessInstanceDocumentCodec codec = new ProcessInstanceDocumentCodec();
+        BsonDocument stored = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(stored), marshaller.marshalProcessInstance(processInstance), EncoderContext.builder().build());
+        ProcessInstanceDocument loaded = codec.decode(new BsonDocumentReader(stored), DecoderContext.builder().build());
+
+        ProcessInstance<BpmnVariables> restored = marshaller.unmarshallProcessInstance(loaded, process);
+        WorkflowProcessInstanceImpl workflowProcessInstance = (WorkflowProcessInstanceImpl) ((AbstractProcessInstance<?>) restored).internalGetProcessInstance();
+        assertThat(workflowProcessInstance.getDeliveredEvents().isDelivered("event-1")).isTrue();
+        assertThat(workflowProcessInstance.getDeliveredEvents().isDelivered("event-2")).isFalse();
     }
 
     @Test
@@ -18,6 +18,7 @@ package org.kie.kogito.mongodb;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +37,7 @@ import org.kie.api.definition.process.Node;
 import org.kie.kogito.auth.SecurityPolicy;
 import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceFilter;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.WorkItem;
@@ -195,6 +197,26 @@ class MongoDBProcessInstancesIT {
         assertThat(instances.size()).isZero();
     }
 
+    @Test
+    void testFindIds() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new MongoDBProcessInstancesFactory(mongoClient));
+        process.configure();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        Date startDate = processInstance.startDate();
+        assertThat(instances.findIds(new ProcessInstanceFilter())).containsExactly(processInstance.id());
+        assertThat(instances.findIds(new ProcessInstanceFilter().status(STATE_ACTIVE).startedAfter(startDate))).containsExactly(processInstance.id());
+        assertThat(instances.findIds(new ProcessInstanceFilter().status(STATE_ERROR))).isEmpty();
+        assertThat(instances.findIds(new ProcessInstanceFilter().startedBefore(startDate))).isEmpty();
+        assertThat(instances.findIds(new ProcessInstanceFilter().errorNodeId("_2"))).isEmpty();
+
+        processInstance.abort();
+    }
+
     private class MongoDBProcessInstancesFactory extends KogitoProcessInstancesFactory {
 
         public MongoDBProcessInstancesFactory(MongoClient mongoClient) {
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.mongodb;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnknownFieldSet;
+import com.google.protobuf.util.JsonFormat;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.jbpm.marshalling.impl.JBPMMessages;
+import org.jbpm.marshalling.impl.JBPMMessages.ProcessInstance;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.mongodb.codec.ProcessInstanceMessageCodec;
+import org.kie.kogito.mongodb.utils.DocumentUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.mongodb.utils.DocumentUtils.getObjectMapper;
+
+class ProcessInstanceMessageCodecTest {
+
+    private final ProcessInstanceMessageCodec codec = new ProcessInstanceMessageCodec();
+
+    @Test
+    void readsExistingDocument() throws Exception {
+        Document stored = (Document) TestHelper.getProcessInstanceDocument().get("processInstance");
+
+        ProcessInstance instance = codec.fromDocument(stored);
+
+        assertThat(instance).isEqualTo(legacyRead(stored));
+        assertThat(instance.getNodeInstance(0).getContent().getHumanTask().getWorkitem().getVariableCount()).isPositive();
+    }
+
+    @Test
+    void writesSameDocumentAsJsonMapping() throws Exception {
+        ProcessInstance instance = legacyRead((Document) TestHelper.getProcessInstanceDocument().get("processInstance"));
+
+        assertThat(codec.toDocument(instance)).isEqualTo(legacyWrite(instance));
+        assertThat(codec.toDocument(TestHelper.getprocessInstance())).isEqualTo(legacyWrite(TestHelper.getprocessInstance()));
+    }
+
+    @Test
+    void variableValues() throws Exception {
+        ProcessInstance instance = processInstance(100);
+
+        Document document = codec.toDocument(instance);
+        assertThat(document).isEqualTo(legacyWrite(instance));
+        Document variable = document.getList("variable", Document.class).get(0);
+        assertThat(variable.get("value", Document.class).getString("street")).isEqualTo("main street");
+        assertThat(document.getList("variable", Document.class).get(1).get("value")).isEqualTo(1.5d);
+        assertThat(document.getList("variable", Document.class).get(2).get("value")).isEqualTo("text");
+
+        ProcessInstance decoded = codec.fromDocument(document);
+        assertThat(decoded.getVariableCount()).isEqualTo(100);
+        for (int i = 0; i < decoded.getVariableCount(); i++) {
+            JBPMMessages.Variable expected = instance.getVariable(i);
+            JBPMMessages.Variable actual = decoded.getVariable(i);
+            assertThat(actual.getName()).isEqualTo(expected.getName());
+            assertThat(getObjectMapper().readTree(actual.getValue().toByteArray())).isEqualTo(getObjectMapper().readTree(expected.getValue().toByteArray()));
+        }
+        assertThat(decoded).isEqualTo(legacyRead(document));
+    }
+
+    @Test
+    void unknownFields() throws Exception {
+        UnknownFieldSet unknownFields = UnknownFieldSet.newBuilder()
+                .addField(99, UnknownFieldSet.Field.newBuilder().addLengthDelimited(ByteString.copyFromUtf8("event-1")).addLengthDelimited(ByteString.copyFromUtf8("event-2")).build())
+                .addField(100, UnknownFieldSet.Field.newBuilder().addVarint(42).build())
+                .build();
+        ProcessInstance.Builder builder = processInstance(1).toBuilder().setUnknownFields(unknownFields);
+        builder.getVariableBuilder(0).setUnknownFields(unknownFields);
+        ProcessInstance instance = builder.build();
+
+        ProcessInstance decoded = decode(encode(instance));
+        assertThat(decoded.getUnknownFields()).isEqualTo(unknownFields);
+        assertThat(decoded.getVariable(0).getUnknownFields()).isEqualTo(unknownFields);
+        assertThat(decoded).isEqualTo(instance);
+        assertThat(codec.fromDocument(codec.toDocument(instance))).isEqualTo(instance);
+    }
+
+    @Test
+    void unknownFieldsDeclaredSinceAreReadAsDeclared() throws Exception {
+        ByteString deliveredEvents = ByteString.copyFromUtf8("event-1");
+        UnknownFieldSet unknownFields = UnknownFieldSet.newBuilder()
+                .addField(ProcessInstance.DELIVERED_EVENTS_FIELD_NUMBER, UnknownFieldSet.Field.newBuilder().addLengthDelimited(deliveredEvents).build())
+                .build();
+
+        ProcessInstance decoded = decode(encode(processInstance(1).toBuilder().setUnknownFields(unknownFields).build()));
+        assertThat(decoded.getUnknownFields().asMap()).isEmpty();
+        assertThat(decoded.getDeliveredEvents()).isEqualTo(deliveredEvents);
+        assertThat(decoded).isEqualTo(processInstance(1).toBuilder().setDeliveredEvents(deliveredEvents).build());
+    }
+
+    private BsonDocument encode(ProcessInstance instance) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), instance, EncoderContext.builder().build());
+        return document;
+    }
+
+    private ProcessInstance decode(BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    private static ProcessInstance processInstance(int variables) throws Exception {
+        ProcessInstance.Builder builder = TestHelper.getprocessInstance().toBuilder();
+        for (int i = 0; i < variables; i++) {
+            Object value;
+            switch (i % 4) {
+                case 0:
+                    value = TestHelper.getTestObject();
+                    break;
+                case 1:
+                    value = 0.5d + i;
+                    break;
+                case 2:
+                    value = i == 2 ? "text" : "text " + i;
+                    break;
+                default:
+                    Map<String, Object> map = new HashMap<>();
+                    map.put("count", i);
+                    map.put("big", Long.MAX_VALUE - i);
+                    map.put("flag", true);
+                    value = map;
+            }
+            builder.addVariable(JBPMMessages.Variable.newBuilder()
+                                        .setName("var" + i)
+                                        .setDataType(value.getClass().getName())
+                                        .setStrategyIndex(0)
+                                        .setValue(ByteString.copyFrom(DocumentUtils.toByteArray(value))));
+        }
+        return builder.build();
+    }
+
+    // the JSON based mapping used before the BSON codec, to check the documents stay compatible
+
+    private static Document legacyWrite(ProcessInstance instance) throws Exception {
+        JsonNode node = getObjectMapper().readTree(JsonFormat.printer().print(instance));
+        embedVariables(node);
+        return Document.parse(node.toString());
+    }
+
+    private static void embedVariables(JsonNode parent) throws Exception {
+        if (parent.has("variable") && parent.get("variable").isArray()) {
+            for (JsonNode node : parent.get("variable")) {
+                if (node.get("value") != null) {
+                    ((ObjectNode) node).set("value", getObjectMapper().readTree(new String(node.get("value").binaryValue())));
+                }
+            }
+        }
+        for (JsonNode child : parent) {
+            embedVariables(child);
+        }
+    }
+
+    private static ProcessInstance legacyRead(Document document) throws Exception {
+        JsonNode node = getObjectMapper().readTree(document.toJson());
+        extractVariables(node);
+        ProcessInstance.Builder builder = ProcessInstance.newBuilder();
+        JsonFormat.parser().merge(getObjectMapper().writeValueAsString(node), builder);
+        return builder.build();
+    }
+
+    private static void extractVariables(JsonNode parent) throws Exception {
+        if (parent.has("variable") && parent.get("variable").isArray()) {
+            for (JsonNode node : parent.get("variable")) {
+                if (node.get("value") != null) {
+                    ((ObjectNode) node).put("value", getObjectMapper().writeValueAsString(node.path("value")).getBytes());
+                }
+            }
+        }
+        for (JsonNode child : parent) {
+            extractVariables(child);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package org.kie.kogito.process.management;
 
 import javax.inject.Inject;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
@@ -26,6 +27,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.kie.kogito.Application;
 import org.kie.kogito.process.Processes;
@@ -67,6 +69,15 @@ public class ProcessInstanceManagementResource extends BaseProcessInstanceManage
                 .build();
     }
 
+    @Override
+    protected Response buildStreamingResponse(BulkOperation operation) {
+        return Response
+                .status(Response.Status.OK)
+                .entity((StreamingOutput) operation::writeTo)
+                .type(BulkOperation.PROGRESS_MEDIA_TYPE)
+                .build();
+    }
+
     @Override
     @GET
     @Path("{processId}/nodes")
@@ -138,4 +149,40 @@ public class ProcessInstanceManagementResource extends BaseProcessInstanceManage
     public Response cancelProcessInstanceId(@PathParam("processId") String processId, @PathParam("processInstanceId") String processInstanceId) {
         return doCancelProcessInstanceId(processId, processInstanceId);
     }
+
+    @Override
+    @POST
+    @Path("{processId}/instances/bulk/retrigger")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(BulkOperation.PROGRESS_MEDIA_TYPE)
+    public Response bulkRetriggerInstancesInError(@PathParam("processId") String processId, BulkOperationRequest request) {
+        return doBulkRetriggerInstancesInError(processId, request);
+    }
+
+    @Override
+    @POST
+    @Path("{processId}/instances/bulk/skip")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(BulkOperation.PROGRESS_MEDIA_TYPE)
+    public Response bulkSkipInstancesInError(@PathParam("processId") String processId, BulkOperationRequest request) {
+        return doBulkSkipInstancesInError(processId, request);
+    }
+
+    @Override
+    @POST
+    @Path("{processId}/instances/bulk/cancel")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(BulkOperation.PROGRESS_MEDIA_TYPE)
+    public Response bulkCancelProcessInstances(@PathParam("processId") String processId, BulkOperationRequest request) {
+        return doBulkCancelProcessInstances(processId, request);
+    }
+
+    @Override
+    @POST
+    @Path("{processId}/instances/bulk/nodes/{nodeId}")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(BulkOperation.PROGRESS_MEDIA_TYPE)
+    public Response bulkTriggerNode(@PathParam("processId") String processId, @PathParam("nodeId") String nodeId, BulkOperationRequest request) {
+        return doBulkTriggerNode(processId, nodeId, request);
+    }
 }
@@ -85,6 +85,7 @@ public class ProcessInstanceManagementResourceTest {
         when((runtimeDelegate).createResponseBuilder()).thenReturn(responseBuilder);
         lenient().when((responseBuilder).status(any(StatusType.class))).thenReturn(responseBuilder);
         lenient().when((responseBuilder).entity(any())).thenReturn(responseBuilder);
+        lenient().when((responseBuilder).type(anyString())).thenReturn(responseBuilder);
         lenient().when((responseBuilder).build()).thenReturn(response);
 
         application = mock(Application.class);
@@ -184,6 +185,20 @@ public class ProcessInstanceManagementResourceTest {
         verify(resource).doCancelProcessInstanceId(PROCESS_ID, PROCESS_INSTANCE_ID);
     }
 
+    @Test
+    public void testBulkOperations() {
+        BulkOperationRequest request = new BulkOperationRequest();
+        resource.bulkRetriggerInstancesInError(PROCESS_ID, request);
+        verify(resource).doBulkRetriggerInstancesInError(PROCESS_ID, request);
+        resource.bulkSkipInstancesInError(PROCESS_ID, request);
+        verify(resource).doBulkSkipInstancesInError(PROCESS_ID, request);
+        resource.bulkCancelProcessInstances(PROCESS_ID, request);
+        verify(resource).doBulkCancelProcessInstances(PROCESS_ID, request);
+        resource.bulkTriggerNode(PROCESS_ID, NODE_ID, request);
+        verify(resource).doBulkTriggerNode(PROCESS_ID, NODE_ID, request);
+        verify(resource, times(4)).buildStreamingResponse(any(BulkOperation.class));
+    }
+
     @Test
     public void testBubildOkResponse(@Mock Object body) {
         Response response = resource.buildOkResponse(body);
@@ -31,6 +31,7 @@ import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessError;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceExecutionException;
+import org.kie.kogito.process.ProcessInstanceFilter;
 import org.kie.kogito.process.Processes;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.impl.AbstractProcess;
@@ -43,6 +44,8 @@ public abstract class BaseProcessInstanceManagementResource<T> implements Proces
     private static final String PROCESS_NOT_FOUND = "Process with id %s not found";
     private static final String PROCESS_INSTANCE_NOT_FOUND = "Process instance with id %s not found";
     private static final String PROCESS_INSTANCE_NOT_IN_ERROR = "Process instance with id %s is not in error state";
+    private static final String NODE_REQUIRED = "Node id must be given";
+    private static final String INVALID_BULK_OPERATION = "Parallelism and batch size must be greater than zero";
 
     private Processes processes;
 
@@ -171,9 +174,67 @@ public abstract class BaseProcessInstanceManagementResource<T> implements Proces
         });
     }
 
+    public T doBulkRetriggerInstancesInError(String processId, BulkOperationRequest request) {
+        return executeBulkOperation(processId, request, true, processInstance -> {
+            processInstance.error().ifPresent(ProcessError::retrigger);
+            return errorMessage(processInstance);
+        });
+    }
+
+    public T doBulkSkipInstancesInError(String processId, BulkOperationRequest request) {
+        return executeBulkOperation(processId, request, true, processInstance -> {
+            processInstance.error().ifPresent(ProcessError::skip);
+            return errorMessage(processInstance);
+        });
+    }
+
+    public T doBulkCancelProcessInstances(String processId, BulkOperationRequest request) {
+        return executeBulkOperation(processId, request, false, processInstance -> {
+            processInstance.abort();
+            return errorMessage(processInstance);
+        });
+    }
+
+    public T doBulkTriggerNode(String processId, String nodeId, BulkOperationRequest request) {
+        if (nodeId == null) {
+            return badRequestResponse(NODE_REQUIRED);
+        }
+        return executeBulkOperation(processId, request, false, processInstance -> {
+            processInstance.triggerNode(nodeId);
+            return errorMessage(processInstance);
+        });
+    }
+
     /*
      * Helper methods
      */
+    private T executeBulkOperation(String processId, BulkOperationRequest request, boolean inError, BulkOperation.Action action) {
+        if (processId == null) {
+            return badRequestResponse(PROCESS_REQUIRED);
+        }
+        BulkOperationRequest bulkRequest = request == null ? new BulkOperationRequest() : request;
+        if (bulkRequest.getParallelism() < 1 || bulkRequest.getBatchSize() < 1) {
+            return badRequestResponse(INVALID_BULK_OPERATION);
+        }
+
+        Process<?> process = processes.processById(processId);
+        if (process == null) {
+            return notFoundResponse(String.format(PROCESS_NOT_FOUND, processId));
+        }
+        ProcessInstanceFilter filter = bulkRequest.toFilter();
+        if (inError) {
+            filter.status(ProcessInstance.STATE_ERROR);
+        }
+        return buildStreamingResponse(new BulkOperation(process, filter, action, application.unitOfWorkManager(), bulkRequest.getParallelism(), bulkRequest.getBatchSize()));
+    }
+
+    private static String errorMessage(ProcessInstance<?> processInstance) {
+        if (processInstance.status() == ProcessInstance.STATE_ERROR) {
+            return processInstance.error().map(ProcessError::errorMessage).orElse("Process instance is in error state");
+        }
+        return null;
+    }
+
     private T executeOnInstanceInError(String processId, String processInstanceId, Function<ProcessInstance<?>, T> supplier) {
         if (processId == null || processInstanceId == null) {
             return badRequestResponse(PROCESS_AND_INSTANCE_REQUIRED);
@@ -235,6 +296,11 @@ public abstract class BaseProcessInstanceManagementResource<T> implements Proces
 
     protected abstract <R> T buildOkResponse(R body);
 
+    /**
+     * Builds a response streaming the progress of the operation, see {@link BulkOperation#writeTo(java.io.OutputStream)}.
+     */
+    protected abstract T buildStreamingResponse(BulkOperation operation);
+
     protected abstract T badRequestResponse(String message);
 
     protected abstract T notFoundResponse(String message);
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.process.management;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceFilter;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies a management operation to all the process instances of a process matching a filter.
+ * <p>
+ * The ids of the matching instances are resolved once through {@link org.kie.kogito.process.ProcessInstances#findIds(ProcessInstanceFilter)},
+ * then they are processed in batches, each one in a single unit of work, by a bounded number of threads
+ * (at most {@link BulkOperationRequest#MAX_PARALLELISM}, whatever the requested parallelism).
+ * Every instance is checked again against the filter once loaded, as it may have changed in the meantime.
+ * When a batch fails as a whole, its instances are retried one by one so that a single broken instance
+ * only fails itself.
+ */
+public class BulkOperation {
+
+    public static final String PROGRESS_MEDIA_TYPE = "application/x-ndjson";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkOperation.class);
+
+    /**
+     * The operation to apply to a single process instance.
+     */
+    @FunctionalInterface
+    public interface Action {
+
+        /**
+         * @return the error message when the process instance is in error after the operation, <code>null</code> otherwise
+         */
+        String apply(ProcessInstance<?> processInstance);
+    }
+
+    private final Process<?> process;
+    private final ProcessInstanceFilter filter;
+    private final Action action;
+    private final UnitOfWorkManager unitOfWorkManager;
+    private final int parallelism;
+    private final int batchSize;
+
+    public BulkOperation(Process<?> process, ProcessInstanceFilter filter, Action action, UnitOfWorkManager unitOfWorkManager, int parallelism, int batchSize) {
+        this.process = process;
+        this.filter = filter;
+        this.action = action;
+        this.unitOfWorkManager = unitOfWorkManager;
+        this.parallelism = Math.min(parallelism, BulkOperationRequest.MAX_PARALLELISM);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Runs the operation, writing its progress to the given stream as one JSON document per line.
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        try {
+            run(progress -> {
+                try {
+                    output.write(progress.toJson().getBytes(StandardCharsets.UTF_8));
+                    output.write('\n');
+                    output.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Runs the operation, notifying the listener after every batch. The last notification is the completed one.
+     */
+    public void run(Consumer<BulkOperationProgress> listener) {
+        List<String> ids = new ArrayList<>(process.instances().findIds(filter));
+        if (ids.isEmpty()) {
+            listener.accept(new BulkOperationProgress(0, 0, 0, 0, 0, Collections.emptyMap(), true));
+            return;
+        }
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += batchSize) {
+            batches.add(ids.subList(i, Math.min(i + batchSize, ids.size())));
+        }
+        LOGGER.debug("Running bulk operation on {} instances of process {} in {} batches", ids.size(), process.id(), batches.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, batches.size()), r -> {
+            Thread thread = new Thread(r, "kogito-bulk-operation-" + process.id());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletionService<BatchResult> completion = new ExecutorCompletionService<>(executor);
+            batches.forEach(batch -> completion.submit(() -> executeBatch(batch)));
+            int processed = 0;
+            int succeeded = 0;
+            int skipped = 0;
+            int failed = 0;
+            for (int i = 0; i < batches.size(); i++) {
+                BatchResult result = completion.take().get();
+                processed += result.size;
+                succeeded += result.succeeded;
+                skipped += result.skipped;
+                failed += result.failures.size();
+                listener.accept(new BulkOperationProgress(ids.size(), processed, succeeded, skipped, failed, result.failures, i == batches.size() - 1));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running bulk operation on process " + process.id(), e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to run bulk operation on process " + process.id(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BatchResult executeBatch(List<String> batch) {
+        try {
+            return UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+                BatchResult result = new BatchResult(batch.size());
+                batch.forEach(id -> execute(id, result));
+                return result;
+            });
+        } catch (RuntimeException e) {
+            LOGGER.debug("Batch of process {} failed, retrying its instances one by one", process.id(), e);
+            BatchResult result = new BatchResult(batch.size());
+            for (String id : batch) {
+                try {
+                    UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+                        execute(id, result);
+                        return null;
+                    });
+                } catch (RuntimeException instanceFailure) {
+                    result.failures.put(id, String.valueOf(instanceFailure.getMessage()));
+                }
+            }
+            return result;
+        }
+    }
+
+    private void execute(String id, BatchResult result) {
+        Optional<? extends ProcessInstance<?>> processInstance = process.instances().findById(id);
+        if (!processInstance.isPresent() || !filter.test(processInstance.get())) {
+            result.skipped++;
+            return;
+        }
+        String error = action.apply(processInstance.get());
+        if (error == null) {
+            result.succeeded++;
+        } else {
+            result.failures.put(id, error);
+        }
+    }
+
+    private static class BatchResult {
+
+        private final int size;
+        private final Map<String, String> failures = new LinkedHashMap<>();
+        private int succeeded;
+        private int skipped;
+
+        private BatchResult(int size) {
+            this.size = size;
+        }
+    }
+}
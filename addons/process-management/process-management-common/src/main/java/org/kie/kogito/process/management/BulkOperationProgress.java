@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.process.management;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Progress of a bulk operation, reported after every batch of process instances. The failures are
+ * the ones of the last batch only, so that the progress of a large operation stays small.
+ */
+public class BulkOperationProgress {
+
+    private final int total;
+    private final int processed;
+    private final int succeeded;
+    private final int skipped;
+    private final int failed;
+    private final Map<String, String> failures;
+    private final boolean completed;
+
+    public BulkOperationProgress(int total, int processed, int succeeded, int skipped, int failed, Map<String, String> failures, boolean completed) {
+        this.total = total;
+        this.processed = processed;
+        this.succeeded = succeeded;
+        this.skipped = skipped;
+        this.failed = failed;
+        this.failures = Collections.unmodifiableMap(failures);
+        this.completed = completed;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * Error message by process instance id.
+     */
+    public Map<String, String> getFailures() {
+        return failures;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"total\":").append(total)
+                .append(",\"processed\":").append(processed)
+                .append(",\"succeeded\":").append(succeeded)
+                .append(",\"skipped\":").append(skipped)
+                .append(",\"failed\":").append(failed)
+                .append(",\"completed\":").append(completed)
+                .append(",\"failures\":[");
+        String separator = "";
+        for (Map.Entry<String, String> failure : failures.entrySet()) {
+            json.append(separator).append("{\"id\":");
+            appendString(json, failure.getKey());
+            json.append(",\"message\":");
+            appendString(json, failure.getValue());
+            json.append('}');
+            separator = ",";
+        }
+        return json.append("]}").toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.process.management;
+
+import java.util.Date;
+import java.util.List;
+
+import org.kie.kogito.process.ProcessInstanceFilter;
+
+/**
+ * Body of the bulk management operations: the criteria selecting the process instances
+ * and how the operation is executed.
+ */
+public class BulkOperationRequest {
+
+    public static final int DEFAULT_PARALLELISM = 4;
+    /**
+     * Upper bound of the threads used by a bulk operation, higher requested parallelism is capped to it.
+     */
+    public static final int MAX_PARALLELISM = 16;
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private List<Integer> statuses;
+    private String errorNodeId;
+    private Date startedAfter;
+    private Date startedBefore;
+    private int parallelism = DEFAULT_PARALLELISM;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    public List<Integer> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(List<Integer> statuses) {
+        this.statuses = statuses;
+    }
+
+    public String getErrorNodeId() {
+        return errorNodeId;
+    }
+
+    public void setErrorNodeId(String errorNodeId) {
+        this.errorNodeId = errorNodeId;
+    }
+
+    public Date getStartedAfter() {
+        return startedAfter;
+    }
+
+    public void setStartedAfter(Date startedAfter) {
+        this.startedAfter = startedAfter;
+    }
+
+    public Date getStartedBefore() {
+        return startedBefore;
+    }
+
+    public void setStartedBefore(Date startedBefore) {
+        this.startedBefore = startedBefore;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public ProcessInstanceFilter toFilter() {
+        ProcessInstanceFilter filter = new ProcessInstanceFilter()
+                .errorNodeId(errorNodeId)
+                .startedAfter(startedAfter)
+                .startedBefore(startedBefore);
+        if (statuses != null) {
+            filter.status(statuses.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return filter;
+    }
+}
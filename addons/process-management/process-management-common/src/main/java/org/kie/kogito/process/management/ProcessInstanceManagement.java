@@ -35,4 +35,12 @@ public interface ProcessInstanceManagement<T> {
     T cancelNodeInstanceId(String processId, String processInstanceId, String nodeInstanceId);
 
     T cancelProcessInstanceId(String processId, String processInstanceId);
+
+    T bulkRetriggerInstancesInError(String processId, BulkOperationRequest request);
+
+    T bulkSkipInstancesInError(String processId, BulkOperationRequest request);
+
+    T bulkCancelProcessInstances(String processId, BulkOperationRequest request);
+
+    T bulkTriggerNode(String processId, String nodeId, BulkOperationRequest request);
 }
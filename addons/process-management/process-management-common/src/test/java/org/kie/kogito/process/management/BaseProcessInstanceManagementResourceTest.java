@@ -16,6 +16,7 @@
 
 package org.kie.kogito.process.management;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -121,6 +122,31 @@ class BaseProcessInstanceManagementResourceTest {
                 return message;
             }
 
+            @Override
+            protected Object buildStreamingResponse(BulkOperation operation) {
+                return operation;
+            }
+
+            @Override
+            public Object bulkRetriggerInstancesInError(String processId, BulkOperationRequest request) {
+                return null;
+            }
+
+            @Override
+            public Object bulkSkipInstancesInError(String processId, BulkOperationRequest request) {
+                return null;
+            }
+
+            @Override
+            public Object bulkCancelProcessInstances(String processId, BulkOperationRequest request) {
+                return null;
+            }
+
+            @Override
+            public Object bulkTriggerNode(String processId, String nodeId, BulkOperationRequest request) {
+                return null;
+            }
+
             @Override
             public Object getProcessNodes(String processId) {
                 return null;
@@ -278,4 +304,53 @@ class BaseProcessInstanceManagementResourceTest {
         verify(processInstance, times(1)).abort();
         assertResultOk(response);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDoBulkRetriggerInstancesInError() {
+        when(instances.findIds(any())).thenReturn(singletonList(PROCESS_INSTANCE_ID));
+        mockProcessInstanceStatusActiveOnError().retrigger();
+        Object response = tested.doBulkRetriggerInstancesInError(PROCESS_ID, new BulkOperationRequest());
+        assertThat(response).isInstanceOf(BulkOperation.class);
+
+        List<BulkOperationProgress> progress = new ArrayList<>();
+        ((BulkOperation) response).run(progress::add);
+        verify(error, times(1)).retrigger();
+        assertThat(progress).hasSize(1);
+        assertThat(progress.get(0).isCompleted()).isTrue();
+        assertThat(progress.get(0).getSucceeded()).isEqualTo(1);
+    }
+
+    @Test
+    void testDoBulkSkipInstancesStillInError() {
+        when(instances.findIds(any())).thenReturn(singletonList(PROCESS_INSTANCE_ID));
+        Object response = tested.doBulkSkipInstancesInError(PROCESS_ID, null);
+
+        List<BulkOperationProgress> progress = new ArrayList<>();
+        ((BulkOperation) response).run(progress::add);
+        verify(error, times(1)).skip();
+        assertThat(progress.get(0).getFailed()).isEqualTo(1);
+        assertThat(progress.get(0).getFailures()).containsEntry(PROCESS_INSTANCE_ID, "Test error message");
+    }
+
+    @Test
+    void testDoBulkTriggerNode() {
+        when(instances.findIds(any())).thenReturn(singletonList(PROCESS_INSTANCE_ID));
+        mockProcessInstanceStatusActive().triggerNode(NODE_ID);
+        BulkOperationRequest request = new BulkOperationRequest();
+        request.setStatuses(singletonList(ProcessInstance.STATE_ERROR));
+        ((BulkOperation) tested.doBulkTriggerNode(PROCESS_ID, NODE_ID, request)).run(p -> {
+        });
+        verify(processInstance, times(1)).triggerNode(NODE_ID);
+
+        assertThat(tested.doBulkTriggerNode(PROCESS_ID, null, request)).isEqualTo("Node id must be given");
+    }
+
+    @Test
+    void testDoBulkCancelInvalidRequest() {
+        BulkOperationRequest request = new BulkOperationRequest();
+        request.setParallelism(0);
+        assertThat(tested.doBulkCancelProcessInstances(PROCESS_ID, request)).isEqualTo("Parallelism and batch size must be greater than zero");
+        assertThat(tested.doBulkCancelProcessInstances(null, new BulkOperationRequest())).isEqualTo("Process id must be given");
+        verify(processInstance, times(0)).abort();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.process.management;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceFilter;
+import org.kie.kogito.process.ProcessInstances;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkOperationTest {
+
+    private static final int INSTANCES = 1000;
+
+    private Process<?> process;
+    private ProcessInstances<?> instances;
+    private UnitOfWorkManager unitOfWorkManager;
+    private final Map<String, ProcessInstance<?>> store = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void setUp() {
+        process = mock(Process.class);
+        instances = mock(ProcessInstances.class);
+        unitOfWorkManager = spy(new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory()));
+        for (int i = 0; i < INSTANCES; i++) {
+            ProcessInstance processInstance = mock(ProcessInstance.class);
+            lenient().when(processInstance.id()).thenReturn("pi" + i);
+            lenient().when(processInstance.status()).thenReturn(ProcessInstance.STATE_ERROR);
+            store.put("pi" + i, processInstance);
+        }
+        when(process.id()).thenReturn("test");
+        when(process.instances()).thenReturn((ProcessInstances) instances);
+        when(instances.findIds(any())).thenReturn(IntStream.range(0, INSTANCES).mapToObj(i -> "pi" + i).collect(Collectors.toList()));
+        lenient().when(instances.findById(anyString())).thenAnswer(i -> Optional.ofNullable(store.get(i.getArgument(0))));
+    }
+
+    @Test
+    void testBatchesAndProgress() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        AtomicInteger applied = new AtomicInteger();
+        BulkOperation operation = new BulkOperation(process, new ProcessInstanceFilter(), pi -> {
+            threads.add(Thread.currentThread().getName());
+            applied.incrementAndGet();
+            return null;
+        }, unitOfWorkManager, 4, 100);
+
+        List<BulkOperationProgress> progress = new ArrayList<>();
+        operation.run(progress::add);
+
+        assertThat(applied.get()).isEqualTo(INSTANCES);
+        verify(unitOfWorkManager, times(10)).newUnitOfWork();
+        assertThat(threads).hasSizeLessThanOrEqualTo(4).allMatch(name -> name.startsWith("kogito-bulk-operation"));
+        assertThat(progress).hasSize(10);
+        assertThat(progress).extracting(BulkOperationProgress::getProcessed).isSorted();
+        assertThat(progress).filteredOn(BulkOperationProgress::isCompleted).hasSize(1);
+        BulkOperationProgress last = progress.get(progress.size() - 1);
+        assertThat(last.isCompleted()).isTrue();
+        assertThat(last.getTotal()).isEqualTo(INSTANCES);
+        assertThat(last.getSucceeded()).isEqualTo(INSTANCES);
+    }
+
+    @Test
+    void testParallelismIsCapped() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        BulkOperation operation = new BulkOperation(process, new ProcessInstanceFilter(), pi -> {
+            threads.add(Thread.currentThread());
+            return null;
+        }, unitOfWorkManager, Integer.MAX_VALUE, 1);
+
+        List<BulkOperationProgress> progress = new ArrayList<>();
+        operation.run(progress::add);
+
+        assertThat(progress).hasSize(INSTANCES);
+        assertThat(progress.get(progress.size() - 1).getSucceeded()).isEqualTo(INSTANCES);
+        assertThat(threads).hasSizeLessThanOrEqualTo(BulkOperationRequest.MAX_PARALLELISM);
+    }
+
+    @Test
+    void testFailingInstanceDoesNotFailItsBatch() {
+        BulkOperation operation = new BulkOperation(process, new ProcessInstanceFilter(), pi -> {
+            if ("pi42".equals(pi.id())) {
+                throw new IllegalStateException("broken");
+            }
+            return "pi43".equals(pi.id()) ? "still in error" : null;
+        }, unitOfWorkManager, 2, 100);
+
+        List<BulkOperationProgress> progress = new ArrayList<>();
+        operation.run(progress::add);
+
+        BulkOperationProgress last = progress.get(progress.size() - 1);
+        assertThat(last.getSucceeded()).isEqualTo(INSTANCES - 2);
+        assertThat(last.getFailed()).isEqualTo(2);
+        assertThat(progress.stream().flatMap(p -> p.getFailures().entrySet().stream()).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)))
+                .containsEntry("pi42", "broken")
+                .containsEntry("pi43", "still in error")
+                .hasSize(2);
+        // the failed batch is aborted and its 100 instances retried in their own unit of work
+        verify(unitOfWorkManager, times(10 + 100)).newUnitOfWork();
+    }
+
+    @Test
+    void testInstancesNotMatchingAnymoreAreSkipped() {
+        when(store.get("pi7").status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+        store.remove("pi8");
+        AtomicInteger applied = new AtomicInteger();
+        BulkOperation operation = new BulkOperation(process, new ProcessInstanceFilter().status(ProcessInstance.STATE_ERROR), pi -> {
+            applied.incrementAndGet();
+            return null;
+        }, unitOfWorkManager, 4, 100);
+
+        List<BulkOperationProgress> progress = new ArrayList<>();
+        operation.run(progress::add);
+
+        assertThat(applied.get()).isEqualTo(INSTANCES - 2);
+        assertThat(progress.get(progress.size() - 1).getSkipped()).isEqualTo(2);
+    }
+
+    @Test
+    void testWriteProgress() throws Exception {
+        when(instances.findIds(any())).thenReturn(Collections.singletonList("pi1"));
+        BulkOperation operation = new BulkOperation(process, new ProcessInstanceFilter(), pi -> "\"quoted\" error", unitOfWorkManager, 4, 100);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        operation.writeTo(output);
+
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"total\":1,\"processed\":1,\"succeeded\":0,\"skipped\":0,\"failed\":1,\"completed\":true,"
+                        + "\"failures\":[{\"id\":\"pi1\",\"message\":\"\\\"quoted\\\" error\"}]}\n");
+    }
+
+    @Test
+    void testNoMatchingInstances() {
+        when(instances.findIds(any())).thenReturn(Collections.emptyList());
+        List<BulkOperationProgress> progress = new ArrayList<>();
+        new BulkOperation(process, new ProcessInstanceFilter(), pi -> null, unitOfWorkManager, 4, 100).run(progress::add);
+
+        assertThat(progress).hasSize(1);
+        assertThat(progress.get(0).isCompleted()).isTrue();
+        verify(unitOfWorkManager, times(0)).newUnitOfWork();
+    }
+}
@@ -20,13 +20,16 @@ import org.kie.kogito.Application;
 import org.kie.kogito.process.Processes;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
@@ -54,6 +57,13 @@ public class ProcessInstanceManagementRestController extends BaseProcessInstance
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(message);
     }
 
+    @Override
+    public ResponseEntity buildStreamingResponse(BulkOperation operation) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(BulkOperation.PROGRESS_MEDIA_TYPE))
+                .body((StreamingResponseBody) operation::writeTo);
+    }
+
     @Override
     @GetMapping(value = "{processId}/nodes", produces = APPLICATION_JSON_VALUE)
     public ResponseEntity getProcessNodes(@PathVariable("processId") String processId) {
@@ -111,4 +121,28 @@ public class ProcessInstanceManagementRestController extends BaseProcessInstance
     public ResponseEntity cancelProcessInstanceId(@PathVariable("processId") String processId, @PathVariable("processInstanceId") String processInstanceId) {
         return doCancelProcessInstanceId(processId, processInstanceId);
     }
+
+    @Override
+    @PostMapping(value = "{processId}/instances/bulk/retrigger", consumes = APPLICATION_JSON_VALUE, produces = BulkOperation.PROGRESS_MEDIA_TYPE)
+    public ResponseEntity bulkRetriggerInstancesInError(@PathVariable("processId") String processId, @RequestBody(required = false) BulkOperationRequest request) {
+        return doBulkRetriggerInstancesInError(processId, request);
+    }
+
+    @Override
+    @PostMapping(value = "{processId}/instances/bulk/skip", consumes = APPLICATION_JSON_VALUE, produces = BulkOperation.PROGRESS_MEDIA_TYPE)
+    public ResponseEntity bulkSkipInstancesInError(@PathVariable("processId") String processId, @RequestBody(required = false) BulkOperationRequest request) {
+        return doBulkSkipInstancesInError(processId, request);
+    }
+
+    @Override
+    @PostMapping(value = "{processId}/instances/bulk/cancel", consumes = APPLICATION_JSON_VALUE, produces = BulkOperation.PROGRESS_MEDIA_TYPE)
+    public ResponseEntity bulkCancelProcessInstances(@PathVariable("processId") String processId, @RequestBody(required = false) BulkOperationRequest request) {
+        return doBulkCancelProcessInstances(processId, request);
+    }
+
+    @Override
+    @PostMapping(value = "{processId}/instances/bulk/nodes/{nodeId}", consumes = APPLICATION_JSON_VALUE, produces = BulkOperation.PROGRESS_MEDIA_TYPE)
+    public ResponseEntity bulkTriggerNode(@PathVariable("processId") String processId, @PathVariable("nodeId") String nodeId, @RequestBody(required = false) BulkOperationRequest request) {
+        return doBulkTriggerNode(processId, nodeId, request);
+    }
 }
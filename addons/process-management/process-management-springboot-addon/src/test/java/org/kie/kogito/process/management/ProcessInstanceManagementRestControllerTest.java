@@ -16,6 +16,8 @@
 
 package org.kie.kogito.process.management;
 
+import java.io.ByteArrayOutputStream;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,6 +27,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.spy;
@@ -125,4 +128,27 @@ class ProcessInstanceManagementRestControllerTest {
         tested.cancelProcessInstanceId(PROCESS_ID, PROCESS_INSTANCE_ID);
         verify(tested).doCancelProcessInstanceId(PROCESS_ID, PROCESS_INSTANCE_ID);
     }
-}
\ No newline at end of file
+
+    @Test
+    void bulkOperations() {
+        BulkOperationRequest request = new BulkOperationRequest();
+        tested.bulkRetriggerInstancesInError(PROCESS_ID, request);
+        verify(tested).doBulkRetriggerInstancesInError(PROCESS_ID, request);
+        tested.bulkSkipInstancesInError(PROCESS_ID, request);
+        verify(tested).doBulkSkipInstancesInError(PROCESS_ID, request);
+        tested.bulkCancelProcessInstances(PROCESS_ID, request);
+        verify(tested).doBulkCancelProcessInstances(PROCESS_ID, request);
+        tested.bulkTriggerNode(PROCESS_ID, NODE_ID, request);
+        verify(tested).doBulkTriggerNode(PROCESS_ID, NODE_ID, request);
+    }
+
+    @Test
+    void buildStreamingResponse(@Mock BulkOperation operation) throws Exception {
+        ResponseEntity responseEntity = tested.buildStreamingResponse(operation);
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responseEntity.getHeaders().getContentType()).hasToString(BulkOperation.PROGRESS_MEDIA_TYPE);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ((StreamingResponseBody) responseEntity.getBody()).writeTo(output);
+        verify(operation).writeTo(output);
+    }
+}
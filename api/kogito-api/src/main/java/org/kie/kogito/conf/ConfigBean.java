@@ -14,7 +14,63 @@
  */
 package org.kie.kogito.conf;
 
+import java.util.Optional;
+
 public interface ConfigBean {
 
     String getServiceUrl();
+
+    /**
+     * Number of events between two full snapshots of a process instance when delta process instance events are enabled,
+     * configured with <code>kogito.events.processinstances.delta.snapshot-interval</code>.
+     * @return the snapshot interval, empty when process instance events are always full
+     */
+    default Optional<Integer> getDeltaEventsSnapshotInterval() {
+        return Optional.empty();
+    }
+
+    /**
+     * Size in bytes above which the inputs and outputs of user tasks are sent by reference when user task events
+     * are trimmed, configured with <code>kogito.events.usertasks.trimming.threshold</code>.
+     * @return the threshold, empty when user task events are always full
+     */
+    default Optional<Integer> getUserTaskEventTrimmingThreshold() {
+        return Optional.empty();
+    }
+
+    /**
+     * Delay in milliseconds after which a process instance timer is overdue and caught up by the in-memory jobs
+     * service, configured with <code>kogito.jobs.catch-up.misfire-threshold</code>.
+     * @return the threshold, empty when overdue timers fire one by one
+     */
+    default Optional<Long> getJobsCatchUpMisfireThreshold() {
+        return Optional.empty();
+    }
+
+    /**
+     * What to do with the firings missed by repeating timers, one of <code>FIRE_ONCE</code>, <code>FIRE_ALL</code>
+     * or <code>SKIP</code>, configured with <code>kogito.jobs.catch-up.misfire-policy</code>.
+     * @return the misfire policy, empty to fire once
+     */
+    default Optional<String> getJobsCatchUpMisfirePolicy() {
+        return Optional.empty();
+    }
+
+    /**
+     * Number of process instances caught up at the same time, configured with
+     * <code>kogito.jobs.catch-up.parallelism</code>.
+     * @return the parallelism, empty for one at a time
+     */
+    default Optional<Integer> getJobsCatchUpParallelism() {
+        return Optional.empty();
+    }
+
+    /**
+     * Maximum number of process instances caught up per second, configured with
+     * <code>kogito.jobs.catch-up.max-instances-per-second</code>.
+     * @return the rate, empty for no limit
+     */
+    default Optional<Integer> getJobsCatchUpMaxInstancesPerSecond() {
+        return Optional.empty();
+    }
 }
@@ -14,9 +14,17 @@
  */
 package org.kie.kogito.conf;
 
+import java.util.Optional;
+
 public class StaticConfigBean implements ConfigBean {
 
     private String serviceUrl;
+    private Integer deltaEventsSnapshotInterval;
+    private Integer userTaskEventTrimmingThreshold;
+    private Long jobsCatchUpMisfireThreshold;
+    private String jobsCatchUpMisfirePolicy;
+    private Integer jobsCatchUpParallelism;
+    private Integer jobsCatchUpMaxInstancesPerSecond;
 
     public StaticConfigBean() {
     }
@@ -33,4 +41,58 @@ public class StaticConfigBean implements ConfigBean {
     public String getServiceUrl() {
         return serviceUrl;
     }
+
+    protected void setDeltaEventsSnapshotInterval(Integer deltaEventsSnapshotInterval) {
+        this.deltaEventsSnapshotInterval = deltaEventsSnapshotInterval;
+    }
+
+    @Override
+    public Optional<Integer> getDeltaEventsSnapshotInterval() {
+        return Optional.ofNullable(deltaEventsSnapshotInterval);
+    }
+
+    protected void setUserTaskEventTrimmingThreshold(Integer userTaskEventTrimmingThreshold) {
+        this.userTaskEventTrimmingThreshold = userTaskEventTrimmingThreshold;
+    }
+
+    @Override
+    public Optional<Integer> getUserTaskEventTrimmingThreshold() {
+        return Optional.ofNullable(userTaskEventTrimmingThreshold);
+    }
+
+    protected void setJobsCatchUpMisfireThreshold(Long jobsCatchUpMisfireThreshold) {
+        this.jobsCatchUpMisfireThreshold = jobsCatchUpMisfireThreshold;
+    }
+
+    @Override
+    public Optional<Long> getJobsCatchUpMisfireThreshold() {
+        return Optional.ofNullable(jobsCatchUpMisfireThreshold);
+    }
+
+    protected void setJobsCatchUpMisfirePolicy(String jobsCatchUpMisfirePolicy) {
+        this.jobsCatchUpMisfirePolicy = jobsCatchUpMisfirePolicy;
+    }
+
+    @Override
+    public Optional<String> getJobsCatchUpMisfirePolicy() {
+        return Optional.ofNullable(jobsCatchUpMisfirePolicy);
+    }
+
+    protected void setJobsCatchUpParallelism(Integer jobsCatchUpParallelism) {
+        this.jobsCatchUpParallelism = jobsCatchUpParallelism;
+    }
+
+    @Override
+    public Optional<Integer> getJobsCatchUpParallelism() {
+        return Optional.ofNullable(jobsCatchUpParallelism);
+    }
+
+    protected void setJobsCatchUpMaxInstancesPerSecond(Integer jobsCatchUpMaxInstancesPerSecond) {
+        this.jobsCatchUpMaxInstancesPerSecond = jobsCatchUpMaxInstancesPerSecond;
+    }
+
+    @Override
+    public Optional<Integer> getJobsCatchUpMaxInstancesPerSecond() {
+        return Optional.ofNullable(jobsCatchUpMaxInstancesPerSecond);
+    }
 }
@@ -15,6 +15,8 @@
 
 package org.kie.kogito.decision;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.kie.dmn.api.core.DMNContext;
@@ -32,6 +34,19 @@ public interface DecisionModel {
 
     DMNResult evaluateDecisionService(DMNContext context, String decisionServiceName);
 
+    /**
+     * Evaluates all the decisions of the model for each input set of the batch, one after the other by default.
+     *
+     * @return the results, in the order of the input sets
+     */
+    default List<DMNResult> evaluateBatch(List<Map<String, Object>> inputSets) {
+        List<DMNResult> results = new ArrayList<>(inputSets.size());
+        for (Map<String, Object> inputSet : inputSets) {
+            results.add(evaluateAll(newContext(inputSet)));
+        }
+        return results;
+    }
+
     DMNModel getDMNModel();
 
 }
@@ -15,6 +15,8 @@
 
 package org.kie.kogito.process;
 
+import java.util.Optional;
+
 import org.kie.kogito.Model;
 
 public interface Process<T> {
@@ -25,6 +27,13 @@ public interface Process<T> {
 
     ProcessInstances<T> instances();
 
+    /**
+     * Returns the archive of the completed and aborted instances of this process, when one is configured.
+     */
+    default Optional<ProcessInstanceArchive<T>> archive() {
+        return Optional.empty();
+    }
+
     <S> void send(Signal<S> sig);
     
     T createModel();
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.process;
+
+import java.util.Optional;
+
+/**
+ * Keeps the process instances of a process that reached a terminal state (completed or aborted),
+ * once they have been removed from the {@link MutableProcessInstances} of the process.
+ * <p>
+ * An archive is append only: archived instances are only available read only, and are eventually discarded
+ * by the retention policy of the implementation.
+ */
+public interface ProcessInstanceArchive<T> {
+
+    /**
+     * Archives a snapshot of the given process instance, called when it becomes completed or aborted.
+     */
+    void archive(ProcessInstance<T> instance);
+
+    /**
+     * Returns the read only process instance archived with the given id, if any.
+     */
+    Optional<ProcessInstance<T>> findById(String id);
+
+    /**
+     * Applies the retention policy and reclaims the space of the discarded instances.
+     *
+     * @return the number of archived process instances that were discarded
+     */
+    int compact();
+}
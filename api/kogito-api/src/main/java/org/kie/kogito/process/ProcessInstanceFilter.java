@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.process;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Selects process instances of a process by status, failed node and start date.
+ * Every criteria that is not set matches any process instance.
+ * <p>
+ * It is used as a plain predicate by default, but persistence backends can translate it to a query
+ * by overriding {@link ProcessInstances#findIds(ProcessInstanceFilter)}.
+ */
+public class ProcessInstanceFilter implements Predicate<ProcessInstance<?>> {
+
+    private final Set<Integer> statuses = new HashSet<>();
+    private String errorNodeId;
+    private Date startedAfter;
+    private Date startedBefore;
+
+    public ProcessInstanceFilter status(int... statuses) {
+        this.statuses.clear();
+        Arrays.stream(statuses).forEach(this.statuses::add);
+        return this;
+    }
+
+    /**
+     * Only matches process instances in error on the node with the given id.
+     */
+    public ProcessInstanceFilter errorNodeId(String errorNodeId) {
+        this.errorNodeId = errorNodeId;
+        return this;
+    }
+
+    /**
+     * Only matches process instances started at or after the given date.
+     */
+    public ProcessInstanceFilter startedAfter(Date startedAfter) {
+        this.startedAfter = startedAfter;
+        return this;
+    }
+
+    /**
+     * Only matches process instances started before the given date.
+     */
+    public ProcessInstanceFilter startedBefore(Date startedBefore) {
+        this.startedBefore = startedBefore;
+        return this;
+    }
+
+    public Set<Integer> getStatuses() {
+        return Collections.unmodifiableSet(statuses);
+    }
+
+    public String getErrorNodeId() {
+        return errorNodeId;
+    }
+
+    public Date getStartedAfter() {
+        return startedAfter;
+    }
+
+    public Date getStartedBefore() {
+        return startedBefore;
+    }
+
+    @Override
+    public boolean test(ProcessInstance<?> processInstance) {
+        if (!statuses.isEmpty() && !statuses.contains(processInstance.status())) {
+            return false;
+        }
+        if (errorNodeId != null && !processInstance.error().map(e -> errorNodeId.equals(e.failedNodeId())).orElse(false)) {
+            return false;
+        }
+        if (startedAfter != null || startedBefore != null) {
+            Date startDate = processInstance.startDate();
+            return startDate != null && (startedAfter == null || !startDate.before(startedAfter)) && (startedBefore == null || startDate.before(startedBefore));
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessInstanceFilter [statuses=" + statuses + ", errorNodeId=" + errorNodeId + ", startedAfter=" + startedAfter + ", startedBefore=" + startedBefore + "]";
+    }
+}
@@ -17,6 +17,7 @@ package org.kie.kogito.process;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public interface ProcessInstances<T> {
 
@@ -33,4 +34,12 @@ public interface ProcessInstances<T> {
     Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode);
     
     Integer size();
+
+    /**
+     * Returns the ids of the process instances matching the given filter. The default implementation loads
+     * every process instance, persistence backends are expected to push the filter down to their storage.
+     */
+    default Collection<String> findIds(ProcessInstanceFilter filter) {
+        return values(ProcessInstanceReadMode.READ_ONLY).stream().filter(filter).map(ProcessInstance::id).collect(Collectors.toList());
+    }
 }
@@ -15,8 +15,17 @@
 
 package org.kie.kogito.process;
 
+import java.util.Optional;
 
 public interface ProcessInstancesFactory {
 
     MutableProcessInstances<?> createProcessInstances(Process<?> process);
+
+    /**
+     * Creates the archive receiving the completed and aborted instances of the given process,
+     * by default they are just removed.
+     */
+    default Optional<ProcessInstanceArchive<?>> createProcessInstanceArchive(Process<?> process) {
+        return Optional.empty();
+    }
 }
@@ -22,4 +22,12 @@ public interface Signal<T> {
     T payload();
     
     String referenceId();
+
+    /**
+     * Returns the id of the event carrying this signal (e.g. the CloudEvent id or the message key), used to drop
+     * redeliveries of the same event to a process instance; <code>null</code> if the signal is not deduplicated.
+     */
+    default String eventId() {
+        return null;
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.process.workitem;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+import org.kie.api.runtime.process.WorkItem;
+import org.kie.api.runtime.process.WorkItemHandler;
+import org.kie.api.runtime.process.WorkItemManager;
+
+/**
+ * Work item handler that executes its work items without blocking the engine thread, e.g. calling a remote service.
+ * <p>
+ * The work item manager parks the node instance of the work item, lets the process instance be persisted and only then
+ * starts the execution. Once the returned stage completes the work item is completed with its results;
+ * if it fails or does not complete within the {@link #timeout()} the work item is aborted.
+ * Executions are not persisted: one interrupted by a restart is not resumed, the work item stays active until
+ * its node instance is retriggered.
+ */
+public interface AsyncWorkItemHandler extends WorkItemHandler {
+
+    /**
+     * Starts the execution of the given work item.
+     * @param workItem the work item that should be executed
+     * @return stage completed with the results of the work item
+     */
+    CompletionStage<Map<String, Object>> executeWorkItemAsync(WorkItem workItem);
+
+    /**
+     * Returns the maximum number of work items executed at the same time by this handler,
+     * the others wait for a running one to complete.
+     * @return maximum number of concurrent executions
+     */
+    default int maxConcurrency() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns how long a work item can execute before being aborted, <code>null</code> to wait indefinitely.
+     * @return timeout of the execution of a work item
+     */
+    default Duration timeout() {
+        return null;
+    }
+
+    /**
+     * Executes the work item blocking the calling thread, used by the work item managers that do not support
+     * asynchronous handlers.
+     */
+    @Override
+    default void executeWorkItem(WorkItem workItem, WorkItemManager manager) {
+        manager.completeWorkItem(workItem.getId(), executeWorkItemAsync(workItem).toCompletableFuture().join());
+    }
+
+    /**
+     * The execution of an aborted work item is cancelled by the work item manager, nothing else is done by default.
+     */
+    @Override
+    default void abortWorkItem(WorkItem workItem, WorkItemManager manager) {
+        // nothing to clean up by default
+    }
+}
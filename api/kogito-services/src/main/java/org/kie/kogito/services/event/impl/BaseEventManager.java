@@ -30,10 +30,12 @@ public class BaseEventManager implements EventManager {
     private String service;
     private Addons addons;
     private Set<EventPublisher> publishers = new LinkedHashSet<>();
+    private ProcessInstanceEventSequencer sequencer;
+    private UserTaskInstanceEventProjection userTaskProjection;
     
     @Override
     public EventBatch newBatch() {
-        return new ProcessInstanceEventBatch(service, addons);
+        return new ProcessInstanceEventBatch(service, addons, sequencer, userTaskProjection);
     }
 
     @Override
@@ -45,6 +47,9 @@ public class BaseEventManager implements EventManager {
         Collection<DataEvent<?>> events = batch.events();
         
         publishers.forEach(p -> p.publish(events));
+        if (batch instanceof ProcessInstanceEventBatch) {
+            ((ProcessInstanceEventBatch) batch).published();
+        }
     }
 
     @Override
@@ -62,4 +67,24 @@ public class BaseEventManager implements EventManager {
         this.addons = addons;
     }
 
+    /**
+     * Enables delta process instance events: only the variables and node instances changed in a unit of work are sent,
+     * along with a per process instance sequence number, and a full snapshot of the process instance every
+     * <code>snapshotInterval</code> events.
+     * @param snapshotInterval number of events between two full snapshots of a process instance
+     */
+    public void enableDeltaEvents(int snapshotInterval) {
+        this.sequencer = new ProcessInstanceEventSequencer(snapshotInterval);
+    }
+
+    /**
+     * Trims the user task instance events: only the fields changed since the previous event of a user task are sent,
+     * and the inputs and outputs larger than the given threshold are sent once and then referenced by content hash.
+     * @param largeContentThreshold size in bytes above which inputs and outputs are sent by reference
+     * @see UserTaskInstanceEventProjection
+     */
+    public void enableUserTaskEventTrimming(int largeContentThreshold) {
+        this.userTaskProjection = new UserTaskInstanceEventProjection(largeContentThreshold);
+    }
+
 }
@@ -17,6 +17,8 @@ package org.kie.kogito.services.event.impl;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -50,10 +52,40 @@ public class ProcessInstanceEventBatch implements EventBatch {
     private final String service;
     private Addons addons;
     private List<ProcessEvent> rawEvents = new ArrayList<>();
+    private ProcessInstanceEventSequencer sequencer;
+    private Map<String, Long> sequences = new HashMap<>();
+    private UserTaskInstanceEventProjection userTaskProjection;
+    private Map<String, UserTaskInstanceEventProjection.ProjectedEvent> projectedUserTasks = new HashMap<>();
 
     public ProcessInstanceEventBatch(String service, Addons addons) {
+        this(service, addons, null);
+    }
+
+    /**
+     * Creates a batch that emits delta process instance events, sequenced by the given sequencer.
+     * Delta events only carry the variables changed and the node instances triggered or left in this unit of work.
+     * 
+     * @param service endpoint of the service
+     * @param addons addons available in the service
+     * @param sequencer the sequencer shared by all the batches, null to always emit full process instance events
+     */
+    public ProcessInstanceEventBatch(String service, Addons addons, ProcessInstanceEventSequencer sequencer) {
+        this(service, addons, sequencer, null);
+    }
+
+    /**
+     * Creates a batch that also trims the user task instance events with the given projection.
+     * 
+     * @param service endpoint of the service
+     * @param addons addons available in the service
+     * @param sequencer the sequencer shared by all the batches, null to always emit full process instance events
+     * @param userTaskProjection the projection shared by all the batches, null to always emit full user task events
+     */
+    public ProcessInstanceEventBatch(String service, Addons addons, ProcessInstanceEventSequencer sequencer, UserTaskInstanceEventProjection userTaskProjection) {
         this.service = service;
         this.addons = addons;
+        this.sequencer = sequencer;
+        this.userTaskProjection = userTaskProjection;
     }
 
     @Override
@@ -68,6 +100,7 @@ public class ProcessInstanceEventBatch implements EventBatch {
         Map<String, ProcessInstanceEventBody> processInstances = new LinkedHashMap<>();
         Map<String, UserTaskInstanceEventBody> userTaskInstances = new LinkedHashMap<>();
         Set<VariableInstanceEventBody> variables = new LinkedHashSet<>();
+        Map<String, Set<String>> changedVariables = new HashMap<>();
 
         for (ProcessEvent event : rawEvents) {
             ProcessInstanceEventBody body = processInstances.computeIfAbsent(event.getProcessInstance().getId(), key -> create(event));
@@ -82,18 +115,36 @@ public class ProcessInstanceEventBatch implements EventBatch {
                 handleProcessWorkItemTransitionEvent((ProcessWorkItemTransitionEvent) event, userTaskInstances);
             } else if (event instanceof ProcessVariableChangedEvent) {
                 handleProcessVariableChangedEvent((ProcessVariableChangedEvent) event, variables);
+                changedVariables.computeIfAbsent(body.getId(), key -> new LinkedHashSet<>()).add(((ProcessVariableChangedEvent) event).getVariableId());
             }
         }
 
+        if (sequencer != null) {
+            processInstances.values().forEach(pi -> handleSequence(pi, changedVariables.getOrDefault(pi.getId(), Collections.emptySet())));
+        }
+
         Collection<DataEvent<?>> processedEvents = new ArrayList<>();
 
         processInstances.values().stream().map(pi -> new ProcessInstanceDataEvent(extractRuntimeSource(pi.metaData()), addons.toString(), pi.metaData(), pi)).forEach(processedEvents::add);
+        if (userTaskProjection != null) {
+            // projected once per batch, even if the events are computed again
+            userTaskInstances.replaceAll((id, ut) -> projectedUserTasks.computeIfAbsent(id, key -> userTaskProjection.project(ut)).getEvent());
+        }
+
         userTaskInstances.values().stream().map(pi -> new UserTaskInstanceDataEvent(extractRuntimeSource(pi.metaData()), addons.toString(), pi.metaData(), pi)).forEach(processedEvents::add);
         variables.stream().map(pi -> new VariableInstanceDataEvent(extractRuntimeSource(pi.metaData()), addons.toString(), pi.metaData(), pi)).forEach(processedEvents::add);
 
         return processedEvents;
     }
 
+    /**
+     * Notifies that the events of this batch have been published, so that the following user task events
+     * are trimmed against them.
+     */
+    public void published() {
+        projectedUserTasks.values().forEach(UserTaskInstanceEventProjection.ProjectedEvent::published);
+    }
+
     protected void handleProcessCompletedEvent(ProcessCompletedEvent event, ProcessInstanceEventBody body) {
         // in case this is a process complete event always updated and date and state 
         body.update()
@@ -117,6 +168,33 @@ public class ProcessInstanceEventBatch implements EventBatch {
         body.update().nodeInstance(nodeInstanceBody);
     }
 
+    protected void handleSequence(ProcessInstanceEventBody body, Set<String> changedVariables) {
+        // the sequence is assigned once per batch, even if the events are computed again
+        long sequence = sequences.computeIfAbsent(body.getId(), id -> sequencer.next(id, body.getState()));
+        boolean snapshot = sequencer.isSnapshot(sequence);
+        body.update().sequence(sequence).delta(!snapshot);
+        if (!snapshot) {
+            // only the process variables (not the ones of the composite nodes) that changed in this unit of work,
+            // the ones removed or set to null are listed apart so that consumers can drop them
+            Map<String, Object> allVariables = body.getVariables() == null ? Collections.emptyMap() : body.getVariables();
+            Map<String, Object> delta = new HashMap<>();
+            Set<String> removed = new LinkedHashSet<>();
+            for (String name : changedVariables) {
+                if (name.indexOf(':') >= 0) {
+                    // variable of a composite node, prefixed by the id of its container
+                    continue;
+                }
+                Object value = allVariables.get(name);
+                if (value != null) {
+                    delta.put(name, value);
+                } else {
+                    removed.add(name);
+                }
+            }
+            body.update().variables(delta).removedVariables(removed);
+        }
+    }
+
     protected void handleProcessWorkItemTransitionEvent(ProcessWorkItemTransitionEvent workItemTransitionEvent, Map<String, UserTaskInstanceEventBody> userTaskInstances) {
         WorkItem workItem = workItemTransitionEvent.getWorkItem();
         if (workItem instanceof HumanTaskWorkItem && workItemTransitionEvent.isTransitioned()) {
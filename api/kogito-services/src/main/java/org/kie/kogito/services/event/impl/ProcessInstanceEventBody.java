@@ -56,6 +56,12 @@ public class ProcessInstanceEventBody {
 
     private Set<MilestoneEventBody> milestones = Collections.emptySet();
 
+    private Long sequence;
+
+    private Boolean delta;
+
+    private Set<String> removedVariables;
+
     private ProcessInstanceEventBody() {
     }
 
@@ -119,6 +125,30 @@ public class ProcessInstanceEventBody {
         return milestones;
     }
 
+    /**
+     * Sequence number of this event for the process instance, only set when delta events are enabled.
+     * @see ProcessInstanceEventSequencer
+     */
+    public Long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Whether this event only carries the variables and node instances changed since the previous event,
+     * only set when delta events are enabled.
+     */
+    public Boolean getDelta() {
+        return delta;
+    }
+
+    /**
+     * Names of the process variables removed or set to null since the previous event, only set on delta events.
+     * They are not part of {@link #getVariables()}, which only holds the variables that have a value.
+     */
+    public Set<String> getRemovedVariables() {
+        return removedVariables;
+    }
+
     public Builder update() {
         return new Builder(this);
     }
@@ -251,6 +281,21 @@ public class ProcessInstanceEventBody {
             return this;
         }
 
+        public Builder sequence(Long sequence) {
+            instance.sequence = sequence;
+            return this;
+        }
+
+        public Builder delta(Boolean delta) {
+            instance.delta = delta;
+            return this;
+        }
+
+        public Builder removedVariables(Set<String> removedVariables) {
+            instance.removedVariables = removedVariables;
+            return this;
+        }
+
         public ProcessInstanceEventBody build() {
             return instance;
         }
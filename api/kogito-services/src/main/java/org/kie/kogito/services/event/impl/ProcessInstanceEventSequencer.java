@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.services.event.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.kie.api.runtime.process.ProcessInstance;
+
+/**
+ * Numbers the process instance events of every process instance, deciding which ones carry a full snapshot
+ * of the process instance and which ones only carry what changed (delta).
+ * <p>
+ * The first event of a process instance seen by this runtime is always a full snapshot, then one every
+ * <code>snapshotInterval</code> events, so that consumers can rebuild the state of an instance by applying the deltas
+ * with consecutive sequence numbers on top of the last snapshot. Sequence numbers are kept in memory only: they start
+ * again from 1, with a full snapshot, when the runtime restarts. At most <code>maxInstances</code> process instances
+ * are tracked: the sequence of the least recently updated one is dropped beyond that, and starts again from 1, with a
+ * full snapshot, on its next event, as after a restart.
+ */
+public class ProcessInstanceEventSequencer {
+
+    public static final int DEFAULT_MAX_INSTANCES = 10_000;
+
+    private final int snapshotInterval;
+    private final Map<String, Long> sequences;
+
+    public ProcessInstanceEventSequencer(int snapshotInterval) {
+        this(snapshotInterval, DEFAULT_MAX_INSTANCES);
+    }
+
+    public ProcessInstanceEventSequencer(int snapshotInterval, int maxInstances) {
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException("Snapshot interval must be greater than 0, but was " + snapshotInterval);
+        }
+        if (maxInstances < 1) {
+            throw new IllegalArgumentException("Max instances must be greater than 0, but was " + maxInstances);
+        }
+        this.snapshotInterval = snapshotInterval;
+        this.sequences = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxInstances;
+            }
+        };
+    }
+
+    /**
+     * Returns the next sequence number for the given process instance. Completed and aborted instances are forgotten.
+     * 
+     * @param processInstanceId id of the process instance
+     * @param state state of the process instance once the unit of work is done
+     * @return sequence number, starting from 1
+     */
+    public synchronized long next(String processInstanceId, int state) {
+        if (state == ProcessInstance.STATE_COMPLETED || state == ProcessInstance.STATE_ABORTED) {
+            Long sequence = sequences.remove(processInstanceId);
+            return sequence == null ? 1 : sequence + 1;
+        }
+        return sequences.merge(processInstanceId, 1L, Long::sum);
+    }
+
+    synchronized int trackedInstances() {
+        return sequences.size();
+    }
+
+    public boolean isSnapshot(long sequence) {
+        return (sequence - 1) % snapshotInterval == 0;
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+}
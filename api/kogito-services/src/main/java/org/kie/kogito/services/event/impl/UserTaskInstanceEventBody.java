@@ -50,6 +50,12 @@ public class UserTaskInstanceEventBody {
     private String processId;
     private String rootProcessId;
 
+    private Boolean delta;
+    private Map<String, String> inputReferences;
+    private Map<String, String> outputReferences;
+    private Map<String, Object> contents;
+    private Set<String> removedFields;
+
     private UserTaskInstanceEventBody() {
 
     }
@@ -133,6 +139,44 @@ public class UserTaskInstanceEventBody {
     public String getRootProcessId() {
         return rootProcessId;
     }
+
+    /**
+     * Whether this event only carries the fields changed since the previous event of the user task
+     * (the ones left null did not change), only set when user task events are trimmed.
+     * @see UserTaskInstanceEventProjection
+     */
+    public Boolean getDelta() {
+        return delta;
+    }
+
+    /**
+     * Inputs whose content is too large to be carried by every event, by name, referencing their content hash.
+     */
+    public Map<String, String> getInputReferences() {
+        return inputReferences;
+    }
+
+    /**
+     * Outputs whose content is too large to be carried by every event, by name, referencing their content hash.
+     */
+    public Map<String, String> getOutputReferences() {
+        return outputReferences;
+    }
+
+    /**
+     * Contents of the referenced inputs and outputs, by content hash, carried by the first event referencing them.
+     */
+    public Map<String, Object> getContents() {
+        return contents;
+    }
+
+    /**
+     * Names of the fields cleared since the previous event of the user task, only set on delta events.
+     * Removed inputs and outputs are named <code>inputs.name</code> and <code>outputs.name</code>.
+     */
+    public Set<String> getRemovedFields() {
+        return removedFields;
+    }
     
     public Map<String, String> metaData() {
         Map<String, String> metadata = new HashMap<>();
@@ -291,5 +335,30 @@ public class UserTaskInstanceEventBody {
             instance.rootProcessId = rootProcessId;
             return this;
         }
+
+        public Builder delta(Boolean delta) {
+            instance.delta = delta;
+            return this;
+        }
+
+        public Builder inputReferences(Map<String, String> inputReferences) {
+            instance.inputReferences = inputReferences;
+            return this;
+        }
+
+        public Builder outputReferences(Map<String, String> outputReferences) {
+            instance.outputReferences = outputReferences;
+            return this;
+        }
+
+        public Builder contents(Map<String, Object> contents) {
+            instance.contents = contents;
+            return this;
+        }
+
+        public Builder removedFields(Set<String> removedFields) {
+            instance.removedFields = removedFields;
+            return this;
+        }
     }
 }
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.services.event.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Trims the user task instance events, so that busy task inboxes do not repeat the whole task in every event.
+ * <p>
+ * The first event of a user task seen by this runtime carries all its fields, the following ones (flagged as delta)
+ * only the fields that changed since the previous event, the others being left null; the fields, inputs and outputs
+ * that were cleared or removed are listed by name, and the ids and the state are always set. Inputs and outputs whose
+ * content is larger than the threshold are replaced by a reference to their content hash, and their content is carried
+ * only by the first event referencing it, so that consumers keep the contents by hash.
+ * <p>
+ * What was sent for every user task and the hashes of the contents already sent are remembered once the event is
+ * published, in memory only and for a bounded number of tasks and contents: after a restart, or once a task or
+ * a content has been forgotten, the first event of a user task is complete again and the contents are sent again.
+ */
+public class UserTaskInstanceEventProjection {
+
+    public static final int DEFAULT_SENT_CONTENTS = 10_000;
+    public static final int DEFAULT_MAX_TASKS = 10_000;
+
+    private static final String INPUTS = "inputs";
+    private static final String OUTPUTS = "outputs";
+    private static final Set<String> FINAL_STATES = new HashSet<>(Arrays.asList("Completed", "Aborted"));
+    private static final List<Class<?>> IMMUTABLE_TYPES = Arrays.asList(String.class, Boolean.class, Character.class, Byte.class, Short.class,
+                                                                        Integer.class, Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final int largeContentThreshold;
+    private final Function<Object, byte[]> serializer;
+    private final Map<String, TaskState> tasks;
+    private final Set<String> sentContents;
+
+    public UserTaskInstanceEventProjection(int largeContentThreshold) {
+        this(largeContentThreshold, UserTaskInstanceEventProjection::serialize, DEFAULT_SENT_CONTENTS, DEFAULT_MAX_TASKS);
+    }
+
+    /**
+     * @param largeContentThreshold size in bytes above which inputs and outputs are sent by reference
+     * @param serializer serializes the inputs and outputs to compute their size and content hash
+     * @param sentContents maximum number of content hashes remembered as sent
+     * @param maxTasks maximum number of user tasks remembered, the least recently updated one being forgotten
+     */
+    public UserTaskInstanceEventProjection(int largeContentThreshold, Function<Object, byte[]> serializer, int sentContents, int maxTasks) {
+        if (largeContentThreshold < 0) {
+            throw new IllegalArgumentException("Large content threshold must not be negative, but was " + largeContentThreshold);
+        }
+        this.largeContentThreshold = largeContentThreshold;
+        this.serializer = serializer;
+        this.tasks = Collections.synchronizedMap(new LinkedHashMap<String, TaskState>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TaskState> eldest) {
+                return size() > maxTasks;
+            }
+        });
+        this.sentContents = Collections.synchronizedSet(Collections.newSetFromMap(new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > sentContents;
+            }
+        }));
+    }
+
+    /**
+     * Returns the event to send in place of the given complete user task event. Nothing is remembered until
+     * {@link ProjectedEvent#published()} is called, so that an event that failed to be published is not taken
+     * as the base of the following ones.
+     */
+    public ProjectedEvent project(UserTaskInstanceEventBody body) {
+        TaskState previous = tasks.get(body.getId());
+        TaskState current = new TaskState(body);
+        Set<String> removedFields = new LinkedHashSet<>();
+
+        Map<String, Object> contents = new HashMap<>();
+        Set<String> referencedContents = new HashSet<>();
+        Map<String, Object> inputs = new HashMap<>();
+        Map<String, String> inputReferences = new HashMap<>();
+        project(INPUTS, body.getInputs(), previous != null ? previous.inputs : null, current.inputs,
+                inputs, inputReferences, contents, referencedContents, removedFields);
+        Map<String, Object> outputs = new HashMap<>();
+        Map<String, String> outputReferences = new HashMap<>();
+        project(OUTPUTS, body.getOutputs(), previous != null ? previous.outputs : null, current.outputs,
+                outputs, outputReferences, contents, referencedContents, removedFields);
+
+        boolean delta = previous != null;
+        UserTaskInstanceEventBody event = UserTaskInstanceEventBody.create()
+                .id(body.getId())
+                .state(body.getState())
+                .processInstanceId(body.getProcessInstanceId())
+                .rootProcessInstanceId(body.getRootProcessInstanceId())
+                .processId(body.getProcessId())
+                .rootProcessId(body.getRootProcessId())
+                .taskName(changed("taskName", body.getTaskName(), previous, p -> p.taskName, removedFields))
+                .taskDescription(changed("taskDescription", body.getTaskDescription(), previous, p -> p.taskDescription, removedFields))
+                .taskPriority(changed("taskPriority", body.getTaskPriority(), previous, p -> p.taskPriority, removedFields))
+                .referenceName(changed("referenceName", body.getReferenceName(), previous, p -> p.referenceName, removedFields))
+                .actualOwner(changed("actualOwner", body.getActualOwner(), previous, p -> p.actualOwner, removedFields))
+                .startDate(changed("startDate", body.getStartDate(), previous, p -> p.startDate, removedFields))
+                .completeDate(changed("completeDate", body.getCompleteDate(), previous, p -> p.completeDate, removedFields))
+                .potentialUsers(changed("potentialUsers", body.getPotentialUsers(), previous, p -> p.potentialUsers, removedFields))
+                .potentialGroups(changed("potentialGroups", body.getPotentialGroups(), previous, p -> p.potentialGroups, removedFields))
+                .excludedUsers(changed("excludedUsers", body.getExcludedUsers(), previous, p -> p.excludedUsers, removedFields))
+                .adminUsers(changed("adminUsers", body.getAdminUsers(), previous, p -> p.adminUsers, removedFields))
+                .adminGroups(changed("adminGroups", body.getAdminGroups(), previous, p -> p.adminGroups, removedFields))
+                .inputs(inputs.isEmpty() && delta ? null : inputs)
+                .outputs(outputs.isEmpty() && delta ? null : outputs)
+                .inputReferences(inputReferences.isEmpty() ? null : inputReferences)
+                .outputReferences(outputReferences.isEmpty() ? null : outputReferences)
+                .contents(contents.isEmpty() ? null : contents)
+                .delta(delta)
+                .removedFields(removedFields.isEmpty() ? null : removedFields)
+                .build();
+        return new ProjectedEvent(event, FINAL_STATES.contains(body.getState()) ? null : current, referencedContents);
+    }
+
+    private void project(String field, Map<String, Object> values, Map<String, Content> previous, Map<String, Content> current,
+                         Map<String, Object> inline, Map<String, String> references, Map<String, Object> contents,
+                         Set<String> referencedContents, Set<String> removedFields) {
+        if (values != null) {
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                Content before = previous != null ? previous.get(entry.getKey()) : null;
+                Content content = content(entry.getValue(), before);
+                current.put(entry.getKey(), content);
+                if (before != null && before.hash.equals(content.hash)) {
+                    continue;
+                }
+                if (previous != null && entry.getValue() == null) {
+                    removedFields.add(field + "." + entry.getKey());
+                } else if (content.large) {
+                    references.put(entry.getKey(), content.hash);
+                    referencedContents.add(content.hash);
+                    if (!sentContents.contains(content.hash)) {
+                        contents.put(content.hash, entry.getValue());
+                    }
+                } else {
+                    inline.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        if (previous != null) {
+            for (String name : previous.keySet()) {
+                if (values == null || !values.containsKey(name)) {
+                    removedFields.add(field + "." + name);
+                }
+            }
+        }
+    }
+
+    private Content content(Object value, Content before) {
+        if (value == null) {
+            return new Content(null, "", false);
+        }
+        if (before != null && before.value == value) {
+            // the very same immutable value, no need to hash it again
+            return before;
+        }
+        byte[] bytes = serializer.apply(value);
+        return new Content(isImmutable(value) ? value : null, hash(bytes), bytes.length > largeContentThreshold);
+    }
+
+    private static <T> T changed(String field, T value, TaskState previous, Function<TaskState, T> previousValue, Set<String> removedFields) {
+        if (previous == null) {
+            return value;
+        }
+        T before = previousValue.apply(previous);
+        if (Objects.equals(value, before)) {
+            return null;
+        }
+        if (value == null) {
+            removedFields.add(field);
+        }
+        return value;
+    }
+
+    private static boolean isImmutable(Object value) {
+        return IMMUTABLE_TYPES.contains(value.getClass()) || value instanceof Enum;
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Default serializer: strings as UTF-8, byte arrays as they are, serializable values with java serialization
+     * and anything else through its string representation.
+     */
+    static byte[] serialize(Object value) {
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        }
+        if (value instanceof Serializable && !(value instanceof String)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Event projected from a complete user task event, remembered by the projection once published.
+     */
+    public class ProjectedEvent {
+
+        private final UserTaskInstanceEventBody event;
+        // null once the task is finished, so that it is forgotten
+        private final TaskState state;
+        private final Set<String> referencedContents;
+
+        private ProjectedEvent(UserTaskInstanceEventBody event, TaskState state, Set<String> referencedContents) {
+            this.event = event;
+            this.state = state;
+            this.referencedContents = referencedContents;
+        }
+
+        public UserTaskInstanceEventBody getEvent() {
+            return event;
+        }
+
+        /**
+         * Remembers what this event sent, to be called once it has been published.
+         */
+        public void published() {
+            if (state != null) {
+                tasks.put(event.getId(), state);
+            } else {
+                tasks.remove(event.getId());
+            }
+            sentContents.addAll(referencedContents);
+        }
+    }
+
+    private static class Content {
+
+        // kept only for immutable values, to recognize them without hashing them again
+        private final Object value;
+        private final String hash;
+        private final boolean large;
+
+        Content(Object value, String hash, boolean large) {
+            this.value = value;
+            this.hash = hash;
+            this.large = large;
+        }
+    }
+
+    private static class TaskState {
+
+        private final String taskName;
+        private final String taskDescription;
+        private final String taskPriority;
+        private final String referenceName;
+        private final String actualOwner;
+        private final Date startDate;
+        private final Date completeDate;
+        private final Set<String> potentialUsers;
+        private final Set<String> potentialGroups;
+        private final Set<String> excludedUsers;
+        private final Set<String> adminUsers;
+        private final Set<String> adminGroups;
+        private final Map<String, Content> inputs = new HashMap<>();
+        private final Map<String, Content> outputs = new HashMap<>();
+
+        TaskState(UserTaskInstanceEventBody body) {
+            // copied, as the event may share them with the work item
+            this.taskName = body.getTaskName();
+            this.taskDescription = body.getTaskDescription();
+            this.taskPriority = body.getTaskPriority();
+            this.referenceName = body.getReferenceName();
+            this.actualOwner = body.getActualOwner();
+            this.startDate = copy(body.getStartDate());
+            this.completeDate = copy(body.getCompleteDate());
+            this.potentialUsers = copy(body.getPotentialUsers());
+            this.potentialGroups = copy(body.getPotentialGroups());
+            this.excludedUsers = copy(body.getExcludedUsers());
+            this.adminUsers = copy(body.getAdminUsers());
+            this.adminGroups = copy(body.getAdminGroups());
+        }
+
+        private static Date copy(Date date) {
+            return date == null ? null : new Date(date.getTime());
+        }
+
+        private static Set<String> copy(Set<String> values) {
+            return values == null ? null : new HashSet<>(values);
+        }
+    }
+}
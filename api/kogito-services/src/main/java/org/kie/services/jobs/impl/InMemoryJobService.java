@@ -19,10 +19,17 @@ package org.kie.services.jobs.impl;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.api.runtime.process.ProcessRuntime;
@@ -40,6 +47,7 @@ public class InMemoryJobService implements JobsService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryJobService.class);
     private static final String TRIGGER = "timer";
+    private static final long GATHERING_DELAY = TimeUnit.MILLISECONDS.toNanos(100);
 
     protected final ScheduledThreadPoolExecutor scheduler;
     protected final ProcessRuntime processRuntime;
@@ -47,6 +55,8 @@ public class InMemoryJobService implements JobsService {
 
     protected ConcurrentHashMap<String, ScheduledFuture<?>> scheduledJobs = new ConcurrentHashMap<>();
 
+    private CatchUp catchUp;
+
     public InMemoryJobService(ProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
         this(1, processRuntime, unitOfWorkManager);
     }
@@ -57,6 +67,36 @@ public class InMemoryJobService implements JobsService {
         this.unitOfWorkManager = unitOfWorkManager;
     }
 
+    /**
+     * Enables the catch-up of the process instance timers that are overdue by more than the given threshold when
+     * they are scheduled, e.g. when they are scheduled again after a downtime. Instead of firing one by one, the
+     * overdue timers are grouped by process instance and all the timers of a process instance are signaled in one
+     * unit of work. The timers of a process instance that are due during that unit of work are signaled after it,
+     * in a unit of work of their own. Process instances are dispatched on the given number of daemon threads, at
+     * most the given number of process instances per second (0 for no limit).
+     * @param misfirePolicy what to do with the firings missed by repeating timers
+     * @param misfireThreshold delay in milliseconds after which a timer is overdue
+     * @param parallelism number of process instances dispatched at the same time
+     * @param maxInstancesPerSecond maximum number of process instances dispatched per second, 0 for no limit
+     */
+    public InMemoryJobService withCatchUp(MisfirePolicy misfirePolicy, long misfireThreshold, int parallelism, int maxInstancesPerSecond) {
+        if (catchUp != null) {
+            catchUp.dispatcher.shutdown();
+        }
+        this.catchUp = new CatchUp(misfirePolicy, misfireThreshold, parallelism, maxInstancesPerSecond);
+        return this;
+    }
+
+    /**
+     * Stops the scheduler and the catch-up dispatcher, the jobs that are not running yet never run.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if (catchUp != null) {
+            catchUp.dispatcher.shutdownNow();
+        }
+    }
+
     @Override
     public String scheduleProcessJob(ProcessJobDescription description) {
         LOGGER.debug("ScheduleProcessJob: {}", description);
@@ -72,11 +112,16 @@ public class InMemoryJobService implements JobsService {
 
     @Override
     public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
+        long delay = calculateDelay(description);
+        if (catchUp != null && -delay > catchUp.misfireThreshold) {
+            catchUp.schedule(description, -delay);
+            return description.id();
+        }
         ScheduledFuture<?> future = null;
         if (description.expirationTime().repeatInterval() != null) {
-            future = scheduler.scheduleAtFixedRate(new SignalProcessInstanceOnExpiredTimer(description.id(), description.processInstanceId(), false, description.expirationTime().repeatLimit()), calculateDelay(description), description.expirationTime().repeatInterval(), TimeUnit.MILLISECONDS);
+            future = scheduler.scheduleAtFixedRate(new SignalProcessInstanceOnExpiredTimer(description.id(), description.processInstanceId(), false, description.expirationTime().repeatLimit()), delay, description.expirationTime().repeatInterval(), TimeUnit.MILLISECONDS);
         } else {
-            future = scheduler.schedule(new SignalProcessInstanceOnExpiredTimer(description.id(), description.processInstanceId(), true, -1), calculateDelay(description), TimeUnit.MILLISECONDS);
+            future = scheduler.schedule(new SignalProcessInstanceOnExpiredTimer(description.id(), description.processInstanceId(), true, -1), delay, TimeUnit.MILLISECONDS);
         }
         scheduledJobs.put(description.id(), future);
         return description.id();
@@ -85,11 +130,12 @@ public class InMemoryJobService implements JobsService {
     @Override
     public boolean cancelJob(String id) {
         LOGGER.debug("Cancel Job: {}", id);
+        boolean cancelled = catchUp != null && catchUp.cancel(id);
         if (scheduledJobs.containsKey(id)) {
-            return scheduledJobs.remove(id).cancel(true);
+            return scheduledJobs.remove(id).cancel(true) || cancelled;
         }
 
-        return false;
+        return cancelled;
     }
 
     @Override
@@ -126,6 +172,13 @@ public class InMemoryJobService implements JobsService {
         }
     }
 
+    private void cancelScheduled(String id) {
+        ScheduledFuture<?> future = scheduledJobs.remove(id);
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
     private class SignalProcessInstanceOnExpiredTimer implements Runnable {
 
         private final String id;
@@ -142,31 +195,179 @@ public class InMemoryJobService implements JobsService {
 
         @Override
         public void run() {
+            // never signaled concurrently with the overdue timers of the same process instance
+            if (catchUp != null && catchUp.join(processInstanceId, this)) {
+                LOGGER.debug("Job {} joined the catch-up of process instance {}", id, processInstanceId);
+                return;
+            }
             try {
                 LOGGER.debug("Job {} started", id);
                 UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
-                    ProcessInstance pi = processRuntime.getProcessInstance(processInstanceId);
-                    if (pi != null) {
-                        String[] ids = id.split("_");
-                        limit--;
-                        pi.signalEvent("timerTriggered", TimerInstance.with(Long.valueOf(ids[1]), id, limit));
-                        if (limit == 0) {
-                            scheduledJobs.remove(id).cancel(false);
-                        }
-                    } else {
-                        // since owning process instance does not exist cancel timers
-                        scheduledJobs.remove(id).cancel(false);
-                    }
-
+                    trigger(processRuntime.getProcessInstance(processInstanceId));
                     return null;
                 });
                 LOGGER.debug("Job {} completed", id);
             } finally {
-                if (removeAtExecution) {
-                    scheduledJobs.remove(id);
+                executed();
+            }
+        }
+
+        private void trigger(ProcessInstance pi) {
+            if (pi != null) {
+                String[] ids = id.split("_");
+                limit--;
+                pi.signalEvent("timerTriggered", TimerInstance.with(Long.valueOf(ids[1]), id, limit));
+                if (limit == 0) {
+                    cancelScheduled(id);
+                }
+            } else {
+                // since owning process instance does not exist cancel timers
+                cancelScheduled(id);
+            }
+        }
+
+        private void executed() {
+            if (removeAtExecution) {
+                scheduledJobs.remove(id);
+            }
+        }
+    }
+
+    private class CatchUp {
+
+        private final MisfirePolicy misfirePolicy;
+        private final long misfireThreshold;
+        private final long dispatchInterval;
+        private final ExecutorService dispatcher;
+        private final AtomicLong nextDispatch = new AtomicLong(System.nanoTime());
+        // overdue timers by process instance, until the unit of work of the process instance ends: the timers due
+        // while it runs join the next unit of work instead of being signaled concurrently
+        private final ConcurrentHashMap<String, List<Firing>> overdue = new ConcurrentHashMap<>();
+
+        private CatchUp(MisfirePolicy misfirePolicy, long misfireThreshold, int parallelism, int maxInstancesPerSecond) {
+            this.misfirePolicy = misfirePolicy;
+            this.misfireThreshold = misfireThreshold;
+            this.dispatchInterval = maxInstancesPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxInstancesPerSecond : 0;
+            this.dispatcher = Executors.newFixedThreadPool(parallelism, threadFactory());
+        }
+
+        private ThreadFactory threadFactory() {
+            AtomicInteger count = new AtomicInteger();
+            return r -> {
+                Thread thread = new Thread(r, "kogito-jobs-catch-up-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+
+        private void schedule(ProcessInstanceJobDescription description, long overdueMillis) {
+            String processInstanceId = description.processInstanceId();
+            Long interval = description.expirationTime().repeatInterval();
+            if (interval == null) {
+                add(processInstanceId, new Firing(new SignalProcessInstanceOnExpiredTimer(description.id(), processInstanceId, true, -1), 1));
+                return;
+            }
+            Integer limit = description.expirationTime().repeatLimit();
+            SignalProcessInstanceOnExpiredTimer timer = new SignalProcessInstanceOnExpiredTimer(description.id(), processInstanceId, false, limit);
+            long firings = misfirePolicy.firings(1 + overdueMillis / interval);
+            if (limit != null && limit > 0) {
+                firings = Math.min(firings, limit);
+            }
+            if (limit == null || limit <= 0 || firings < limit) {
+                // the following firings keep the period of the timer
+                scheduledJobs.put(description.id(), scheduler.scheduleAtFixedRate(timer, interval - overdueMillis % interval, interval, TimeUnit.MILLISECONDS));
+            }
+            if (firings > 0) {
+                add(processInstanceId, new Firing(timer, firings));
+            }
+        }
+
+        private void add(String processInstanceId, Firing firing) {
+            boolean[] first = {false};
+            overdue.compute(processInstanceId, (key, firings) -> {
+                if (firings == null) {
+                    firings = new ArrayList<>();
+                    first[0] = true;
                 }
+                firings.add(firing);
+                return firings;
+            });
+            if (first[0]) {
+                dispatch(processInstanceId);
             }
         }
+
+        private boolean join(String processInstanceId, SignalProcessInstanceOnExpiredTimer timer) {
+            return overdue.computeIfPresent(processInstanceId, (key, firings) -> {
+                firings.add(new Firing(timer, 1));
+                return firings;
+            }) != null;
+        }
+
+        private boolean cancel(String id) {
+            boolean[] cancelled = {false};
+            overdue.replaceAll((key, firings) -> {
+                cancelled[0] |= firings.removeIf(firing -> firing.timer.id.equals(id));
+                return firings;
+            });
+            return cancelled[0];
+        }
+
+        private void dispatch(String processInstanceId) {
+            long now = System.nanoTime();
+            // overdue timers are usually scheduled again in bulk, the ones of the same process instance join meanwhile
+            long earliest = now + GATHERING_DELAY;
+            long slot = Math.max(nextDispatch.getAndAccumulate(earliest, (next, current) -> Math.max(next, current) + dispatchInterval), earliest);
+            scheduler.schedule(() -> dispatcher.execute(() -> fire(processInstanceId)), slot - now, TimeUnit.NANOSECONDS);
+        }
+
+        private void fire(String processInstanceId) {
+            List<Firing> firings = new ArrayList<>();
+            overdue.computeIfPresent(processInstanceId, (key, dispatched) -> {
+                firings.addAll(dispatched);
+                return new ArrayList<>();
+            });
+            try {
+                if (!firings.isEmpty()) {
+                    signal(processInstanceId, firings);
+                }
+            } finally {
+                firings.forEach(firing -> firing.timer.executed());
+                // the process instance stays in catch-up while timers joined during its unit of work
+                if (overdue.computeIfPresent(processInstanceId, (key, joined) -> joined.isEmpty() ? null : joined) != null) {
+                    dispatch(processInstanceId);
+                }
+            }
+        }
+
+        private void signal(String processInstanceId, List<Firing> firings) {
+            try {
+                LOGGER.debug("Catch-up of {} timers of process instance {} started", firings.size(), processInstanceId);
+                UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+                    ProcessInstance pi = processRuntime.getProcessInstance(processInstanceId);
+                    for (Firing firing : firings) {
+                        for (long i = 0; i < firing.count; i++) {
+                            firing.timer.trigger(pi);
+                        }
+                    }
+                    return null;
+                });
+                LOGGER.debug("Catch-up of timers of process instance {} completed", processInstanceId);
+            } catch (RuntimeException e) {
+                LOGGER.error("Catch-up of timers of process instance {} failed", processInstanceId, e);
+            }
+        }
+    }
+
+    private static class Firing {
+
+        private final SignalProcessInstanceOnExpiredTimer timer;
+        private final long count;
+
+        private Firing(SignalProcessInstanceOnExpiredTimer timer, long count) {
+            this.timer = timer;
+            this.count = count;
+        }
     }
 
     private class StartProcessOnExpiredTimer implements Runnable {
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.services.jobs.impl;
+
+/**
+ * What to do with the firings a repeating timer missed while it could not fire, e.g. during a downtime.
+ * Timers that do not repeat are overdue by a single firing, that is always done whatever the policy:
+ * skipping it would leave the process instance waiting forever.
+ */
+public enum MisfirePolicy {
+
+    /**
+     * Fires once for all the missed firings
+     */
+    FIRE_ONCE,
+    /**
+     * Fires every missed firing, up to the repeat limit of the timer
+     */
+    FIRE_ALL,
+    /**
+     * Fires none of the missed firings, the timer fires again at its next due time
+     */
+    SKIP;
+
+    long firings(long missed) {
+        switch (this) {
+            case FIRE_ALL:
+                return missed;
+            case FIRE_ONCE:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+}
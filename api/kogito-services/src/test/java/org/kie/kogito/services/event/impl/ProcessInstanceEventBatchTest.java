@@ -16,15 +16,25 @@
 
 package org.kie.kogito.services.event.impl;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
+import org.kie.api.definition.process.Process;
+import org.kie.api.event.process.ProcessVariableChangedEvent;
+import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.api.runtime.process.WorkflowProcessInstance;
+import org.kie.kogito.Addons;
 import org.kie.kogito.process.flexible.Milestone;
+import org.kie.kogito.services.event.ProcessInstanceDataEvent;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.kie.kogito.process.flexible.ItemDescription.Status;
 import static org.kie.kogito.services.event.impl.ProcessInstanceEventBody.PROCESS_ID_META_DATA;
 import static org.mockito.Mockito.mock;
@@ -72,4 +82,114 @@ public class ProcessInstanceEventBatchTest {
         MilestoneEventBody milestoneEventBody = MilestoneEventBody.create().id("id").name("name").status(Status.AVAILABLE.name()).build();
         assertThat(batch.createMilestones(pi)).containsOnly(milestoneEventBody);
     }
+
+    @Test
+    public void testFullEventsByDefault() {
+        WorkflowProcessInstance pi = mockProcessInstance(ProcessInstance.STATE_ACTIVE);
+
+        ProcessInstanceEventBody body = singleBody(new ProcessInstanceEventBatch("", Addons.EMTPY), pi, "a");
+
+        assertThat(body.getVariables()).containsOnlyKeys("a", "b");
+        assertThat(body.getSequence()).isNull();
+        assertThat(body.getDelta()).isNull();
+    }
+
+    @Test
+    public void testDeltaEvents() {
+        ProcessInstanceEventSequencer sequencer = new ProcessInstanceEventSequencer(3);
+        WorkflowProcessInstance pi = mockProcessInstance(ProcessInstance.STATE_ACTIVE);
+
+        ProcessInstanceEventBody first = singleBody(new ProcessInstanceEventBatch("", Addons.EMTPY, sequencer), pi, "a");
+        assertThat(first.getSequence()).isEqualTo(1L);
+        assertThat(first.getDelta()).isFalse();
+        assertThat(first.getVariables()).containsOnlyKeys("a", "b");
+
+        ProcessInstanceEventBody second = singleBody(new ProcessInstanceEventBatch("", Addons.EMTPY, sequencer), pi, "b");
+        assertThat(second.getSequence()).isEqualTo(2L);
+        assertThat(second.getDelta()).isTrue();
+        assertThat(second.getVariables()).containsOnly(entry("b", 2));
+
+        ProcessInstanceEventBody third = singleBody(new ProcessInstanceEventBatch("", Addons.EMTPY, sequencer), pi, "subprocess:c");
+        assertThat(third.getSequence()).isEqualTo(3L);
+        assertThat(third.getVariables()).isEmpty();
+        assertThat(third.getRemovedVariables()).isEmpty();
+
+        ProcessInstanceEventBody fourth = singleBody(new ProcessInstanceEventBatch("", Addons.EMTPY, sequencer), pi, "a");
+        assertThat(fourth.getSequence()).isEqualTo(4L);
+        assertThat(fourth.getDelta()).isFalse();
+        assertThat(fourth.getVariables()).containsOnlyKeys("a", "b");
+    }
+
+    @Test
+    public void testRemovedVariablesOfDeltaEvents() {
+        ProcessInstanceEventSequencer sequencer = new ProcessInstanceEventSequencer(10);
+        WorkflowProcessInstance pi = mockProcessInstance(ProcessInstance.STATE_ACTIVE);
+        singleBody(new ProcessInstanceEventBatch("", Addons.EMTPY, sequencer), pi, "a");
+
+        pi.getVariables().put("a", null);
+        pi.getVariables().remove("b");
+        ProcessInstanceEventBatch batch = new ProcessInstanceEventBatch("", Addons.EMTPY, sequencer);
+        batch.append(variableChanged(pi, "a"));
+        ProcessInstanceEventBody delta = singleBody(batch, pi, "b");
+
+        assertThat(delta.getDelta()).isTrue();
+        assertThat(delta.getVariables()).isEmpty();
+        assertThat(delta.getRemovedVariables()).containsExactly("a", "b");
+    }
+
+    @Test
+    public void testSequencerTracksLimitedNumberOfInstances() {
+        ProcessInstanceEventSequencer sequencer = new ProcessInstanceEventSequencer(10, 2);
+
+        assertThat(sequencer.next("pi1", ProcessInstance.STATE_ACTIVE)).isEqualTo(1L);
+        assertThat(sequencer.next("pi2", ProcessInstance.STATE_ACTIVE)).isEqualTo(1L);
+        assertThat(sequencer.next("pi1", ProcessInstance.STATE_ACTIVE)).isEqualTo(2L);
+        assertThat(sequencer.next("pi3", ProcessInstance.STATE_ACTIVE)).isEqualTo(1L);
+        assertThat(sequencer.trackedInstances()).isEqualTo(2);
+
+        // pi2 was the least recently updated: it starts again with a snapshot
+        assertThat(sequencer.next("pi1", ProcessInstance.STATE_ACTIVE)).isEqualTo(3L);
+        assertThat(sequencer.next("pi2", ProcessInstance.STATE_ACTIVE)).isEqualTo(1L);
+        assertThatThrownBy(() -> new ProcessInstanceEventSequencer(10, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testSequenceOfCompletedInstances() {
+        ProcessInstanceEventSequencer sequencer = new ProcessInstanceEventSequencer(10);
+
+        assertThat(sequencer.next("pi", ProcessInstance.STATE_ACTIVE)).isEqualTo(1L);
+        assertThat(sequencer.next("pi", ProcessInstance.STATE_ACTIVE)).isEqualTo(2L);
+        assertThat(sequencer.next("pi", ProcessInstance.STATE_COMPLETED)).isEqualTo(3L);
+        assertThat(sequencer.next("pi", ProcessInstance.STATE_ACTIVE)).isEqualTo(1L);
+        assertThatThrownBy(() -> new ProcessInstanceEventSequencer(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ProcessInstanceEventBody singleBody(ProcessInstanceEventBatch batch, WorkflowProcessInstance pi, String changedVariable) {
+        batch.append(variableChanged(pi, changedVariable));
+
+        assertThat(batch.events()).hasSize(1).allMatch(ProcessInstanceDataEvent.class::isInstance);
+        return ((ProcessInstanceDataEvent) batch.events().iterator().next()).getData();
+    }
+
+    private static ProcessVariableChangedEvent variableChanged(WorkflowProcessInstance pi, String variableId) {
+        ProcessVariableChangedEvent event = mock(ProcessVariableChangedEvent.class);
+        when(event.getProcessInstance()).thenReturn(pi);
+        when(event.getVariableId()).thenReturn(variableId);
+        return event;
+    }
+
+    private static WorkflowProcessInstance mockProcessInstance(int state) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("a", 1);
+        variables.put("b", 2);
+        Process process = mock(Process.class);
+        when(process.getMetaData()).thenReturn(emptyMap());
+        WorkflowProcessInstance pi = mock(WorkflowProcessInstance.class);
+        when(pi.getId()).thenReturn("pi");
+        when(pi.getProcessId()).thenReturn("travels");
+        when(pi.getState()).thenReturn(state);
+        when(pi.getVariables()).thenReturn(variables);
+        when(pi.getProcess()).thenReturn(process);
+        return pi;
+    }
 }
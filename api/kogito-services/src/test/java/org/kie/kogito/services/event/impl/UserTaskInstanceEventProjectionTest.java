@@ -0,0 +1,234 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.services.event.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.kie.api.definition.process.Process;
+import org.kie.api.event.process.ProcessWorkItemTransitionEvent;
+import org.kie.api.runtime.process.HumanTaskWorkItem;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.api.runtime.process.WorkflowProcessInstance;
+import org.kie.kogito.Addons;
+import org.kie.kogito.services.event.UserTaskInstanceDataEvent;
+
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UserTaskInstanceEventProjectionTest {
+
+    private static final int THRESHOLD = 1024;
+    private static final String LARGE_PAYLOAD = payload(1024 * 1024);
+
+    private final WorkflowProcessInstance pi = mockProcessInstance();
+
+    @Test
+    public void testFullEventsByDefault() {
+        HumanTaskWorkItem workItem = mockWorkItem("task", "Ready", null, LARGE_PAYLOAD);
+
+        UserTaskInstanceEventBody body = event(null, workItem);
+
+        assertThat(body.getDelta()).isNull();
+        assertThat(body.getInputs()).containsOnly(entry("document", LARGE_PAYLOAD), entry("comment", "small"));
+        assertThat(body.getInputReferences()).isNull();
+        assertThat(body.getContents()).isNull();
+    }
+
+    @Test
+    public void testOnlyChangedFieldsAreSent() {
+        UserTaskInstanceEventProjection projection = new UserTaskInstanceEventProjection(THRESHOLD);
+        HumanTaskWorkItem workItem = mockWorkItem("task", "Ready", null, LARGE_PAYLOAD);
+
+        UserTaskInstanceEventBody first = event(projection, workItem);
+        assertThat(first.getDelta()).isFalse();
+        assertThat(first.getTaskName()).isEqualTo("Approve");
+        assertThat(first.getPotentialUsers()).containsOnly("john", "mary");
+        assertThat(first.getInputs()).containsOnly(entry("comment", "small"));
+        String hash = first.getInputReferences().get("document");
+        assertThat(first.getContents()).containsOnly(entry(hash, LARGE_PAYLOAD));
+
+        when(workItem.getPhaseStatus()).thenReturn("Reserved");
+        when(workItem.getActualOwner()).thenReturn("john");
+        UserTaskInstanceEventBody second = event(projection, workItem);
+        assertThat(second.getDelta()).isTrue();
+        assertThat(second.getId()).isEqualTo("task");
+        assertThat(second.getState()).isEqualTo("Reserved");
+        assertThat(second.getActualOwner()).isEqualTo("john");
+        assertThat(second.getTaskName()).isNull();
+        assertThat(second.getPotentialUsers()).isNull();
+        assertThat(second.getInputs()).isNull();
+        assertThat(second.getInputReferences()).isNull();
+        assertThat(second.getContents()).isNull();
+
+        when(workItem.getResults()).thenReturn(Collections.singletonMap("approved", true));
+        UserTaskInstanceEventBody third = event(projection, workItem);
+        assertThat(third.getActualOwner()).isNull();
+        assertThat(third.getOutputs()).containsOnly(entry("approved", true));
+    }
+
+    @Test
+    public void testLargeContentIsSentOnce() {
+        UserTaskInstanceEventProjection projection = new UserTaskInstanceEventProjection(THRESHOLD);
+
+        UserTaskInstanceEventBody first = event(projection, mockWorkItem("task-1", "Ready", null, LARGE_PAYLOAD));
+        UserTaskInstanceEventBody second = event(projection, mockWorkItem("task-2", "Ready", null, LARGE_PAYLOAD));
+
+        assertThat(second.getDelta()).isFalse();
+        assertThat(second.getInputReferences()).isEqualTo(first.getInputReferences());
+        assertThat(second.getContents()).isNull();
+
+        // a different content is sent
+        UserTaskInstanceEventBody third = event(projection, mockWorkItem("task-3", "Ready", null, payload(2 * THRESHOLD)));
+        assertThat(third.getInputReferences().get("document")).isNotEqualTo(first.getInputReferences().get("document"));
+        assertThat(third.getContents()).hasSize(1);
+    }
+
+    @Test
+    public void testFinishedTasksAreForgotten() {
+        UserTaskInstanceEventProjection projection = new UserTaskInstanceEventProjection(THRESHOLD);
+        HumanTaskWorkItem workItem = mockWorkItem("task", "Ready", null, "small document");
+        event(projection, workItem);
+
+        when(workItem.getPhaseStatus()).thenReturn("Completed");
+        assertThat(event(projection, workItem).getDelta()).isTrue();
+
+        // a task with the same id starts from a complete event
+        when(workItem.getPhaseStatus()).thenReturn("Ready");
+        UserTaskInstanceEventBody restarted = event(projection, workItem);
+        assertThat(restarted.getDelta()).isFalse();
+        assertThat(restarted.getInputs()).containsOnly(entry("document", "small document"), entry("comment", "small"));
+    }
+
+    @Test
+    public void testClearedFieldsAreListed() {
+        UserTaskInstanceEventProjection projection = new UserTaskInstanceEventProjection(THRESHOLD);
+        HumanTaskWorkItem workItem = mockWorkItem("task", "Reserved", "john", LARGE_PAYLOAD);
+        Map<String, Object> results = new HashMap<>();
+        results.put("approved", true);
+        results.put("reason", "fine");
+        when(workItem.getResults()).thenReturn(results);
+        assertThat(event(projection, workItem).getRemovedFields()).isNull();
+
+        when(workItem.getPhaseStatus()).thenReturn("Ready");
+        when(workItem.getActualOwner()).thenReturn(null);
+        when(workItem.getParameters()).thenReturn(Collections.singletonMap("comment", "small"));
+        results.put("reason", null);
+        UserTaskInstanceEventBody cleared = event(projection, workItem);
+
+        assertThat(cleared.getDelta()).isTrue();
+        assertThat(cleared.getActualOwner()).isNull();
+        assertThat(cleared.getInputs()).isNull();
+        assertThat(cleared.getOutputs()).isNull();
+        assertThat(cleared.getRemovedFields()).containsExactlyInAnyOrder("actualOwner", "inputs.document", "outputs.reason");
+
+        // unchanged fields are not listed
+        assertThat(event(projection, workItem).getRemovedFields()).isNull();
+    }
+
+    @Test
+    public void testUnpublishedEventsAreNotRemembered() {
+        UserTaskInstanceEventProjection projection = new UserTaskInstanceEventProjection(THRESHOLD);
+        HumanTaskWorkItem workItem = mockWorkItem("task", "Ready", null, LARGE_PAYLOAD);
+
+        UserTaskInstanceEventBody failed = event(projection, workItem, false);
+        UserTaskInstanceEventBody retried = event(projection, workItem);
+
+        assertThat(retried.getDelta()).isFalse();
+        assertThat(retried.getTaskName()).isEqualTo("Approve");
+        assertThat(retried.getContents()).isEqualTo(failed.getContents()).hasSize(1);
+        assertThat(event(projection, workItem).getDelta()).isTrue();
+    }
+
+    @Test
+    public void testLeastRecentlyUpdatedTasksAreForgotten() {
+        UserTaskInstanceEventProjection projection = new UserTaskInstanceEventProjection(THRESHOLD, UserTaskInstanceEventProjection::serialize, 1, 2);
+        HumanTaskWorkItem first = mockWorkItem("task-1", "Ready", null, LARGE_PAYLOAD);
+        event(projection, first);
+        event(projection, mockWorkItem("task-2", "Ready", null, "small document"));
+        assertThat(event(projection, first).getDelta()).isTrue();
+
+        event(projection, mockWorkItem("task-3", "Ready", null, "small document"));
+        event(projection, mockWorkItem("task-4", "Ready", null, payload(2 * THRESHOLD)));
+
+        UserTaskInstanceEventBody forgotten = event(projection, first);
+        assertThat(forgotten.getDelta()).isFalse();
+        // only the last content is remembered as sent
+        assertThat(forgotten.getContents()).containsOnly(entry(forgotten.getInputReferences().get("document"), LARGE_PAYLOAD));
+    }
+
+    private UserTaskInstanceEventBody event(UserTaskInstanceEventProjection projection, HumanTaskWorkItem workItem) {
+        return event(projection, workItem, true);
+    }
+
+    private UserTaskInstanceEventBody event(UserTaskInstanceEventProjection projection, HumanTaskWorkItem workItem, boolean published) {
+        ProcessWorkItemTransitionEvent event = mock(ProcessWorkItemTransitionEvent.class);
+        when(event.getProcessInstance()).thenReturn(pi);
+        when(event.getWorkItem()).thenReturn(workItem);
+        when(event.isTransitioned()).thenReturn(true);
+        ProcessInstanceEventBatch batch = new ProcessInstanceEventBatch("", Addons.EMTPY, null, projection);
+        batch.append(event);
+
+        UserTaskInstanceEventBody body = batch.events().stream()
+                .filter(UserTaskInstanceDataEvent.class::isInstance)
+                .map(e -> ((UserTaskInstanceDataEvent) e).getData())
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        if (published) {
+            batch.published();
+        }
+        return body;
+    }
+
+    private static HumanTaskWorkItem mockWorkItem(String id, String state, String actualOwner, String document) {
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put("document", document);
+        inputs.put("comment", "small");
+        HumanTaskWorkItem workItem = mock(HumanTaskWorkItem.class);
+        when(workItem.getId()).thenReturn(id);
+        when(workItem.getPhaseStatus()).thenReturn(state);
+        when(workItem.getActualOwner()).thenReturn(actualOwner);
+        when(workItem.getTaskName()).thenReturn("Approve");
+        when(workItem.getPotentialUsers()).thenReturn(new HashSet<>(Arrays.asList("john", "mary")));
+        when(workItem.getParameters()).thenReturn(inputs);
+        when(workItem.getResults()).thenReturn(new HashMap<>());
+        return workItem;
+    }
+
+    private static WorkflowProcessInstance mockProcessInstance() {
+        Process process = mock(Process.class);
+        when(process.getMetaData()).thenReturn(emptyMap());
+        WorkflowProcessInstance pi = mock(WorkflowProcessInstance.class);
+        when(pi.getId()).thenReturn("pi");
+        when(pi.getProcessId()).thenReturn("approvals");
+        when(pi.getState()).thenReturn(ProcessInstance.STATE_ACTIVE);
+        when(pi.getProcess()).thenReturn(process);
+        return pi;
+    }
+
+    private static String payload(int size) {
+        char[] chars = new char[size];
+        Arrays.fill(chars, 'x');
+        return new String(chars);
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.services.jobs.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.api.runtime.process.ProcessRuntime;
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.ProcessInstanceJobDescription;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.timer.TimerInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InMemoryJobServiceTest {
+
+    private final Map<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+    private final Map<String, List<TimerInstance>> signals = new ConcurrentHashMap<>();
+    private final List<Thread> signalThreads = new CopyOnWriteArrayList<>();
+    private final AtomicInteger signaling = new AtomicInteger();
+    private final AtomicInteger maxSignaling = new AtomicInteger();
+    private final List<InMemoryJobService> jobServices = new ArrayList<>();
+    private volatile CountDownLatch signalLatch = new CountDownLatch(0);
+    private ProcessRuntime processRuntime;
+
+    @BeforeEach
+    public void setup() {
+        processRuntime = mock(ProcessRuntime.class);
+        when(processRuntime.getProcessInstance(anyString())).thenAnswer(invocation -> {
+            String processInstanceId = invocation.getArgument(0);
+            loads.computeIfAbsent(processInstanceId, id -> new AtomicInteger()).incrementAndGet();
+            ProcessInstance processInstance = mock(ProcessInstance.class);
+            doAnswer(signal -> {
+                maxSignaling.accumulateAndGet(signaling.incrementAndGet(), Math::max);
+                signalThreads.add(Thread.currentThread());
+                signals.computeIfAbsent(processInstanceId, id -> new CopyOnWriteArrayList<>()).add(signal.getArgument(1));
+                try {
+                    signalLatch.await(5, TimeUnit.SECONDS);
+                } finally {
+                    signaling.decrementAndGet();
+                }
+                return null;
+            }).when(processInstance).signalEvent(eq("timerTriggered"), any());
+            return processInstance;
+        });
+    }
+
+    @AfterEach
+    public void shutdown() {
+        jobServices.forEach(InMemoryJobService::shutdown);
+    }
+
+    @Test
+    public void testOverdueTimersOfProcessInstanceAreSignaledTogether() throws Exception {
+        InMemoryJobService jobService = createJobService(MisfirePolicy.FIRE_ONCE, 0);
+
+        for (int i = 0; i < 3; i++) {
+            jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(i, DurationExpirationTime.after(-60_000), "pi-1", "test"));
+        }
+        jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(3, DurationExpirationTime.after(-60_000), "pi-2", "test"));
+        // due while the overdue timers of the process instance wait for their dispatch
+        jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(4, DurationExpirationTime.after(20), "pi-2", "test"));
+
+        awaitSignals(5);
+        assertThat(signals.get("pi-1")).hasSize(3);
+        assertThat(signals.get("pi-2")).hasSize(2);
+        assertThat(loads.get("pi-1").get()).isOne();
+        assertThat(loads.get("pi-2").get()).isOne();
+        assertThat(signalThreads).allMatch(Thread::isDaemon);
+    }
+
+    @Test
+    public void testTimerDueDuringCatchUpIsSignaledAfterIt() throws Exception {
+        InMemoryJobService jobService = createJobService(MisfirePolicy.FIRE_ONCE, 0);
+        signalLatch = new CountDownLatch(1);
+
+        jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.after(-60_000), "pi-1", "test"));
+        awaitSignals(1);
+        // due while the unit of work of the catch-up is running
+        jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(2, DurationExpirationTime.after(0), "pi-1", "test"));
+        awaitSignals(1);
+
+        signalLatch.countDown();
+        awaitSignals(2);
+        assertThat(maxSignaling.get()).isOne();
+        assertThat(loads.get("pi-1").get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCancelledOverdueTimerIsNotSignaled() throws Exception {
+        InMemoryJobService jobService = createJobService(MisfirePolicy.FIRE_ONCE, 0);
+
+        String cancelled = jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.after(-60_000), "pi-1", "test"));
+        jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(2, DurationExpirationTime.after(-60_000), "pi-1", "test"));
+        assertThat(jobService.cancelJob(cancelled)).isTrue();
+
+        awaitSignals(1);
+        assertThat(signals.get("pi-1")).extracting(TimerInstance::getId).doesNotContain(cancelled);
+    }
+
+    @Test
+    public void testMisfirePolicies() throws Exception {
+        // overdue by two periods and a half
+        assertThat(missedFirings(MisfirePolicy.FIRE_ALL)).isEqualTo(3);
+        assertThat(missedFirings(MisfirePolicy.FIRE_ONCE)).isEqualTo(1);
+        assertThat(missedFirings(MisfirePolicy.SKIP)).isZero();
+    }
+
+    @Test
+    public void testMissedFiringsDoNotExceedRepeatLimit() throws Exception {
+        InMemoryJobService jobService = createJobService(MisfirePolicy.FIRE_ALL, 0);
+
+        String id = jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.repeat(-25_000, 10_000L, 2), "pi-1", "test"));
+
+        awaitSignals(2);
+        assertThat(jobService.scheduledJobs).doesNotContainKey(id);
+        assertThat(loads.get("pi-1").get()).isOne();
+    }
+
+    @Test
+    public void testCatchUpIsRateLimited() {
+        int instances = 5;
+        InMemoryJobService jobService = createJobService(MisfirePolicy.FIRE_ONCE, 10);
+
+        for (int i = 0; i < instances; i++) {
+            jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(i, DurationExpirationTime.after(-60_000), "pi-" + i, "test"));
+        }
+
+        // one dispatch of a process instance every 100 ms
+        List<Long> dispatches = new ArrayList<>();
+        jobService.scheduler.getQueue().forEach(dispatch -> dispatches.add(((Delayed) dispatch).getDelay(TimeUnit.MILLISECONDS)));
+        dispatches.sort(null);
+        assertThat(dispatches).hasSize(instances);
+        for (int i = 1; i < instances; i++) {
+            assertThat(dispatches.get(i) - dispatches.get(i - 1)).isBetween(90L, 110L);
+        }
+    }
+
+    private int missedFirings(MisfirePolicy misfirePolicy) throws Exception {
+        signals.clear();
+        InMemoryJobService jobService = createJobService(misfirePolicy, 0);
+        String id = jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.repeat(-25_000, 10_000L), "pi-1", "test"));
+        // the next firing keeps the period of the timer
+        assertThat(jobService.scheduledJobs).containsKey(id);
+        Thread.sleep(500);
+        jobService.cancelJob(id);
+        return signals.getOrDefault("pi-1", new CopyOnWriteArrayList<>()).size();
+    }
+
+    private InMemoryJobService createJobService(MisfirePolicy misfirePolicy, int maxInstancesPerSecond) {
+        InMemoryJobService jobService = new InMemoryJobService(processRuntime, new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory()))
+                .withCatchUp(misfirePolicy, 1_000, 2, maxInstancesPerSecond);
+        jobServices.add(jobService);
+        return jobService;
+    }
+
+    private void awaitSignals(int count) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (signalThreads.size() < count && System.currentTimeMillis() < deadline) {
+            latch.await(10, TimeUnit.MILLISECONDS);
+        }
+        // no further signal
+        latch.await(200, TimeUnit.MILLISECONDS);
+        assertThat(signalThreads).hasSize(count);
+    }
+}
@@ -70,6 +70,20 @@ public class DMNKogito {
         return dmnRuntime;
     }
 
+    /**
+     * Internal Utility class.<br/>
+     * Builds the DMNRuntime following the compilation plan computed at build time: <code>readers</code> are sorted by
+     * import dependencies and <code>compilationLevels[i]</code> is the dependency level of the model read by <code>readers[i]</code>.
+     */
+    public static DMNRuntime createGenericDMNRuntime(Function<String, KieRuntimeFactory> kiePMMLRuntimeFactoryFunction, int[] compilationLevels, Reader... readers) {
+        EvalHelper.clearGenericAccessorCache(); // KOGITO-3325 DMN hot reload manage accessor cache when stronglytyped
+        try {
+            return new LeveledDMNRuntimeBuilder(kiePMMLRuntimeFactoryFunction).build(compilationLevels, readers);
+        } catch (IllegalStateException e) {
+            throw new RuntimeException("Error initializing DMNRuntime", e);
+        }
+    }
+
     public static DMNModel modelByName(DMNRuntime dmnRuntime, String modelName) {
         List<DMNModel> modelsWithName =
                 dmnRuntime.getModels().stream().filter(m -> modelName.equals(m.getName())).collect(Collectors.toList());
@@ -1,7 +1,13 @@
 package org.kie.kogito.dmn;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import org.kie.dmn.api.core.DMNContext;
 import org.kie.dmn.api.core.DMNModel;
@@ -14,17 +20,39 @@ import org.kie.kogito.decision.DecisionModel;
 
 public class DmnDecisionModel implements DecisionModel {
 
+    /**
+     * Number of threads evaluating a batch, the number of available processors by default
+     */
+    public static final String BATCH_PARALLELISM_PROPERTY = "kogito.decision.batch.parallelism";
+
+    private static final int DEFAULT_BATCH_PARALLELISM = Math.max(Integer.getInteger(BATCH_PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors()), 1);
+    // smaller batches are evaluated by the calling thread
+    private static final int MIN_BATCH_CHUNK_SIZE = 64;
+
     private final DMNRuntime dmnRuntime;
     private final ExecutionIdSupplier execIdSupplier;
     private final DMNModel dmnModel;
+    private final Executor batchExecutor;
+    private final int batchParallelism;
 
     public DmnDecisionModel(DMNRuntime dmnRuntime, String namespace, String name) {
         this(dmnRuntime, namespace, name, null);
     }
 
     public DmnDecisionModel(DMNRuntime dmnRuntime, String namespace, String name, ExecutionIdSupplier execIdSupplier) {
+        this(dmnRuntime, namespace, name, execIdSupplier, null, DEFAULT_BATCH_PARALLELISM);
+    }
+
+    /**
+     * @param batchExecutor the executor evaluating the chunks of a batch, when null the batches are evaluated on a pool
+     * shared by all the decision models and sized by {@value #BATCH_PARALLELISM_PROPERTY}
+     * @param batchParallelism the number of chunks a batch is evaluated in at most, 1 to evaluate the batches in the calling thread
+     */
+    public DmnDecisionModel(DMNRuntime dmnRuntime, String namespace, String name, ExecutionIdSupplier execIdSupplier, Executor batchExecutor, int batchParallelism) {
         this.dmnRuntime = dmnRuntime;
         this.execIdSupplier = execIdSupplier;
+        this.batchExecutor = batchExecutor;
+        this.batchParallelism = Math.max(batchParallelism, 1);
         this.dmnModel = dmnRuntime.getModel(namespace, name);
         if (dmnModel == null) {
             throw new IllegalStateException("DMN model '" + name + "' not found with namespace '" + namespace + "' in the inherent DMNRuntime.");
@@ -51,6 +79,37 @@ public class DmnDecisionModel implements DecisionModel {
         return dmnRuntime.evaluateDecisionService(dmnModel, injectExecutionId(context), decisionServiceName);
     }
 
+    @Override
+    public List<DMNResult> evaluateBatch(List<Map<String, Object>> inputSets) {
+        int chunks = Math.min(batchParallelism, inputSets.size() / MIN_BATCH_CHUNK_SIZE);
+        if (chunks <= 1) {
+            return DecisionModel.super.evaluateBatch(inputSets);
+        }
+        // every chunk writes its own range of the results, so they keep the order of the input sets
+        DMNResult[] results = new DMNResult[inputSets.size()];
+        Executor executor = batchExecutor != null ? batchExecutor : BatchExecutorHolder.EXECUTOR;
+        int chunkSize = (inputSets.size() + chunks - 1) / chunks;
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[chunks];
+        for (int i = 0; i < chunks; i++) {
+            int from = i * chunkSize;
+            int to = Math.min(from + chunkSize, inputSets.size());
+            futures[i] = CompletableFuture.runAsync(() -> {
+                for (int j = from; j < to; j++) {
+                    results[j] = evaluateAll(newContext(inputSets.get(j)));
+                }
+            }, executor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return Arrays.asList(results);
+    }
+
     private DMNContext injectExecutionId(DMNContext context) {
         return execIdSupplier != null
                 ? DecisionExecutionIdUtils.inject(context, execIdSupplier)
@@ -61,4 +120,10 @@ public class DmnDecisionModel implements DecisionModel {
     public DMNModel getDMNModel() {
         return dmnModel;
     }
+
+    // the pool is only started when a first batch is large enough to be split
+    private static class BatchExecutorHolder {
+
+        private static final Executor EXECUTOR = new ForkJoinPool(DEFAULT_BATCH_PARALLELISM);
+    }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.dmn;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.io.impl.ReaderResource;
+import org.kie.api.io.Resource;
+import org.kie.api.runtime.KieRuntimeFactory;
+import org.kie.dmn.api.core.DMNCompilerConfiguration;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
+import org.kie.dmn.api.marshalling.DMNMarshaller;
+import org.kie.dmn.backend.marshalling.v1x.DMNMarshallerFactory;
+import org.kie.dmn.core.compiler.DMNCompilerConfigurationImpl;
+import org.kie.dmn.core.compiler.DMNCompilerImpl;
+import org.kie.dmn.core.compiler.DMNProfile;
+import org.kie.dmn.core.impl.DMNRuntimeImpl;
+import org.kie.dmn.core.impl.DMNRuntimeKB;
+import org.kie.dmn.core.internal.utils.DMNRuntimeBuilder;
+import org.kie.dmn.core.internal.utils.DMNRuntimeBuilder.DMNRuntimeBuilderConfigured;
+import org.kie.dmn.model.api.Definitions;
+
+/**
+ * Builds a {@link DMNRuntime} following the compilation plan computed at build time by the decision codegen:
+ * the DMN resources are already sorted by import dependencies and each one is tagged with its dependency level,
+ * so that the XML parsing of all the resources and the compilation of the models of a same level
+ * (which only import models of the previous levels) can run in parallel.
+ */
+class LeveledDMNRuntimeBuilder {
+
+    private final Function<String, KieRuntimeFactory> kieRuntimeFactoryFunction;
+    private final DMNCompilerConfigurationImpl compilerConfiguration;
+    private final List<DMNProfile> profiles;
+
+    LeveledDMNRuntimeBuilder(Function<String, KieRuntimeFactory> kieRuntimeFactoryFunction) {
+        this.kieRuntimeFactoryFunction = kieRuntimeFactoryFunction;
+        AtomicReference<DMNCompilerConfiguration> configuration = new AtomicReference<>();
+        DMNRuntimeBuilderConfigured configured = DMNRuntimeBuilder.fromDefaults()
+                .setKieRuntimeFactoryFunction(kieRuntimeFactoryFunction)
+                .buildConfigurationUsingCustomCompiler(cc -> {
+                    configuration.set(cc);
+                    return new DMNCompilerImpl(cc);
+                });
+        this.compilerConfiguration = (DMNCompilerConfigurationImpl) configuration.get();
+        // the builder keeps its profiles private, an empty runtime of the same configuration hands them out
+        DMNRuntime emptyRuntime = configured.fromResources(Collections.emptyList())
+                .getOrElseThrow(e -> new IllegalStateException("Unable to configure the DMN runtime", e));
+        this.profiles = Collections.unmodifiableList(new ArrayList<>(((DMNRuntimeImpl) emptyRuntime).getProfiles()));
+    }
+
+    DMNRuntime build(int[] compilationLevels, Reader... readers) {
+        if (compilationLevels.length != readers.length) {
+            throw new IllegalArgumentException("Expected " + readers.length + " compilation levels, but got " + compilationLevels.length);
+        }
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(readers.length, Runtime.getRuntime().availableProcessors())), r -> {
+            Thread thread = new Thread(r, "kogito-dmn-compiler");
+            thread.setDaemon(true);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        });
+        try {
+            List<Resource> resources = new ArrayList<>(readers.length);
+            List<Future<Definitions>> definitions = new ArrayList<>(readers.length);
+            DMNMarshaller marshaller = DMNMarshallerFactory.newMarshallerWithExtensions(compilerConfiguration.getRegisteredExtensions());
+            for (Reader reader : readers) {
+                Resource resource = new ReaderResource(reader);
+                resources.add(resource);
+                definitions.add(executor.submit(() -> marshaller.unmarshal(resource.getReader())));
+            }
+
+            TreeMap<Integer, List<Integer>> indexesByLevel = new TreeMap<>();
+            for (int i = 0; i < compilationLevels.length; i++) {
+                indexesByLevel.computeIfAbsent(compilationLevels[i], l -> new ArrayList<>()).add(i);
+            }
+
+            List<DMNModel> models = new ArrayList<>(readers.length);
+            for (List<Integer> indexes : indexesByLevel.values()) {
+                List<DMNModel> imported = Collections.unmodifiableList(new ArrayList<>(models));
+                List<Future<DMNModel>> compiled = new ArrayList<>(indexes.size());
+                for (Integer index : indexes) {
+                    compiled.add(executor.submit(() -> compile(definitions.get(index).get(), resources.get(index), imported)));
+                }
+                for (Future<DMNModel> model : compiled) {
+                    models.add(model.get());
+                }
+            }
+            return new DMNRuntimeImpl(new LeveledDMNRuntimeKB(compilerConfiguration.getRootClassLoader(), models, profiles, kieRuntimeFactoryFunction));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while compiling DMN models", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to compile DMN model", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private DMNModel compile(Definitions definitions, Resource resource, List<DMNModel> imported) {
+        DMNModel model = new DMNCompilerImpl(compilerConfiguration).compile(definitions, resource, imported);
+        if (model == null) {
+            throw new IllegalStateException("Unable to compile DMN model for the resource " + resource);
+        }
+        return model;
+    }
+
+    private static class LeveledDMNRuntimeKB implements DMNRuntimeKB {
+
+        private final ClassLoader rootClassLoader;
+        private final List<DMNModel> models;
+        private final List<DMNProfile> profiles;
+        private final List<DMNRuntimeEventListener> listeners = new ArrayList<>();
+        private final Function<String, KieRuntimeFactory> kieRuntimeFactoryFunction;
+
+        LeveledDMNRuntimeKB(ClassLoader rootClassLoader, List<DMNModel> models, List<DMNProfile> profiles, Function<String, KieRuntimeFactory> kieRuntimeFactoryFunction) {
+            this.rootClassLoader = rootClassLoader;
+            this.models = Collections.unmodifiableList(models);
+            this.profiles = profiles;
+            this.kieRuntimeFactoryFunction = kieRuntimeFactoryFunction;
+        }
+
+        @Override
+        public List<DMNModel> getModels() {
+            return models;
+        }
+
+        @Override
+        public DMNModel getModel(String namespace, String modelName) {
+            return models.stream()
+                    .filter(m -> m.getNamespace().equals(namespace) && m.getName().equals(modelName))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        @Override
+        public DMNModel getModelById(String namespace, String modelId) {
+            return models.stream()
+                    .filter(m -> m.getNamespace().equals(namespace) && modelId.equals(m.getDefinitions().getId()))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        @Override
+        public List<DMNProfile> getProfiles() {
+            return profiles;
+        }
+
+        @Override
+        public List<DMNRuntimeEventListener> getListeners() {
+            return listeners;
+        }
+
+        @Override
+        public ClassLoader getRootClassLoader() {
+            return rootClassLoader;
+        }
+
+        @Override
+        public InternalKnowledgeBase getInternalKnowledgeBase() {
+            // the models are compiled outside of any KieBase, so there is no knowledge base to hand out
+            throw new UnsupportedOperationException("A DMNRuntime built from a compilation plan has no InternalKnowledgeBase");
+        }
+
+        @Override
+        public KieRuntimeFactory getKieRuntimeFactory(String kieBaseName) {
+            if (kieRuntimeFactoryFunction == null) {
+                throw new IllegalStateException("No KieRuntimeFactory available for " + kieBaseName);
+            }
+            return kieRuntimeFactoryFunction.apply(kieBaseName);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.dmn;
+
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.kogito.decision.DecisionModel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DmnDecisionModelTest {
+
+    private static final String TRAFFIC_VIOLATION_NS = "https://github.com/kiegroup/drools/kie-dmn/_A4BCA8B8-CF08-433F-93B2-A2598F19ECFF";
+    private static final String TRAFFIC_VIOLATION_NAME = "Traffic Violation";
+    private static final String SUSPENDED = "Should the driver be suspended?";
+
+    private final DMNRuntime dmnRuntime = DMNKogito.createGenericDMNRuntime(new InputStreamReader(DmnDecisionModelTest.class.getResourceAsStream("TrafficViolation.dmn")));
+    private final AtomicInteger chunks = new AtomicInteger();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testBatchResultsAreInOrderOfInputSets() {
+        DecisionModel decisionModel = createDecisionModel(4);
+        List<Map<String, Object>> inputSets = inputSets(1_000);
+
+        List<DMNResult> results = decisionModel.evaluateBatch(inputSets);
+
+        assertThat(chunks.get()).isEqualTo(4);
+        assertThat(results).hasSize(inputSets.size());
+        for (int i = 0; i < inputSets.size(); i++) {
+            DMNResult expected = decisionModel.evaluateAll(decisionModel.newContext(inputSets.get(i)));
+            assertThat(results.get(i).hasErrors()).isFalse();
+            assertThat(results.get(i).getContext().get(SUSPENDED)).isEqualTo(expected.getContext().get(SUSPENDED));
+            assertThat(results.get(i).getContext().get("Fine")).isEqualTo(expected.getContext().get("Fine"));
+        }
+    }
+
+    @Test
+    public void testSmallBatchIsEvaluatedByCallingThread() {
+        DecisionModel decisionModel = createDecisionModel(4);
+
+        List<DMNResult> results = decisionModel.evaluateBatch(inputSets(100));
+
+        assertThat(chunks.get()).isZero();
+        assertThat(results).hasSize(100).noneMatch(DMNResult::hasErrors);
+        assertThat(decisionModel.evaluateBatch(new ArrayList<>())).isEmpty();
+    }
+
+    private DecisionModel createDecisionModel(int batchParallelism) {
+        return new DmnDecisionModel(dmnRuntime, TRAFFIC_VIOLATION_NS, TRAFFIC_VIOLATION_NAME, null, command -> {
+            chunks.incrementAndGet();
+            executor.execute(command);
+        }, batchParallelism);
+    }
+
+    private static List<Map<String, Object>> inputSets(int count) {
+        List<Map<String, Object>> inputSets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> driver = new HashMap<>();
+            driver.put("Points", BigDecimal.valueOf(i % 20));
+            Map<String, Object> violation = new HashMap<>();
+            violation.put("Type", "speed");
+            violation.put("Actual Speed", BigDecimal.valueOf(100 + i % 60));
+            violation.put("Speed Limit", BigDecimal.valueOf(100));
+            Map<String, Object> inputSet = new HashMap<>();
+            inputSet.put("Driver", driver);
+            inputSet.put("Violation", violation);
+            inputSets.add(inputSet);
+        }
+        return inputSets;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.dmn;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.drools.core.util.IoUtils;
+import org.junit.jupiter.api.Test;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.core.impl.DMNRuntimeImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LeveledDMNRuntimeBuilderTest {
+
+    private static final String TRAFFIC_VIOLATION_NS = "https://github.com/kiegroup/drools/kie-dmn/_A4BCA8B8-CF08-433F-93B2-A2598F19ECFF";
+    private static final String TRAFFIC_VIOLATION_NAME = "Traffic Violation";
+    private static final int MODELS = 50;
+
+    @Test
+    public void testImportedModelIsCompiledFirst() {
+        DMNRuntime dmnRuntime = DMNKogito.createGenericDMNRuntime(null, new int[]{0, 1}, reader("Imported.dmn"), reader("Importing.dmn"));
+        assertThat(dmnRuntime.getModels()).hasSize(2);
+
+        DMNModel importing = dmnRuntime.getModel("http://www.kie.org/kogito/dmn/importing", "Importing");
+        assertThat(importing.hasErrors()).describedAs(importing.getMessages().toString()).isFalse();
+        DMNContext context = dmnRuntime.newContext();
+        context.set("Person name", "John");
+        DMNResult result = dmnRuntime.evaluateAll(importing, context);
+        assertThat(result.getDecisionResultByName("Greeting").getResult()).isEqualTo("Hello John");
+    }
+
+    @Test
+    public void testMismatchingCompilationLevels() {
+        assertThatThrownBy(() -> DMNKogito.createGenericDMNRuntime(null, new int[]{0}, reader("Imported.dmn"), reader("Importing.dmn")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testNoInternalKnowledgeBase() {
+        DMNRuntimeImpl dmnRuntime = (DMNRuntimeImpl) DMNKogito.createGenericDMNRuntime(null, new int[]{0}, reader("Imported.dmn"));
+        assertThatThrownBy(dmnRuntime::getInternalKnowledgeBase)
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testProfilesOfSequentialRuntime() {
+        DMNRuntimeImpl sequential = (DMNRuntimeImpl) DMNKogito.createGenericDMNRuntime(reader("Imported.dmn"));
+        DMNRuntimeImpl leveled = (DMNRuntimeImpl) DMNKogito.createGenericDMNRuntime(null, new int[]{0}, reader("Imported.dmn"));
+        assertThat(leveled.getProfiles()).isNotEmpty();
+        assertThat(leveled.getProfiles()).extracting(Object::getClass)
+                .containsExactlyElementsOf(sequential.getProfiles().stream().map(Object::getClass).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testManyModelsOfSameLevel() throws IOException {
+        String trafficViolation = read("TrafficViolation.dmn");
+        int[] levels = new int[MODELS];
+
+        DMNRuntime sequential = DMNKogito.createGenericDMNRuntime(readers(trafficViolation));
+        DMNRuntime leveled = DMNKogito.createGenericDMNRuntime(null, levels, readers(trafficViolation));
+
+        assertThat(leveled.getModels()).hasSize(MODELS);
+        for (int i = 0; i < MODELS; i++) {
+            assertThat(fine(leveled, i)).isEqualTo(fine(sequential, i));
+        }
+    }
+
+    private static Reader[] readers(String trafficViolation) {
+        Reader[] readers = new Reader[MODELS];
+        for (int i = 0; i < MODELS; i++) {
+            readers[i] = new StringReader(trafficViolation.replace(TRAFFIC_VIOLATION_NS, TRAFFIC_VIOLATION_NS + i));
+        }
+        return readers;
+    }
+
+    private static Object fine(DMNRuntime dmnRuntime, int index) {
+        DMNModel model = dmnRuntime.getModel(TRAFFIC_VIOLATION_NS + index, TRAFFIC_VIOLATION_NAME);
+        Map<String, Object> driver = new HashMap<>();
+        driver.put("Points", BigDecimal.valueOf(2));
+        Map<String, Object> violation = new HashMap<>();
+        violation.put("Type", "speed");
+        violation.put("Actual Speed", BigDecimal.valueOf(120));
+        violation.put("Speed Limit", BigDecimal.valueOf(100));
+        DMNContext context = dmnRuntime.newContext();
+        context.set("Driver", driver);
+        context.set("Violation", violation);
+        DMNResult result = dmnRuntime.evaluateAll(model, context);
+        assertThat(result.hasErrors()).describedAs(result.getMessages().toString()).isFalse();
+        return result.getDecisionResultByName("Fine").getResult();
+    }
+
+    private static Reader reader(String resource) {
+        return new InputStreamReader(LeveledDMNRuntimeBuilderTest.class.getResourceAsStream(resource));
+    }
+
+    private static String read(String resource) throws IOException {
+        try (InputStream is = LeveledDMNRuntimeBuilderTest.class.getResourceAsStream(resource)) {
+            return new String(IoUtils.readBytesFromInputStream(is), StandardCharsets.UTF_8);
+        }
+    }
+}
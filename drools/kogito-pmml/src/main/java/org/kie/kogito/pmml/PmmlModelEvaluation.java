@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.pmml;
+
+import org.kie.api.KieBase;
+import org.kie.api.pmml.PMML4Result;
+import org.kie.pmml.commons.exceptions.KiePMMLException;
+import org.kie.pmml.commons.model.KiePMMLModel;
+import org.kie.pmml.evaluator.api.executor.PMMLContext;
+import org.kie.pmml.evaluator.core.executor.PMMLModelEvaluator;
+import org.kie.pmml.evaluator.core.executor.PMMLModelEvaluatorFinderImpl;
+import org.kie.pmml.evaluator.core.service.PMMLRuntimeImpl;
+
+/**
+ * Evaluation handle of a single model, resolved once: evaluating it does not look the model up by name in the
+ * <code>KieBase</code> nor the evaluator of its type through the <code>ServiceLoader</code>, as the
+ * <code>PMMLRuntime</code> does on every evaluation. Missing values and transformations are applied as by the
+ * <code>PMMLRuntime</code> before dispatching to the evaluator.
+ */
+class PmmlModelEvaluation extends PMMLRuntimeImpl {
+
+    private final KiePMMLModel model;
+    private final PMMLModelEvaluator evaluator;
+
+    PmmlModelEvaluation(KieBase knowledgeBase, KiePMMLModel model) {
+        this(knowledgeBase, model, new PMMLModelEvaluatorFinderImpl());
+    }
+
+    private PmmlModelEvaluation(KieBase knowledgeBase, KiePMMLModel model, PMMLModelEvaluatorFinderImpl evaluatorFinder) {
+        super(knowledgeBase, evaluatorFinder);
+        this.model = model;
+        this.evaluator = evaluatorFinder.getImplementations(false).stream()
+                .filter(implementation -> model.getPmmlMODEL().equals(implementation.getPMMLModelType()))
+                .findFirst()
+                .orElseThrow(() -> new KiePMMLException(String.format("PMMLModelEvaluator not found for model %s", model.getPmmlMODEL())));
+    }
+
+    PMML4Result evaluate(PMMLContext context) {
+        addMissingValuesReplacements(model, context);
+        executeTransformations(model, context);
+        return evaluator.evaluate(getKnowledgeBase(), model, context);
+    }
+}
@@ -23,6 +23,7 @@ import org.kie.pmml.commons.model.KiePMMLModel;
 import org.kie.pmml.evaluator.api.executor.PMMLContext;
 import org.kie.pmml.evaluator.api.executor.PMMLRuntime;
 import org.kie.pmml.evaluator.core.PMMLContextImpl;
+import org.kie.pmml.evaluator.core.service.PMMLRuntimeImpl;
 
 import static org.kie.kogito.pmml.utils.PMMLUtils.getPMMLRequestData;
 
@@ -30,10 +31,13 @@ public class PmmlPredictionModel implements PredictionModel {
 
     private final PMMLRuntime pmmlRuntime;
     private final KiePMMLModel pmmlModel;
+    private final PmmlModelEvaluation evaluation;
 
     public PmmlPredictionModel(PMMLRuntime pmmlRuntime, String modelName) {
         this.pmmlRuntime = pmmlRuntime;
         this.pmmlModel = pmmlRuntime.getModel(modelName).orElseThrow(() -> new IllegalStateException("PMML model '" + modelName + "' not found in the inherent PMMLRuntime."));
+        // other runtimes are left to evaluate the model their own way
+        this.evaluation = pmmlRuntime instanceof PMMLRuntimeImpl ? new PmmlModelEvaluation(pmmlRuntime.getKnowledgeBase(), pmmlModel) : null;
     }
 
     @Override
@@ -45,6 +49,9 @@ public class PmmlPredictionModel implements PredictionModel {
 
     @Override
     public PMML4Result evaluateAll(PMMLContext context) {
+        if (evaluation != null) {
+            return evaluation.evaluate(context);
+        }
         return pmmlRuntime.evaluate(pmmlModel.getName(), context);
     }
 
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.pmml;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.api.pmml.PMML4Result;
+import org.kie.pmml.evaluator.api.executor.PMMLRuntime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PmmlModelEvaluationTest {
+
+    private static final String MODEL_NAME = "LinReg";
+    private static final String PMML_PATH = "src/test/resources/org/kie/kogito/pmml/test_regression.pmml";
+
+    private static PMMLRuntime pmmlRuntime;
+
+    @BeforeAll
+    static void setup() {
+        pmmlRuntime = PMMLKogito.createKieRuntimeFactoriesWithInMemoryCompilation(PMML_PATH)
+                .values().iterator().next()
+                .get(PMMLRuntime.class);
+    }
+
+    @Test
+    void evaluateSameAsRuntime() {
+        PmmlPredictionModel predictionModel = new PmmlPredictionModel(pmmlRuntime, MODEL_NAME);
+
+        for (int i = 0; i < 10; i++) {
+            Map<String, Object> input = input(i);
+            PMML4Result expected = PMMLKogito.evaluate(pmmlRuntime, MODEL_NAME, input);
+            PMML4Result retrieved = predictionModel.evaluateAll(predictionModel.newContext(input));
+            assertEquals(expected.getResultCode(), retrieved.getResultCode());
+            assertEquals(expected.getResultVariables(), retrieved.getResultVariables());
+        }
+    }
+
+    private static Map<String, Object> input(int i) {
+        Map<String, Object> input = new HashMap<>();
+        input.put("fld1", (double) (i % 7));
+        input.put("fld2", (double) (i % 13));
+        input.put("fld3", i % 2 == 0 ? "x" : "y");
+        return input;
+    }
+}
@@ -64,7 +64,11 @@ public class EntryPointDataProcessor implements DataProcessor {
 
     @Override
     public void delete(DataHandle handle) {
-        entryPoint.delete( handles.remove(handle) );
+        InternalFactHandle fh = handles.remove( handle );
+        // the fact may have never been inserted into this entry point, or already been deleted by a rule
+        if (fh != null) {
+            entryPoint.delete( fh );
+        }
     }
 
     public void delete(DataHandle dh, RuleImpl rule, TerminalNode terminalNode, FactHandle.State fhState) {
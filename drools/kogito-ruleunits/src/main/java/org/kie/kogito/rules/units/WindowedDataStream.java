@@ -0,0 +1,204 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.rules.units;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.kie.kogito.rules.DataHandle;
+import org.kie.kogito.rules.DataProcessor;
+import org.kie.kogito.rules.DataStream;
+import org.kie.kogito.rules.units.impl.DataHandleImpl;
+
+/**
+ * A {@link DataStream} that only retains the last values appended to it, either the last <code>n</code> ones (length window)
+ * or the ones appended in the last period of time (time window), so that a long-running rule unit ingesting an unbounded stream
+ * of events runs in bounded memory.
+ * <p>
+ * Values are kept in a ring buffer. When a value falls out of the window it is also deleted from all the subscribed
+ * {@link DataProcessor}s, e.g. it is retracted from the working memory of the subscribed rule units.
+ * New subscribers receive the values currently in the window, unless the stream is created {@link #fromNow() from now}:
+ * a subscriber is only asked to delete the values it received.
+ * <p>
+ * The time window is only enforced when the stream is used: on every {@link #append(Object) append}, {@link #subscribe(DataProcessor) subscribe}
+ * and {@link #expire() expire}. There is no timer, so the values of a stream that stops receiving values stay in the window,
+ * and in the subscribed rule units, until one of these methods is called; call {@link #expire()} before firing the rules
+ * of a unit fed by a stream that may be quiet. Like the other data sources, the stream is not thread safe.
+ */
+public class WindowedDataStream<T> implements DataStream<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int maxLength;
+    private final long maxAgeMillis;
+    private final LongSupplier clock;
+    private final List<Subscription<T>> subscriptions = new ArrayList<>();
+    private boolean replay = true;
+
+    private DataHandle[] handles;
+    private long[] timestamps;
+    private int head;
+    private int size;
+    // number of values appended so far, the position in the stream of the value at head is appended - size
+    private long appended;
+
+    /**
+     * Creates a stream that retains the last <code>length</code> values.
+     */
+    public static <T> WindowedDataStream<T> lengthWindow(int length) {
+        return window(length, Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a stream that retains the values appended in the last <code>duration</code>.
+     */
+    public static <T> WindowedDataStream<T> timeWindow(long duration, TimeUnit unit) {
+        return window(Integer.MAX_VALUE, duration, unit);
+    }
+
+    /**
+     * Creates a stream that retains at most the last <code>length</code> values, appended in the last <code>duration</code>.
+     */
+    public static <T> WindowedDataStream<T> window(int length, long duration, TimeUnit unit) {
+        if (length < 1) {
+            throw new IllegalArgumentException("Window length must be greater than 0, but was " + length);
+        }
+        if (duration < 1) {
+            throw new IllegalArgumentException("Window duration must be greater than 0, but was " + duration);
+        }
+        return new WindowedDataStream<>(length, unit.toMillis(duration), System::currentTimeMillis);
+    }
+
+    WindowedDataStream(int maxLength, long maxAgeMillis, LongSupplier clock) {
+        this.maxLength = maxLength;
+        this.maxAgeMillis = maxAgeMillis;
+        this.clock = clock;
+        this.handles = new DataHandle[Math.min(maxLength, INITIAL_CAPACITY)];
+        this.timestamps = new long[handles.length];
+    }
+
+    /**
+     * New subscribers only receive the values appended after they subscribed.
+     */
+    public WindowedDataStream<T> fromNow() {
+        this.replay = false;
+        return this;
+    }
+
+    @Override
+    public void append(T t) {
+        long now = clock.getAsLong();
+        expire(now);
+        if (size == maxLength) {
+            evictOldest();
+        }
+        DataHandle handle = new DataHandleImpl(t);
+        add(handle, now);
+        subscriptions.forEach(s -> s.subscriber.insert(handle, t));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void subscribe(DataProcessor subscriber) {
+        expire(clock.getAsLong());
+        // the values already in the window are only known by the subscriber if they are replayed
+        subscriptions.add(new Subscription<>(subscriber, replay ? appended - size : appended));
+        if (replay) {
+            for (int i = 0; i < size; i++) {
+                DataHandle handle = handles[index(i)];
+                subscriber.insert(handle, handle.getObject());
+            }
+        }
+    }
+
+    /**
+     * Removes the values that are older than the time window, if any. Values are also expired on every append.
+     */
+    public void expire() {
+        expire(clock.getAsLong());
+    }
+
+    /**
+     * @return the number of values currently in the window
+     */
+    public int size() {
+        return size;
+    }
+
+    private void expire(long now) {
+        if (maxAgeMillis == Long.MAX_VALUE) {
+            return;
+        }
+        while (size > 0 && now - timestamps[head] >= maxAgeMillis) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        DataHandle handle = handles[head];
+        long position = appended - size;
+        handles[head] = null;
+        head = (head + 1) % handles.length;
+        size--;
+        for (Subscription<T> subscription : subscriptions) {
+            if (position >= subscription.firstPosition) {
+                subscription.subscriber.delete(handle);
+            }
+        }
+    }
+
+    private void add(DataHandle handle, long timestamp) {
+        if (size == handles.length) {
+            grow();
+        }
+        int tail = index(size);
+        handles[tail] = handle;
+        timestamps[tail] = timestamp;
+        size++;
+        appended++;
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min((long) maxLength, handles.length * 2L);
+        DataHandle[] newHandles = new DataHandle[capacity];
+        long[] newTimestamps = new long[capacity];
+        for (int i = 0; i < size; i++) {
+            newHandles[i] = handles[index(i)];
+            newTimestamps[i] = timestamps[index(i)];
+        }
+        handles = newHandles;
+        timestamps = newTimestamps;
+        head = 0;
+    }
+
+    private int index(int offset) {
+        return (head + offset) % handles.length;
+    }
+
+    private static final class Subscription<T> {
+
+        private final DataProcessor<T> subscriber;
+        // position in the stream of the first value received by the subscriber
+        private final long firstPosition;
+
+        Subscription(DataProcessor<T> subscriber, long firstPosition) {
+            this.subscriber = subscriber;
+            this.firstPosition = firstPosition;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.rules.units;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.drools.core.rule.EntryPointId;
+import org.drools.model.impl.ModelImpl;
+import org.drools.modelcompiler.builder.KieBaseBuilder;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.EntryPoint;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.kogito.rules.DataHandle;
+import org.kie.kogito.rules.DataProcessor;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class WindowedDataStreamTest {
+
+    @Test
+    public void testLengthWindow() {
+        WindowedDataStream<Integer> integers = WindowedDataStream.lengthWindow(3);
+        Recorder<Integer> recorder = new Recorder<>();
+        integers.subscribe(recorder);
+        for (int i = 1; i <= 5; i++) {
+            integers.append(i);
+        }
+        assertEquals(3, integers.size());
+        assertEquals(asList(3, 4, 5), recorder.values());
+        assertEquals(asList(1, 2), recorder.deleted);
+    }
+
+    @Test
+    public void testReplayCurrentWindow() {
+        WindowedDataStream<Integer> integers = WindowedDataStream.lengthWindow(2);
+        integers.append(1);
+        integers.append(2);
+        integers.append(3);
+        Recorder<Integer> recorder = new Recorder<>();
+        integers.subscribe(recorder);
+        assertEquals(asList(2, 3), recorder.values());
+    }
+
+    @Test
+    public void testFromNow() {
+        WindowedDataStream<Integer> integers = WindowedDataStream.<Integer> lengthWindow(2).fromNow();
+        integers.append(1);
+        Recorder<Integer> recorder = new Recorder<>();
+        integers.subscribe(recorder);
+        assertEquals(0, recorder.values().size());
+        integers.append(2);
+        integers.append(3);
+        assertEquals(asList(2, 3), recorder.values());
+        // only the values inserted into the subscriber are deleted from it
+        assertEquals(0, recorder.deleted.size());
+        integers.append(4);
+        assertEquals(asList(2), recorder.deleted);
+    }
+
+    @Test
+    public void testTimeWindow() {
+        AtomicLong clock = new AtomicLong();
+        WindowedDataStream<Integer> integers = new WindowedDataStream<>(Integer.MAX_VALUE, 1000, clock::get);
+        Recorder<Integer> recorder = new Recorder<>();
+        integers.subscribe(recorder);
+        integers.append(1);
+        clock.set(500);
+        integers.append(2);
+        clock.set(1000);
+        integers.append(3);
+        assertEquals(asList(2, 3), recorder.values());
+
+        clock.set(2000);
+        integers.expire();
+        assertEquals(0, integers.size());
+        assertEquals(asList(1, 2, 3), recorder.deleted);
+    }
+
+    @Test
+    public void testLengthAndTimeWindow() {
+        AtomicLong clock = new AtomicLong();
+        WindowedDataStream<Integer> integers = new WindowedDataStream<>(2, 1000, clock::get);
+        for (int i = 1; i <= 20; i++) {
+            integers.append(i);
+        }
+        assertEquals(2, integers.size());
+        clock.set(1000);
+        integers.append(21);
+        assertEquals(1, integers.size());
+    }
+
+    @Test
+    public void testInvalidWindow() {
+        assertThrows(IllegalArgumentException.class, () -> WindowedDataStream.lengthWindow(0));
+        assertThrows(IllegalArgumentException.class, () -> WindowedDataStream.timeWindow(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testWindowRetainsOnlyLastEvents() {
+        int window = 1000;
+        WindowedDataStream<long[]> stream = WindowedDataStream.lengthWindow(window);
+        Counter counter = new Counter();
+        stream.subscribe(counter);
+        for (int i = 0; i < 100 * window; i++) {
+            stream.append(new long[128]);
+        }
+        assertEquals(window, stream.size());
+        assertEquals(window, counter.live);
+    }
+
+    @Test
+    public void testEntryPointSubscribedFromNow() {
+        KieSession session = KieBaseBuilder.createKieBaseFromModel(new ModelImpl()).newKieSession();
+        EntryPoint entryPoint = session.getEntryPoint(EntryPointId.DEFAULT.getEntryPointId());
+        WindowedDataStream<String> stream = WindowedDataStream.<String> lengthWindow(2).fromNow();
+        stream.append("a");
+        stream.append("b");
+        stream.subscribe(new EntryPointDataProcessor(entryPoint));
+
+        // evicts "a" and "b", which were appended before the subscription
+        stream.append("c");
+        stream.append("d");
+        assertEquals(2, entryPoint.getFactCount());
+
+        stream.append("e");
+        assertEquals(asList("d", "e"), sorted(entryPoint.getObjects()));
+    }
+
+    @Test
+    public void testEntryPointFactDeletedBeforeEviction() {
+        KieSession session = KieBaseBuilder.createKieBaseFromModel(new ModelImpl()).newKieSession();
+        EntryPoint entryPoint = session.getEntryPoint(EntryPointId.DEFAULT.getEntryPointId());
+        EntryPointDataProcessor processor = new EntryPointDataProcessor(entryPoint);
+        WindowedDataStream<String> stream = WindowedDataStream.lengthWindow(1);
+        stream.subscribe(processor);
+        stream.append("a");
+        processor.delete(new ArrayList<>(handles(stream)).get(0));
+
+        stream.append("b");
+        assertEquals(asList("b"), sorted(entryPoint.getObjects()));
+    }
+
+    private static List<DataHandle> handles(WindowedDataStream<?> stream) {
+        Recorder<Object> recorder = new Recorder<>();
+        stream.subscribe(recorder);
+        return recorder.order;
+    }
+
+    private static List<Object> sorted(Collection<?> objects) {
+        List<Object> sorted = new ArrayList<>(objects);
+        sorted.sort(null);
+        return sorted;
+    }
+
+    private static class Recorder<T> implements DataProcessor<T> {
+
+        final Map<DataHandle, T> inserted = new HashMap<>();
+        final List<Object> deleted = new ArrayList<>();
+        final List<DataHandle> order = new ArrayList<>();
+
+        @Override
+        public FactHandle insert(DataHandle handle, T object) {
+            inserted.put(handle, object);
+            order.add(handle);
+            return null;
+        }
+
+        @Override
+        public void update(DataHandle handle, T object) {
+        }
+
+        @Override
+        public void delete(DataHandle handle) {
+            if (inserted.remove(handle) == null) {
+                throw new IllegalStateException("Deleting a value that was never inserted: " + handle.getObject());
+            }
+            deleted.add(handle.getObject());
+            order.remove(handle);
+        }
+
+        List<T> values() {
+            List<T> values = new ArrayList<>();
+            order.forEach(h -> values.add(inserted.get(h)));
+            return values;
+        }
+    }
+
+    private static class Counter implements DataProcessor<Object> {
+
+        int live = 0;
+
+        @Override
+        public FactHandle insert(DataHandle handle, Object object) {
+            live++;
+            return null;
+        }
+
+        @Override
+        public void update(DataHandle handle, Object object) {
+        }
+
+        @Override
+        public void delete(DataHandle handle) {
+            live--;
+        }
+    }
+}
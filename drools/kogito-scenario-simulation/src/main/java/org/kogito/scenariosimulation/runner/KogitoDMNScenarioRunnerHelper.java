@@ -41,9 +41,11 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -53,7 +55,23 @@ import static org.drools.scenariosimulation.backend.fluent.DMNScenarioExecutable
 
 public class KogitoDMNScenarioRunnerHelper extends DMNScenarioRunnerHelper {
 
-    private DMNRuntime dmnRuntime = initDmnRuntime();
+    // compiling the models is the most expensive part of a run: it is done once per directory, for all the runners,
+    // and again when a model file is added, removed or modified
+    private static final Map<Path, ModelsRuntime> DMN_RUNTIMES = new ConcurrentHashMap<>();
+
+    private DMNRuntime dmnRuntime = sharedDmnRuntime(Paths.get("."));
+
+    /**
+     * Returns the runtime of the DMN and PMML models of the given directory, compiled again only when the models
+     * changed since it was last compiled.
+     */
+    static DMNRuntime sharedDmnRuntime(Path directory) {
+        Map<Path, FileTime> models = modelTimestamps(directory);
+        return DMN_RUNTIMES.compute(directory.toAbsolutePath().normalize(),
+                                    (path, cached) -> cached != null && cached.models.equals(models) ?
+                                            cached :
+                                            new ModelsRuntime(models, initDmnRuntime(directory))).dmnRuntime;
+    }
 
     @Override
     protected Map<String, Object> executeScenario(KieContainer kieContainer,
@@ -94,8 +112,24 @@ public class KogitoDMNScenarioRunnerHelper extends DMNScenarioRunnerHelper {
         }
     }
 
-    private Function<String, KieRuntimeFactory> initPmmlKieRuntimeFactory() {
-        try (Stream<Path> fileStream = Files.walk(Paths.get("."))) {
+    private static Map<Path, FileTime> modelTimestamps(Path directory) {
+        try (Stream<Path> fileStream = Files.walk(directory)) {
+            Map<Path, FileTime> timestamps = new HashMap<>();
+            for (Path path : fileStream.filter(path -> Files.isRegularFile(path) && isModel(path)).collect(toList())) {
+                timestamps.put(path, Files.getLastModifiedTime(path));
+            }
+            return timestamps;
+        } catch (IOException e) {
+            throw new IllegalStateException("Error initializing KogitoDMNScenarioRunnerHelper", e);
+        }
+    }
+
+    private static boolean isModel(Path path) {
+        return path.toString().endsWith(".dmn") || path.toString().endsWith(".pmml");
+    }
+
+    private static Function<String, KieRuntimeFactory> initPmmlKieRuntimeFactory(Path directory) {
+        try (Stream<Path> fileStream = Files.walk(directory)) {
             Map<KieBase, KieRuntimeFactory> kieRuntimeFactories =
                     PMMLKogito.createKieRuntimeFactoriesWithInMemoryCompilation(
                             fileStream
@@ -114,10 +148,10 @@ public class KogitoDMNScenarioRunnerHelper extends DMNScenarioRunnerHelper {
         }
     }
 
-    private DMNRuntime initDmnRuntime() {
-        Function<String, KieRuntimeFactory> kieRuntimeFactoryFunction = initPmmlKieRuntimeFactory();
+    private static DMNRuntime initDmnRuntime(Path directory) {
+        Function<String, KieRuntimeFactory> kieRuntimeFactoryFunction = initPmmlKieRuntimeFactory(directory);
 
-        try (Stream<Path> fileStream = Files.walk(Paths.get("."))) {
+        try (Stream<Path> fileStream = Files.walk(directory)) {
             List<Resource> resources = fileStream.filter(path -> Files.isRegularFile(path) && path.toString().endsWith(".dmn"))
                     .map(Path::toFile)
                     .map(FileSystemResource::new)
@@ -133,4 +167,14 @@ public class KogitoDMNScenarioRunnerHelper extends DMNScenarioRunnerHelper {
         }
     }
 
+    private static class ModelsRuntime {
+
+        private final Map<Path, FileTime> models;
+        private final DMNRuntime dmnRuntime;
+
+        private ModelsRuntime(Map<Path, FileTime> models, DMNRuntime dmnRuntime) {
+            this.models = models;
+            this.dmnRuntime = dmnRuntime;
+        }
+    }
 }
@@ -15,15 +15,51 @@
  */
 package org.kogito.scenariosimulation.runner;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 import org.drools.scenariosimulation.backend.runner.ScenarioJunitActivator;
 import org.drools.scenariosimulation.backend.runner.model.ScenarioRunnerDTO;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
 
 public class KogitoJunitActivator extends ScenarioJunitActivator {
 
+    /**
+     * Number of scenario files run at the same time, 1 (the default) runs them one after the other
+     */
+    public static final String PARALLELISM_PROPERTY = "kogito.scenario.parallelism";
+    /**
+     * Part of the scenario files to run, as <code>index/count</code> with index from 1 to count
+     */
+    public static final String SHARD_PROPERTY = "kogito.scenario.shard";
+
+    private final ParallelScenarioScheduler scheduler;
+
     public KogitoJunitActivator(Class<?> testClass) throws InitializationError {
         super(testClass);
+        int parallelism = Integer.getInteger(PARALLELISM_PROPERTY, 1);
+        if (parallelism > 1) {
+            this.scheduler = new ParallelScenarioScheduler(parallelism);
+            setScheduler(scheduler);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    @Override
+    protected List<ScenarioRunnerDTO> getChildren() {
+        List<ScenarioRunnerDTO> children = new ArrayList<>(super.getChildren());
+        // a stable order, whatever the order of the file system, so that every shard gets the same files on every JVM
+        children.sort(Comparator.comparing(ScenarioRunnerDTO::getFileName, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return shard(children, System.getProperty(SHARD_PROPERTY));
+    }
+
+    @Override
+    protected Statement childrenInvoker(RunNotifier notifier) {
+        return super.childrenInvoker(scheduler == null ? notifier : scheduler.notifier(notifier));
     }
 
     @Override
@@ -31,4 +67,30 @@ public class KogitoJunitActivator extends ScenarioJunitActivator {
         KogitoDMNScenarioRunner scenarioRunner = new KogitoDMNScenarioRunner(child);
         scenarioRunner.run(notifier);
     }
-}
\ No newline at end of file
+
+    static <T> List<T> shard(List<T> children, String shard) {
+        if (shard == null || shard.trim().isEmpty()) {
+            return children;
+        }
+        String[] parts = shard.trim().split("/");
+        int index;
+        int count;
+        try {
+            if (parts.length != 2) {
+                throw new NumberFormatException();
+            }
+            index = Integer.parseInt(parts[0].trim());
+            count = Integer.parseInt(parts[1].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + SHARD_PROPERTY + " '" + shard + "', expected index/count");
+        }
+        if (count < 1 || index < 1 || index > count) {
+            throw new IllegalArgumentException("Invalid " + SHARD_PROPERTY + " '" + shard + "', index must be between 1 and " + count);
+        }
+        List<T> selected = new ArrayList<>();
+        for (int i = index - 1; i < children.size(); i += count) {
+            selected.add(children.get(i));
+        }
+        return selected;
+    }
+}
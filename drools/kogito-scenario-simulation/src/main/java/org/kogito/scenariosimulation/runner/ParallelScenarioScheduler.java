@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kogito.scenariosimulation.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * Runs the scheduled children on a work stealing pool. The notifications of every child are recorded while it runs
+ * and replayed, once all children are scheduled, in the order the children were scheduled: the reported results
+ * do not depend on which child completes first.
+ * The children must report through the notifier returned by {@link #notifier(RunNotifier)}.
+ */
+class ParallelScenarioScheduler implements RunnerScheduler {
+
+    private final ThreadLocal<List<Consumer<RunNotifier>>> current = new ThreadLocal<>();
+    private final List<ForkJoinTask<List<Consumer<RunNotifier>>>> scheduled = new ArrayList<>();
+    private final int parallelism;
+    private ForkJoinPool pool;
+    private RunNotifier target;
+
+    ParallelScenarioScheduler(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the notifier to give to the children: it records the notifications of the child running on the
+     * calling thread and forwards the other ones to the given notifier.
+     */
+    RunNotifier notifier(RunNotifier notifier) {
+        this.target = notifier;
+        return new RecordingRunNotifier();
+    }
+
+    @Override
+    public void schedule(Runnable childStatement) {
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        scheduled.add(pool.submit(() -> {
+            List<Consumer<RunNotifier>> notifications = new ArrayList<>();
+            current.set(notifications);
+            try {
+                childStatement.run();
+            } finally {
+                current.remove();
+            }
+            return notifications;
+        }));
+    }
+
+    @Override
+    public void finished() {
+        try {
+            for (ForkJoinTask<List<Consumer<RunNotifier>>> child : scheduled) {
+                for (Consumer<RunNotifier> notification : child.join()) {
+                    notification.accept(target);
+                }
+            }
+        } finally {
+            scheduled.clear();
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
+            }
+        }
+    }
+
+    private class RecordingRunNotifier extends RunNotifier {
+
+        private void fire(Consumer<RunNotifier> notification) {
+            List<Consumer<RunNotifier>> notifications = current.get();
+            if (notifications == null) {
+                notification.accept(target);
+            } else {
+                notifications.add(notification);
+            }
+        }
+
+        @Override
+        public void fireTestStarted(Description description) {
+            fire(notifier -> notifier.fireTestStarted(description));
+        }
+
+        @Override
+        public void fireTestFailure(Failure failure) {
+            fire(notifier -> notifier.fireTestFailure(failure));
+        }
+
+        @Override
+        public void fireTestAssumptionFailed(Failure failure) {
+            fire(notifier -> notifier.fireTestAssumptionFailed(failure));
+        }
+
+        @Override
+        public void fireTestIgnored(Description description) {
+            fire(notifier -> notifier.fireTestIgnored(description));
+        }
+
+        @Override
+        public void fireTestFinished(Description description) {
+            fire(notifier -> notifier.fireTestFinished(description));
+        }
+
+        @Override
+        public void fireTestSuiteStarted(Description description) {
+            fire(notifier -> notifier.fireTestSuiteStarted(description));
+        }
+
+        @Override
+        public void fireTestSuiteFinished(Description description) {
+            fire(notifier -> notifier.fireTestSuiteFinished(description));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kogito.scenariosimulation.runner;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.dmn.api.core.DMNRuntime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class KogitoDMNScenarioRunnerHelperTest {
+
+    private static final Path TRAFFIC_VIOLATION = Paths.get("src/test/resources/sampleTest/Traffic Violation.dmn");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void runtimeSharedByRunners() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        Files.copy(TRAFFIC_VIOLATION, directory.resolve("Traffic Violation.dmn"));
+
+        DMNRuntime first = KogitoDMNScenarioRunnerHelper.sharedDmnRuntime(directory);
+
+        assertEquals(1, first.getModels().size());
+        assertSame(first, KogitoDMNScenarioRunnerHelper.sharedDmnRuntime(directory));
+    }
+
+    @Test
+    public void runtimeCompiledAgainWhenModelsChange() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        Path model = Files.copy(TRAFFIC_VIOLATION, directory.resolve("Traffic Violation.dmn"));
+        DMNRuntime first = KogitoDMNScenarioRunnerHelper.sharedDmnRuntime(directory);
+
+        Files.setLastModifiedTime(model, FileTime.fromMillis(Files.getLastModifiedTime(model).toMillis() + 1000));
+        DMNRuntime modified = KogitoDMNScenarioRunnerHelper.sharedDmnRuntime(directory);
+        assertNotSame(first, modified);
+        assertSame(modified, KogitoDMNScenarioRunnerHelper.sharedDmnRuntime(directory));
+
+        Files.delete(model);
+        DMNRuntime removed = KogitoDMNScenarioRunnerHelper.sharedDmnRuntime(directory);
+        assertNotSame(modified, removed);
+        assertEquals(0, removed.getModels().size());
+    }
+}
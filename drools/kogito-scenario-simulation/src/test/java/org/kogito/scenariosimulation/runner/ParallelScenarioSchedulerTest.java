@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kogito.scenariosimulation.runner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelScenarioSchedulerTest {
+
+    @Test
+    public void notificationsFollowScheduleOrder() {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        RunNotifier target = new RunNotifier();
+        target.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                events.add("started " + description.getDisplayName());
+            }
+
+            @Override
+            public void testFailure(Failure failure) {
+                events.add("failed " + failure.getDescription().getDisplayName());
+            }
+
+            @Override
+            public void testFinished(Description description) {
+                events.add("finished " + description.getDisplayName());
+            }
+        });
+
+        ParallelScenarioScheduler scheduler = new ParallelScenarioScheduler(4);
+        RunNotifier notifier = scheduler.notifier(target);
+        int children = 8;
+        for (int i = 0; i < children; i++) {
+            int child = i;
+            scheduler.schedule(() -> {
+                Description description = Description.createTestDescription("scenarios", "child" + child);
+                notifier.fireTestStarted(description);
+                sleep((children - child) * 10L);
+                if (child % 3 == 0) {
+                    notifier.fireTestFailure(new Failure(description, new AssertionError()));
+                }
+                notifier.fireTestFinished(description);
+            });
+        }
+        scheduler.finished();
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < children; i++) {
+            expected.add("started child" + i + "(scenarios)");
+            if (i % 3 == 0) {
+                expected.add("failed child" + i + "(scenarios)");
+            }
+            expected.add("finished child" + i + "(scenarios)");
+        }
+        assertEquals(expected, events);
+    }
+
+    @Test
+    public void shardsPartitionChildren() {
+        List<Integer> children = IntStream.range(0, 11).boxed().collect(Collectors.toList());
+
+        assertEquals(children, KogitoJunitActivator.shard(children, null));
+        assertEquals(Arrays.asList(0, 3, 6, 9), KogitoJunitActivator.shard(children, "1/3"));
+        assertEquals(Arrays.asList(2, 5, 8), KogitoJunitActivator.shard(children, " 3 / 3 "));
+
+        List<Integer> all = new ArrayList<>();
+        for (int index = 1; index <= 4; index++) {
+            all.addAll(KogitoJunitActivator.shard(children, index + "/4"));
+        }
+        Collections.sort(all);
+        assertEquals(children, all);
+    }
+
+    @Test
+    public void invalidShard() {
+        for (String shard : Arrays.asList("0/2", "3/2", "1", "a/b", "1/0")) {
+            try {
+                KogitoJunitActivator.shard(Collections.emptyList(), shard);
+                throw new AssertionError("Accepted shard " + shard);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains(KogitoJunitActivator.SHARD_PROPERTY));
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
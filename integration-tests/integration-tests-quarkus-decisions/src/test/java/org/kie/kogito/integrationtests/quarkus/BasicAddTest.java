@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import org.kie.kogito.testcontainers.quarkus.InfinispanQuarkusTestResource;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 
 @QuarkusTest
@@ -55,6 +56,17 @@ class BasicAddTest {
                .body("dmnContext.decision", is("v1v2"));
     }
     
+    @Test
+    void testWholeModel_batch() {
+        given().body("[{ \"a\": \"v1\", \"b\": \"v2\" }, { \"a\": \"v3\", \"b\": \"v4\" }]")
+               .contentType(ContentType.JSON)
+           .when()
+               .post("/basicAdd/batch")
+           .then()
+               .statusCode(200)
+               .body("decision", contains("v1v2", "v3v4"));
+    }
+    
     @Test
     void testDs1() {
         given().body("{ \"a\": \"v1\", \"b\": \"v2\" }")
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.bpmn2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.jbpm.process.instance.impl.demo.DoNothingWorkItemHandler;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.auth.SecurityPolicy;
+import org.kie.kogito.process.ProcessConfig;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.WorkItem;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.CachedWorkItemHandlerConfig;
+import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.process.impl.StaticProcessConfig;
+import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
+import org.kie.kogito.process.workitem.Policy;
+import org.kie.kogito.services.identity.StaticIdentityProvider;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_ACTIVE;
+
+public class LazyProcessInstanceTest {
+
+    private final UnitOfWorkManager uowManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+    private final BpmnProcess process = createProcess();
+    private final ProcessInstanceMarshaller marshaller = new ProcessInstanceMarshaller();
+    private final Policy<?> john = SecurityPolicy.of(new StaticIdentityProvider("john"));
+
+    @Test
+    public void testReadOnlyInstanceDecodesContentOnDemand() {
+        ProcessInstance<BpmnVariables> processInstance = start(items(3));
+        byte[] data = marshaller.marshallProcessInstance(processInstance);
+
+        @SuppressWarnings("unchecked")
+        ProcessInstance<BpmnVariables> readOnly = (ProcessInstance<BpmnVariables>) marshaller.unmarshallReadOnlyProcessInstance(data, process);
+        assertThat(readOnly.id()).isEqualTo(processInstance.id());
+        assertThat(readOnly.businessKey()).isEqualTo("key");
+        assertThat(readOnly.status()).isEqualTo(STATE_ACTIVE);
+        assertThat(((AbstractProcessInstance<?>) readOnly).internalGetProcessInstance()).isNotNull();
+        assertThat(readOnly.variables().toMap()).containsEntry("list", items(3));
+        assertThat(readOnly.workItems(john)).hasSize(3).extracting(WorkItem::getId)
+                .containsExactlyInAnyOrderElementsOf(processInstance.workItems(john).stream().map(WorkItem::getId)::iterator);
+    }
+
+    @Test
+    public void testNodeInstancesAreDecodedBeforeVariables() {
+        byte[] data = marshaller.marshallProcessInstance(start(items(3)));
+
+        @SuppressWarnings("unchecked")
+        ProcessInstance<BpmnVariables> readOnly = (ProcessInstance<BpmnVariables>) marshaller.unmarshallReadOnlyProcessInstance(data, process);
+        assertThat(readOnly.workItems(john)).hasSize(3);
+        assertThat(readOnly.variables().toMap()).containsEntry("list", items(3));
+    }
+
+    @Test
+    public void testVariablesAreDecodedBeforeNodeInstances() {
+        ProcessInstance<BpmnVariables> processInstance = start(items(3));
+        byte[] data = marshaller.marshallProcessInstance(processInstance);
+
+        @SuppressWarnings("unchecked")
+        ProcessInstance<BpmnVariables> readOnly = (ProcessInstance<BpmnVariables>) marshaller.unmarshallReadOnlyProcessInstance(data, process);
+        assertThat(readOnly.variables().toMap()).containsEntry("list", items(3));
+        assertThat(readOnly.workItems(john)).hasSize(3);
+        assertThat(readOnly.variables().toMap()).isEqualTo(process.createReadOnlyInstance(marshaller.unmarshallWorkflowProcessInstance(data, process)).variables().toMap());
+    }
+
+    private static List<String> items(int count) {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add("item-" + i);
+        }
+        return items;
+    }
+
+    private BpmnProcess createProcess() {
+        ProcessConfig config = new StaticProcessConfig(new CachedWorkItemHandlerConfig().register("Human Task", new DoNothingWorkItemHandler()),
+                                                       new DefaultProcessEventListenerConfig(),
+                                                       uowManager,
+                                                       null);
+        BpmnProcess bpmnProcess = BpmnProcess.from(config, new ClassPathResource("BPMN2-MultiInstanceLoopCharacteristicsTask.bpmn2")).get(0);
+        bpmnProcess.configure();
+        return bpmnProcess;
+    }
+
+    private ProcessInstance<BpmnVariables> start(List<String> items) {
+        return UnitOfWorkExecutor.executeInUnitOfWork(uowManager, () -> {
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance("key", BpmnVariables.create(Collections.singletonMap("list", items)));
+            processInstance.start();
+            return processInstance;
+        });
+    }
+}
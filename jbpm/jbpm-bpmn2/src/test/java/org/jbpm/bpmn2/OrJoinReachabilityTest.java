@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.bpmn2;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.drools.core.io.impl.FileSystemResource;
+import org.jbpm.workflow.core.node.Join;
+import org.jbpm.workflow.core.node.OrJoinReachability;
+import org.junit.jupiter.api.Test;
+import org.kie.api.definition.process.Node;
+import org.kie.api.definition.process.NodeContainer;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the reachability matrix of the OR joins against the graph walk on every process of the test resources.
+ */
+public class OrJoinReachabilityTest {
+
+    private int joins;
+
+    @Test
+    public void testMatrixMatchesGraphWalk() throws IOException {
+        List<Path> resources;
+        try (Stream<Path> files = Files.walk(Paths.get("src/test/resources"))) {
+            resources = files.filter(file -> file.toString().endsWith(".bpmn") || file.toString().endsWith(".bpmn2"))
+                    .collect(Collectors.toList());
+        }
+        int parsed = 0;
+        for (Path resource : resources) {
+            List<BpmnProcess> processes;
+            try {
+                processes = BpmnProcess.from(new FileSystemResource(resource.toFile()));
+            } catch (RuntimeException e) {
+                // invalid on purpose
+                continue;
+            }
+            for (BpmnProcess process : processes) {
+                verify(resource, (NodeContainer) process.process());
+            }
+            parsed++;
+        }
+
+        assertThat(parsed).isGreaterThan(resources.size() / 2);
+        assertThat(joins).isPositive();
+    }
+
+    private void verify(Path resource, NodeContainer container) {
+        for (Node join : container.getNodes()) {
+            if (join instanceof Join && ((Join) join).getType() == Join.TYPE_OR) {
+                OrJoinReachability reachability = ((Join) join).getReachability();
+                for (Node node : container.getNodes()) {
+                    assertThat(reachability.sourcesOf(join).get(reachability.indexOf(node)))
+                            .as("%s: %s to %s", resource, node.getName(), join.getName())
+                            .isEqualTo(OrJoinReachability.hasActiveDirectFlow(node, join));
+                }
+                joins++;
+            }
+        }
+        for (Node node : container.getNodes()) {
+            if (node instanceof NodeContainer) {
+                verify(resource, (NodeContainer) node);
+            }
+        }
+    }
+}
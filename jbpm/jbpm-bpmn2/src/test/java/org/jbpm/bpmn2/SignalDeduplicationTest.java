@@ -0,0 +1,150 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.bpmn2;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.jbpm.process.instance.event.DeliveredEventStore;
+import org.jbpm.process.instance.impl.demo.DoNothingWorkItemHandler;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.junit.jupiter.api.Test;
+import org.kie.api.event.process.DefaultProcessEventListener;
+import org.kie.api.event.process.ProcessNodeTriggeredEvent;
+import org.kie.api.runtime.process.WorkItem;
+import org.kie.api.runtime.process.WorkItemHandler;
+import org.kie.api.runtime.process.WorkItemManager;
+import org.kie.kogito.process.ProcessConfig;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.CachedWorkItemHandlerConfig;
+import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.process.impl.Sig;
+import org.kie.kogito.process.impl.StaticProcessConfig;
+import org.kie.kogito.process.impl.marshalling.ProcessInstanceMarshaller;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_ACTIVE;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_ERROR;
+
+public class SignalDeduplicationTest {
+
+    private final UnitOfWorkManager uowManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+    private final AtomicInteger triggered = new AtomicInteger();
+    private final AtomicBoolean failNext = new AtomicBoolean();
+    private final BpmnProcess process = createProcess();
+
+    @Test
+    public void testRedeliveredSignalIsDropped() {
+        ProcessInstance<BpmnVariables> processInstance = start();
+
+        send(processInstance, "event-1");
+        send(processInstance, "event-1");
+        send(processInstance, "event-2");
+        assertThat(triggered.get()).isEqualTo(2);
+
+        // signals without event id are never deduplicated
+        send(processInstance, null);
+        send(processInstance, null);
+        assertThat(triggered.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void testDeliveredEventsArePersistedWithProcessInstance() {
+        ProcessInstance<BpmnVariables> processInstance = start();
+        send(processInstance, "event-1");
+        assertThat(triggered.get()).isEqualTo(1);
+
+        ProcessInstanceMarshaller marshaller = new ProcessInstanceMarshaller();
+        @SuppressWarnings("unchecked")
+        ProcessInstance<BpmnVariables> restored = (ProcessInstance<BpmnVariables>) marshaller.unmarshallProcessInstance(marshaller.marshallProcessInstance(processInstance), process);
+        assertThat(restored.status()).isEqualTo(STATE_ACTIVE);
+
+        send(restored, "event-1");
+        assertThat(triggered.get()).isEqualTo(1);
+        send(restored, "event-2");
+        assertThat(triggered.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFailedSignalIsNotRecorded() {
+        ProcessInstance<BpmnVariables> processInstance = start();
+        DeliveredEventStore deliveredEvents = ((WorkflowProcessInstanceImpl) ((AbstractProcessInstance<?>) processInstance).internalGetProcessInstance()).getDeliveredEvents();
+
+        failNext.set(true);
+        send(processInstance, "event-1");
+        assertThat(processInstance.status()).isEqualTo(STATE_ERROR);
+        assertThat(triggered.get()).isZero();
+        assertThat(deliveredEvents.isDelivered("event-1")).isFalse();
+
+        // signals are ignored while in error, their events are not recorded either
+        send(processInstance, "event-2");
+        assertThat(deliveredEvents.isDelivered("event-2")).isFalse();
+        assertThat(deliveredEvents.isEmpty()).isTrue();
+    }
+
+    private BpmnProcess createProcess() {
+        DefaultProcessEventListener listener = new DefaultProcessEventListener() {
+
+            @Override
+            public void beforeNodeTriggered(ProcessNodeTriggeredEvent event) {
+                if ("end-sub".equals(event.getNodeInstance().getNodeName())) {
+                    triggered.incrementAndGet();
+                }
+            }
+        };
+        WorkItemHandler check = new DoNothingWorkItemHandler() {
+
+            @Override
+            public void executeWorkItem(WorkItem workItem, WorkItemManager manager) {
+                if (failNext.getAndSet(false)) {
+                    throw new IllegalStateException("processing failed");
+                }
+                manager.completeWorkItem(workItem.getId(), null);
+            }
+        };
+        ProcessConfig config = new StaticProcessConfig(new CachedWorkItemHandlerConfig().register("Human Task", new DoNothingWorkItemHandler()).register("Check", check),
+                                                       new DefaultProcessEventListenerConfig(listener),
+                                                       uowManager,
+                                                       null);
+        BpmnProcess bpmnProcess = BpmnProcess.from(config, new ClassPathResource("BPMN2-EventSubprocessSignalWithoutScript.bpmn2")).get(0);
+        bpmnProcess.configure();
+        return bpmnProcess;
+    }
+
+    private ProcessInstance<BpmnVariables> start() {
+        return UnitOfWorkExecutor.executeInUnitOfWork(uowManager, () -> {
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.emptyMap()));
+            processInstance.start();
+            return processInstance;
+        });
+    }
+
+    private void send(ProcessInstance<BpmnVariables> processInstance, String eventId) {
+        UnitOfWorkExecutor.executeInUnitOfWork(uowManager, () -> {
+            processInstance.send(Sig.of("MySignal", "payload", null, eventId));
+            return null;
+        });
+    }
+}
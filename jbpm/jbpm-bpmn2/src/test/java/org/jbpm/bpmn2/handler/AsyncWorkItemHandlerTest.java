@@ -0,0 +1,230 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.bpmn2.handler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.process.WorkItem;
+import org.kie.api.runtime.process.WorkItemHandler;
+import org.kie.kogito.process.ProcessConfig;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.CachedWorkItemHandlerConfig;
+import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.process.impl.StaticProcessConfig;
+import org.kie.kogito.process.workitem.AsyncWorkItemHandler;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.UnitOfWorkManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_ABORTED;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_ACTIVE;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_COMPLETED;
+
+public class AsyncWorkItemHandlerTest {
+
+    private final UnitOfWorkManager uowManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+    private final ScheduledExecutorService remote = Executors.newScheduledThreadPool(4);
+
+    @AfterEach
+    public void shutdown() {
+        remote.shutdownNow();
+    }
+
+    @Test
+    public void testWorkItemIsCompletedAsynchronously() {
+        DelayedHelloHandler handler = new DelayedHelloHandler(50, Integer.MAX_VALUE, null);
+        BpmnProcess process = createProcess(handler);
+
+        ProcessInstance<BpmnVariables> processInstance = start(process, "john");
+        // the engine thread is released while the service is called
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+
+        await(() -> processInstance.status() == STATE_COMPLETED);
+        assertThat(processInstance.variables().get("s")).isEqualTo("Hello john");
+        assertThat(process.instances().size()).isZero();
+    }
+
+    @Test
+    public void testWorkItemIsAbortedOnTimeout() {
+        DelayedHelloHandler handler = new DelayedHelloHandler(-1, Integer.MAX_VALUE, Duration.ofMillis(100));
+        BpmnProcess process = createProcess(handler);
+
+        ProcessInstance<BpmnVariables> processInstance = start(process, "john");
+
+        await(() -> processInstance.status() == STATE_COMPLETED);
+        // the aborted work item does not map its results
+        assertThat(processInstance.variables().get("s")).isEqualTo("john");
+        assertThat(handler.executions).hasSize(1);
+        assertThat(handler.executions.get(0).isCancelled()).isTrue();
+    }
+
+    @Test
+    public void testWorkItemIsAbortedOnFailure() {
+        AsyncWorkItemHandler handler = workItem -> {
+            CompletableFuture<Map<String, Object>> failure = new CompletableFuture<>();
+            failure.completeExceptionally(new IllegalStateException("service unavailable"));
+            return failure;
+        };
+        BpmnProcess process = createProcess(handler);
+
+        ProcessInstance<BpmnVariables> processInstance = start(process, "john");
+
+        await(() -> processInstance.status() == STATE_COMPLETED);
+        assertThat(processInstance.variables().get("s")).isEqualTo("john");
+    }
+
+    @Test
+    public void testExecutionIsCancelledWhenProcessInstanceIsAborted() {
+        DelayedHelloHandler handler = new DelayedHelloHandler(-1, Integer.MAX_VALUE, null);
+        BpmnProcess process = createProcess(handler);
+
+        ProcessInstance<BpmnVariables> processInstance = start(process, "john");
+        await(() -> handler.executions.size() == 1);
+
+        UnitOfWorkExecutor.executeInUnitOfWork(uowManager, () -> {
+            process.instances().findById(processInstance.id()).get().abort();
+            return null;
+        });
+        assertThat(processInstance.status()).isEqualTo(STATE_ABORTED);
+        assertThat(handler.executions.get(0).isCancelled()).isTrue();
+    }
+
+    @Test
+    public void testConcurrencyIsLimitedPerHandler() {
+        DelayedHelloHandler handler = new DelayedHelloHandler(20, 2, null);
+        BpmnProcess process = createProcess(handler);
+
+        List<ProcessInstance<BpmnVariables>> processInstances = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            processInstances.add(start(process, "john" + i));
+        }
+
+        await(() -> processInstances.stream().allMatch(pi -> pi.status() == STATE_COMPLETED));
+        assertThat(handler.executions).hasSize(10);
+        assertThat(handler.maxRunning.get()).isEqualTo(2);
+        for (int i = 0; i < processInstances.size(); i++) {
+            assertThat(processInstances.get(i).variables().get("s")).isEqualTo("Hello john" + i);
+        }
+    }
+
+    @Test
+    public void testEngineThreadIsNotBlockedByExecutions() {
+        int count = 100;
+        DelayedHelloHandler handler = new DelayedHelloHandler(-1, Integer.MAX_VALUE, null);
+        BpmnProcess process = createProcess(handler);
+
+        // none of the executions completes while the instances are started
+        List<ProcessInstance<BpmnVariables>> processInstances = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            processInstances.add(start(process, "john" + i));
+        }
+        assertThat(processInstances).allMatch(pi -> pi.status() == STATE_ACTIVE);
+        await(() -> handler.executions.size() == count);
+        assertThat(handler.maxRunning.get()).isEqualTo(count);
+
+        handler.executions.forEach(execution -> execution.complete(Collections.singletonMap("Result", "Hello")));
+        await(() -> processInstances.stream().allMatch(pi -> pi.status() == STATE_COMPLETED));
+        assertThat(processInstances).allMatch(pi -> "Hello".equals(pi.variables().get("s")));
+    }
+
+    private BpmnProcess createProcess(WorkItemHandler handler) {
+        ProcessConfig config = new StaticProcessConfig(new CachedWorkItemHandlerConfig().register("Service Task", handler), new DefaultProcessEventListenerConfig(), uowManager, null);
+        return BpmnProcess.from(config, new ClassPathResource("BPMN2-ServiceProcess.bpmn2")).get(0);
+    }
+
+    private ProcessInstance<BpmnVariables> start(BpmnProcess process, String name) {
+        return UnitOfWorkExecutor.executeInUnitOfWork(uowManager, () -> {
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("s", name)));
+            processInstance.start();
+            return processInstance;
+        });
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("Timed out waiting for the work items").isLessThan(deadline);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Simulates a remote service answering after the given latency, or never when negative.
+     */
+    private class DelayedHelloHandler implements AsyncWorkItemHandler {
+
+        private final long latency;
+        private final int maxConcurrency;
+        private final Duration timeout;
+        private final List<CompletableFuture<Map<String, Object>>> executions = new CopyOnWriteArrayList<>();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+
+        DelayedHelloHandler(long latency, int maxConcurrency, Duration timeout) {
+            this.latency = latency;
+            this.maxConcurrency = maxConcurrency;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public CompletionStage<Map<String, Object>> executeWorkItemAsync(WorkItem workItem) {
+            CompletableFuture<Map<String, Object>> execution = new CompletableFuture<>();
+            executions.add(execution);
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            if (latency >= 0) {
+                remote.schedule(() -> {
+                    running.decrementAndGet();
+                    execution.complete(Collections.singletonMap("Result", "Hello " + workItem.getParameter("Parameter")));
+                }, latency, TimeUnit.MILLISECONDS);
+            }
+            return execution;
+        }
+
+        @Override
+        public int maxConcurrency() {
+            return maxConcurrency;
+        }
+
+        @Override
+        public Duration timeout() {
+            return timeout;
+        }
+    }
+}
@@ -26,6 +26,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.ExtensionRegistry;
 import org.drools.core.common.DefaultFactHandle;
 import org.drools.core.marshalling.impl.KogitoMarshallerReaderContext;
@@ -203,7 +204,11 @@ public abstract class AbstractProtobufProcessInstanceMarshaller
                         .setLevel(level.getValue()) );
             }
         }
-        
+
+        if (workFlow.hasDeliveredEvents()) {
+            _instance.setDeliveredEvents(ByteString.copyFrom(workFlow.getDeliveredEvents().toByteArray()));
+        }
+
         return _instance.build();
     }
 
@@ -707,6 +712,67 @@ public abstract class AbstractProtobufProcessInstanceMarshaller
     // Input methods
     public ProcessInstance readProcessInstance(MarshallerReaderContext c) throws IOException {
         KogitoMarshallerReaderContext context = (KogitoMarshallerReaderContext)c;
+        JBPMMessages.ProcessInstance _instance = readProcessInstanceMessage( context );
+
+        WorkflowProcessInstanceImpl processInstance = readProcessInstanceHeader( context, _instance );
+        Process process = processInstance.getProcess();
+
+        if (_instance.hasDeliveredEvents()) {
+            processInstance.getDeliveredEvents().readFrom(_instance.getDeliveredEvents().toByteArray());
+        }
+        
+        for( String completedNodeId : _instance.getCompletedNodeIdsList() ) { 
+            processInstance.addCompletedNodeId(completedNodeId);
+        }
+
+        if ( _instance.getSwimlaneContextCount() > 0 ) {
+            Context swimlaneContext = ((org.jbpm.process.core.Process) process).getDefaultContext( SwimlaneContext.SWIMLANE_SCOPE );
+            SwimlaneContextInstance swimlaneContextInstance = (SwimlaneContextInstance) processInstance.getContextInstance( swimlaneContext );
+            for ( JBPMMessages.ProcessInstance.SwimlaneContextInstance _swimlane : _instance.getSwimlaneContextList() ) {
+                swimlaneContextInstance.setActorId( _swimlane.getSwimlane(), _swimlane.getActorId() );
+            }
+        }
+
+        for ( JBPMMessages.ProcessInstance.NodeInstance _node : _instance.getNodeInstanceList() ) {
+            context.parameterObject = _node;
+            readNodeInstance( context, 
+                              processInstance, 
+                              processInstance );
+        }
+
+        for ( JBPMMessages.ProcessInstance.ExclusiveGroupInstance _excl : _instance.getExclusiveGroupList() ) {
+            ExclusiveGroupInstance exclusiveGroupInstance = new ExclusiveGroupInstance();
+            processInstance.addContextInstance( ExclusiveGroup.EXCLUSIVE_GROUP, exclusiveGroupInstance );
+            for ( String nodeInstanceId : _excl.getGroupNodeInstanceIdList() ) {
+                NodeInstance nodeInstance = ((org.jbpm.workflow.instance.NodeInstanceContainer)processInstance).getNodeInstance( nodeInstanceId, true );
+                if ( nodeInstance == null ) {
+                    throw new IllegalArgumentException( "Could not find node instance when deserializing exclusive group instance: " + nodeInstanceId );
+                }
+                exclusiveGroupInstance.addNodeInstance( nodeInstance );
+            }
+        }
+
+        if ( _instance.getVariableCount() > 0 ) {
+            Context variableScope = ((org.jbpm.process.core.Process) process)
+                    .getDefaultContext( VariableScope.VARIABLE_SCOPE );
+            VariableScopeInstance variableScopeInstance = (VariableScopeInstance) processInstance
+                    .getContextInstance( variableScope );
+            readVariables( context, _instance ).forEach( variableScopeInstance::internalSetVariable );
+        }
+        
+        if ( _instance.getIterationLevelsCount() > 0 ) {
+            
+            for ( JBPMMessages.IterationLevel _level : _instance.getIterationLevelsList()) {
+                processInstance.getIterationLevels().put(_level.getId(), _level.getLevel());
+            }
+        }            	
+        return processInstance;
+    }
+
+    /**
+     * Returns the message of the process instance given as parameter object of the context, or parsed from its stream.
+     */
+    public static JBPMMessages.ProcessInstance readProcessInstanceMessage(MarshallerReaderContext context) throws IOException {
         JBPMMessages.ProcessInstance _instance = (org.jbpm.marshalling.impl.JBPMMessages.ProcessInstance) context.parameterObject;
         if( _instance == null ) {
             // try to parse from the stream
@@ -723,25 +789,31 @@ public abstract class AbstractProtobufProcessInstanceMarshaller
             }
             _instance = JBPMMessages.ProcessInstance.parseFrom( _header.getPayload(), registry );
         }
+        return _instance;
+    }
 
+    /**
+     * Reads the header of the given process instance: its identity, state, correlation and error details, without
+     * its variables and node instances. The returned instance can be inspected but not executed.
+     */
+    public WorkflowProcessInstanceImpl readProcessInstanceHeader(MarshallerReaderContext context, JBPMMessages.ProcessInstance _instance) {
         WorkflowProcessInstanceImpl processInstance = createProcessInstance();
         processInstance.setId( _instance.getId() );
         String processId = _instance.getProcessId();
         processInstance.setProcessId( processId );
         String processXml = _instance.getProcessXml();
-        Process process = null;
         if (processXml != null && processXml.trim().length() > 0) {
         	processInstance.setProcessXml( processXml );
-        	process = processInstance.getProcess();
         } else {
-            process = context.processes.get( processId );
+            Process process = ((KogitoMarshallerReaderContext) context).processes.get( processId );
             if (process == null) {
             	throw new RuntimeException("Could not find process " + processId + " when restoring process instance " + processInstance.getId());
             }
             processInstance.setProcess( process );
         }
         processInstance.setDescription(_instance.getDescription());
-        processInstance.setState( _instance.getState() );
+        // restore the state as is, completed and aborted instances are read back from the archive
+        processInstance.internalSetState( _instance.getState() );
         processInstance.setParentProcessInstanceId(_instance.getParentProcessInstanceId());
         processInstance.setRootProcessInstanceId(_instance.getRootProcessInstanceId());
         processInstance.setRootProcessId(_instance.getRootProcessId());
@@ -761,61 +833,23 @@ public abstract class AbstractProtobufProcessInstanceMarshaller
         processInstance.internalSetErrorMessage(_instance.getErrorMessage());
         
         processInstance.setReferenceId(_instance.getReferenceId());
-        
-        for( String completedNodeId : _instance.getCompletedNodeIdsList() ) { 
-            processInstance.addCompletedNodeId(completedNodeId);
-        }
-
-        if ( _instance.getSwimlaneContextCount() > 0 ) {
-            Context swimlaneContext = ((org.jbpm.process.core.Process) process).getDefaultContext( SwimlaneContext.SWIMLANE_SCOPE );
-            SwimlaneContextInstance swimlaneContextInstance = (SwimlaneContextInstance) processInstance.getContextInstance( swimlaneContext );
-            for ( JBPMMessages.ProcessInstance.SwimlaneContextInstance _swimlane : _instance.getSwimlaneContextList() ) {
-                swimlaneContextInstance.setActorId( _swimlane.getSwimlane(), _swimlane.getActorId() );
-            }
-        }
-
-        for ( JBPMMessages.ProcessInstance.NodeInstance _node : _instance.getNodeInstanceList() ) {
-            context.parameterObject = _node;
-            readNodeInstance( context, 
-                              processInstance, 
-                              processInstance );
-        }
-
-        for ( JBPMMessages.ProcessInstance.ExclusiveGroupInstance _excl : _instance.getExclusiveGroupList() ) {
-            ExclusiveGroupInstance exclusiveGroupInstance = new ExclusiveGroupInstance();
-            processInstance.addContextInstance( ExclusiveGroup.EXCLUSIVE_GROUP, exclusiveGroupInstance );
-            for ( String nodeInstanceId : _excl.getGroupNodeInstanceIdList() ) {
-                NodeInstance nodeInstance = ((org.jbpm.workflow.instance.NodeInstanceContainer)processInstance).getNodeInstance( nodeInstanceId, true );
-                if ( nodeInstance == null ) {
-                    throw new IllegalArgumentException( "Could not find node instance when deserializing exclusive group instance: " + nodeInstanceId );
-                }
-                exclusiveGroupInstance.addNodeInstance( nodeInstance );
-            }
-        }
+        return processInstance;
+    }
 
-        if ( _instance.getVariableCount() > 0 ) {
-            Context variableScope = ((org.jbpm.process.core.Process) process)
-                    .getDefaultContext( VariableScope.VARIABLE_SCOPE );
-            VariableScopeInstance variableScopeInstance = (VariableScopeInstance) processInstance
-                    .getContextInstance( variableScope );
-            for ( JBPMMessages.Variable _variable : _instance.getVariableList() ) {
-                try {
-                    Object _value = ProtobufProcessMarshaller.unmarshallVariableValue( context, _variable );
-                    variableScopeInstance.internalSetVariable( _variable.getName(), 
-                                                               _value );
-                } catch ( ClassNotFoundException e ) {
-                    throw new IllegalArgumentException( "Could not reload variable " + _variable.getName() );
-                }
+    /**
+     * Reads the values of the variables of the process scope of the given process instance.
+     */
+    public static Map<String, Object> readVariables(MarshallerReaderContext context, JBPMMessages.ProcessInstance _instance) throws IOException {
+        Map<String, Object> variables = new HashMap<>();
+        for ( JBPMMessages.Variable _variable : _instance.getVariableList() ) {
+            try {
+                variables.put( _variable.getName(),
+                               ProtobufProcessMarshaller.unmarshallVariableValue( context, _variable ) );
+            } catch ( ClassNotFoundException e ) {
+                throw new IllegalArgumentException( "Could not reload variable " + _variable.getName() );
             }
         }
-        
-        if ( _instance.getIterationLevelsCount() > 0 ) {
-            
-            for ( JBPMMessages.IterationLevel _level : _instance.getIterationLevelsList()) {
-                processInstance.getIterationLevels().put(_level.getId(), _level.getLevel());
-            }
-        }            	
-        return processInstance;
+        return variables;
     }
 
     protected abstract WorkflowProcessInstanceImpl createProcessInstance();
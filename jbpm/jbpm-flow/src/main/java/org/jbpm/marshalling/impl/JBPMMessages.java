@@ -411,6 +411,14 @@ public final class JBPMMessages {
      */
     org.jbpm.marshalling.impl.JBPMMessages.IterationLevelOrBuilder getIterationLevelsOrBuilder(
         int index);
+    /**
+     * <code>optional bytes delivered_events = 28;</code>
+     */
+    boolean hasDeliveredEvents();
+    /**
+     * <code>optional bytes delivered_events = 28;</code>
+     */
+    com.google.protobuf.ByteString getDeliveredEvents();
   }
   /**
    * Protobuf type {@code org.jbpm.marshalling.ProcessInstance}
@@ -451,6 +459,7 @@ public final class JBPMMessages {
       exclusiveGroup_ = java.util.Collections.emptyList();
       completedNodeIds_ = com.google.protobuf.LazyStringArrayList.EMPTY;
       iterationLevels_ = java.util.Collections.emptyList();
+      deliveredEvents_ = com.google.protobuf.ByteString.EMPTY;
     }
 
     @java.lang.Override
@@ -645,6 +654,11 @@ public final class JBPMMessages {
               referenceId_ = bs;
               break;
             }
+            case 226: {
+              bitField0_ |= 0x00100000;
+              deliveredEvents_ = input.readBytes();
+              break;
+            }
             default: {
               if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -20100,6 +20114,21 @@ public final class JBPMMessages {
       return iterationLevels_.get(index);
     }
 
+    public static final int DELIVERED_EVENTS_FIELD_NUMBER = 28;
+    private com.google.protobuf.ByteString deliveredEvents_;
+    /**
+     * <code>optional bytes delivered_events = 28;</code>
+     */
+    public boolean hasDeliveredEvents() {
+      return ((bitField0_ & 0x00100000) == 0x00100000);
+    }
+    /**
+     * <code>optional bytes delivered_events = 28;</code>
+     */
+    public com.google.protobuf.ByteString getDeliveredEvents() {
+      return deliveredEvents_;
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -20192,6 +20221,9 @@ public final class JBPMMessages {
       if (((bitField0_ & 0x00080000) == 0x00080000)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 27, referenceId_);
       }
+      if (((bitField0_ & 0x00100000) == 0x00100000)) {
+        output.writeBytes(28, deliveredEvents_);
+      }
       unknownFields.writeTo(output);
     }
 
@@ -20295,6 +20327,10 @@ public final class JBPMMessages {
       if (((bitField0_ & 0x00080000) == 0x00080000)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(27, referenceId_);
       }
+      if (((bitField0_ & 0x00100000) == 0x00100000)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(28, deliveredEvents_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -20423,6 +20459,11 @@ public final class JBPMMessages {
           .equals(other.getCompletedNodeIdsList());
       result = result && getIterationLevelsList()
           .equals(other.getIterationLevelsList());
+      result = result && (hasDeliveredEvents() == other.hasDeliveredEvents());
+      if (hasDeliveredEvents()) {
+        result = result && getDeliveredEvents()
+            .equals(other.getDeliveredEvents());
+      }
       result = result && unknownFields.equals(other.unknownFields);
       return result;
     }
@@ -20542,6 +20583,10 @@ public final class JBPMMessages {
         hash = (37 * hash) + ITERATIONLEVELS_FIELD_NUMBER;
         hash = (53 * hash) + getIterationLevelsList().hashCode();
       }
+      if (hasDeliveredEvents()) {
+        hash = (37 * hash) + DELIVERED_EVENTS_FIELD_NUMBER;
+        hash = (53 * hash) + getDeliveredEvents().hashCode();
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -20752,6 +20797,8 @@ public final class JBPMMessages {
         } else {
           iterationLevelsBuilder_.clear();
         }
+        deliveredEvents_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x04000000);
         return this;
       }
 
@@ -20910,6 +20957,10 @@ public final class JBPMMessages {
         } else {
           result.iterationLevels_ = iterationLevelsBuilder_.build();
         }
+        if (((from_bitField0_ & 0x04000000) == 0x04000000)) {
+          to_bitField0_ |= 0x00100000;
+        }
+        result.deliveredEvents_ = deliveredEvents_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -21187,6 +21238,9 @@ public final class JBPMMessages {
             }
           }
         }
+        if (other.hasDeliveredEvents()) {
+          setDeliveredEvents(other.getDeliveredEvents());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -23765,6 +23819,41 @@ public final class JBPMMessages {
         }
         return iterationLevelsBuilder_;
       }
+
+      private com.google.protobuf.ByteString deliveredEvents_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>optional bytes delivered_events = 28;</code>
+       */
+      public boolean hasDeliveredEvents() {
+        return ((bitField0_ & 0x04000000) == 0x04000000);
+      }
+      /**
+       * <code>optional bytes delivered_events = 28;</code>
+       */
+      public com.google.protobuf.ByteString getDeliveredEvents() {
+        return deliveredEvents_;
+      }
+      /**
+       * <code>optional bytes delivered_events = 28;</code>
+       */
+      public Builder setDeliveredEvents(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x04000000;
+        deliveredEvents_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bytes delivered_events = 28;</code>
+       */
+      public Builder clearDeliveredEvents() {
+        bitField0_ = (bitField0_ & ~0x04000000);
+        deliveredEvents_ = getDefaultInstance().getDeliveredEvents();
+        onChanged();
+        return this;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -35036,7 +35125,7 @@ public final class JBPMMessages {
     java.lang.String[] descriptorData = {
       "\n\'org/jbpm/marshalling/jbpmmessages.prot" +
       "o\022\024org.jbpm.marshalling\0320org/drools/core" +
-      "/marshalling/droolsmessages.proto\"\343 \n\017Pr" +
+      "/marshalling/droolsmessages.proto\"\375 \n\017Pr" +
       "ocessInstance\022\024\n\014process_type\030\001 \001(\t\022\n\n\002i" +
       "d\030\002 \001(\t\022\022\n\nprocess_id\030\003 \001(\t\022\r\n\005state\030\004 \001" +
       "(\005\022\035\n\025node_instance_counter\030\005 \001(\003\022\023\n\013pro" +
@@ -35058,137 +35147,138 @@ public final class JBPMMessages {
       "\n \003(\0132<.org.jbpm.marshalling.ProcessInst" +
       "ance.ExclusiveGroupInstance\022\030\n\020completed" +
       "NodeIds\030\r \003(\t\022=\n\017iterationLevels\030\016 \003(\0132$" +
-      ".org.jbpm.marshalling.IterationLevel\032=\n\027" +
-      "SwimlaneContextInstance\022\020\n\010swimlane\030\001 \001(" +
-      "\t\022\020\n\010actor_id\030\002 \001(\t\032\340\001\n\014NodeInstance\022\n\n\002" +
-      "id\030\001 \001(\t\022\017\n\007node_id\030\002 \001(\003\022J\n\007content\030\004 \001" +
-      "(\01329.org.jbpm.marshalling.ProcessInstanc" +
-      "e.NodeInstanceContent\022\r\n\005level\030\005 \001(\005\022\024\n\014" +
-      "sla_timer_id\030\006 \001(\t\022\024\n\014sla_due_date\030\007 \001(\003" +
-      "\022\026\n\016sla_compliance\030\010 \001(\005\022\024\n\014trigger_date" +
-      "\030\t \001(\003\0328\n\026ExclusiveGroupInstance\022\036\n\026grou" +
-      "p_node_instance_id\030\001 \003(\t\032\323\024\n\023NodeInstanc" +
-      "eContent\022D\n\004type\030\001 \001(\01626.org.jbpm.marsha" +
-      "lling.ProcessInstance.NodeInstanceType\022W" +
-      "\n\010rule_set\030\002 \001(\0132E.org.jbpm.marshalling." +
-      "ProcessInstance.NodeInstanceContent.Rule" +
-      "SetNode\022[\n\nhuman_task\030\003 \001(\0132G.org.jbpm.m" +
-      "arshalling.ProcessInstance.NodeInstanceC" +
-      "ontent.HumanTaskNode\022Y\n\twork_item\030\004 \001(\0132" +
-      "F.org.jbpm.marshalling.ProcessInstance.N" +
-      "odeInstanceContent.WorkItemNode\022]\n\013sub_p" +
-      "rocess\030\005 \001(\0132H.org.jbpm.marshalling.Proc" +
-      "essInstance.NodeInstanceContent.SubProce" +
-      "ssNode\022Z\n\tmilestone\030\006 \001(\0132G.org.jbpm.mar" +
+      ".org.jbpm.marshalling.IterationLevel\022\030\n\020" +
+      "delivered_events\030\034 \001(\014\032=\n\027SwimlaneContex" +
+      "tInstance\022\020\n\010swimlane\030\001 \001(\t\022\020\n\010actor_id\030" +
+      "\002 \001(\t\032\340\001\n\014NodeInstance\022\n\n\002id\030\001 \001(\t\022\017\n\007no" +
+      "de_id\030\002 \001(\003\022J\n\007content\030\004 \001(\01329.org.jbpm." +
+      "marshalling.ProcessInstance.NodeInstance" +
+      "Content\022\r\n\005level\030\005 \001(\005\022\024\n\014sla_timer_id\030\006" +
+      " \001(\t\022\024\n\014sla_due_date\030\007 \001(\003\022\026\n\016sla_compli" +
+      "ance\030\010 \001(\005\022\024\n\014trigger_date\030\t \001(\003\0328\n\026Excl" +
+      "usiveGroupInstance\022\036\n\026group_node_instanc" +
+      "e_id\030\001 \003(\t\032\323\024\n\023NodeInstanceContent\022D\n\004ty" +
+      "pe\030\001 \001(\01626.org.jbpm.marshalling.ProcessI" +
+      "nstance.NodeInstanceType\022W\n\010rule_set\030\002 \001" +
+      "(\0132E.org.jbpm.marshalling.ProcessInstanc" +
+      "e.NodeInstanceContent.RuleSetNode\022[\n\nhum" +
+      "an_task\030\003 \001(\0132G.org.jbpm.marshalling.Pro" +
+      "cessInstance.NodeInstanceContent.HumanTa" +
+      "skNode\022Y\n\twork_item\030\004 \001(\0132F.org.jbpm.mar" +
       "shalling.ProcessInstance.NodeInstanceCon" +
-      "tent.MilestoneNode\022R\n\005event\030\007 \001(\0132C.org." +
-      "jbpm.marshalling.ProcessInstance.NodeIns" +
-      "tanceContent.EventNode\022R\n\005timer\030\010 \001(\0132C." +
-      "org.jbpm.marshalling.ProcessInstance.Nod" +
-      "eInstanceContent.TimerNode\022P\n\004join\030\t \001(\013" +
-      "2B.org.jbpm.marshalling.ProcessInstance." +
-      "NodeInstanceContent.JoinNode\022R\n\005state\030\n " +
-      "\001(\0132C.org.jbpm.marshalling.ProcessInstan" +
-      "ce.NodeInstanceContent.StateNode\022a\n\tcomp" +
-      "osite\030\013 \001(\0132N.org.jbpm.marshalling.Proce" +
-      "ssInstance.NodeInstanceContent.Composite" +
-      "ContextNode\022W\n\010for_each\030\014 \001(\0132E.org.jbpm" +
+      "tent.WorkItemNode\022]\n\013sub_process\030\005 \001(\0132H" +
+      ".org.jbpm.marshalling.ProcessInstance.No" +
+      "deInstanceContent.SubProcessNode\022Z\n\tmile" +
+      "stone\030\006 \001(\0132G.org.jbpm.marshalling.Proce" +
+      "ssInstance.NodeInstanceContent.Milestone" +
+      "Node\022R\n\005event\030\007 \001(\0132C.org.jbpm.marshalli" +
+      "ng.ProcessInstance.NodeInstanceContent.E" +
+      "ventNode\022R\n\005timer\030\010 \001(\0132C.org.jbpm.marsh" +
+      "alling.ProcessInstance.NodeInstanceConte" +
+      "nt.TimerNode\022P\n\004join\030\t \001(\0132B.org.jbpm.ma" +
+      "rshalling.ProcessInstance.NodeInstanceCo" +
+      "ntent.JoinNode\022R\n\005state\030\n \001(\0132C.org.jbpm" +
       ".marshalling.ProcessInstance.NodeInstanc" +
-      "eContent.ForEachNode\022]\n\013async_event\030\r \001(" +
-      "\0132H.org.jbpm.marshalling.ProcessInstance" +
-      ".NodeInstanceContent.AsyncEventNode\032\324\001\n\013" +
-      "RuleSetNode\022\031\n\021timer_instance_id\030\001 \003(\t\022d" +
-      "\n\010mapEntry\030\002 \003(\0132R.org.jbpm.marshalling." +
-      "ProcessInstance.NodeInstanceContent.Rule" +
-      "SetNode.TextMapEntry\022\027\n\017rule_flow_group\030" +
-      "\003 \001(\t\032+\n\014TextMapEntry\022\014\n\004name\030\001 \001(\t\022\r\n\005v" +
-      "alue\030\002 \001(\t\032\247\001\n\rHumanTaskNode\022\024\n\014work_ite" +
-      "m_id\030\001 \001(\t\022\031\n\021timer_instance_id\030\002 \003(\t\022*\n" +
-      "\"error_handling_process_instance_id\030\003 \001(" +
-      "\t\0229\n\010workitem\030\004 \001(\0132\'.org.jbpm.marshalli" +
-      "ng.HumanTaskWorkItem\032\235\001\n\014WorkItemNode\022\024\n" +
-      "\014work_item_id\030\001 \001(\t\022\031\n\021timer_instance_id" +
-      "\030\002 \003(\t\022*\n\"error_handling_process_instanc" +
-      "e_id\030\003 \001(\t\0220\n\010workitem\030\004 \001(\0132\036.org.jbpm." +
-      "marshalling.WorkItem\032H\n\016SubProcessNode\022\033" +
-      "\n\023process_instance_id\030\001 \001(\t\022\031\n\021timer_ins" +
-      "tance_id\030\002 \003(\t\032*\n\rMilestoneNode\022\031\n\021timer" +
-      "_instance_id\030\001 \003(\t\032\013\n\tEventNode\032\035\n\tTimer" +
-      "Node\022\020\n\010timer_id\030\001 \001(\t\032\234\001\n\010JoinNode\022_\n\007t" +
-      "rigger\030\001 \003(\0132N.org.jbpm.marshalling.Proc" +
-      "essInstance.NodeInstanceContent.JoinNode" +
-      ".JoinTrigger\032/\n\013JoinTrigger\022\017\n\007node_id\030\001" +
-      " \001(\003\022\017\n\007counter\030\002 \001(\005\032&\n\tStateNode\022\031\n\021ti" +
-      "mer_instance_id\030\001 \003(\t\032\304\002\n\024CompositeConte" +
-      "xtNode\022\031\n\021timer_instance_id\030\002 \003(\t\0220\n\010var" +
-      "iable\030\003 \003(\0132\036.org.jbpm.marshalling.Varia" +
-      "ble\022I\n\rnode_instance\030\004 \003(\01322.org.jbpm.ma" +
-      "rshalling.ProcessInstance.NodeInstance\022U" +
-      "\n\017exclusive_group\030\005 \003(\0132<.org.jbpm.marsh" +
-      "alling.ProcessInstance.ExclusiveGroupIns" +
-      "tance\022=\n\017iterationLevels\030\006 \003(\0132$.org.jbp" +
-      "m.marshalling.IterationLevel\032\311\001\n\013ForEach" +
-      "Node\022I\n\rnode_instance\030\001 \003(\01322.org.jbpm.m" +
-      "arshalling.ProcessInstance.NodeInstance\022" +
-      "0\n\010variable\030\002 \003(\0132\036.org.jbpm.marshalling" +
-      ".Variable\022=\n\017iterationLevels\030\003 \003(\0132$.org" +
-      ".jbpm.marshalling.IterationLevel\032$\n\016Asyn" +
-      "cEventNode\022\022\n\nevent_type\030\001 \001(\t\"\276\002\n\020NodeI" +
-      "nstanceType\022\021\n\rRULE_SET_NODE\020\000\022\023\n\017HUMAN_" +
-      "TASK_NODE\020\001\022\022\n\016WORK_ITEM_NODE\020\002\022\023\n\017SUBPR" +
-      "OCESS_NODE\020\003\022\022\n\016MILESTONE_NODE\020\004\022\016\n\nEVEN" +
-      "T_NODE\020\005\022\016\n\nTIMER_NODE\020\006\022\r\n\tJOIN_NODE\020\007\022" +
-      "\016\n\nSTATE_NODE\020\010\022\032\n\026COMPOSITE_CONTEXT_NOD" +
-      "E\020\t\022\021\n\rFOR_EACH_NODE\020\n\022\020\n\014DYNAMIC_NODE\020\013" +
-      "\022\031\n\025EVENT_SUBPROCESS_NODE\020\014\022\024\n\020ASYNC_EVE" +
-      "NT_NODE\020\r\022\024\n\020SUB_PROCESS_NODE\020\016\"R\n\010Varia" +
-      "ble\022\014\n\004name\030\001 \001(\t\022\026\n\016strategy_index\030\002 \001(" +
-      "\005\022\r\n\005value\030\003 \001(\014\022\021\n\tdata_type\030\004 \001(\t\"\230\002\n\010" +
-      "WorkItem\022\n\n\002id\030\001 \001(\t\022\034\n\024process_instance" +
-      "s_id\030\002 \001(\t\022\014\n\004name\030\003 \001(\t\022\r\n\005state\030\004 \001(\005\022" +
-      "0\n\010variable\030\005 \003(\0132\036.org.jbpm.marshalling" +
-      ".Variable\022\025\n\rdeployment_id\030\006 \001(\t\022\030\n\020node" +
-      "_instance_id\030\007 \001(\t\022\017\n\007node_id\030\010 \001(\003\022\020\n\010p" +
-      "hase_id\030\t \001(\t\022\024\n\014phase_status\030\n \001(\t\022\022\n\ns" +
-      "tart_date\030\013 \001(\003\022\025\n\rcomplete_date\030\014 \001(\003\"\202" +
-      "\004\n\021HumanTaskWorkItem\022\n\n\002id\030\001 \001(\t\022\034\n\024proc" +
-      "ess_instances_id\030\002 \001(\t\022\014\n\004name\030\003 \001(\t\022\r\n\005" +
-      "state\030\004 \001(\005\0220\n\010variable\030\005 \003(\0132\036.org.jbpm" +
-      ".marshalling.Variable\022\025\n\rdeployment_id\030\006" +
-      " \001(\t\022\030\n\020node_instance_id\030\007 \001(\t\022\017\n\007node_i" +
-      "d\030\010 \001(\003\022\020\n\010phase_id\030\t \001(\t\022\024\n\014phase_statu" +
-      "s\030\n \001(\t\022\022\n\nstart_date\030\013 \001(\003\022\025\n\rcomplete_" +
-      "date\030\014 \001(\003\022\021\n\ttask_name\030\r \001(\t\022\030\n\020task_de" +
-      "scription\030\016 \001(\t\022\025\n\rtask_priority\030\017 \001(\t\022\024" +
-      "\n\014actual_owner\030\020 \001(\t\022\021\n\tpot_users\030\021 \003(\t\022" +
-      "\022\n\npot_groups\030\022 \003(\t\022\026\n\016excluded_users\030\023 " +
-      "\003(\t\022\023\n\013admin_users\030\024 \003(\t\022\024\n\014admin_groups" +
-      "\030\025 \003(\t\022\033\n\023task_reference_name\030\026 \001(\t\"\350\002\n\014" +
-      "ProcessTimer\022?\n\005timer\030\001 \001(\01320.org.jbpm.m" +
-      "arshalling.ProcessTimer.TimerInstance\0225\n" +
-      "\007trigger\030\002 \001(\0132$.org.drools.core.marshal" +
-      "ling.Trigger\032\337\001\n\rTimerInstance\022\n\n\002id\030\001 \001" +
-      "(\003\022\020\n\010timer_id\030\002 \001(\t\022\r\n\005delay\030\003 \001(\003\022\016\n\006p" +
-      "eriod\030\004 \001(\003\022\033\n\023process_instance_id\030\005 \001(\t" +
-      "\022\026\n\016activated_time\030\006 \001(\003\022\026\n\016last_trigger" +
-      "ed\030\007 \001(\003\022\034\n\024DEPRECATED_sessionId\030\010 \001(\005\022\021" +
-      "\n\tsessionId\030\t \001(\003\022\023\n\013repeatLimit\030\n \001(\005\"+" +
-      "\n\016IterationLevel\022\n\n\002id\030\001 \001(\t\022\r\n\005level\030\002 " +
-      "\001(\005\"E\n\021VariableContainer\0220\n\010variable\030\001 \003" +
-      "(\0132\036.org.jbpm.marshalling.Variable:i\n\020pr" +
-      "ocess_instance\022(.org.drools.core.marshal" +
-      "ling.ProcessData\030\n \003(\0132%.org.jbpm.marsha" +
-      "lling.ProcessInstance:[\n\twork_item\022(.org" +
-      ".drools.core.marshalling.ProcessData\030\013 \003" +
-      "(\0132\036.org.jbpm.marshalling.WorkItem::\n\010ti" +
-      "mer_id\022(.org.drools.core.marshalling.Pro" +
-      "cessData\030\r \001(\003:c\n\rprocess_timer\022(.org.dr" +
-      "ools.core.marshalling.ProcessData\030\014 \003(\0132" +
-      "\".org.jbpm.marshalling.ProcessTimer:a\n\np" +
-      "roc_timer\022).org.drools.core.marshalling." +
-      "Timers.Timer\030d \001(\0132\".org.jbpm.marshallin" +
-      "g.ProcessTimerB)\n\031org.jbpm.marshalling.i" +
-      "mplB\014JBPMMessages"
+      "eContent.StateNode\022a\n\tcomposite\030\013 \001(\0132N." +
+      "org.jbpm.marshalling.ProcessInstance.Nod" +
+      "eInstanceContent.CompositeContextNode\022W\n" +
+      "\010for_each\030\014 \001(\0132E.org.jbpm.marshalling.P" +
+      "rocessInstance.NodeInstanceContent.ForEa" +
+      "chNode\022]\n\013async_event\030\r \001(\0132H.org.jbpm.m" +
+      "arshalling.ProcessInstance.NodeInstanceC" +
+      "ontent.AsyncEventNode\032\324\001\n\013RuleSetNode\022\031\n" +
+      "\021timer_instance_id\030\001 \003(\t\022d\n\010mapEntry\030\002 \003" +
+      "(\0132R.org.jbpm.marshalling.ProcessInstanc" +
+      "e.NodeInstanceContent.RuleSetNode.TextMa" +
+      "pEntry\022\027\n\017rule_flow_group\030\003 \001(\t\032+\n\014TextM" +
+      "apEntry\022\014\n\004name\030\001 \001(\t\022\r\n\005value\030\002 \001(\t\032\247\001\n" +
+      "\rHumanTaskNode\022\024\n\014work_item_id\030\001 \001(\t\022\031\n\021" +
+      "timer_instance_id\030\002 \003(\t\022*\n\"error_handlin" +
+      "g_process_instance_id\030\003 \001(\t\0229\n\010workitem\030" +
+      "\004 \001(\0132\'.org.jbpm.marshalling.HumanTaskWo" +
+      "rkItem\032\235\001\n\014WorkItemNode\022\024\n\014work_item_id\030" +
+      "\001 \001(\t\022\031\n\021timer_instance_id\030\002 \003(\t\022*\n\"erro" +
+      "r_handling_process_instance_id\030\003 \001(\t\0220\n\010" +
+      "workitem\030\004 \001(\0132\036.org.jbpm.marshalling.Wo" +
+      "rkItem\032H\n\016SubProcessNode\022\033\n\023process_inst" +
+      "ance_id\030\001 \001(\t\022\031\n\021timer_instance_id\030\002 \003(\t" +
+      "\032*\n\rMilestoneNode\022\031\n\021timer_instance_id\030\001" +
+      " \003(\t\032\013\n\tEventNode\032\035\n\tTimerNode\022\020\n\010timer_" +
+      "id\030\001 \001(\t\032\234\001\n\010JoinNode\022_\n\007trigger\030\001 \003(\0132N" +
+      ".org.jbpm.marshalling.ProcessInstance.No" +
+      "deInstanceContent.JoinNode.JoinTrigger\032/" +
+      "\n\013JoinTrigger\022\017\n\007node_id\030\001 \001(\003\022\017\n\007counte" +
+      "r\030\002 \001(\005\032&\n\tStateNode\022\031\n\021timer_instance_i" +
+      "d\030\001 \003(\t\032\304\002\n\024CompositeContextNode\022\031\n\021time" +
+      "r_instance_id\030\002 \003(\t\0220\n\010variable\030\003 \003(\0132\036." +
+      "org.jbpm.marshalling.Variable\022I\n\rnode_in" +
+      "stance\030\004 \003(\01322.org.jbpm.marshalling.Proc" +
+      "essInstance.NodeInstance\022U\n\017exclusive_gr" +
+      "oup\030\005 \003(\0132<.org.jbpm.marshalling.Process" +
+      "Instance.ExclusiveGroupInstance\022=\n\017itera" +
+      "tionLevels\030\006 \003(\0132$.org.jbpm.marshalling." +
+      "IterationLevel\032\311\001\n\013ForEachNode\022I\n\rnode_i" +
+      "nstance\030\001 \003(\01322.org.jbpm.marshalling.Pro" +
+      "cessInstance.NodeInstance\0220\n\010variable\030\002 " +
+      "\003(\0132\036.org.jbpm.marshalling.Variable\022=\n\017i" +
+      "terationLevels\030\003 \003(\0132$.org.jbpm.marshall" +
+      "ing.IterationLevel\032$\n\016AsyncEventNode\022\022\n\n" +
+      "event_type\030\001 \001(\t\"\276\002\n\020NodeInstanceType\022\021\n" +
+      "\rRULE_SET_NODE\020\000\022\023\n\017HUMAN_TASK_NODE\020\001\022\022\n" +
+      "\016WORK_ITEM_NODE\020\002\022\023\n\017SUBPROCESS_NODE\020\003\022\022" +
+      "\n\016MILESTONE_NODE\020\004\022\016\n\nEVENT_NODE\020\005\022\016\n\nTI" +
+      "MER_NODE\020\006\022\r\n\tJOIN_NODE\020\007\022\016\n\nSTATE_NODE\020" +
+      "\010\022\032\n\026COMPOSITE_CONTEXT_NODE\020\t\022\021\n\rFOR_EAC" +
+      "H_NODE\020\n\022\020\n\014DYNAMIC_NODE\020\013\022\031\n\025EVENT_SUBP" +
+      "ROCESS_NODE\020\014\022\024\n\020ASYNC_EVENT_NODE\020\r\022\024\n\020S" +
+      "UB_PROCESS_NODE\020\016\"R\n\010Variable\022\014\n\004name\030\001 " +
+      "\001(\t\022\026\n\016strategy_index\030\002 \001(\005\022\r\n\005value\030\003 \001" +
+      "(\014\022\021\n\tdata_type\030\004 \001(\t\"\230\002\n\010WorkItem\022\n\n\002id" +
+      "\030\001 \001(\t\022\034\n\024process_instances_id\030\002 \001(\t\022\014\n\004" +
+      "name\030\003 \001(\t\022\r\n\005state\030\004 \001(\005\0220\n\010variable\030\005 " +
+      "\003(\0132\036.org.jbpm.marshalling.Variable\022\025\n\rd" +
+      "eployment_id\030\006 \001(\t\022\030\n\020node_instance_id\030\007" +
+      " \001(\t\022\017\n\007node_id\030\010 \001(\003\022\020\n\010phase_id\030\t \001(\t\022" +
+      "\024\n\014phase_status\030\n \001(\t\022\022\n\nstart_date\030\013 \001(" +
+      "\003\022\025\n\rcomplete_date\030\014 \001(\003\"\202\004\n\021HumanTaskWo" +
+      "rkItem\022\n\n\002id\030\001 \001(\t\022\034\n\024process_instances_" +
+      "id\030\002 \001(\t\022\014\n\004name\030\003 \001(\t\022\r\n\005state\030\004 \001(\005\0220\n" +
+      "\010variable\030\005 \003(\0132\036.org.jbpm.marshalling.V" +
+      "ariable\022\025\n\rdeployment_id\030\006 \001(\t\022\030\n\020node_i" +
+      "nstance_id\030\007 \001(\t\022\017\n\007node_id\030\010 \001(\003\022\020\n\010pha" +
+      "se_id\030\t \001(\t\022\024\n\014phase_status\030\n \001(\t\022\022\n\nsta" +
+      "rt_date\030\013 \001(\003\022\025\n\rcomplete_date\030\014 \001(\003\022\021\n\t" +
+      "task_name\030\r \001(\t\022\030\n\020task_description\030\016 \001(" +
+      "\t\022\025\n\rtask_priority\030\017 \001(\t\022\024\n\014actual_owner" +
+      "\030\020 \001(\t\022\021\n\tpot_users\030\021 \003(\t\022\022\n\npot_groups\030" +
+      "\022 \003(\t\022\026\n\016excluded_users\030\023 \003(\t\022\023\n\013admin_u" +
+      "sers\030\024 \003(\t\022\024\n\014admin_groups\030\025 \003(\t\022\033\n\023task" +
+      "_reference_name\030\026 \001(\t\"\350\002\n\014ProcessTimer\022?" +
+      "\n\005timer\030\001 \001(\01320.org.jbpm.marshalling.Pro" +
+      "cessTimer.TimerInstance\0225\n\007trigger\030\002 \001(\013" +
+      "2$.org.drools.core.marshalling.Trigger\032\337" +
+      "\001\n\rTimerInstance\022\n\n\002id\030\001 \001(\003\022\020\n\010timer_id" +
+      "\030\002 \001(\t\022\r\n\005delay\030\003 \001(\003\022\016\n\006period\030\004 \001(\003\022\033\n" +
+      "\023process_instance_id\030\005 \001(\t\022\026\n\016activated_" +
+      "time\030\006 \001(\003\022\026\n\016last_triggered\030\007 \001(\003\022\034\n\024DE" +
+      "PRECATED_sessionId\030\010 \001(\005\022\021\n\tsessionId\030\t " +
+      "\001(\003\022\023\n\013repeatLimit\030\n \001(\005\"+\n\016IterationLev" +
+      "el\022\n\n\002id\030\001 \001(\t\022\r\n\005level\030\002 \001(\005\"E\n\021Variabl" +
+      "eContainer\0220\n\010variable\030\001 \003(\0132\036.org.jbpm." +
+      "marshalling.Variable:i\n\020process_instance" +
+      "\022(.org.drools.core.marshalling.ProcessDa" +
+      "ta\030\n \003(\0132%.org.jbpm.marshalling.ProcessI" +
+      "nstance:[\n\twork_item\022(.org.drools.core.m" +
+      "arshalling.ProcessData\030\013 \003(\0132\036.org.jbpm." +
+      "marshalling.WorkItem::\n\010timer_id\022(.org.d" +
+      "rools.core.marshalling.ProcessData\030\r \001(\003" +
+      ":c\n\rprocess_timer\022(.org.drools.core.mars" +
+      "halling.ProcessData\030\014 \003(\0132\".org.jbpm.mar" +
+      "shalling.ProcessTimer:a\n\nproc_timer\022).or" +
+      "g.drools.core.marshalling.Timers.Timer\030d" +
+      " \001(\0132\".org.jbpm.marshalling.ProcessTimer" +
+      "B)\n\031org.jbpm.marshalling.implB\014JBPMMessa" +
+      "ges"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -35208,7 +35298,7 @@ public final class JBPMMessages {
     internal_static_org_jbpm_marshalling_ProcessInstance_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_org_jbpm_marshalling_ProcessInstance_descriptor,
-        new java.lang.String[] { "ProcessType", "Id", "ProcessId", "State", "NodeInstanceCounter", "ProcessXml", "ParentProcessInstanceId", "Description", "SignalCompletion", "DeploymentId", "CorrelationKey", "SlaTimerId", "SlaDueDate", "SlaCompliance", "RootProcessInstanceId", "StartDate", "RootProcessId", "ErrorNodeId", "ErrorMessage", "ReferenceId", "SwimlaneContext", "NodeInstance", "Variable", "ExclusiveGroup", "CompletedNodeIds", "IterationLevels", });
+        new java.lang.String[] { "ProcessType", "Id", "ProcessId", "State", "NodeInstanceCounter", "ProcessXml", "ParentProcessInstanceId", "Description", "SignalCompletion", "DeploymentId", "CorrelationKey", "SlaTimerId", "SlaDueDate", "SlaCompliance", "RootProcessInstanceId", "StartDate", "RootProcessId", "ErrorNodeId", "ErrorMessage", "ReferenceId", "SwimlaneContext", "NodeInstance", "Variable", "ExclusiveGroup", "CompletedNodeIds", "IterationLevels", "DeliveredEvents", });
     internal_static_org_jbpm_marshalling_ProcessInstance_SwimlaneContextInstance_descriptor =
       internal_static_org_jbpm_marshalling_ProcessInstance_descriptor.getNestedTypes().get(0);
     internal_static_org_jbpm_marshalling_ProcessInstance_SwimlaneContextInstance_fieldAccessorTable = new
@@ -18,7 +18,9 @@ package org.jbpm.process.core.context.variable;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.jbpm.process.core.Context;
 import org.jbpm.process.core.context.AbstractContext;
@@ -33,6 +35,7 @@ public class VariableScope extends AbstractContext {
     private static final long serialVersionUID = 510l;
 
     private List<Variable> variables;
+    private transient volatile VariableIndexes indexes;
 
     public VariableScope() {
         this.variables = new ArrayList<>();
@@ -51,6 +54,7 @@ public class VariableScope extends AbstractContext {
             throw new IllegalArgumentException("Variables is null");
         }
         this.variables = variables;
+        this.indexes = null;
     }
 
     public String[] getVariableNames() {
@@ -59,6 +63,20 @@ public class VariableScope extends AbstractContext {
                 .toArray(String[]::new);
     }
 
+    /**
+     * Returns the position of the given variable in the declaration of this scope, or -1 when it is not declared.
+     */
+    public int indexOf(String variableName) {
+        VariableIndexes current = indexes;
+        if (current == null || current.size != variables.size()) {
+            // variables were declared since the last lookup
+            current = new VariableIndexes(variables);
+            indexes = current;
+        }
+        Integer index = current.positions.get(variableName);
+        return index != null ? index : -1;
+    }
+
     public Variable findVariable(String variableName) {
         for (Variable variable : getVariables()) {
             if (variable.getName().equals(variableName)) {
@@ -134,4 +152,17 @@ public class VariableScope extends AbstractContext {
     public void addVariable(Variable variable) {
         this.variables.add(variable);
     }
+
+    private static class VariableIndexes {
+
+        private final int size;
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        VariableIndexes(List<Variable> variables) {
+            this.size = variables.size();
+            for (int i = 0; i < size; i++) {
+                positions.putIfAbsent(variables.get(i).getName(), i);
+            }
+        }
+    }
 }
@@ -16,6 +16,7 @@
 package org.jbpm.process.instance;
 
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 import org.drools.core.event.KogitoProcessEventSupport;
 import org.drools.core.event.ProcessEventSupport;
@@ -28,6 +29,7 @@ import org.kie.kogito.process.WorkItemHandlerConfig;
 import org.kie.kogito.signal.SignalManager;
 import org.kie.kogito.signal.SignalManagerHub;
 import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.services.jobs.impl.InMemoryJobService;
 import org.kie.services.signal.LightSignalManager;
 
 public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServiceProvider {
@@ -38,6 +40,7 @@ public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServ
     private final WorkItemManager workItemManager;
     private final ProcessEventSupport eventSupport;
     private final UnitOfWorkManager unitOfWorkManager;
+    private UnaryOperator<InMemoryJobService> inMemoryJobServiceConfig = UnaryOperator.identity();
 
     public AbstractProcessRuntimeServiceProvider(JobsService jobsService,
                                                  WorkItemHandlerConfig workItemHandlerProvider,
@@ -93,4 +96,13 @@ public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServ
     public UnitOfWorkManager getUnitOfWorkManager() {
         return unitOfWorkManager;
     }
+
+    @Override
+    public InMemoryJobService configure(InMemoryJobService jobService) {
+        return inMemoryJobServiceConfig.apply(jobService);
+    }
+
+    protected void setInMemoryJobServiceConfig(UnaryOperator<InMemoryJobService> inMemoryJobServiceConfig) {
+        this.inMemoryJobServiceConfig = inMemoryJobServiceConfig;
+    }
 }
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.instance;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.drools.core.process.instance.KogitoWorkItem;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.workitem.AsyncWorkItemHandler;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the work items of {@link AsyncWorkItemHandler}s for the instances of a process.
+ * <p>
+ * The execution starts once the current unit of work ends, so after the process instance with the waiting
+ * work item node has been persisted, and the engine thread is released right away. When the execution completes
+ * the work item is completed (or aborted on failure or timeout) on the process instance, looked up again from the
+ * process instances of the process, in a new unit of work run by a bounded completion executor.
+ * Each handler runs at most {@link AsyncWorkItemHandler#maxConcurrency()} executions at the same time,
+ * the others are queued until one completes.
+ * <p>
+ * Two cases are not covered:
+ * <ul>
+ * <li>when no unit of work is started, the fallback pass through unit of work starts the execution right away,
+ * before the process instance is persisted; a completion that finds no process instance is logged and dropped,
+ * so the process instance should be driven within a unit of work (as the generated endpoints do)</li>
+ * <li>executions are kept in memory only: a work item whose execution was not over when the application stopped
+ * stays active once the process instance is loaded again, and is executed again only when its node instance is
+ * retriggered (e.g. through the process management endpoints)</li>
+ * </ul>
+ */
+public class AsyncWorkItemDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncWorkItemDispatcher.class);
+
+    /**
+     * Executions are started after the other work units (e.g. the persistence of the process instance) are performed.
+     */
+    public static final int DISPATCH_PRIORITY = 1000;
+
+    private static final int COMPLETION_QUEUE_CAPACITY = 10_000;
+    private static final int LOCK_STRIPES = 64;
+
+    private static final Map<AsyncWorkItemHandler, Limiter> LIMITERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Process<?> process;
+    private final UnitOfWorkManager unitOfWorkManager;
+    private final Executor completionExecutor;
+    private final ScheduledExecutorService timeoutScheduler;
+
+    private final Map<String, CompletableFuture<Map<String, Object>>> executions = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public AsyncWorkItemDispatcher(Process<?> process, UnitOfWorkManager unitOfWorkManager) {
+        this(process, unitOfWorkManager, null, null);
+    }
+
+    /**
+     * @param completionExecutor executor completing the work items, <code>null</code> to use the shared bounded one
+     * @param timeoutScheduler scheduler aborting the work items that timed out, <code>null</code> to use the shared one
+     */
+    public AsyncWorkItemDispatcher(Process<?> process, UnitOfWorkManager unitOfWorkManager, Executor completionExecutor, ScheduledExecutorService timeoutScheduler) {
+        this.process = process;
+        this.unitOfWorkManager = unitOfWorkManager;
+        this.completionExecutor = completionExecutor;
+        this.timeoutScheduler = timeoutScheduler;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Schedules the execution of the work item at the end of the current unit of work.
+     */
+    public void dispatch(KogitoWorkItem workItem, AsyncWorkItemHandler handler) {
+        unitOfWorkManager.currentUnitOfWork().intercept(new DispatchWorkUnit(workItem, handler));
+    }
+
+    /**
+     * Cancels the execution of the given work item, if still running, e.g. because the work item was aborted.
+     * @return true if an execution was cancelled
+     */
+    public boolean cancel(String workItemId) {
+        CompletableFuture<Map<String, Object>> execution = executions.remove(workItemId);
+        return execution != null && execution.cancel(false);
+    }
+
+    /**
+     * Returns the number of executions that are started and not completed yet.
+     */
+    public int running() {
+        return executions.size();
+    }
+
+    private void start(KogitoWorkItem workItem, AsyncWorkItemHandler handler) {
+        // registered right away, so that the work item can be cancelled while waiting for the limiter
+        CompletableFuture<Map<String, Object>> execution = new CompletableFuture<>();
+        executions.put(workItem.getId(), execution);
+
+        Limiter limiter = LIMITERS.computeIfAbsent(handler, h -> new Limiter(h.maxConcurrency()));
+        Runnable task = () -> execute(workItem, handler, limiter, execution);
+        if (limiter.tryAcquire(task)) {
+            task.run();
+        }
+    }
+
+    private void execute(KogitoWorkItem workItem, AsyncWorkItemHandler handler, Limiter limiter, CompletableFuture<Map<String, Object>> execution) {
+        if (execution.isDone()) {
+            limiter.release(completionExecutor());
+            return;
+        }
+        CompletableFuture<Map<String, Object>> handlerExecution;
+        try {
+            handlerExecution = handler.executeWorkItemAsync(workItem).toCompletableFuture();
+        } catch (RuntimeException e) {
+            handlerExecution = new CompletableFuture<>();
+            handlerExecution.completeExceptionally(e);
+        }
+        handlerExecution.whenComplete((results, error) -> {
+            if (error == null) {
+                execution.complete(results);
+            } else {
+                execution.completeExceptionally(error);
+            }
+        });
+
+        Duration timeout = handler.timeout();
+        ScheduledFuture<?> timer = timeout == null ? null : timeoutScheduler().schedule(
+                () -> execution.completeExceptionally(new TimeoutException("Work item " + workItem.getId() + " timed out after " + timeout)),
+                timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        CompletableFuture<Map<String, Object>> started = handlerExecution;
+        execution.whenComplete((results, error) -> {
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            // the handler is told that its execution is no longer needed, when cancelled or timed out
+            started.cancel(false);
+            limiter.release(completionExecutor());
+            // cancelled executions are already removed
+            if (executions.remove(workItem.getId(), execution)) {
+                completionExecutor().execute(() -> complete(workItem, results, error));
+            }
+        });
+    }
+
+    private void complete(KogitoWorkItem workItem, Map<String, Object> results, Throwable error) {
+        if (error != null) {
+            LOGGER.warn("Execution of work item {} of process instance {} failed, aborting it", workItem.getId(), workItem.getProcessInstanceId(), error);
+        }
+        try {
+            // completions of the same process instance are applied one at a time
+            synchronized (locks[Math.floorMod(workItem.getProcessInstanceId().hashCode(), locks.length)]) {
+                UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+                    Optional<? extends ProcessInstance<?>> processInstance = process.instances().findById(workItem.getProcessInstanceId());
+                    if (!processInstance.isPresent()) {
+                        LOGGER.warn("Process instance {} not found, the results of work item {} are discarded", workItem.getProcessInstanceId(), workItem.getId());
+                    } else if (error == null) {
+                        processInstance.get().completeWorkItem(workItem.getId(), results);
+                    } else {
+                        processInstance.get().abortWorkItem(workItem.getId());
+                    }
+                    return null;
+                });
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Unable to resume process instance {} after the execution of work item {}", workItem.getProcessInstanceId(), workItem.getId(), e);
+        }
+    }
+
+    private Executor completionExecutor() {
+        return completionExecutor != null ? completionExecutor : Shared.COMPLETION_EXECUTOR;
+    }
+
+    private ScheduledExecutorService timeoutScheduler() {
+        return timeoutScheduler != null ? timeoutScheduler : Shared.TIMEOUT_SCHEDULER;
+    }
+
+    private class DispatchWorkUnit implements WorkUnit<KogitoWorkItem> {
+
+        private final KogitoWorkItem workItem;
+        private final AsyncWorkItemHandler handler;
+
+        DispatchWorkUnit(KogitoWorkItem workItem, AsyncWorkItemHandler handler) {
+            this.workItem = workItem;
+            this.handler = handler;
+        }
+
+        @Override
+        public KogitoWorkItem data() {
+            return workItem;
+        }
+
+        @Override
+        public void perform() {
+            start(workItem, handler);
+        }
+
+        @Override
+        public Integer priority() {
+            return DISPATCH_PRIORITY;
+        }
+    }
+
+    /**
+     * Limits the concurrent executions of a handler, queueing the executions over the limit.
+     */
+    private static class Limiter {
+
+        private final int maxConcurrency;
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+        private int running;
+
+        Limiter(int maxConcurrency) {
+            this.maxConcurrency = Math.max(1, maxConcurrency);
+        }
+
+        synchronized boolean tryAcquire(Runnable execution) {
+            if (running < maxConcurrency) {
+                running++;
+                return true;
+            }
+            waiting.add(execution);
+            return false;
+        }
+
+        void release(Executor executor) {
+            Runnable next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    running--;
+                }
+            }
+            if (next != null) {
+                executor.execute(next);
+            }
+        }
+    }
+
+    /**
+     * Executors shared by the processes, created on first use.
+     */
+    private static class Shared {
+
+        static final ThreadPoolExecutor COMPLETION_EXECUTOR = new ThreadPoolExecutor(
+                Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(COMPLETION_QUEUE_CAPACITY), threadFactory("kogito-work-item-completion"),
+                // when completions pile up the threads completing the executions run them, slowing the handlers down
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        static final ScheduledExecutorService TIMEOUT_SCHEDULER = Executors.newSingleThreadScheduledExecutor(threadFactory("kogito-work-item-timeout"));
+
+        static {
+            COMPLETION_EXECUTOR.allowCoreThreadTimeOut(true);
+        }
+
+        private static ThreadFactory threadFactory(String name) {
+            AtomicInteger count = new AtomicInteger();
+            return r -> {
+                Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
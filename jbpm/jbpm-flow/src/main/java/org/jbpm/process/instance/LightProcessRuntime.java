@@ -91,7 +91,7 @@ public class LightProcessRuntime implements InternalProcessRuntime {
         this.runtimeContext = runtimeContext;
         this.processInstanceManager = services.getProcessInstanceManager();
         this.signalManager = services.getSignalManager();
-        this.jobService = services.getJobsService() == null ? new InMemoryJobService(this, this.unitOfWorkManager) : services.getJobsService();
+        this.jobService = services.getJobsService() == null ? services.configure(new InMemoryJobService(this, this.unitOfWorkManager)) : services.getJobsService();
         this.processEventSupport = services.getEventSupport();
         this.workItemManager = services.getWorkItemManager();
         
@@ -22,7 +22,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.drools.core.KogitoWorkItemHandlerNotFoundException;
@@ -35,10 +34,12 @@ import org.drools.core.process.instance.impl.KogitoWorkItemImpl;
 import org.jbpm.process.instance.impl.workitem.Abort;
 import org.jbpm.process.instance.impl.workitem.Active;
 import org.jbpm.process.instance.impl.workitem.Complete;
+import org.jbpm.util.TimeOrderedIdGenerator;
 import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.api.runtime.process.WorkItemHandler;
 import org.kie.api.runtime.process.WorkItemNotFoundException;
 import org.kie.internal.runtime.Closeable;
+import org.kie.kogito.process.workitem.AsyncWorkItemHandler;
 import org.kie.kogito.process.workitem.NotAuthorizedException;
 import org.kie.kogito.process.workitem.Policy;
 import org.kie.kogito.process.workitem.Transition;
@@ -50,9 +51,18 @@ import static org.kie.api.runtime.process.WorkItem.ABORTED;
 import static org.kie.api.runtime.process.WorkItem.COMPLETED;
 
 public class LightWorkItemManager implements KogitoWorkItemManager {
+
+    /**
+     * System property setting the node id of the generated work item ids, random when not set.
+     */
+    public static final String NODE_ID_PROPERTY = "org.jbpm.wi.id.node";
+
+    private static final TimeOrderedIdGenerator ID_GENERATOR = TimeOrderedIdGenerator.fromSystemProperty(NODE_ID_PROPERTY);
  
     private Map<String, KogitoWorkItem> workItems = new ConcurrentHashMap<>();
     private Map<String, WorkItemHandler> workItemHandlers = new HashMap<>();
+    // handlers indexed by the slot of their work item name, see WorkItemHandlerSlots
+    private WorkItemHandler[] handlerSlots = new WorkItemHandler[0];
 
     private final ProcessInstanceManager processInstanceManager;
     private final SignalManager signalManager;
@@ -61,6 +71,8 @@ public class LightWorkItemManager implements KogitoWorkItemManager {
     private Complete completePhase = new Complete();
     private Abort abortPhase = new Abort();
 
+    private AsyncWorkItemDispatcher asyncWorkItemDispatcher;
+
     public LightWorkItemManager(ProcessInstanceManager processInstanceManager, SignalManager signalManager, ProcessEventSupport eventSupport) {
         this.processInstanceManager = processInstanceManager;
         this.signalManager = signalManager;
@@ -68,15 +80,22 @@ public class LightWorkItemManager implements KogitoWorkItemManager {
     }
 
     public void internalExecuteWorkItem( KogitoWorkItem workItem) {
-        (( KogitoWorkItemImpl ) workItem).setId(UUID.randomUUID().toString());
+        internalExecuteWorkItem(workItem, workItem.getName() != null ? WorkItemHandlerSlots.slotOf(workItem.getName()) : -1);
+    }
+
+    /**
+     * Executes the given work item with the handler in the given slot, resolved by the work item node.
+     */
+    public void internalExecuteWorkItem( KogitoWorkItem workItem, int handlerSlot) {
+        (( KogitoWorkItemImpl ) workItem).setId(ID_GENERATOR.generate());
         internalAddWorkItem(workItem);
-        WorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
+        WorkItemHandler handler = handler(handlerSlot);
         if (handler != null) {
             ProcessInstance processInstance = processInstanceManager.getProcessInstance(workItem.getProcessInstanceId());
             Transition<?> transition = new TransitionToActive();
             eventSupport.fireBeforeWorkItemTransition(processInstance, workItem, transition, null);
             
-            handler.executeWorkItem(workItem, this);
+            execute(handler, workItem);
 
             eventSupport.fireAfterWorkItemTransition(processInstance, workItem, transition, null);
         } else throw new KogitoWorkItemHandlerNotFoundException(workItem.getName() );
@@ -91,13 +110,14 @@ public class LightWorkItemManager implements KogitoWorkItemManager {
         // work item may have been aborted
         if (workItem != null) {
             workItem.setCompleteDate(new Date());
-            WorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
+            WorkItemHandler handler = handler(workItem);
             if (handler != null) {
                 
                 ProcessInstance processInstance = processInstanceManager.getProcessInstance(workItem.getProcessInstanceId());
                 Transition<?> transition = new TransitionToAbort(Collections.emptyList());
                 eventSupport.fireBeforeWorkItemTransition(processInstance, workItem, transition, null);
                 
+                cancelAsyncExecution(id);
                 handler.abortWorkItem(workItem, this);
                 workItem.setPhaseId(ID);
                 workItem.setPhaseStatus(STATUS);
@@ -127,9 +147,9 @@ public class LightWorkItemManager implements KogitoWorkItemManager {
     
     private void retryWorkItem( KogitoWorkItem workItem) {
         if (workItem != null) {
-            WorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
+            WorkItemHandler handler = handler(workItem);
             if (handler != null) {
-                handler.executeWorkItem(workItem, this);
+                execute(handler, workItem);
             } else throw new KogitoWorkItemHandlerNotFoundException(workItem.getName() );
         }
     }
@@ -147,6 +167,7 @@ public class LightWorkItemManager implements KogitoWorkItemManager {
         workItem.setState(COMPLETED);
         workItem.setCompleteDate(new Date());
                 
+        cancelAsyncExecution(workItem.getId());
         // process instance may have finished already
         if (processInstance != null) {
             processInstance.signalEvent("workItemCompleted", workItem);
@@ -154,6 +175,28 @@ public class LightWorkItemManager implements KogitoWorkItemManager {
         workItems.remove(workItem.getId());
  
     }
+
+    /**
+     * Work items of asynchronous handlers are executed by the given dispatcher, releasing the engine thread,
+     * instead of blocking until their execution completes.
+     */
+    public void setAsyncWorkItemDispatcher(AsyncWorkItemDispatcher asyncWorkItemDispatcher) {
+        this.asyncWorkItemDispatcher = asyncWorkItemDispatcher;
+    }
+
+    private void execute(WorkItemHandler handler, KogitoWorkItem workItem) {
+        if (handler instanceof AsyncWorkItemHandler && asyncWorkItemDispatcher != null) {
+            asyncWorkItemDispatcher.dispatch(workItem, (AsyncWorkItemHandler) handler);
+        } else {
+            handler.executeWorkItem(workItem, this);
+        }
+    }
+
+    private void cancelAsyncExecution(String workItemId) {
+        if (asyncWorkItemDispatcher != null) {
+            asyncWorkItemDispatcher.cancel(workItemId);
+        }
+    }
     
     @SuppressWarnings("unchecked")
     @Override
@@ -162,7 +205,7 @@ public class LightWorkItemManager implements KogitoWorkItemManager {
         // work item may have been aborted
         if (workItem != null) {
                         
-            WorkItemHandler handler = this.workItemHandlers.get(workItem.getName());
+            WorkItemHandler handler = handler(workItem);
             if (handler != null) {
                 ProcessInstance processInstance = processInstanceManager.getProcessInstance(workItem.getProcessInstanceId());
                 eventSupport.fireBeforeWorkItemTransition(processInstance, workItem, transition, null);
@@ -197,6 +240,7 @@ public class LightWorkItemManager implements KogitoWorkItemManager {
             ProcessInstance processInstance = processInstanceManager.getProcessInstance(workItem.getProcessInstanceId());
             Transition<?> transition = new TransitionToAbort(Arrays.asList(policies));
             eventSupport.fireBeforeWorkItemTransition(processInstance, workItem, transition, null);
+            cancelAsyncExecution(id);
             workItem.setState(ABORTED);
             abortPhase.apply(workItem, transition);
             
@@ -213,6 +257,19 @@ public class LightWorkItemManager implements KogitoWorkItemManager {
 
     public void registerWorkItemHandler(String workItemName, WorkItemHandler handler) {
         this.workItemHandlers.put(workItemName, handler);
+        int slot = WorkItemHandlerSlots.slotOf(workItemName);
+        WorkItemHandler[] slots = handlerSlots.length > slot ? handlerSlots.clone() : Arrays.copyOf(handlerSlots, slot + 1);
+        slots[slot] = handler;
+        this.handlerSlots = slots;
+    }
+
+    private WorkItemHandler handler(KogitoWorkItem workItem) {
+        return workItem.getName() != null ? handler(WorkItemHandlerSlots.slotOf(workItem.getName())) : null;
+    }
+
+    private WorkItemHandler handler(int slot) {
+        WorkItemHandler[] slots = handlerSlots;
+        return slot >= 0 && slot < slots.length ? slots[slot] : null;
     }
 
     @Override
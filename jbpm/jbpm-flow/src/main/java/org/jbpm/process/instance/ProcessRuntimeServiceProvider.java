@@ -21,6 +21,7 @@ import org.kie.api.runtime.process.WorkItemManager;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.signal.SignalManager;
 import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.services.jobs.impl.InMemoryJobService;
 
 public interface ProcessRuntimeServiceProvider {
 
@@ -35,4 +36,11 @@ public interface ProcessRuntimeServiceProvider {
     ProcessEventSupport getEventSupport();
     
     UnitOfWorkManager getUnitOfWorkManager();
+
+    /**
+     * Configures the in-memory jobs service of a process runtime, created when no jobs service is provided
+     */
+    default InMemoryJobService configure(InMemoryJobService jobService) {
+        return jobService;
+    }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.instance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns to every work item name a slot, the index of its handler in the handler table of the
+ * {@link LightWorkItemManager}s.
+ * <p>
+ * A handler gets the slot of its name when it is registered. A work item node resolves the slot of its work
+ * lazily, the first time one of its work items is executed, and keeps it for the following executions, so that
+ * executing a work item does not look its handler up by name. Slots are never released, names live as long as
+ * the class.
+ */
+public final class WorkItemHandlerSlots {
+
+    private static final Map<String, Integer> SLOTS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_SLOT = new AtomicInteger();
+
+    private WorkItemHandlerSlots() {
+    }
+
+    /**
+     * Returns the slot of the given work item name, assigning a new one to names never seen before.
+     */
+    public static int slotOf(String workItemName) {
+        Integer slot = SLOTS.get(workItemName);
+        if (slot == null) {
+            slot = SLOTS.computeIfAbsent(workItemName, name -> NEXT_SLOT.getAndIncrement());
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.instance.context.variable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Variables of a process instance set since a given version, with their current value, so that marshallers and
+ * event producers can write only what changed.
+ * <p>
+ * Variables of the process scope are keyed by their name, the ones of nested scopes (embedded and event
+ * sub-processes) by their name prefixed with the unique id of the node declaring them, as in the variable
+ * change events.
+ */
+public class VariableChangeSet {
+
+    private final long version;
+    private final Map<String, Object> processVariables = new LinkedHashMap<>();
+    private final Map<String, Object> variables = new LinkedHashMap<>();
+
+    public VariableChangeSet(long version) {
+        this.version = version;
+    }
+
+    void add(String variableId, String name, Object value, boolean processScope) {
+        variables.put(variableId, value);
+        if (processScope) {
+            processVariables.put(name, value);
+        }
+    }
+
+    /**
+     * Returns the version of the variables of the process instance when this change set was taken,
+     * to get the following changes from.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isEmpty() {
+        return variables.isEmpty();
+    }
+
+    public boolean isChanged(String variableId) {
+        return variables.containsKey(variableId);
+    }
+
+    /**
+     * Returns the changed variables of the process scope by name.
+     */
+    public Map<String, Object> getProcessVariables() {
+        return Collections.unmodifiableMap(processVariables);
+    }
+
+    /**
+     * Returns the changed variables of all scopes by variable id.
+     */
+    public Map<String, Object> getVariables() {
+        return Collections.unmodifiableMap(variables);
+    }
+
+    @Override
+    public String toString() {
+        return "VariableChangeSet [version=" + version + ", variables=" + variables.keySet() + "]";
+    }
+}
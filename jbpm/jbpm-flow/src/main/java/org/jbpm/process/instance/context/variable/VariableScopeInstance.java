@@ -16,8 +16,10 @@
 
 package org.jbpm.process.instance.context.variable;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.drools.core.event.KogitoProcessEventSupport;
@@ -25,8 +27,10 @@ import org.jbpm.process.core.context.variable.Variable;
 import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.process.instance.ContextInstanceContainer;
 import org.jbpm.process.instance.InternalProcessRuntime;
+import org.jbpm.process.instance.ProcessInstance;
 import org.jbpm.process.instance.context.AbstractContextInstance;
 import org.jbpm.workflow.core.Node;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
 import org.jbpm.workflow.instance.node.CompositeContextNodeInstance;
 import org.kie.api.runtime.process.NodeInstance;
 import org.kie.kogito.process.VariableViolationException;
@@ -41,6 +45,10 @@ public class VariableScopeInstance extends AbstractContextInstance {
     private Map<String, Object> variables = new HashMap<String, Object>();
     private transient String variableIdPrefix = null;
     private transient String variableInstanceIdPrefix = null;
+    // version of the last change of every declared variable, by position in the variable scope
+    private transient long[] versions;
+    private transient Map<String, Long> undeclaredVersions;
+    private transient long localVersion;
 
     public String getContextType() {
         return VariableScope.VARIABLE_SCOPE;
@@ -106,6 +114,7 @@ public class VariableScopeInstance extends AbstractContextInstance {
 			nodeInstance,
 			getProcessInstance().getKnowledgeRuntime());
         internalSetVariable(name, value);
+        markChanged(name);
         processEventSupport.fireAfterVariableChanged(
 			(variableIdPrefix == null ? "" : variableIdPrefix + ":") + name,
 			(variableInstanceIdPrefix == null? "" : variableInstanceIdPrefix + ":") + name,
@@ -119,6 +128,48 @@ public class VariableScopeInstance extends AbstractContextInstance {
     	variables.put(name, value);
     }
     
+    private void markChanged(String name) {
+        ProcessInstance processInstance = getProcessInstance();
+        long version = processInstance instanceof WorkflowProcessInstanceImpl ? ((WorkflowProcessInstanceImpl) processInstance).nextVariableVersion() : ++localVersion;
+        int slot = getVariableScope().indexOf(name);
+        if (slot < 0) {
+            if (undeclaredVersions == null) {
+                undeclaredVersions = new HashMap<>();
+            }
+            undeclaredVersions.put(name, version);
+            return;
+        }
+        if (versions == null || versions.length <= slot) {
+            int size = Math.max(slot + 1, getVariableScope().getVariables().size());
+            versions = versions == null ? new long[size] : Arrays.copyOf(versions, size);
+        }
+        versions[slot] = version;
+    }
+
+    /**
+     * Adds to the given change set the variables of this scope set after the given version.
+     */
+    public void collectChanges(VariableChangeSet changes, long sinceVersion) {
+        boolean processScope = getContextInstanceContainer() instanceof ProcessInstance;
+        String prefix = variableIdPrefix == null ? "" : variableIdPrefix + ":";
+        if (versions != null) {
+            List<Variable> declared = getVariableScope().getVariables();
+            for (int slot = 0; slot < versions.length; slot++) {
+                if (versions[slot] > sinceVersion) {
+                    String name = declared.get(slot).getName();
+                    changes.add(prefix + name, name, variables.get(name), processScope);
+                }
+            }
+        }
+        if (undeclaredVersions != null) {
+            for (Map.Entry<String, Long> entry : undeclaredVersions.entrySet()) {
+                if (entry.getValue() > sinceVersion) {
+                    changes.add(prefix + entry.getKey(), entry.getKey(), variables.get(entry.getKey()), processScope);
+                }
+            }
+        }
+    }
+
     public VariableScope getVariableScope() {
     	return (VariableScope) getContext();
     }
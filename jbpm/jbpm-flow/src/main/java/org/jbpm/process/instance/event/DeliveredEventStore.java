@@ -0,0 +1,237 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.instance.event;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the ids of the events (e.g. CloudEvent ids or message keys) delivered to a target, so that
+ * redeliveries of the same event are detected and dropped.
+ * <p>
+ * Ids are first checked against a Bloom filter covering the current and the previous time window, so that
+ * most new events are accepted without looking them up; ids that may have been seen are then checked against
+ * a bounded, least recently used set of the exact ids. An id is remembered for at least one and at most two
+ * windows, and no longer than the exact set is able to hold it, after that a redelivery is accepted again.
+ * <p>
+ * Only the exact ids are written by {@link #toByteArray()}, the Bloom filter is rebuilt from them when read back.
+ */
+public class DeliveredEventStore {
+
+    public static final int DEFAULT_CAPACITY = 256;
+    public static final Duration DEFAULT_WINDOW = Duration.ofHours(1);
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int BITS_PER_ID = 16;
+    private static final int HASHES = 5;
+
+    private final int capacity;
+    private final long windowMillis;
+    private final LongSupplier clock;
+    private final Map<String, Long> recent;
+
+    private long windowStart;
+    private long[] current;
+    private long[] previous;
+
+    public DeliveredEventStore() {
+        this(DEFAULT_CAPACITY, DEFAULT_WINDOW);
+    }
+
+    public DeliveredEventStore(int capacity, Duration window) {
+        this(capacity, window, System::currentTimeMillis);
+    }
+
+    public DeliveredEventStore(int capacity, Duration window, LongSupplier clock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        this.recent = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > DeliveredEventStore.this.capacity;
+            }
+        };
+        this.windowStart = clock.getAsLong();
+    }
+
+    /**
+     * Records the delivery of the given event.
+     * @param eventId id of the delivered event
+     * @return true if the event was not delivered before and should be processed, false if it is a redelivery
+     */
+    public synchronized boolean markDelivered(String eventId) {
+        long now = clock.getAsLong();
+        rotate(now);
+        long hash = hash(eventId);
+        if (isDelivered(eventId, hash, now)) {
+            return false;
+        }
+        add(eventId, hash, now);
+        return true;
+    }
+
+    /**
+     * Tells whether the given event was already delivered, without recording it.
+     * @param eventId id of the event
+     * @return true if the event is a redelivery
+     */
+    public synchronized boolean isDelivered(String eventId) {
+        long now = clock.getAsLong();
+        rotate(now);
+        return isDelivered(eventId, hash(eventId), now);
+    }
+
+    private boolean isDelivered(String eventId, long hash, long now) {
+        if (mightContain(current, hash) || mightContain(previous, hash)) {
+            Long deliveredAt = recent.get(eventId);
+            return deliveredAt != null && now - deliveredAt < 2 * windowMillis;
+        }
+        return false;
+    }
+
+    /**
+     * Forgets the delivery of the given event, e.g. because processing it failed and it should be accepted when redelivered.
+     */
+    public synchronized void forget(String eventId) {
+        // the Bloom filter keeps the id, the exact lookup tells it is not delivered anymore
+        recent.remove(eventId);
+    }
+
+    public synchronized boolean isEmpty() {
+        return recent.isEmpty();
+    }
+
+    public synchronized int size() {
+        return recent.size();
+    }
+
+    /**
+     * Writes the ids that are still remembered, oldest first.
+     */
+    public synchronized byte[] toByteArray() {
+        long now = clock.getAsLong();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            int count = 0;
+            for (Long deliveredAt : recent.values()) {
+                if (now - deliveredAt < 2 * windowMillis) {
+                    count++;
+                }
+            }
+            out.writeInt(count);
+            for (Map.Entry<String, Long> entry : recent.entrySet()) {
+                if (now - entry.getValue() < 2 * windowMillis) {
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(entry.getValue());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restores the ids written by {@link #toByteArray()}.
+     */
+    public synchronized void readFrom(byte[] data) {
+        recent.clear();
+        current = null;
+        previous = null;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported delivered events format " + version);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String eventId = in.readUTF();
+                long deliveredAt = in.readLong();
+                add(eventId, hash(eventId), deliveredAt);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // the restored ids start a new window
+        windowStart = clock.getAsLong();
+    }
+
+    private void rotate(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed < windowMillis) {
+            return;
+        }
+        previous = elapsed < 2 * windowMillis ? current : null;
+        current = null;
+        windowStart = now;
+    }
+
+    private void add(String eventId, long hash, long deliveredAt) {
+        if (current == null) {
+            current = new long[Math.max(1, capacity * BITS_PER_ID / Long.SIZE)];
+        }
+        int bits = current.length * Long.SIZE;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bits);
+            current[bit >>> 6] |= 1L << bit;
+        }
+        recent.put(eventId, deliveredAt);
+    }
+
+    private static boolean mightContain(long[] filter, long hash) {
+        if (filter == null) {
+            return false;
+        }
+        int bits = filter.length * Long.SIZE;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bits);
+            if ((filter[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64 bit FNV-1a, the two halves are used for double hashing
+    private static long hash(String eventId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < eventId.length(); i++) {
+            hash ^= eventId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
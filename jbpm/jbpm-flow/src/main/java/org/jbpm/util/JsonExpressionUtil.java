@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+
+/**
+ * Evaluation of the JSON expressions found in the scripts generated for serverless workflows.
+ * <p>
+ * The scripts pass their expressions as string literals: every expression is compiled (or parsed) the first
+ * time it is used and the compiled form is shared by all the following executions, so that running a script
+ * does not parse any expression, nor build any JSON path configuration or object mapper.
+ */
+public class JsonExpressionUtil {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Configuration CONFIGURATION = Configuration.builder()
+            .mappingProvider(new JacksonMappingProvider(MAPPER))
+            .jsonProvider(new JacksonJsonNodeJsonProvider(MAPPER))
+            .build();
+
+    private static final Map<String, JsonPath> PATHS = new ConcurrentHashMap<>();
+    private static final Map<String, JsonNode> CONSTANTS = new ConcurrentHashMap<>();
+
+    private JsonExpressionUtil() {}
+
+    /**
+     * Compiles the given JSON path, failing when it is not valid.
+     */
+    public static JsonPath compile(String path) {
+        return PATHS.computeIfAbsent(path, JsonPath::compile);
+    }
+
+    public static JsonNode read(String path, Object document) {
+        Object value = compile(path).read(document, CONFIGURATION);
+        return CONFIGURATION.mappingProvider().map(value, JsonNode.class, CONFIGURATION);
+    }
+
+    public static String readText(String path, Object document) {
+        JsonNode node = read(path, document);
+        return node == null ? null : node.textValue();
+    }
+
+    /**
+     * Returns a copy of the given JSON document, which is only parsed once.
+     */
+    public static JsonNode constant(String json) {
+        return CONSTANTS.computeIfAbsent(json, JsonExpressionUtil::parse).deepCopy();
+    }
+
+    private static JsonNode parse(String json) {
+        try {
+            return MAPPER.readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid JSON constant " + json, e);
+        }
+    }
+}
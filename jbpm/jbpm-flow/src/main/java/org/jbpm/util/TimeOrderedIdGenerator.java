@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates unique ids ordered by creation time, without the contention of {@link java.util.UUID#randomUUID()}
+ * on its shared secure random.
+ * <p>
+ * An id is made of 128 bits: the 48 bits of the current time in milliseconds, the 16 bits of the node id and
+ * a 64 bits sequence starting at a random value, written as 26 characters of Crockford's base 32 so that ids
+ * sort lexicographically in the order they were generated (as long as the clock does not go backwards).
+ * Nodes sharing the same storage should be configured with different node ids.
+ */
+public class TimeOrderedIdGenerator {
+
+    public static final int MAX_NODE = 0xFFFF;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int LENGTH = 26;
+    private static final long TIME_MASK = 0xFFFFFFFFFFFFL;
+
+    private final long node;
+    private final LongSupplier clock;
+    private final AtomicLong sequence = new AtomicLong(ThreadLocalRandom.current().nextLong());
+
+    public TimeOrderedIdGenerator(int node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    public TimeOrderedIdGenerator(int node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a generator with the node id set by the given system property, or a random one when not set.
+     */
+    public static TimeOrderedIdGenerator fromSystemProperty(String property) {
+        String node = System.getProperty(property);
+        return new TimeOrderedIdGenerator(node != null ? Integer.parseInt(node.trim()) : ThreadLocalRandom.current().nextInt(MAX_NODE + 1));
+    }
+
+    public String generate() {
+        long high = (clock.getAsLong() & TIME_MASK) << 16 | node;
+        long low = sequence.getAndIncrement();
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (low & 31)];
+            low = low >>> 5 | high << 59;
+            high >>>= 5;
+        }
+        return new String(chars);
+    }
+}
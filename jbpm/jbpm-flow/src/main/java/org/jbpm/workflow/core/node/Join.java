@@ -17,6 +17,8 @@
 package org.jbpm.workflow.core.node;
 
 import org.kie.api.definition.process.Connection;
+import org.kie.api.definition.process.Node;
+import org.kie.api.definition.process.NodeContainer;
 import org.jbpm.workflow.core.impl.NodeImpl;
 
 /**
@@ -55,6 +57,7 @@ public class Join extends NodeImpl {
 
     private int type;
     private String n;
+    private transient volatile OrJoinReachability reachability;
 
     public Join() {
         this.type = TYPE_UNDEFINED;
@@ -62,6 +65,7 @@ public class Join extends NodeImpl {
 
     public void setType(final int type) {
         this.type = type;
+        this.reachability = null;
     }
 
     public int getType() {
@@ -76,6 +80,25 @@ public class Join extends NodeImpl {
     	return n;
     }
 
+    /**
+     * Returns the reachability matrix of the OR joins of the container of this join, computed the first time
+     * one of them is evaluated and shared by all of them.
+     */
+    public OrJoinReachability getReachability() {
+        OrJoinReachability result = reachability;
+        if (result == null) {
+            NodeContainer container = getParentContainer();
+            result = new OrJoinReachability(container);
+            for (Node node : container.getNodes()) {
+                if (node instanceof Join && ((Join) node).getType() == TYPE_OR) {
+                    ((Join) node).reachability = result;
+                }
+            }
+            reachability = result;
+        }
+        return result;
+    }
+
     public void validateAddIncomingConnection(final String type, final Connection connection) {
         super.validateAddIncomingConnection(type, connection);
         if (!org.jbpm.workflow.core.Node.CONNECTION_DEFAULT_TYPE.equals(type)) {
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workflow.core.node;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kie.api.definition.process.Connection;
+import org.kie.api.definition.process.Node;
+import org.kie.api.definition.process.NodeContainer;
+
+/**
+ * Reachability matrix of the OR joins of a node container: for every OR join, the set of nodes of the container
+ * from which an active node instance still has a direct flow to the join, in which case the join has to wait.
+ * <p>
+ * Rows are computed once per container with the same graph walk the join used to run at every trigger, XOR splits
+ * being followed one branch at a time as they usually close arbitrary loops, so that evaluating a join is reduced
+ * to intersecting its row with the bits of the active nodes. The matrix reflects the container when it was
+ * computed: process definitions are not expected to change once they have been started.
+ */
+public class OrJoinReachability {
+
+    private final Map<Node, Integer> indexes = new IdentityHashMap<>();
+    private final Map<Long, BitSet> rows = new HashMap<>();
+
+    OrJoinReachability(NodeContainer container) {
+        Node[] nodes = container.getNodes();
+        for (int i = 0; i < nodes.length; i++) {
+            indexes.put(nodes[i], i);
+        }
+        for (Node join : nodes) {
+            if (join instanceof Join && ((Join) join).getType() == Join.TYPE_OR) {
+                BitSet row = new BitSet(nodes.length);
+                for (int i = 0; i < nodes.length; i++) {
+                    if (hasActiveDirectFlow(nodes[i], join)) {
+                        row.set(i);
+                    }
+                }
+                rows.put(join.getId(), row);
+            }
+        }
+    }
+
+    /**
+     * Returns the bit of the given node, or -1 when the node is not one of the nodes of the container,
+     * as for dynamic nodes.
+     */
+    public int indexOf(Node node) {
+        Integer index = indexes.get(node);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Returns the nodes, as bits, from which there is a direct flow to the given OR join, or null when the join
+     * is not an OR join of the container.
+     */
+    public BitSet sourcesOf(Node join) {
+        return rows.get(join.getId());
+    }
+
+    /**
+     * Tells whether an active instance of the given node has a direct flow to the given join, walking the graph.
+     */
+    public static boolean hasActiveDirectFlow(Node node, Node lookFor) {
+        Set<Long> visitedNodes = new HashSet<>();
+        checkNodes(visitedNodes, node, node, lookFor);
+        return visitedNodes.contains(lookFor.getId()) && !visitedNodes.contains(node.getId());
+    }
+
+    private static boolean checkNodes(Set<Long> vistedNodes, Node startAt, Node currentNode, Node lookFor) {
+        if (currentNode == null) {
+            // for dynamic/ad hoc task there is no node
+            return false;
+        }
+
+        List<Connection> connections = currentNode.getOutgoingConnections(org.jbpm.workflow.core.Node.CONNECTION_DEFAULT_TYPE);
+        // special handling for XOR split as it usually is used for arbitrary loops
+        if (currentNode instanceof Split && ((Split) currentNode).getType() == Split.TYPE_XOR) {
+            if (vistedNodes.contains(startAt.getId())) {
+                return false;
+            }
+            for (Connection conn : connections) {
+                Set<Long> xorCopy = new HashSet<Long>(vistedNodes);
+
+                Node nextNode = conn.getTo();
+                if (nextNode == null) {
+                    continue;
+                } else {
+                    xorCopy.add(nextNode.getId());
+                    if (nextNode.getId() != lookFor.getId()) {
+                        checkNodes(xorCopy, currentNode, nextNode, lookFor);
+                    }
+                }
+
+                if (xorCopy.contains(lookFor.getId())) {
+                    vistedNodes.addAll(xorCopy);
+                    return true;
+                }
+            }
+        } else {
+            for (Connection conn : connections) {
+                Node nextNode = conn.getTo();
+                if (nextNode == null) {
+                    continue;
+                } else {
+                    if (vistedNodes.contains(nextNode.getId())) {
+                        // we have already been here so let's continue
+                        continue;
+                    }
+                    if (nextNode.getId() == lookFor.getId()) {
+                        // we found the node that we are looking for, add it and continue to find out other parts
+                        // as it could be part of a loop
+                        vistedNodes.add(nextNode.getId());
+                        continue;
+                    }
+                    vistedNodes.add(nextNode.getId());
+                    if (startAt.getId() == nextNode.getId()) {
+                        return true;
+                    } else {
+                        boolean nestedCheck = checkNodes(vistedNodes, startAt, nextNode, lookFor);
+                        if (nestedCheck) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+}
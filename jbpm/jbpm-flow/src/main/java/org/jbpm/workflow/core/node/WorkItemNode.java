@@ -30,6 +30,7 @@ import org.jbpm.process.core.ContextContainer;
 import org.jbpm.process.core.context.AbstractContext;
 import org.jbpm.process.core.context.variable.Mappable;
 import org.jbpm.process.core.impl.ContextContainerImpl;
+import org.jbpm.process.instance.WorkItemHandlerSlots;
 
 /**
  * Default implementation of a task node.
@@ -42,6 +43,8 @@ public class WorkItemNode extends StateBasedNode implements Mappable, ContextCon
 	private ContextContainer contextContainer = new ContextContainerImpl();
     
 	private Work work;
+	// slot of the handler of the work plus one, 0 until resolved
+	private transient int handlerSlot;
 
 	private List<DataAssociation> inMapping = new LinkedList<DataAssociation>();
 	private List<DataAssociation> outMapping = new LinkedList<DataAssociation>();
@@ -54,6 +57,19 @@ public class WorkItemNode extends StateBasedNode implements Mappable, ContextCon
 
 	public void setWork(Work work) {
 		this.work = work;
+		this.handlerSlot = 0;
+	}
+
+	/**
+	 * Returns the slot of the handler executing the work of this node, see {@link WorkItemHandlerSlots}.
+	 * The slot is resolved on the first call rather than when the process is built, because the work
+	 * is set after the node is created, and resolved again when the work changes.
+	 */
+	public int getHandlerSlot() {
+		if (handlerSlot == 0 && work != null && work.getName() != null) {
+			handlerSlot = WorkItemHandlerSlots.slotOf(work.getName()) + 1;
+		}
+		return handlerSlot - 1;
 	}
 	
 
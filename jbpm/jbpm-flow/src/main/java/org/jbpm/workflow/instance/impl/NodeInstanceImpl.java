@@ -72,7 +72,12 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
     private long nodeId;
     private WorkflowProcessInstance processInstance;
     private org.jbpm.workflow.instance.NodeInstanceContainer nodeInstanceContainer;
-    private Map<String, Object> metaData = new HashMap<>();
+    // unique ids of the node and of the connections taken to and from it, shared with the definition
+    private String uniqueId;
+    private String incomingConnection;
+    private String outgoingConnection;
+    // only allocated when other meta data is set or when the meta data is requested as a map
+    private Map<String, Object> metaData;
     private int level;
     
     protected int slaCompliance = ProcessInstance.SLA_NA;
@@ -183,7 +188,7 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
 	    	Collection<Connection> incoming = getNode().getIncomingConnections(type);
 	    	for (Connection conn : incoming) {
 	    	    if (conn.getFrom().getId() == from.getNodeId()) {
-	    	        this.metaData.put(INCOMING_CONNECTION, conn.getMetaData().get(UNIQUE_ID));
+	    	        setMetaData(INCOMING_CONNECTION, conn.getMetaData().get(UNIQUE_ID));
 	    	        break;
 	    	    }
 	    	}
@@ -404,7 +409,7 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
         Collection<Connection> outgoing = getNode().getOutgoingConnections(type);
         for (Connection conn : outgoing) {
             if (conn.getTo().getId() == nodeInstance.getNodeId()) {
-                this.metaData.put(OUTGOING_CONNECTION, conn.getMetaData().get(UNIQUE_ID));
+                setMetaData(OUTGOING_CONNECTION, conn.getMetaData().get(UNIQUE_ID));
                 break;
             }
         }
@@ -525,15 +530,58 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
     }
     
     public Map<String, Object> getMetaData() {
+        if (this.metaData == null) {
+            this.metaData = new HashMap<>();
+            putIfNotNull(UNIQUE_ID, uniqueId);
+            putIfNotNull(INCOMING_CONNECTION, incomingConnection);
+            putIfNotNull(OUTGOING_CONNECTION, outgoingConnection);
+            uniqueId = null;
+            incomingConnection = null;
+            outgoingConnection = null;
+        }
         return this.metaData;
     }
     
 	public Object getMetaData(String name) {
-		return this.metaData.get(name);
+	    if (this.metaData != null) {
+	        return this.metaData.get(name);
+	    }
+	    switch (name) {
+	        case UNIQUE_ID:
+	            return uniqueId;
+	        case INCOMING_CONNECTION:
+	            return incomingConnection;
+	        case OUTGOING_CONNECTION:
+	            return outgoingConnection;
+	        default:
+	            return null;
+	    }
 	}
 
     public void setMetaData(String name, Object data) {
-        this.metaData.put(name, data);
+        if (this.metaData == null && (data == null || data instanceof String)) {
+            // the meta data set on every node instance is kept in fields until other meta data is set
+            switch (name) {
+                case UNIQUE_ID:
+                    uniqueId = (String) data;
+                    return;
+                case INCOMING_CONNECTION:
+                    incomingConnection = (String) data;
+                    return;
+                case OUTGOING_CONNECTION:
+                    outgoingConnection = (String) data;
+                    return;
+                default:
+                    break;
+            }
+        }
+        getMetaData().put(name, data);
+    }
+
+    private void putIfNotNull(String name, String data) {
+        if (data != null) {
+            this.metaData.put(name, data);
+        }
     }
     
     protected static class NodeInstanceTrigger {
@@ -42,8 +42,11 @@ import org.jbpm.process.core.timer.BusinessCalendar;
 import org.jbpm.process.core.timer.DateTimeUtils;
 import org.jbpm.process.core.timer.Timer;
 import org.jbpm.process.instance.ContextInstance;
+import org.jbpm.process.instance.ContextInstanceContainer;
 import org.jbpm.process.instance.InternalProcessRuntime;
+import org.jbpm.process.instance.context.variable.VariableChangeSet;
 import org.jbpm.process.instance.context.variable.VariableScopeInstance;
+import org.jbpm.process.instance.event.DeliveredEventStore;
 import org.jbpm.process.instance.impl.ProcessInstanceImpl;
 import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.util.PatternConstants;
@@ -143,6 +146,12 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
     
     private String referenceId;
 
+    private DeliveredEventStore deliveredEvents;
+
+    // versions of the variable changes, a loaded instance starts with no change
+    private transient long variableVersion;
+    private transient long unitOfWorkVersion;
+
     @Override
     public NodeContainer getNodeContainer() {
         return getWorkflowProcess();
@@ -1045,6 +1054,68 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         return this.referenceId;
     }
 
+    /**
+     * Returns the ids of the events recently delivered to this process instance, persisted with it.
+     */
+    public DeliveredEventStore getDeliveredEvents() {
+        if (deliveredEvents == null) {
+            deliveredEvents = new DeliveredEventStore();
+        }
+        return deliveredEvents;
+    }
+
+    public boolean hasDeliveredEvents() {
+        return deliveredEvents != null && !deliveredEvents.isEmpty();
+    }
+
+    public long nextVariableVersion() {
+        return ++variableVersion;
+    }
+
+    public long getVariableVersion() {
+        return variableVersion;
+    }
+
+    /**
+     * Returns the variables, of all the active scopes, set since the last unit of work of this instance ended.
+     */
+    public VariableChangeSet getVariableChanges() {
+        return getVariableChanges(unitOfWorkVersion);
+    }
+
+    /**
+     * Returns the variables, of all the active scopes, set since the given version.
+     */
+    public VariableChangeSet getVariableChanges(long sinceVersion) {
+        VariableChangeSet changes = new VariableChangeSet(variableVersion);
+        if (sinceVersion >= variableVersion) {
+            return changes;
+        }
+        collectVariableChanges(this, changes, sinceVersion);
+        for (NodeInstance nodeInstance : getNodeInstances(true)) {
+            if (nodeInstance instanceof ContextInstanceContainer) {
+                collectVariableChanges((ContextInstanceContainer) nodeInstance, changes, sinceVersion);
+            }
+        }
+        return changes;
+    }
+
+    private static void collectVariableChanges(ContextInstanceContainer container, VariableChangeSet changes, long sinceVersion) {
+        List<ContextInstance> scopes = container.getContextInstances(VariableScope.VARIABLE_SCOPE);
+        if (scopes != null) {
+            for (ContextInstance scope : scopes) {
+                ((VariableScopeInstance) scope).collectChanges(changes, sinceVersion);
+            }
+        }
+    }
+
+    /**
+     * Starts a new change set, once the unit of work the current changes belong to has stored this instance.
+     */
+    public void resetVariableChanges() {
+        unitOfWorkVersion = variableVersion;
+    }
+
     private boolean isVariableExpression(String eventType) {
         if (eventType == null) {
             return false;
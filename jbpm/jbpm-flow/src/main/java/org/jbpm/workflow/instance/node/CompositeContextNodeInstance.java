@@ -17,6 +17,7 @@
 package org.jbpm.workflow.instance.node;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,7 +37,8 @@ public class CompositeContextNodeInstance extends CompositeNodeInstance implemen
 	private static final long serialVersionUID = 510l;
 	
 	private Map<String, ContextInstance> contextInstances = new HashMap<String, ContextInstance>();
-    private Map<String, List<ContextInstance>> subContextInstances = new HashMap<String, List<ContextInstance>>();
+    // most composite nodes have no sub contexts, the map is only allocated for the first one
+    private Map<String, List<ContextInstance>> subContextInstances = Collections.emptyMap();
 
     protected CompositeContextNode getCompositeContextNode() {
         return (CompositeContextNode) getNode();
@@ -71,6 +73,9 @@ public class CompositeContextNodeInstance extends CompositeNodeInstance implemen
         List<ContextInstance> list = this.subContextInstances.get(contextId);
         if (list == null) {
             list = new ArrayList<ContextInstance>();
+            if (this.subContextInstances.isEmpty()) {
+                this.subContextInstances = new HashMap<String, List<ContextInstance>>();
+            }
             this.subContextInstances.put(contextId, list);
         }
         list.add(contextInstance);
@@ -16,21 +16,16 @@
 
 package org.jbpm.workflow.instance.node;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.process.instance.context.variable.VariableScopeInstance;
 import org.jbpm.workflow.core.node.Join;
-import org.jbpm.workflow.core.node.Split;
+import org.jbpm.workflow.core.node.OrJoinReachability;
 import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
 import org.kie.api.definition.process.Connection;
 import org.kie.api.definition.process.Node;
@@ -45,7 +40,13 @@ public class JoinInstance extends NodeInstanceImpl {
 
     private static final long serialVersionUID = 510l;
     
-    private Map<Long, Integer> triggers = new HashMap<Long, Integer>();
+    private static final long[] NO_NODE_IDS = new long[0];
+    private static final int[] NO_COUNTS = new int[0];
+
+    // trigger counts of the incoming connections by id of their source node, in arrays only as long as
+    // the number of connections triggered so far as most joins only have a few incoming connections
+    private long[] triggeredNodeIds = NO_NODE_IDS;
+    private int[] triggerCounts = NO_COUNTS;
     
     protected Join getJoin() {
         return (Join) getNode();
@@ -63,14 +64,7 @@ public class JoinInstance extends NodeInstanceImpl {
                 triggerCompleted();
                 break;
             case Join.TYPE_AND :
-                Integer count = (Integer) this.triggers.get( from.getNodeId() );
-                if ( count == null ) {
-                    this.triggers.put( from.getNodeId(),
-                                       1 );
-                } else {
-                    this.triggers.put( from.getNodeId(),
-                                       count.intValue() + 1 );
-                }
+                setTriggerCount( from.getNodeId(), getTriggerCount( from.getNodeId() ) + 1 );
                 if (checkAllActivated()) {
                     decreaseAllTriggers();
                     triggerCompleted();
@@ -78,8 +72,8 @@ public class JoinInstance extends NodeInstanceImpl {
                 }
                 break;
             case Join.TYPE_DISCRIMINATOR :
-                boolean triggerCompleted = triggers.isEmpty();
-                triggers.put( from.getNodeId(), new Integer( 1 ) );
+                boolean triggerCompleted = triggeredNodeIds.length == 0;
+                setTriggerCount( from.getNodeId(), 1 );
                 if (checkAllActivated()) {
                     resetAllTriggers();
                 }
@@ -88,17 +82,10 @@ public class JoinInstance extends NodeInstanceImpl {
                 }
                 break;
             case Join.TYPE_N_OF_M :
-                count = (Integer) this.triggers.get( from.getNodeId() );
-                if ( count == null ) {
-                    this.triggers.put( from.getNodeId(),
-                                       1 );
-                } else {
-                    this.triggers.put( from.getNodeId(),
-                                       count.intValue() + 1 );
-                }
+                setTriggerCount( from.getNodeId(), getTriggerCount( from.getNodeId() ) + 1 );
                 int counter = 0;
                 for (final Connection connection: getJoin().getDefaultIncomingConnections()) {
-                    if ( this.triggers.get( connection.getFrom().getId() ) != null ) {
+                    if ( getTriggerCount( connection.getFrom().getId() ) > 0 ) {
                         counter++;
                     }
                 }
@@ -142,7 +129,7 @@ public class JoinInstance extends NodeInstanceImpl {
     private boolean checkAllActivated() {
         // check whether all parent nodes have been triggered 
         for (final Connection connection: getJoin().getDefaultIncomingConnections()) {
-            if ( this.triggers.get( connection.getFrom().getId() ) == null ) {
+            if ( getTriggerCount( connection.getFrom().getId() ) == 0 ) {
                 return false;
             }
         }
@@ -152,130 +139,91 @@ public class JoinInstance extends NodeInstanceImpl {
     private void decreaseAllTriggers() {
         // decrease trigger count for all incoming connections
         for (final Connection connection: getJoin().getDefaultIncomingConnections()) {
-            final Integer count = (Integer) this.triggers.get( connection.getFrom().getId() );
-            if ( count.intValue() == 1 ) {
-                this.triggers.remove( connection.getFrom().getId() );
-            } else {
-                this.triggers.put( connection.getFrom().getId(),
-                                   count.intValue() - 1 );
-            }
+            final long nodeId = connection.getFrom().getId();
+            setTriggerCount( nodeId, getTriggerCount( nodeId ) - 1 );
         }
     }
     
     private boolean existsActiveDirectFlow(NodeInstanceContainer nodeInstanceContainer, final Node lookFor) {
-        
-        Collection<NodeInstance> activeNodeInstancesOrig = nodeInstanceContainer.getNodeInstances();
-        List<NodeInstance> activeNodeInstances = new ArrayList<NodeInstance>(activeNodeInstancesOrig);
-        // sort active instances in the way that lookFor nodeInstance will be last to not finish too early
-        Collections.sort(activeNodeInstances, new Comparator<NodeInstance>() {
-
-            @Override
-            public int compare(NodeInstance o1, NodeInstance o2) {
-                if (o1.getNodeId() == lookFor.getId()) {
-                    return 1;
-                } else if (o2.getNodeId() == lookFor.getId()) {
-                    return -1;
-                }
-                return 0;
-            }
-        });
-        
-        for (NodeInstance nodeInstance : activeNodeInstances) {              
+        OrJoinReachability reachability = getJoin().getReachability();
+        BitSet activeNodes = new BitSet();
+        for (NodeInstance nodeInstance : nodeInstanceContainer.getNodeInstances()) {
             // do not consider NodeInstanceContainers to be checked, enough to treat is as black box
             if (((org.jbpm.workflow.instance.NodeInstance)nodeInstance).getLevel() != getLevel()) {
                 continue;
             }
-            Node node = nodeInstance.getNode();            
-            Set<Long> vistedNodes = new HashSet<Long>();
-            checkNodes(vistedNodes,node,  node, lookFor);
-            if (vistedNodes.contains(lookFor.getId()) && !vistedNodes.contains(node.getId())) {
+            Node node = nodeInstance.getNode();
+            int index = reachability.indexOf(node);
+            if (index >= 0) {
+                activeNodes.set(index);
+            } else if (node != null && OrJoinReachability.hasActiveDirectFlow(node, lookFor)) {
+                // not a node of the container, walk the graph
                 return true;
             }
         }
-        
-        return false;
+        return activeNodes.intersects(reachability.sourcesOf(lookFor));
     }
 
+    private void resetAllTriggers() {
+        triggeredNodeIds = NO_NODE_IDS;
+        triggerCounts = NO_COUNTS;
+    }
 
-    private boolean checkNodes(Set<Long> vistedNodes, Node startAt, Node currentNode, Node lookFor) {
-    	if (currentNode == null) {
-    	    // for dynamic/ad hoc task there is no node 
-    	    return false;
-    	}
-
-        List<Connection> connections = currentNode.getOutgoingConnections(org.jbpm.workflow.core.Node.CONNECTION_DEFAULT_TYPE);
-        // special handling for XOR split as it usually is used for arbitrary loops
-        if (currentNode instanceof Split && ((Split) currentNode).getType() == Split.TYPE_XOR) {
-        	if (vistedNodes.contains(startAt.getId())) {
-        		return false;
-        	}
-            for (Connection conn : connections) {
-                Set<Long> xorCopy = new HashSet<Long>(vistedNodes);
-                
-                Node nextNode = conn.getTo();
-                if (nextNode == null) {
-                    continue;
-                } else {
-                    xorCopy.add(nextNode.getId());
-                    if (nextNode.getId() != lookFor.getId()) {
-          
-                        checkNodes(xorCopy, currentNode, nextNode, lookFor);
-                    }
-                }  
-                
-                if (xorCopy.contains(lookFor.getId())) {
-                    vistedNodes.addAll(xorCopy);
-                    return true;
-                }
-                
-            }
-        } else {
-            for (Connection conn : connections) {
-                Node nextNode = conn.getTo();
-                if (nextNode == null) {
-                    continue;
-                } else {
-                    
-                    if (vistedNodes.contains(nextNode.getId())) {
-                        // we have already been here so let's continue
-                        continue;
-                    }
-                    if (nextNode.getId() == lookFor.getId()) {
-                        // we found the node that we are looking for, add it and continue to find out other parts
-                        // as it could be part of a loop
-                        vistedNodes.add(nextNode.getId());
-                        continue;
-                    }
-                    vistedNodes.add(nextNode.getId());
-                    if (startAt.getId() == nextNode.getId()) {
-                        return true;
-                    } else {
-                        boolean nestedCheck = checkNodes(vistedNodes, startAt, nextNode, lookFor);
-                        if (nestedCheck) {
-                            return true;
-                        }
-                    }
-                }
+    private int getTriggerCount(long nodeId) {
+        for (int i = 0; i < triggeredNodeIds.length; i++) {
+            if (triggeredNodeIds[i] == nodeId) {
+                return triggerCounts[i];
             }
         }
-        
-        return false;
+        return 0;
     }
 
-    private void resetAllTriggers() {
-        triggers.clear();
+    private void setTriggerCount(long nodeId, int count) {
+        int index = 0;
+        while (index < triggeredNodeIds.length && triggeredNodeIds[index] != nodeId) {
+            index++;
+        }
+        if (index < triggeredNodeIds.length) {
+            if (count > 0) {
+                triggerCounts[index] = count;
+            } else if (triggeredNodeIds.length == 1) {
+                resetAllTriggers();
+            } else {
+                // the last connection takes the place of the removed one
+                int last = triggeredNodeIds.length - 1;
+                triggeredNodeIds[index] = triggeredNodeIds[last];
+                triggerCounts[index] = triggerCounts[last];
+                triggeredNodeIds = Arrays.copyOf(triggeredNodeIds, last);
+                triggerCounts = Arrays.copyOf(triggerCounts, last);
+            }
+        } else if (count > 0) {
+            triggeredNodeIds = Arrays.copyOf(triggeredNodeIds, index + 1);
+            triggerCounts = Arrays.copyOf(triggerCounts, index + 1);
+            triggeredNodeIds[index] = nodeId;
+            triggerCounts[index] = count;
+        }
     }
 
     public void triggerCompleted() {
         // join nodes are only removed from the container when they contain no more state
-        triggerCompleted(org.jbpm.workflow.core.Node.CONNECTION_DEFAULT_TYPE, triggers.isEmpty());
+        triggerCompleted(org.jbpm.workflow.core.Node.CONNECTION_DEFAULT_TYPE, triggeredNodeIds.length == 0);
     }
     
+    /**
+     * Returns a copy of the trigger counts by id of the node the incoming connections come from.
+     */
     public Map<Long, Integer> getTriggers() {
+        Map<Long, Integer> triggers = new HashMap<>();
+        for (int i = 0; i < triggeredNodeIds.length; i++) {
+            triggers.put(triggeredNodeIds[i], triggerCounts[i]);
+        }
         return triggers;
     }
     
     public void internalSetTriggers(Map<Long, Integer> triggers) {
-        this.triggers = triggers;
+        resetAllTriggers();
+        for (Map.Entry<Long, Integer> trigger : triggers.entrySet()) {
+            setTriggerCount(trigger.getKey(), trigger.getValue());
+        }
     }
 }
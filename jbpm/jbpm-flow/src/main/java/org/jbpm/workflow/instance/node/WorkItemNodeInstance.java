@@ -44,6 +44,7 @@ import org.jbpm.process.core.datatype.DataType;
 import org.jbpm.process.core.impl.DataTransformerRegistry;
 import org.jbpm.process.instance.ContextInstance;
 import org.jbpm.process.instance.ContextInstanceContainer;
+import org.jbpm.process.instance.LightWorkItemManager;
 import org.jbpm.process.instance.ProcessInstance;
 import org.jbpm.process.instance.context.exception.ExceptionScopeInstance;
 import org.jbpm.process.instance.context.variable.VariableScopeInstance;
@@ -68,6 +69,7 @@ import org.kie.api.runtime.process.DataTransformer;
 import org.kie.api.runtime.process.EventListener;
 import org.kie.api.runtime.process.NodeInstance;
 import org.kie.api.runtime.process.ProcessWorkItemHandlerException;
+import org.kie.api.runtime.process.WorkItemManager;
 import org.kie.kogito.process.EventDescription;
 import org.kie.kogito.process.GroupedNamedDataType;
 import org.kie.kogito.process.IOEventDescription;
@@ -94,7 +96,8 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
 
     private static List<String> defaultOutputVariables = Arrays.asList("ActorId");
 
-    private Map<String, List<ContextInstance>> subContextInstances = new HashMap<>();
+    // most work items have no sub contexts, the map is only allocated for the first one
+    private Map<String, List<ContextInstance>> subContextInstances = Collections.emptyMap();
 
     private String workItemId;
     private transient KogitoWorkItem workItem;
@@ -163,7 +166,12 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
             getProcessInstance().getKnowledgeRuntime().update(getProcessInstance().getKnowledgeRuntime().getFactHandle(this), this);
         } else {
             try {
-                (( KogitoWorkItemManager ) getProcessInstance().getKnowledgeRuntime().getWorkItemManager()).internalExecuteWorkItem(workItem);
+                WorkItemManager workItemManager = getProcessInstance().getKnowledgeRuntime().getWorkItemManager();
+                if (workItemManager instanceof LightWorkItemManager) {
+                    ((LightWorkItemManager) workItemManager).internalExecuteWorkItem(workItem, workItemNode.getHandlerSlot());
+                } else {
+                    (( KogitoWorkItemManager ) workItemManager).internalExecuteWorkItem(workItem);
+                }
             } catch (WorkItemHandlerNotFoundException wihnfe) {
                 getProcessInstance().setState(STATE_ABORTED);
                 throw wihnfe;
@@ -480,6 +488,9 @@ public class WorkItemNodeInstance extends StateBasedNodeInstance implements Even
 
     @Override
     public void addContextInstance(String contextId, ContextInstance contextInstance) {
+        if (this.subContextInstances.isEmpty()) {
+            this.subContextInstances = new HashMap<>();
+        }
         this.subContextInstances
                 .computeIfAbsent(contextId, k -> new ArrayList<>())
                 .add(contextInstance);
@@ -19,6 +19,7 @@ import java.util.function.Function;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jbpm.process.instance.event.DeliveredEventStore;
 import org.kie.kogito.Application;
 import org.kie.kogito.Model;
 import org.kie.kogito.process.Process;
@@ -33,8 +34,11 @@ public class CloudEventConsumer<D, M extends Model, T extends AbstractProcessDat
 
     private static final Logger logger = LoggerFactory.getLogger(CloudEventConsumer.class);
 
+    private static final int START_DEDUPLICATION_CAPACITY = 16_384;
+
     private Function<D, M> function;
     private Class<T> cloudEventClass;
+    private final DeliveredEventStore startedBy = new DeliveredEventStore(START_DEDUPLICATION_CAPACITY, DeliveredEventStore.DEFAULT_WINDOW);
 
     public CloudEventConsumer(Function<D, M> function, Class<T> cloudEventClass, ObjectMapper mapper) {
         super(mapper);
@@ -46,37 +50,56 @@ public class CloudEventConsumer<D, M extends Model, T extends AbstractProcessDat
     public void consume(Application application, Process<M> process, String payload, String trigger) {
         try {
             T cloudEvent = mapper.readValue(payload, cloudEventClass);
+            // instances signaled by the event drop redeliveries themselves, only the started ones are tracked here
+            boolean starting = cloudEvent.getKogitoReferenceId() == null && cloudEvent.getId() != null;
+            if (starting && !startedBy.markDelivered(cloudEvent.getId())) {
+                logger.debug("Dropping redelivered message with id '{}' for trigger '{}'", cloudEvent.getId(), trigger);
+                return;
+            }
             M model = function.apply(cloudEvent.getData());
-            UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
-                if (cloudEvent.getKogitoReferenceId() != null) {
-                    logger.debug("Received message with reference id '{}' going to use it to send signal '{}'",
-                                 cloudEvent.getKogitoReferenceId(),
-                                 trigger);
-                    Optional<ProcessInstance<M>> instance = process.instances().findById(cloudEvent.getKogitoReferenceId());
-                    if(instance.isPresent()){
-                        instance.get().send(Sig.of("Message-" + trigger,
-                                                   cloudEvent.getData(),
-                                                   cloudEvent.getKogitoProcessinstanceId()));
-                    } else {
-                        logger.warn("Process instance with id '{}' not found for triggering signal '{}'",
-                                    cloudEvent.getKogitoReferenceId(),
-                                    trigger);
-                    }
-                } else {
-                    logger.debug("Received message without reference id, staring new process instance with trigger '{}'",
-                                 trigger);
-                    ProcessInstance<M> pi = process.createInstance(model);
-                    if (cloudEvent.getKogitoStartFromNode() != null) {
-                        pi.startFrom(cloudEvent.getKogitoStartFromNode(), cloudEvent.getKogitoProcessinstanceId());
-                    } else {
-                        pi.start(trigger, cloudEvent.getKogitoProcessinstanceId());
-                    }
+            try {
+                deliver(application, process, cloudEvent, model, trigger);
+            } catch (RuntimeException e) {
+                if (starting) {
+                    // accepted again when redelivered
+                    startedBy.forget(cloudEvent.getId());
                 }
-                return null;
-            });
+                throw e;
+            }
         } catch (JsonProcessingException e) {
             logger.error("Error when consuming message for process {}", process.id(), e);
         }
     }
 
+    private void deliver(Application application, Process<M> process, T cloudEvent, M model, String trigger) {
+        UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
+            if (cloudEvent.getKogitoReferenceId() != null) {
+                logger.debug("Received message with reference id '{}' going to use it to send signal '{}'",
+                             cloudEvent.getKogitoReferenceId(),
+                             trigger);
+                Optional<ProcessInstance<M>> instance = process.instances().findById(cloudEvent.getKogitoReferenceId());
+                if(instance.isPresent()){
+                    instance.get().send(Sig.of("Message-" + trigger,
+                                               cloudEvent.getData(),
+                                               cloudEvent.getKogitoProcessinstanceId(),
+                                               cloudEvent.getId()));
+                } else {
+                    logger.warn("Process instance with id '{}' not found for triggering signal '{}'",
+                                cloudEvent.getKogitoReferenceId(),
+                                trigger);
+                }
+            } else {
+                logger.debug("Received message without reference id, staring new process instance with trigger '{}'",
+                             trigger);
+                ProcessInstance<M> pi = process.createInstance(model);
+                if (cloudEvent.getKogitoStartFromNode() != null) {
+                    pi.startFrom(cloudEvent.getKogitoStartFromNode(), cloudEvent.getKogitoProcessinstanceId());
+                } else {
+                    pi.start(trigger, cloudEvent.getKogitoProcessinstanceId());
+                }
+            }
+            return null;
+        });
+    }
+
 }
@@ -19,12 +19,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.jbpm.process.core.timer.DateTimeUtils;
 import org.jbpm.process.core.timer.Timer;
+import org.jbpm.process.instance.AsyncWorkItemDispatcher;
 import org.jbpm.process.instance.LightProcessRuntime;
 import org.jbpm.process.instance.LightProcessRuntimeContext;
 import org.jbpm.process.instance.LightProcessRuntimeServiceProvider;
+import org.jbpm.process.instance.LightWorkItemManager;
 import org.jbpm.process.instance.ProcessRuntimeServiceProvider;
 import org.jbpm.workflow.core.impl.WorkflowProcessImpl;
 import org.jbpm.workflow.core.node.StartNode;
@@ -43,6 +46,7 @@ import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceArchive;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.ProcessInstancesFactory;
@@ -54,6 +58,7 @@ public abstract class AbstractProcess<T extends Model> implements Process<T> {
     protected final ProcessRuntimeServiceProvider services;
     protected ProcessInstancesFactory processInstancesFactory;
     protected MutableProcessInstances<T> instances;
+    protected ProcessInstanceArchive<T> archive;
     protected CompletionEventListener completionEventListener = new CompletionEventListener();
     
     protected Application app;
@@ -85,6 +90,9 @@ public abstract class AbstractProcess<T extends Model> implements Process<T> {
         for (WorkItemHandler handler : handlers) {
             workItemManager.registerWorkItemHandler(handler.getName(), handler);
         } 
+        if (workItemManager instanceof LightWorkItemManager) {
+            ((LightWorkItemManager) workItemManager).setAsyncWorkItemDispatcher(new AsyncWorkItemDispatcher(this, services.getUnitOfWorkManager()));
+        }
     }
     
 
@@ -116,6 +124,11 @@ public abstract class AbstractProcess<T extends Model> implements Process<T> {
         return instances;
     }
 
+    @Override
+    public Optional<ProcessInstanceArchive<T>> archive() {
+        return Optional.ofNullable(archive);
+    }
+
     @Override
     public <S> void send(Signal<S> signal) {
         instances().values(ProcessInstanceReadMode.MUTABLE).forEach(pi -> pi.send(signal));
@@ -126,6 +139,7 @@ public abstract class AbstractProcess<T extends Model> implements Process<T> {
         registerListeners();
         if (isProcessFactorySet()) {
             this.instances = (MutableProcessInstances<T>) processInstancesFactory.createProcessInstances(this);
+            this.archive = (ProcessInstanceArchive<T>) processInstancesFactory.createProcessInstanceArchive(this).orElse(null);
         }
 
         return this;
@@ -19,29 +19,41 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.kie.api.event.process.ProcessEventListener;
+import org.kie.api.runtime.process.WorkItemHandler;
+import org.kie.kogito.conf.ConfigBean;
+import org.kie.kogito.event.EventManager;
 import org.kie.kogito.event.EventPublisher;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessEventListenerConfig;
 import org.kie.kogito.process.WorkItemHandlerConfig;
+import org.kie.kogito.services.event.impl.BaseEventManager;
 import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
 import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
 import org.kie.kogito.signal.SignalManagerHub;
 import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.services.jobs.impl.InMemoryJobService;
+import org.kie.services.jobs.impl.MisfirePolicy;
 import org.kie.services.signal.DefaultSignalManagerHub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public abstract class AbstractProcessConfig implements ProcessConfig {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractProcessConfig.class);
+
     private final WorkItemHandlerConfig workItemHandlerConfig;
     private final SignalManagerHub signalManagerHub = new DefaultSignalManagerHub();
     private final ProcessEventListenerConfig processEventListenerConfig;
     private final UnitOfWorkManager unitOfWorkManager;
     private final JobsService jobsService;
+    private UnaryOperator<InMemoryJobService> inMemoryJobServiceConfig = UnaryOperator.identity();
 
     protected AbstractProcessConfig(
             Iterable<WorkItemHandlerConfig> workItemHandlerConfig,
@@ -63,6 +75,29 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
         unitOfWorkManager().eventManager().setService(kogitoService);
     }
 
+    protected AbstractProcessConfig(
+            Iterable<WorkItemHandlerConfig> workItemHandlerConfig,
+            Iterable<ProcessEventListenerConfig> processEventListenerConfigs,
+            Iterable<ProcessEventListener> processEventListeners,
+            Iterable<UnitOfWorkManager> unitOfWorkManager,
+            Iterable<JobsService> jobsService,
+            Iterable<EventPublisher> eventPublishers,
+            ConfigBean configBean) {
+        this(workItemHandlerConfig, processEventListenerConfigs, processEventListeners, unitOfWorkManager, jobsService, eventPublishers, configBean.getServiceUrl());
+
+        EventManager eventManager = unitOfWorkManager().eventManager();
+        if (eventManager instanceof BaseEventManager) {
+            configBean.getDeltaEventsSnapshotInterval().ifPresent(((BaseEventManager) eventManager)::enableDeltaEvents);
+            configBean.getUserTaskEventTrimmingThreshold().ifPresent(((BaseEventManager) eventManager)::enableUserTaskEventTrimming);
+        }
+        configBean.getJobsCatchUpMisfireThreshold().ifPresent(misfireThreshold -> {
+            MisfirePolicy misfirePolicy = configBean.getJobsCatchUpMisfirePolicy().map(MisfirePolicy::valueOf).orElse(MisfirePolicy.FIRE_ONCE);
+            int parallelism = configBean.getJobsCatchUpParallelism().orElse(1);
+            int maxInstancesPerSecond = configBean.getJobsCatchUpMaxInstancesPerSecond().orElse(0);
+            inMemoryJobServiceConfig = jobService -> jobService.withCatchUp(misfirePolicy, misfireThreshold, parallelism, maxInstancesPerSecond);
+        });
+    }
+
     @Override
     public WorkItemHandlerConfig workItemHandlers() {
         return workItemHandlerConfig;
@@ -88,6 +123,29 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
         return jobsService;
     }
 
+    /**
+     * Configuration of the in-memory jobs services created by the process runtimes when no jobs service is provided
+     */
+    public UnaryOperator<InMemoryJobService> inMemoryJobServiceConfig() {
+        return inMemoryJobServiceConfig;
+    }
+
+    /**
+     * Closes the work item handlers holding resources (e.g. open connections), called when the application stops
+     */
+    public void close() {
+        for (String name : workItemHandlerConfig.names()) {
+            WorkItemHandler handler = workItemHandlerConfig.forName(name);
+            if (handler instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) handler).close();
+                } catch (Exception e) {
+                    LOGGER.warn("Unable to close work item handler {}", name, e);
+                }
+            }
+        }
+    }
+
     public org.kie.kogito.Addons addons() {
         return new org.kie.kogito.Addons(Arrays.asList());
     }
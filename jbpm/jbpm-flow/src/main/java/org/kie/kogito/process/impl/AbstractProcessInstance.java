@@ -30,6 +30,7 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.jbpm.process.instance.InternalProcessRuntime;
+import org.jbpm.process.instance.event.DeliveredEventStore;
 import org.jbpm.ruleflow.core.RuleFlowProcess;
 import org.jbpm.workflow.instance.NodeInstance;
 import org.jbpm.workflow.instance.NodeInstanceContainer;
@@ -79,6 +80,12 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     protected CompletionEventListener completionEventListener;
 
+    private WorkflowProcessInstance boundInstance;
+    private long boundVersion;
+
+    private Supplier<Map<String, Object>> lazyVariables;
+    private Supplier<WorkflowProcessInstance> lazyContent;
+
     public AbstractProcessInstance(AbstractProcess<T> process, T variables, ProcessRuntime rt) {
         this(process, variables, null, rt);
     }
@@ -171,9 +178,31 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
     }
 
     public WorkflowProcessInstance internalGetProcessInstance() {
+        if (lazyContent != null) {
+            loadContent();
+        }
         return processInstance;
     }
 
+    /**
+     * Makes this read-only instance, created from the header of a stored process instance only, decode its
+     * variables on first access and load its whole content, node instances included, on first use.
+     */
+    public void internalSetLazyContent(Supplier<Map<String, Object>> lazyVariables, Supplier<WorkflowProcessInstance> lazyContent) {
+        this.lazyVariables = lazyVariables;
+        this.lazyContent = lazyContent;
+    }
+
+    private void loadContent() {
+        WorkflowProcessInstance content = lazyContent.get();
+        lazyContent = null;
+        syncProcessInstance(content);
+        if (lazyVariables != null) {
+            lazyVariables = null;
+            unbind(variables, content.getVariables());
+        }
+    }
+
     public void internalRemoveProcessInstance(Supplier<WorkflowProcessInstance> reloadSupplier) {
         this.reloadSupplier = reloadSupplier;
         this.status = processInstance.getState();
@@ -216,7 +245,9 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     protected void addToUnitOfWork(Consumer<ProcessInstance<T>> action) {
-        ((InternalProcessRuntime) getProcessRuntime()).getUnitOfWorkManager().currentUnitOfWork().intercept(new ProcessInstanceWorkUnit(this, action));
+        WorkflowProcessInstance current = processInstance;
+        Consumer<ProcessInstance<T>> work = current instanceof WorkflowProcessInstanceImpl ? action.andThen(pi -> ((WorkflowProcessInstanceImpl) current).resetVariableChanges()) : action;
+        ((InternalProcessRuntime) getProcessRuntime()).getUnitOfWorkManager().currentUnitOfWork().intercept(new ProcessInstanceWorkUnit(this, work));
     }
 
     @Override
@@ -225,7 +256,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         unbind(variables, processInstance().getVariables());
         getProcessRuntime().abortProcessInstance(pid);
         this.status = processInstance.getState();
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).remove(pi.id()));
+        addToUnitOfWork(this::archiveAndRemove);
     }
 
     private ProcessRuntime getProcessRuntime() {
@@ -238,10 +269,21 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     @Override
     public <S> void send(Signal<S> signal) {
+        DeliveredEventStore deliveredEvents = ((WorkflowProcessInstanceImpl) processInstance()).getDeliveredEvents();
+        if (signal.eventId() != null && deliveredEvents.isDelivered(signal.eventId())) {
+            // redelivery of an event already signaled to this process instance
+            return;
+        }
         if (signal.referenceId() != null) {
             processInstance().setReferenceId(signal.referenceId());
         }
+        // signals are ignored by instances that are not active
+        boolean accepted = processInstance().getState() == ProcessInstance.STATE_ACTIVE;
         processInstance().signalEvent(signal.channel(), signal.payload());
+        // only recorded once processed, an event ignored or that put the instance in error is accepted when redelivered
+        if (signal.eventId() != null && accepted && processInstance().getState() != ProcessInstance.STATE_ERROR) {
+            deliveredEvents.markDelivered(signal.eventId());
+        }
         removeOnFinish();
     }
 
@@ -252,6 +294,11 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     @Override
     public T variables() {
+        if (lazyVariables != null) {
+            Map<String, Object> decoded = lazyVariables.get();
+            lazyVariables = null;
+            unbind(variables, decoded);
+        }
         return variables;
     }
 
@@ -368,6 +415,9 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
     }
 
     protected WorkflowProcessInstance processInstance() {
+        if (lazyContent != null) {
+            loadContent();
+        }
         if (this.processInstance == null) {
             this.processInstance = reloadSupplier.get();
             if (this.processInstance == null) {
@@ -438,26 +488,53 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     @Override
     public Collection<Milestone> milestones() {
-        return processInstance.milestones();
+        return processInstance().milestones();
     }
 
     @Override
     public Collection<AdHocFragment> adHocFragments() {
-        return processInstance.adHocFragments();
+        return processInstance().adHocFragments();
     }
 
     protected void removeOnFinish() {
         if (processInstance.getState() != ProcessInstance.STATE_ACTIVE && processInstance.getState() != ProcessInstance.STATE_ERROR) {
             removeCompletionListener();
             syncProcessInstance(processInstance);
-            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).remove(pi.id()));
+            addToUnitOfWork(this::archiveAndRemove);
         } else {
             addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
         }
-        unbind(this.variables, processInstance().getVariables());
+        unbindChangedVariables();
         this.status = processInstance.getState();
     }
 
+    // maps the variables to the model unless none was set since they were last mapped
+    private void unbindChangedVariables() {
+        WorkflowProcessInstance current = processInstance();
+        if (current instanceof WorkflowProcessInstanceImpl) {
+            long version = ((WorkflowProcessInstanceImpl) current).getVariableVersion();
+            if (current == boundInstance && version == boundVersion) {
+                return;
+            }
+            boundInstance = current;
+            boundVersion = version;
+        }
+        unbind(this.variables, current.getVariables());
+    }
+
+    /**
+     * Removes the given instance from the process instances, after archiving it when it is completed or aborted
+     * and the process has an archive.
+     */
+    protected void archiveAndRemove(ProcessInstance<T> instance) {
+        // the work unit can be performed before the status of this instance is refreshed
+        int state = processInstance != null ? processInstance.getState() : instance.status();
+        if (state == STATE_COMPLETED || state == STATE_ABORTED) {
+            process.archive().ifPresent(archive -> archive.archive(instance));
+        }
+        ((MutableProcessInstances<T>) process.instances()).remove(instance.id());
+    }
+
     // this must be overridden at compile time
     protected Map<String, Object> bind(T variables) {
         HashMap<String, Object> vmap = new HashMap<>();
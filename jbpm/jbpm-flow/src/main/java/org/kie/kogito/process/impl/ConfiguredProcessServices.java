@@ -26,6 +26,8 @@ public class ConfiguredProcessServices extends AbstractProcessRuntimeServiceProv
               config.processEventListeners(),
               config.signalManagerHub(),
               config.unitOfWorkManager());
-
+        if (config instanceof AbstractProcessConfig) {
+            setInMemoryJobServiceConfig(((AbstractProcessConfig) config).inMemoryJobServiceConfig());
+        }
     }
 }
@@ -22,6 +22,7 @@ public final class Sig<T> implements Signal<T> {
     private final String channel;
     private final T payload;
     private String referenceId;
+    private String eventId;
 
     public static <T> org.kie.kogito.process.Signal<T> of(String channel, T payload) {
         return new Sig<>(channel, payload);
@@ -30,6 +31,10 @@ public final class Sig<T> implements Signal<T> {
     public static <T> org.kie.kogito.process.Signal<T> of(String channel, T payload, String referenceId) {
         return new Sig<>(channel, payload, referenceId);
     }
+
+    public static <T> org.kie.kogito.process.Signal<T> of(String channel, T payload, String referenceId, String eventId) {
+        return new Sig<>(channel, payload, referenceId, eventId);
+    }
     
     protected Sig(String channel, T payload) {
         this.channel = channel;
@@ -42,6 +47,11 @@ public final class Sig<T> implements Signal<T> {
         this.referenceId = referenceId;
     }
 
+    protected Sig(String channel, T payload, String referenceId, String eventId) {
+        this(channel, payload, referenceId);
+        this.eventId = eventId;
+    }
+
     @Override
     public String channel() {
         return channel;
@@ -56,5 +66,10 @@ public final class Sig<T> implements Signal<T> {
     public String referenceId() {
         return referenceId;
     }
+
+    @Override
+    public String eventId() {
+        return eventId;
+    }
 }
 
@@ -17,8 +17,10 @@ package org.kie.kogito.process.impl.marshalling;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.util.Collections;
+import java.util.Map;
 
 import org.drools.core.impl.EnvironmentImpl;
 import org.drools.core.marshalling.impl.ClassObjectMarshallingStrategyAcceptor;
@@ -28,10 +30,13 @@ import org.drools.core.marshalling.impl.KogitoSerializablePlaceholderResolverStr
 import org.drools.core.marshalling.impl.MarshallerReaderContext;
 import org.drools.core.marshalling.impl.PersisterHelper;
 import org.drools.core.marshalling.impl.SerializablePlaceholderResolverStrategy;
+import org.jbpm.marshalling.impl.AbstractProtobufProcessInstanceMarshaller;
 import org.jbpm.marshalling.impl.JBPMMessages;
 import org.jbpm.marshalling.impl.ProcessMarshallerRegistry;
 import org.jbpm.marshalling.impl.ProtobufRuleFlowProcessInstanceMarshaller;
+import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.workflow.instance.WorkflowProcessInstance;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
 import org.kie.api.marshalling.ObjectMarshallingStrategy;
 import org.kie.api.runtime.Environment;
 import org.kie.api.runtime.EnvironmentName;
@@ -87,7 +92,10 @@ public class ProcessInstanceMarshaller {
                 PersisterHelper.writeToStreamWithHeader(context, _instance);
             }
             context.close();
-            pi.disconnect();
+            // completed and aborted instances are already disconnected when they are archived
+            if (pi.getKnowledgeRuntime() != null) {
+                pi.disconnect();
+            }
             return baos.toByteArray();
         } catch (Exception e) {
             throw new RuntimeException("Error while marshalling process instance", e);
@@ -96,9 +104,7 @@ public class ProcessInstanceMarshaller {
 
     public WorkflowProcessInstance unmarshallWorkflowProcessInstance(byte[] data, Process<?> process) {
         try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
-            MarshallerReaderContext context = new KogitoMarshallerReaderContext(bais,
-                                                                                Collections.singletonMap(process.id(), ((AbstractProcess<?>) process).process()),
-                                                                                null, null, null, this.env );
+            MarshallerReaderContext context = createReaderContext(bais, process);
             ObjectInputStream stream = context.stream;
             String processInstanceType = stream.readUTF();
 
@@ -117,7 +123,47 @@ public class ProcessInstanceMarshaller {
         return ((AbstractProcess) process).createInstance(unmarshallWorkflowProcessInstance(data, process));
     }
 
+    /**
+     * Returns a read-only view of the process instance that decodes its header only: its variables are decoded
+     * when first accessed and its node instances when first needed, e.g. to list its work items.
+     */
     public ProcessInstance unmarshallReadOnlyProcessInstance(byte[] data, Process process) {
-        return ((AbstractProcess) process).createReadOnlyInstance(unmarshallWorkflowProcessInstance(data, process));
+        try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
+            MarshallerReaderContext context = createReaderContext(bais, process);
+            String processInstanceType = context.stream.readUTF();
+
+            org.jbpm.marshalling.impl.ProcessInstanceMarshaller marshaller = ProcessMarshallerRegistry.INSTANCE.getMarshaller(processInstanceType);
+            if (!(marshaller instanceof AbstractProtobufProcessInstanceMarshaller)) {
+                WorkflowProcessInstance pi = (WorkflowProcessInstance) marshaller.readProcessInstance(context);
+                context.close();
+                return ((AbstractProcess) process).createReadOnlyInstance(pi);
+            }
+
+            JBPMMessages.ProcessInstance _instance = AbstractProtobufProcessInstanceMarshaller.readProcessInstanceMessage(context);
+            WorkflowProcessInstanceImpl header = ((AbstractProtobufProcessInstanceMarshaller) marshaller).readProcessInstanceHeader(context, _instance);
+            // an empty variable scope, for the model to be bound before the variables are decoded
+            header.getContextInstance(VariableScope.VARIABLE_SCOPE);
+
+            AbstractProcessInstance<?> processInstance = (AbstractProcessInstance<?>) ((AbstractProcess) process).createReadOnlyInstance(header);
+            processInstance.internalSetLazyContent(() -> {
+                try {
+                    // the context is kept open until then, it only reads from the bytes of the process instance
+                    Map<String, Object> variables = AbstractProtobufProcessInstanceMarshaller.readVariables(context, _instance);
+                    context.close();
+                    return variables;
+                } catch (Exception e) {
+                    throw new RuntimeException("Error while unmarshalling variables of process instance " + _instance.getId(), e);
+                }
+            }, () -> unmarshallWorkflowProcessInstance(data, process));
+            return processInstance;
+        } catch (Exception e) {
+            throw new RuntimeException("Error while unmarshalling process instance", e);
+        }
+    }
+
+    private MarshallerReaderContext createReaderContext(ByteArrayInputStream bais, Process<?> process) throws IOException {
+        return new KogitoMarshallerReaderContext(bais,
+                                                 Collections.singletonMap(process.id(), ((AbstractProcess<?>) process).process()),
+                                                 null, null, null, this.env);
     }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.instance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.drools.core.KogitoWorkItemHandlerNotFoundException;
+import org.drools.core.event.KogitoProcessEventSupport;
+import org.drools.core.process.instance.impl.KogitoWorkItemImpl;
+import org.jbpm.process.core.impl.WorkImpl;
+import org.jbpm.workflow.core.node.WorkItemNode;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.process.WorkItem;
+import org.kie.api.runtime.process.WorkItemHandler;
+import org.kie.api.runtime.process.WorkItemManager;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.signal.SignalManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LightWorkItemManagerTest {
+
+    private final LightWorkItemManager workItemManager = new LightWorkItemManager(processInstanceManager(),
+                                                                                  mock(SignalManager.class),
+                                                                                  new KogitoProcessEventSupport(
+                                                                                          new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory())));
+
+    @Test
+    public void testWorkItemsAreDispatchedBySlot() {
+        RecordingHandler first = new RecordingHandler();
+        RecordingHandler second = new RecordingHandler();
+        workItemManager.registerWorkItemHandler("SlotFirst", first);
+        workItemManager.registerWorkItemHandler("SlotSecond", second);
+
+        WorkItemNode node = new WorkItemNode();
+        node.setWork(work("SlotSecond"));
+        KogitoWorkItemImpl bySlot = workItem("SlotSecond");
+        workItemManager.internalExecuteWorkItem(bySlot, node.getHandlerSlot());
+        KogitoWorkItemImpl byName = workItem("SlotFirst");
+        workItemManager.internalExecuteWorkItem(byName);
+
+        assertThat(node.getHandlerSlot()).isEqualTo(WorkItemHandlerSlots.slotOf("SlotSecond"));
+        assertThat(first.executed).containsExactly(byName);
+        assertThat(second.executed).containsExactly(bySlot);
+
+        workItemManager.internalAbortWorkItem(bySlot.getId());
+        assertThat(second.aborted).containsExactly(bySlot);
+        assertThat(first.aborted).isEmpty();
+    }
+
+    @Test
+    public void testSlotFollowsRegistrationAndWork() {
+        RecordingHandler replaced = new RecordingHandler();
+        RecordingHandler replacement = new RecordingHandler();
+        workItemManager.registerWorkItemHandler("SlotReplaced", replaced);
+        workItemManager.registerWorkItemHandler("SlotReplaced", replacement);
+
+        WorkItemNode node = new WorkItemNode();
+        node.setWork(work("SlotUnknown"));
+        int unknownSlot = node.getHandlerSlot();
+        node.setWork(work("SlotReplaced"));
+        KogitoWorkItemImpl workItem = workItem("SlotReplaced");
+        workItemManager.internalExecuteWorkItem(workItem, node.getHandlerSlot());
+
+        assertThat(replaced.executed).isEmpty();
+        assertThat(replacement.executed).containsExactly(workItem);
+        assertThatThrownBy(() -> workItemManager.internalExecuteWorkItem(workItem("SlotUnknown"), unknownSlot))
+                .isInstanceOf(KogitoWorkItemHandlerNotFoundException.class);
+    }
+
+    private static ProcessInstanceManager processInstanceManager() {
+        ProcessInstanceManager processInstanceManager = mock(ProcessInstanceManager.class);
+        when(processInstanceManager.getProcessInstance(anyString())).thenReturn(mock(org.kie.api.runtime.process.ProcessInstance.class));
+        return processInstanceManager;
+    }
+
+    private static WorkImpl work(String name) {
+        WorkImpl work = new WorkImpl();
+        work.setName(name);
+        return work;
+    }
+
+    private static KogitoWorkItemImpl workItem(String name) {
+        KogitoWorkItemImpl workItem = new KogitoWorkItemImpl();
+        workItem.setName(name);
+        workItem.setProcessInstanceId("process-instance");
+        workItem.setParameters(Collections.emptyMap());
+        return workItem;
+    }
+
+    private static class RecordingHandler implements WorkItemHandler {
+
+        private final List<WorkItem> executed = new ArrayList<>();
+        private final List<WorkItem> aborted = new ArrayList<>();
+
+        @Override
+        public void executeWorkItem(WorkItem workItem, WorkItemManager manager) {
+            executed.add(workItem);
+        }
+
+        @Override
+        public void abortWorkItem(WorkItem workItem, WorkItemManager manager) {
+            aborted.add(workItem);
+        }
+    }
+}
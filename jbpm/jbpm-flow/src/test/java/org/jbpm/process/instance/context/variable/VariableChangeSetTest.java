@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.instance.context.variable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jbpm.process.core.datatype.impl.type.ObjectDataType;
+import org.jbpm.ruleflow.core.RuleFlowProcessFactory;
+import org.jbpm.test.util.AbstractBaseTest;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.KieSession;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VariableChangeSetTest extends AbstractBaseTest {
+
+    public void addLogger() {
+        logger = LoggerFactory.getLogger(this.getClass());
+    }
+
+    @Test
+    public void testChangesOfNestedScopes() {
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess("org.jbpm.process.changes");
+        factory.name("Changes").packageName("org.jbpm").version("1.0");
+        factory.variable("a", new ObjectDataType("java.lang.String"));
+        factory.variable("b", new ObjectDataType("java.lang.String"));
+        factory.startNode(1).name("Start").done();
+        factory.compositeContextNode(2).name("Sub")
+                .variable("c", new ObjectDataType("java.lang.String"))
+                .autoComplete(true)
+                .startNode(1).name("SubStart").done()
+                .actionNode(2).name("Set").action(kcontext -> {
+                    kcontext.setVariable("c", "nested");
+                    kcontext.setVariable("a", "outer");
+                }).done()
+                .eventNode(3).name("Wait").eventType("go").done()
+                .endNode(4).name("SubEnd").terminate(false).done()
+                .connection(1, 2)
+                .connection(2, 3)
+                .connection(3, 4)
+                .done();
+        factory.endNode(3).name("End").done();
+        factory.connection(1, 2).connection(2, 3);
+
+        KieSession ksession = createKieSession(factory.validate().getProcess());
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("b", "initial");
+        WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) ksession.startProcess("org.jbpm.process.changes", parameters);
+
+        VariableChangeSet changes = processInstance.getVariableChanges();
+        assertThat(changes.getVariables()).containsOnlyKeys("a", "b", "2:c");
+        assertThat(changes.getVariables()).containsEntry("2:c", "nested");
+        assertThat(changes.getProcessVariables()).containsOnlyKeys("a", "b").containsEntry("a", "outer");
+        assertThat(changes.getVersion()).isEqualTo(processInstance.getVariableVersion());
+
+        processInstance.resetVariableChanges();
+        assertThat(processInstance.getVariableChanges().isEmpty()).isTrue();
+
+        processInstance.setVariable("b", "updated");
+        processInstance.setVariable("undeclared", 1);
+        changes = processInstance.getVariableChanges();
+        assertThat(changes.getProcessVariables()).containsOnlyKeys("b", "undeclared").containsEntry("b", "updated");
+        assertThat(changes.isChanged("2:c")).isFalse();
+
+        // changes since an older version still include the ones of previous units of work
+        assertThat(processInstance.getVariableChanges(0).getVariables()).containsOnlyKeys("a", "b", "undeclared", "2:c");
+    }
+}
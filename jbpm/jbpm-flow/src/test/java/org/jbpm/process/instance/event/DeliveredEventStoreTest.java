@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.instance.event;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeliveredEventStoreTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    public void testRedeliveryIsDetected() {
+        DeliveredEventStore store = new DeliveredEventStore(100, Duration.ofMinutes(1), clock::get);
+
+        assertThat(store.markDelivered("a")).isTrue();
+        assertThat(store.markDelivered("b")).isTrue();
+        assertThat(store.markDelivered("a")).isFalse();
+        assertThat(store.markDelivered("b")).isFalse();
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testLookupDoesNotRecordDelivery() {
+        DeliveredEventStore store = new DeliveredEventStore(100, Duration.ofMinutes(1), clock::get);
+
+        assertThat(store.isDelivered("a")).isFalse();
+        assertThat(store.isDelivered("a")).isFalse();
+        assertThat(store.isEmpty()).isTrue();
+        store.markDelivered("a");
+        assertThat(store.isDelivered("a")).isTrue();
+    }
+
+    @Test
+    public void testIdsAreForgottenAfterTwoWindows() {
+        DeliveredEventStore store = new DeliveredEventStore(100, Duration.ofMinutes(1), clock::get);
+        store.markDelivered("a");
+
+        clock.addAndGet(Duration.ofSeconds(90).toMillis());
+        assertThat(store.markDelivered("a")).isFalse();
+
+        clock.addAndGet(Duration.ofMinutes(3).toMillis());
+        assertThat(store.markDelivered("a")).isTrue();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIdsAreEvicted() {
+        DeliveredEventStore store = new DeliveredEventStore(2, Duration.ofMinutes(1), clock::get);
+        store.markDelivered("a");
+        store.markDelivered("b");
+        // a is used again, b becomes the eldest
+        assertThat(store.markDelivered("a")).isFalse();
+        store.markDelivered("c");
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.markDelivered("a")).isFalse();
+        assertThat(store.markDelivered("b")).isTrue();
+    }
+
+    @Test
+    public void testForgottenIdIsAcceptedAgain() {
+        DeliveredEventStore store = new DeliveredEventStore(100, Duration.ofMinutes(1), clock::get);
+        store.markDelivered("a");
+        store.forget("a");
+
+        assertThat(store.markDelivered("a")).isTrue();
+        assertThat(store.markDelivered("a")).isFalse();
+    }
+
+    @Test
+    public void testIdsAreRestored() {
+        DeliveredEventStore store = new DeliveredEventStore(100, Duration.ofMinutes(1), clock::get);
+        store.markDelivered("a");
+        clock.addAndGet(Duration.ofMinutes(3).toMillis());
+        store.markDelivered("b");
+
+        DeliveredEventStore restored = new DeliveredEventStore(100, Duration.ofMinutes(1), clock::get);
+        restored.readFrom(store.toByteArray());
+
+        // expired ids are not written
+        assertThat(restored.size()).isEqualTo(1);
+        assertThat(restored.markDelivered("b")).isFalse();
+        assertThat(restored.markDelivered("a")).isTrue();
+    }
+}
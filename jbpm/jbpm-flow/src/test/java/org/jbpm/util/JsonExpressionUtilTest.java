@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.jayway.jsonpath.InvalidPathException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonExpressionUtilTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testReadText() throws Exception {
+        JsonNode data = mapper.readTree("{\"name\":\"john\",\"address\":{\"city\":\"Brno\"}}");
+
+        assertThat(JsonExpressionUtil.readText("$.name", data)).isEqualTo("john");
+        assertThat(JsonExpressionUtil.readText("$.address.city", data)).isEqualTo("Brno");
+        assertThat(JsonExpressionUtil.read("$.address", data).get("city").textValue()).isEqualTo("Brno");
+    }
+
+    @Test
+    public void testPathIsCompiledOnce() {
+        assertThat(JsonExpressionUtil.compile("$.age")).isSameAs(JsonExpressionUtil.compile("$.age"));
+        assertThatThrownBy(() -> JsonExpressionUtil.compile("$.[")).isInstanceOf(InvalidPathException.class);
+    }
+
+    @Test
+    public void testConstantIsCopied() {
+        JsonNode first = JsonExpressionUtil.constant("{\"decision\":\"Approved\"}");
+        ((ObjectNode) first).put("decision", "Denied");
+
+        assertThat(JsonExpressionUtil.constant("{\"decision\":\"Approved\"}").get("decision").textValue()).isEqualTo("Approved");
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TimeOrderedIdGeneratorTest {
+
+    @Test
+    public void testIdsAreOrderedByTime() {
+        AtomicLong clock = new AtomicLong(1_600_000_000_000L);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7, clock::get);
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            if (i % 10 == 0) {
+                clock.incrementAndGet();
+            }
+            ids.add(generator.generate());
+        }
+
+        assertThat(ids).allMatch(id -> id.length() == 26 && id.matches("[0-9A-HJKMNP-TV-Z]+"));
+        assertThat(ids).isSorted();
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+    }
+
+    @Test
+    public void testNodeIsEncoded() {
+        TimeOrderedIdGenerator first = new TimeOrderedIdGenerator(1, () -> 0L);
+        TimeOrderedIdGenerator second = new TimeOrderedIdGenerator(2, () -> 0L);
+
+        assertThat(first.generate().compareTo(second.generate())).isNegative();
+        assertThatThrownBy(() -> new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE + 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testConcurrentGeneration() throws Exception {
+        int ids = 100_000;
+        int threads = 4;
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, () -> 1_600_000_000_000L);
+
+        Set<String> generated = generate(generator::generate, ids, threads);
+
+        assertThat(generated).hasSize(ids).allMatch(id -> id.length() == 26);
+    }
+
+    private static Set<String> generate(Supplier<String> generator, int ids, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    List<String> result = new ArrayList<>(ids / threads);
+                    for (int i = 0; i < ids / threads; i++) {
+                        result.add(generator.get());
+                    }
+                    return result;
+                }));
+            }
+            Set<String> generated = new HashSet<>(ids);
+            for (Future<List<String>> future : futures) {
+                generated.addAll(future.get());
+            }
+            return generated;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workflow.core.node;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.jbpm.process.test.NodeCreator;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.junit.jupiter.api.Test;
+import org.kie.api.definition.process.Node;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.jbpm.process.test.NodeCreator.connect;
+
+public class OrJoinReachabilityTest {
+
+    @Test
+    public void testLoopThroughXorSplit() throws Exception {
+        RuleFlowProcess process = new RuleFlowProcess();
+        NodeCreator<ActionNode> actions = new NodeCreator<>(process, ActionNode.class);
+        Split split = split(process, Split.TYPE_AND);
+        ActionNode direct = actions.createNode("direct");
+        Join merge = new NodeCreator<>(process, Join.class).createNode("merge");
+        merge.setType(Join.TYPE_XOR);
+        ActionNode looping = actions.createNode("looping");
+        Split xor = split(process, Split.TYPE_XOR);
+        ActionNode back = actions.createNode("back");
+        Join join = join(process);
+        ActionNode after = actions.createNode("after");
+        connect(split, direct);
+        connect(split, merge);
+        connect(merge, looping);
+        connect(direct, join);
+        connect(looping, xor);
+        connect(xor, back);
+        connect(back, merge);
+        connect(xor, join);
+        connect(join, after);
+
+        OrJoinReachability reachability = join.getReachability();
+
+        for (Node node : process.getNodes()) {
+            assertThat(reachability.sourcesOf(join).get(reachability.indexOf(node)))
+                    .as(node.getName())
+                    .isEqualTo(OrJoinReachability.hasActiveDirectFlow(node, join));
+        }
+        assertThat(isSource(reachability, join, direct)).isTrue();
+        assertThat(isSource(reachability, join, back)).isTrue();
+        assertThat(isSource(reachability, join, looping)).isTrue();
+        assertThat(isSource(reachability, join, join)).isFalse();
+        assertThat(isSource(reachability, join, after)).isFalse();
+        assertThat(reachability.indexOf(new ActionNode())).isEqualTo(-1);
+    }
+
+    @Test
+    public void testActiveFlowEvaluation() throws Exception {
+        // a 300 nodes process: 50 parallel branches of 4 nodes joined by an OR join followed by 97 nodes
+        RuleFlowProcess process = new RuleFlowProcess();
+        NodeCreator<ActionNode> actions = new NodeCreator<>(process, ActionNode.class);
+        Split split = split(process, Split.TYPE_AND);
+        Join join = join(process);
+        List<Node> branchStarts = new ArrayList<>();
+        for (int branch = 0; branch < 50; branch++) {
+            org.jbpm.workflow.core.Node previous = split;
+            for (int i = 0; i < 4; i++) {
+                ActionNode node = actions.createNode("branch-" + branch + "-" + i);
+                connect(previous, node);
+                previous = node;
+                if (i == 0) {
+                    branchStarts.add(node);
+                }
+            }
+            connect(previous, join);
+        }
+        List<Node> tail = new ArrayList<>();
+        org.jbpm.workflow.core.Node previous = join;
+        for (int i = 0; i < 97; i++) {
+            ActionNode node = actions.createNode("tail-" + i);
+            connect(previous, node);
+            previous = node;
+            tail.add(node);
+        }
+        connect(previous, new NodeCreator<>(process, EndNode.class).createNode("end"));
+        assertThat(process.getNodes()).hasSize(300);
+
+        OrJoinReachability reachability = join.getReachability();
+        for (Node node : process.getNodes()) {
+            assertThat(isSource(reachability, join, node))
+                    .as(node.getName())
+                    .isEqualTo(OrJoinReachability.hasActiveDirectFlow(node, join));
+        }
+
+        // 49 tokens past the join and the last one still on a branch
+        List<Node> active = new ArrayList<>(tail.subList(0, 49));
+        active.add(branchStarts.get(49));
+        assertThat(walk(active, join)).isTrue();
+        assertThat(indexed(reachability, active, join)).isTrue();
+
+        // all the tokens past the join
+        List<Node> passed = active.subList(0, 49);
+        assertThat(walk(passed, join)).isFalse();
+        assertThat(indexed(reachability, passed, join)).isFalse();
+    }
+
+    private static boolean walk(List<Node> active, Join join) {
+        for (Node node : active) {
+            if (OrJoinReachability.hasActiveDirectFlow(node, join)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean indexed(OrJoinReachability reachability, List<Node> active, Join join) {
+        BitSet activeNodes = new BitSet();
+        for (Node node : active) {
+            activeNodes.set(reachability.indexOf(node));
+        }
+        return activeNodes.intersects(reachability.sourcesOf(join));
+    }
+
+    private static boolean isSource(OrJoinReachability reachability, Join join, Node node) {
+        return reachability.sourcesOf(join).get(reachability.indexOf(node));
+    }
+
+    private static Split split(RuleFlowProcess process, int type) throws Exception {
+        Split split = new NodeCreator<>(process, Split.class).createNode("split");
+        split.setType(type);
+        return split;
+    }
+
+    private static Join join(RuleFlowProcess process) throws Exception {
+        Join join = new NodeCreator<>(process, Join.class).createNode("join");
+        join.setType(Join.TYPE_OR);
+        return join;
+    }
+}
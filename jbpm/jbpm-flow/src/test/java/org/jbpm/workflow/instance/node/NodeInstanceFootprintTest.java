@@ -0,0 +1,165 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workflow.instance.node;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jbpm.process.core.datatype.impl.type.ObjectDataType;
+import org.jbpm.ruleflow.core.RuleFlowProcessFactory;
+import org.jbpm.test.util.AbstractBaseTest;
+import org.jbpm.workflow.core.node.Join;
+import org.jbpm.workflow.core.node.Split;
+import org.jbpm.workflow.instance.impl.NodeInstanceImpl;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.process.NodeInstance;
+import org.kie.api.runtime.process.NodeInstanceContainer;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.jbpm.ruleflow.core.Metadata.INCOMING_CONNECTION;
+import static org.jbpm.ruleflow.core.Metadata.UNIQUE_ID;
+
+public class NodeInstanceFootprintTest extends AbstractBaseTest {
+
+    private static final String PROCESS_ID = "org.jbpm.process.footprint";
+
+    public void addLogger() {
+        logger = LoggerFactory.getLogger(this.getClass());
+    }
+
+    @Test
+    public void testJoinKeepsTriggersOfWaitingInstance() {
+        KieSession ksession = createKieSession(createProcess());
+        WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) ksession.startProcess(PROCESS_ID);
+
+        assertThat(nodeNames(processInstance)).containsExactlyInAnyOrder("Outer", "OuterWait", "Inner", "Go", "Join", "Wait");
+        JoinInstance join = findNodeInstance(processInstance, JoinInstance.class);
+        assertThat(join.getTriggers()).containsOnlyKeys(3L).containsEntry(3L, 1);
+
+        processInstance.signalEvent("go", null);
+        assertThat(findNodeInstance(processInstance, JoinInstance.class)).isNull();
+        assertThat(nodeNames(processInstance)).containsExactlyInAnyOrder("Outer", "OuterWait", "Inner", "Wait", "Idle");
+        assertThat(processInstance.getState()).isEqualTo(ProcessInstance.STATE_ACTIVE);
+    }
+
+    @Test
+    public void testIdleInstancesAllocateNoMetaDataMap() throws Exception {
+        KieSession ksession = createKieSession(createProcess());
+        WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) ksession.startProcess(PROCESS_ID);
+
+        List<NodeInstance> nodeInstances = nodeInstances(processInstance);
+        assertThat(nodeInstances).hasSize(6);
+        for (NodeInstance nodeInstance : nodeInstances) {
+            assertThat(field(nodeInstance, NodeInstanceImpl.class, "metaData")).isNull();
+            assertThat(((NodeInstanceImpl) nodeInstance).getMetaData(UNIQUE_ID)).isNotNull();
+        }
+
+        NodeInstanceImpl go = (NodeInstanceImpl) nodeInstances.stream().filter(nodeInstance -> nodeInstance.getNodeName().equals("Go")).findFirst().get();
+        Object uniqueId = go.getMetaData(UNIQUE_ID);
+        Object incomingConnection = go.getMetaData(INCOMING_CONNECTION);
+        go.setMetaData("custom", 1);
+        assertThat(go.getMetaData()).containsEntry(UNIQUE_ID, uniqueId).containsEntry(INCOMING_CONNECTION, incomingConnection).containsEntry("custom", 1);
+    }
+
+    private static Object field(Object target, Class<?> type, String name) throws ReflectiveOperationException {
+        Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+
+    private static List<NodeInstance> nodeInstances(NodeInstanceContainer container) {
+        List<NodeInstance> nodeInstances = new ArrayList<>();
+        for (NodeInstance nodeInstance : container.getNodeInstances()) {
+            nodeInstances.add(nodeInstance);
+            if (nodeInstance instanceof NodeInstanceContainer) {
+                nodeInstances.addAll(nodeInstances((NodeInstanceContainer) nodeInstance));
+            }
+        }
+        return nodeInstances;
+    }
+
+    private static List<String> nodeNames(NodeInstanceContainer container) {
+        List<String> names = new ArrayList<>();
+        for (NodeInstance nodeInstance : nodeInstances(container)) {
+            names.add(nodeInstance.getNodeName());
+        }
+        return names;
+    }
+
+    private static <T extends NodeInstance> T findNodeInstance(NodeInstanceContainer container, Class<T> type) {
+        for (NodeInstance nodeInstance : container.getNodeInstances()) {
+            if (type.isInstance(nodeInstance)) {
+                return type.cast(nodeInstance);
+            }
+            if (nodeInstance instanceof NodeInstanceContainer) {
+                T found = findNodeInstance((NodeInstanceContainer) nodeInstance, type);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static org.kie.api.definition.process.Process createProcess() {
+        RuleFlowProcessFactory factory = RuleFlowProcessFactory.createProcess(PROCESS_ID);
+        factory.name("Footprint").packageName("org.jbpm").version("1.0");
+        factory.variable("a", new ObjectDataType("java.lang.String"));
+        factory.startNode(1).name("Start").done();
+        factory.compositeContextNode(2).name("Outer")
+                .variable("b", new ObjectDataType("java.lang.String"))
+                .startNode(1).name("OuterStart").done()
+                .compositeContextNode(2).name("Inner")
+                    .variable("c", new ObjectDataType("java.lang.String"))
+                    .startNode(1).name("InnerStart").done()
+                    .splitNode(2).name("Split").type(Split.TYPE_AND).done()
+                    .actionNode(3).name("Action").action(kcontext -> kcontext.setVariable("c", "done")).done()
+                    .eventNode(4).name("Go").eventType("go").done()
+                    .joinNode(5).name("Join").type(Join.TYPE_AND).done()
+                    .eventNode(6).name("Idle").eventType("idle").done()
+                    .eventNode(7).name("Wait").eventType("wait").done()
+                    .endNode(8).name("IdleEnd").terminate(false).done()
+                    .endNode(9).name("WaitEnd").terminate(false).done()
+                    .connection(1, 2)
+                    .connection(2, 3)
+                    .connection(2, 4)
+                    .connection(2, 7)
+                    .connection(3, 5)
+                    .connection(4, 5)
+                    .connection(5, 6)
+                    .connection(6, 8)
+                    .connection(7, 9)
+                    .done()
+                .eventNode(3).name("OuterWait").eventType("outer").done()
+                .splitNode(4).name("OuterSplit").type(Split.TYPE_AND).done()
+                .endNode(5).name("InnerEnd").terminate(false).done()
+                .endNode(6).name("OuterWaitEnd").terminate(false).done()
+                .connection(1, 4)
+                .connection(4, 2)
+                .connection(4, 3)
+                .connection(2, 5)
+                .connection(3, 6)
+                .done();
+        factory.endNode(3).name("End").done();
+        factory.connection(1, 2).connection(2, 3);
+        return factory.validate().getProcess();
+    }
+}
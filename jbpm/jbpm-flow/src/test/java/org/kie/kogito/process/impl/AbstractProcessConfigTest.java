@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.process.WorkItem;
+import org.kie.api.runtime.process.WorkItemHandler;
+import org.kie.api.runtime.process.WorkItemManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AbstractProcessConfigTest {
+
+    @Test
+    public void testCloseClosesWorkItemHandlers() {
+        ClosingWorkItemHandler closing = new ClosingWorkItemHandler();
+        CachedWorkItemHandlerConfig workItemHandlers = new DefaultWorkItemHandlerConfig().register("Closing", closing);
+        AbstractProcessConfig config = new AbstractProcessConfig(Collections.singletonList(workItemHandlers), Collections.emptyList(), Collections.emptyList(),
+                                                                 Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), (String) null) {};
+
+        config.close();
+
+        assertThat(closing.closed).isTrue();
+    }
+
+    private static class ClosingWorkItemHandler implements WorkItemHandler, AutoCloseable {
+
+        private boolean closed;
+
+        @Override
+        public void executeWorkItem(WorkItem workItem, WorkItemManager manager) {
+        }
+
+        @Override
+        public void abortWorkItem(WorkItem workItem, WorkItemManager manager) {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
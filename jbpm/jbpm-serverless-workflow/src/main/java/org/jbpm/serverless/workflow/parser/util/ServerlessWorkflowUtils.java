@@ -43,9 +43,11 @@ public class ServerlessWorkflowUtils {
 
     public static final String DEFAULT_WORKFLOW_FORMAT = "json";
     public static final String ALTERNATE_WORKFLOW_FORMAT = "yml";
-    public static final String DEFAULT_JSONPATH_CONFIG = "com.jayway.jsonpath.Configuration jsonPathConfig = com.jayway.jsonpath.Configuration.builder()" +
-            ".mappingProvider(new com.jayway.jsonpath.spi.mapper.JacksonMappingProvider())" +
-            ".jsonProvider(new com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider()).build(); ";
+    /**
+     * Runtime helper used by the generated scripts: it evaluates the expressions, given as literals,
+     * with their compiled form shared across executions
+     */
+    public static final String JSON_EXPRESSION_UTIL = "org.jbpm.util.JsonExpressionUtil";
 
 
     private static final String APP_PROPERTIES_BASE = "kogito.sw.";
@@ -141,16 +143,14 @@ public class ServerlessWorkflowUtils {
 
 
     public static String sysOutFunctionScript(String script) {
-        String retStr = DEFAULT_JSONPATH_CONFIG;
-        retStr += "java.lang.String toPrint = \"\";";
-        retStr += getJsonPathScript(script);
+        String retStr = scriptFunctionScript(script);
         retStr += "System.out.println(toPrint);";
 
         return retStr;
     }
 
     public static String scriptFunctionScript(String script) {
-        String retStr = DEFAULT_JSONPATH_CONFIG;
+        String retStr = "java.lang.String toPrint = \"\";";
         retStr += getJsonPathScript(script);
         return retStr;
     }
@@ -187,9 +187,7 @@ public class ServerlessWorkflowUtils {
 
         if (script.indexOf("$") >= 0) {
 
-            String replacement = "toPrint += com.jayway.jsonpath.JsonPath.using(jsonPathConfig)" +
-                    ".parse(((com.fasterxml.jackson.databind.JsonNode)kcontext.getVariable(\"workflowdata\")))" +
-                    ".read(\"@@.$1\", com.fasterxml.jackson.databind.JsonNode.class).textValue();";
+            String replacement = "toPrint += " + JSON_EXPRESSION_UTIL + ".readText(\"@@.$1\", kcontext.getVariable(\"workflowdata\"));";
             script = script.replaceAll("\\$.([A-Za-z]+)", replacement);
             script = script.replaceAll("@@", Matcher.quoteReplacement("$"));
             return script;
@@ -204,8 +202,7 @@ public class ServerlessWorkflowUtils {
             ObjectMapper objectMapper = new ObjectMapper();
             String injectStr = objectMapper.writeValueAsString(toInjectNode);
 
-            return "com.fasterxml.jackson.databind.ObjectMapper objectMapper = new com.fasterxml.jackson.databind.ObjectMapper();\n" +
-                    "        com.fasterxml.jackson.databind.JsonNode updateNode2 = objectMapper.readTree(\"" + injectStr.replaceAll("\"", "\\\\\"") + "\");\n" +
+            return "com.fasterxml.jackson.databind.JsonNode updateNode2 = " + JSON_EXPRESSION_UTIL + ".constant(\"" + injectStr.replace("\\", "\\\\").replace("\"", "\\\"") + "\");\n" +
                     "        com.fasterxml.jackson.databind.JsonNode mainNode2 = (com.fasterxml.jackson.databind.JsonNode)kcontext.getVariable(\"workflowdata\");\n" +
                     "        java.util.Iterator<String> fieldNames2 = updateNode2.fieldNames();\n" +
                     "        while(fieldNames2.hasNext()) {\n" +
@@ -123,6 +123,9 @@ public class WorkflowUtilsTest extends BaseServerlessTest {
     public void testGetJsonPathScript() {
         String script = "$.a $.b";
         assertThat(ServerlessWorkflowUtils.getJsonPathScript(script)).isNotNull();
+        assertThat(ServerlessWorkflowUtils.getJsonPathScript(script))
+                .isEqualTo("toPrint += org.jbpm.util.JsonExpressionUtil.readText(\"$.a\", kcontext.getVariable(\"workflowdata\")); " +
+                                   "toPrint += org.jbpm.util.JsonExpressionUtil.readText(\"$.b\", kcontext.getVariable(\"workflowdata\"));");
     }
 
     @Test
@@ -135,6 +138,9 @@ public class WorkflowUtilsTest extends BaseServerlessTest {
         JsonNode toInjectObj = mapper.readTree(toInject);
 
         assertThat(ServerlessWorkflowUtils.getInjectScript(toInjectObj)).isNotNull();
+        assertThat(ServerlessWorkflowUtils.getInjectScript(toInjectObj))
+                .startsWith("com.fasterxml.jackson.databind.JsonNode updateNode2 = org.jbpm.util.JsonExpressionUtil.constant(\"{\\\"name\\\":\\\"john\\\"}\");")
+                .doesNotContain("new com.fasterxml.jackson.databind.ObjectMapper()");
     }
 
     @Test
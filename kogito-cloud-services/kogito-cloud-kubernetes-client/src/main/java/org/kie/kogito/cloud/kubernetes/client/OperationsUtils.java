@@ -17,6 +17,9 @@ package org.kie.kogito.cloud.kubernetes.client;
 public final class OperationsUtils {
 
     public static final String LABEL_SELECTOR_PARAM = "labelSelector";
+    public static final String WATCH_PARAM = "watch";
+    public static final String RESOURCE_VERSION_PARAM = "resourceVersion";
+    public static final String TIMEOUT_SECONDS_PARAM = "timeoutSeconds";
 
     private OperationsUtils() {}
 
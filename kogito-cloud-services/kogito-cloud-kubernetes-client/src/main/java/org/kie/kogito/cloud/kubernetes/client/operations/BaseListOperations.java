@@ -34,4 +34,9 @@ public abstract class BaseListOperations extends BaseOperations implements ListO
         return this.listNamespaced(null, labels);
     }
 
+    @Override
+    public Watch watchNamespaced(String namespace, Map<String, String> labels, String resourceVersion, WatchListener listener) {
+        return this.watch(namespace, labels, resourceVersion, listener);
+    }
+
 }
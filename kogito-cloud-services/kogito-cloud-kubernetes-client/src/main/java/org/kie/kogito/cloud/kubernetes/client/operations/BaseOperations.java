@@ -19,10 +19,19 @@ import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Map;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
+import okio.BufferedSource;
 import org.kie.kogito.cloud.kubernetes.client.KogitoKubeClientException;
 import org.kie.kogito.cloud.kubernetes.client.KogitoKubeConfig;
 import org.kie.kogito.cloud.kubernetes.client.OperationsUtils;
@@ -36,8 +45,17 @@ public abstract class BaseOperations implements Operations {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BaseOperations.class);
     private static final String EMPTY_JSON = "{}";
+    private static final String KEY_TYPE = "type";
+    private static final String KEY_OBJECT = "object";
+    /**
+     * The server ends the watches after this time, so that a watch never outlives a lost connection for long:
+     * the listener is then closed without error and can start watching again.
+     */
+    static final int WATCH_TIMEOUT_SECONDS = 300;
+    private static final int WATCH_READ_TIMEOUT_MARGIN_SECONDS = 30;
 
     private final KogitoKubeConfig clientConfig;
+    private OkHttpClient watchClient;
 
     public BaseOperations(final KogitoKubeConfig clientConfig) {
         this.clientConfig = clientConfig;
@@ -47,13 +65,20 @@ public abstract class BaseOperations implements Operations {
         return clientConfig;
     }
 
-    private URL doBuildUrl(final String namespace, final Map<String, String> labels) {
+    private URL doBuildUrl(final String namespace, final Map<String, String> labels, final boolean watch, final String resourceVersion) {
         try {
             StringBuilder sb = new StringBuilder(this.buildBaseUrl(namespace));
             if (labels != null) {
                 sb.append("?").append(OperationsUtils.LABEL_SELECTOR_PARAM).append("=");
                 sb.append(this.buildLabelSelectorParam(labels));
             }
+            if (watch) {
+                sb.append(labels != null ? "&" : "?").append(OperationsUtils.WATCH_PARAM).append("=true");
+                if (resourceVersion != null) {
+                    sb.append("&").append(OperationsUtils.RESOURCE_VERSION_PARAM).append("=").append(resourceVersion);
+                }
+                sb.append("&").append(OperationsUtils.TIMEOUT_SECONDS_PARAM).append("=").append(WATCH_TIMEOUT_SECONDS);
+            }
             return new URL(sb.toString());
         } catch (Exception e) {
             throw new KogitoKubeClientException(String.format("Error while trying to build URL for the Service API: '%s'", e.getMessage()), e);
@@ -71,7 +96,7 @@ public abstract class BaseOperations implements Operations {
     }
 
     private Response doExecute(final String namespace, final Map<String, String> labels) throws IOException {
-        final URL url = this.doBuildUrl(namespace, labels);
+        final URL url = this.doBuildUrl(namespace, labels, false, null);
         final Request request = new Request.Builder().url(url).build();
 
         LOGGER.debug("About to query the Kubernetes API with url {} with label selector {} in namespace  '{}'", url, labels, namespace);
@@ -103,6 +128,92 @@ public abstract class BaseOperations implements Operations {
         }
     }
 
+    /**
+     * Starts watching the resources, streaming every change to the listener from the HTTP client dispatcher thread.
+     * The watch is ended by the server after {@value #WATCH_TIMEOUT_SECONDS} seconds.
+     * 
+     * @param namespace
+     * @param labels
+     * @param resourceVersion the version to start watching from, null to start from the current state
+     * @param listener
+     * @return the {@link Watch} handle that cancels the underlying request
+     */
+    protected Watch watch(final String namespace, final Map<String, String> labels, final String resourceVersion, final WatchListener listener) {
+        final URL url = this.doBuildUrl(namespace, labels, true, resourceVersion);
+        final Request request = new Request.Builder().url(url).build();
+
+        LOGGER.debug("About to watch the Kubernetes API with url {} with label selector {} in namespace  '{}'", url, labels, namespace);
+
+        final Call call = this.getWatchClient().newCall(request);
+        call.enqueue(new Callback() {
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                listener.onClose(call.isCanceled() ? null : new KogitoKubeClientException(String.format("Error trying to watch the Kubernetes API - '%s: %s'", e.getClass(), e.getMessage()), e));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response watchResponse = response) {
+                    if (!watchResponse.isSuccessful()) {
+                        listener.onClose(new KogitoKubeClientException(String.format("Error trying to watch the Kubernetes API. Response is: %s", watchResponse)));
+                        return;
+                    }
+                    final BufferedSource source = watchResponse.body().source();
+                    String line;
+                    while ((line = source.readUtf8Line()) != null) {
+                        if (!line.isEmpty()) {
+                            LOGGER.debug("Received watch event from Kube API: {}", line);
+                            final Map<String, Object> event = new OperationsResponseParser(line).asMap();
+                            final String type = (String) event.get(KEY_TYPE);
+                            if (type != null) {
+                                listener.onEvent(type, new MapWalker(event, true).mapToMap(KEY_OBJECT).asMap());
+                            }
+                        }
+                    }
+                    listener.onClose(null);
+                } catch (Exception e) {
+                    listener.onClose(call.isCanceled() ? null : new KogitoKubeClientException(String.format("Error while watching the Kubernetes API - '%s: %s'", e.getClass(), e.getMessage()), e));
+                }
+            }
+        });
+        return call::cancel;
+    }
+
+    /**
+     * Watch responses are streamed as long as the server keeps the connection open, so they don't share the dispatcher of the
+     * API calls: each running watch would otherwise take one of the few concurrent requests allowed per host.
+     */
+    private synchronized OkHttpClient getWatchClient() {
+        if (watchClient == null) {
+            watchClient = clientConfig.getHttpClient().newBuilder()
+                                      .readTimeout(WATCH_TIMEOUT_SECONDS + WATCH_READ_TIMEOUT_MARGIN_SECONDS, TimeUnit.SECONDS)
+                                      .dispatcher(WatchDispatcher.INSTANCE)
+                                      .build();
+        }
+        return watchClient;
+    }
+
+    /**
+     * Dispatcher shared by the watches of all the clients, created on first use.
+     * Its threads are daemon threads, so the running watches never prevent the JVM from stopping.
+     */
+    private static final class WatchDispatcher {
+
+        static final Dispatcher INSTANCE = newDispatcher();
+
+        private static Dispatcher newDispatcher() {
+            final AtomicInteger count = new AtomicInteger();
+            final Dispatcher dispatcher = new Dispatcher(new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+                final Thread thread = new Thread(r, "kogito-kube-watch-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }));
+            dispatcher.setMaxRequestsPerHost(dispatcher.getMaxRequests());
+            return dispatcher;
+        }
+    }
+
     /**
      * URL builder for the API calls. Normally composed by the Master URL + Resource Path.
      * 
@@ -38,4 +38,30 @@ public interface ListOperations extends Operations {
      */
     OperationsResponseParser list(final Map<String, String> labels);
 
+    /**
+     * Watches for changes on the services within a namespace. The events are delivered to the listener by a background thread
+     * until the returned {@link Watch} is closed or the server ends the watch.
+     * Without a resource version, the server first sends an <code>ADDED</code> event for every existing service.
+     * 
+     * @param namespace
+     * @param labels
+     * @param listener
+     * @return the {@link Watch} handle
+     */
+    default Watch watchNamespaced(final String namespace, final Map<String, String> labels, final WatchListener listener) {
+        return this.watchNamespaced(namespace, labels, null, listener);
+    }
+
+    /**
+     * Watches for the changes on the services within a namespace that happened after the given resource version,
+     * normally the <code>metadata.resourceVersion</code> of a previous {@link #listNamespaced(String, Map)} response.
+     * 
+     * @param namespace
+     * @param labels
+     * @param resourceVersion the version to start watching from, null to start from the current state
+     * @param listener
+     * @return the {@link Watch} handle
+     */
+    Watch watchNamespaced(final String namespace, final Map<String, String> labels, final String resourceVersion, final WatchListener listener);
+
 }
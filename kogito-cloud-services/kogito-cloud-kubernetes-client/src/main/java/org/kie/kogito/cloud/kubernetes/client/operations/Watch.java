@@ -0,0 +1,29 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.cloud.kubernetes.client.operations;
+
+/**
+ * Handle of a watch started with {@link ListOperations#watchNamespaced(String, java.util.Map, WatchListener)}.
+ */
+@FunctionalInterface
+public interface Watch extends AutoCloseable {
+
+    /**
+     * Stops watching the resources. The listener won't receive any other event.
+     */
+    @Override
+    void close();
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.cloud.kubernetes.client.operations;
+
+import java.util.Map;
+
+import org.kie.kogito.cloud.kubernetes.client.KogitoKubeClientException;
+
+/**
+ * Receives the events of a {@link Watch} on the Kubernetes API.
+ * 
+ * @see <a href="https://kubernetes.io/docs/reference/using-api/api-concepts/#efficient-detection-of-changes">Kubernetes API Concepts - Efficient detection of changes</a>
+ */
+@FunctionalInterface
+public interface WatchListener {
+
+    /**
+     * Called for every change on the watched resources.
+     * 
+     * @param type the event type: <code>ADDED</code>, <code>MODIFIED</code>, <code>DELETED</code> or <code>ERROR</code>
+     * @param resource the changed resource in a map structure based on the JSON server response
+     */
+    void onEvent(final String type, final Map<String, Object> resource);
+
+    /**
+     * Called once the watch is over, either closed by the client, by the server or because of an error.
+     * 
+     * @param cause the error that closed the watch, null if the watch was closed normally
+     */
+    default void onClose(final KogitoKubeClientException cause) {}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.cloud.kubernetes.client.operations;
+
+import java.net.HttpURLConnection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.cloud.kubernetes.client.KogitoKubeClientException;
+import org.kie.kogito.cloud.kubernetes.client.MockKubernetesServerSupport;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ServiceOperationsWatchTest extends MockKubernetesServerSupport {
+
+    public ServiceOperationsWatchTest() {
+        super(false);
+    }
+
+    @Test
+    public void whenWatchEventsAreStreamed() throws Exception {
+        getServer().expect().get().withPath("/api/v1/namespaces/test/services?watch=true&timeoutSeconds=300")
+                   .andReturn(HttpURLConnection.HTTP_OK,
+                              "{\"type\":\"ADDED\",\"object\":{\"metadata\":{\"name\":\"svc1\"}}}\n" +
+                                                         "{\"type\":\"DELETED\",\"object\":{\"metadata\":{\"name\":\"svc1\"}}}\n")
+                   .once();
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final List<Boolean> daemonThreads = new CopyOnWriteArrayList<>();
+        final CompletableFuture<KogitoKubeClientException> closed = new CompletableFuture<>();
+
+        this.getKubeClient().services().watchNamespaced(MOCK_NAMESPACE, null, new WatchListener() {
+
+            @Override
+            public void onEvent(String type, Map<String, Object> resource) {
+                events.add(type + ":" + new MapWalker(resource).mapToMap("metadata").asMap().get("name"));
+                daemonThreads.add(Thread.currentThread().isDaemon());
+            }
+
+            @Override
+            public void onClose(KogitoKubeClientException cause) {
+                closed.complete(cause);
+            }
+        });
+
+        assertThat(closed.get(10, TimeUnit.SECONDS), nullValue());
+        assertThat(events.toString(), is("[ADDED:svc1, DELETED:svc1]"));
+        // a running watch never keeps the JVM alive
+        assertThat(daemonThreads.toString(), is("[true, true]"));
+    }
+
+    @Test
+    public void whenWatchStartsFromResourceVersion() throws Exception {
+        getServer().expect().get().withPath("/api/v1/namespaces/test/services?labelSelector=app=svc1&watch=true&resourceVersion=42&timeoutSeconds=300")
+                   .andReturn(HttpURLConnection.HTTP_OK, "{\"type\":\"MODIFIED\",\"object\":{\"metadata\":{\"name\":\"svc1\"}}}\n")
+                   .once();
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CompletableFuture<KogitoKubeClientException> closed = new CompletableFuture<>();
+
+        this.getKubeClient().services().watchNamespaced(MOCK_NAMESPACE, Collections.singletonMap("app", "svc1"), "42", new WatchListener() {
+
+            @Override
+            public void onEvent(String type, Map<String, Object> resource) {
+                events.add(type);
+            }
+
+            @Override
+            public void onClose(KogitoKubeClientException cause) {
+                closed.complete(cause);
+            }
+        });
+
+        assertThat(closed.get(10, TimeUnit.SECONDS), nullValue());
+        assertThat(events.toString(), is("[MODIFIED]"));
+    }
+
+    @Test
+    public void whenWatchIsForbidden() throws Exception {
+        getServer().expect().get().withPath("/api/v1/namespaces/test/services?watch=true&timeoutSeconds=300").andReturn(HttpURLConnection.HTTP_FORBIDDEN, null).once();
+        final CompletableFuture<KogitoKubeClientException> closed = new CompletableFuture<>();
+
+        this.getKubeClient().services().watchNamespaced(MOCK_NAMESPACE, null, new WatchListener() {
+
+            @Override
+            public void onEvent(String type, Map<String, Object> resource) {}
+
+            @Override
+            public void onClose(KogitoKubeClientException cause) {
+                closed.complete(cause);
+            }
+        });
+
+        assertThat(closed.get(10, TimeUnit.SECONDS), instanceOf(KogitoKubeClientException.class));
+    }
+}
@@ -22,12 +22,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -40,10 +43,11 @@ import org.kie.kogito.cloud.kubernetes.client.DefaultKogitoKubeClient;
 import org.kie.kogito.cloud.kubernetes.client.KogitoKubeClient;
 import org.kie.kogito.cloud.workitems.service.discovery.ServiceDiscovery;
 import org.kie.kogito.cloud.workitems.service.discovery.ServiceDiscoveryFactory;
+import org.kie.kogito.process.workitem.AsyncWorkItemHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public abstract class DiscoveredServiceWorkItemHandler implements WorkItemHandler {
+public abstract class DiscoveredServiceWorkItemHandler implements WorkItemHandler, AutoCloseable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DiscoveredServiceWorkItemHandler.class);
 
@@ -114,6 +118,19 @@ public abstract class DiscoveredServiceWorkItemHandler implements WorkItemHandle
         }
         return http;
     }
+
+    /**
+     * Stops the discovery of the endpoints, closing the watches it keeps open on the Kubernetes API.
+     * The next call discovers the endpoints again.
+     * The process configuration closes the registered handlers when the application stops.
+     */
+    @Override
+    public void close() {
+        if (serviceDiscovery != null) {
+            serviceDiscovery.close();
+            serviceDiscovery = null;
+        }
+    }
     
     /**
      * Removes a service from the registry
@@ -126,7 +143,7 @@ public abstract class DiscoveredServiceWorkItemHandler implements WorkItemHandle
     }
 
     /**
-     * Add a new service into the internal registry
+     * Add a new service into the internal registry. Services in the registry are called as is, without being discovered.
      * 
      * @param serviceName
      * @param service
@@ -151,6 +168,7 @@ public abstract class DiscoveredServiceWorkItemHandler implements WorkItemHandle
      * Looks up service's endpoint (cluster ip + port) using label selector - meaning returns services that have given label.
      * Services are looked up only in given namespace. 
      * @param service label assign to a service that should be used as selector
+     * The endpoints are cached by the {@link ServiceDiscovery}, which balances the calls between them when more than one is found.
      * @return valid endpoint (in URL form) if found or runtime exception in case of no services found
      */
     protected ServiceInfo findEndpoint(String namespace, String service) {
@@ -169,44 +187,85 @@ public abstract class DiscoveredServiceWorkItemHandler implements WorkItemHandle
      * @return returns map of data that was returned from the service call
      */
     protected Map<String, Object> discoverAndCall(WorkItem workItem, String namespace, String serviceName, HttpMethods method) {
+        Request request = produceRequest(workItem, namespace, serviceName, method);
+
+        try (Response response = this.buildHttpClient().newCall(request).execute()) {
+
+            Map<String, Object> results = produceResultsFromResponse(response);
+
+            return results;
+
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Same as {@link #discoverAndCall(WorkItem, String, String, HttpMethods)}, but the service is called without blocking the calling thread.
+     * Handlers implementing {@link AsyncWorkItemHandler} return it from {@link AsyncWorkItemHandler#executeWorkItemAsync(WorkItem)},
+     * so that the work item is completed on its process instance once persisted, within a unit of work.
+     * @param workItem work item that this handler is working on
+     * @param namespace namespace to look up services in
+     * @param serviceName name of the service to look up by - label
+     * @param method http method to be used when calling a service (supports GET, POST, PUT, DELETE)
+     * @return future completed with the map of data returned from the service call
+     */
+    protected CompletableFuture<Map<String, Object>> discoverAndCallAsync(WorkItem workItem, String namespace, String serviceName, HttpMethods method) {
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        Request request;
+        try {
+            request = produceRequest(workItem, namespace, serviceName, method);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        this.buildHttpClient().newCall(request).enqueue(new Callback() {
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response r = response) {
+                    future.complete(produceResultsFromResponse(r));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    private Request produceRequest(WorkItem workItem, String namespace, String serviceName, HttpMethods method) {
         Map<String, Object> data = new HashMap<>(workItem.getParameters());
         String service = (String) data.remove(serviceName);
 
         // remove all internal fields before sending
         INTERNAL_FIELDS.forEach(field -> data.remove(field));
 
-        // discover service endpoint
-        ServiceInfo endpoint = serviceEndpoints.computeIfAbsent(service, (s) -> findEndpoint(namespace, s));
+        // services added to the registry take precedence, the discovered ones are cached by the service discovery
+        ServiceInfo endpoint = serviceEndpoints.get(service);
+        if (endpoint == null) {
+            endpoint = findEndpoint(namespace, service);
+        }
         LOGGER.debug("Found endpoint for service {} with location {}", service, endpoint);
 
         RequestBody body = produceRequestPayload(data);
-        Request request = null;
 
         switch (method) {
             case POST:
-                request = producePostRequest(endpoint, body);
-                break;
+                return producePostRequest(endpoint, body);
             case GET:
-                request = produceGetRequest(endpoint);
-                break;
+                return produceGetRequest(endpoint);
             case PUT:
-                request = producePutRequest(endpoint, body);
-                break;
+                return producePutRequest(endpoint, body);
             case DELETE:
-                request = produceDeleteRequest(endpoint, body);
-                break;
+                return produceDeleteRequest(endpoint, body);
             default:
-                break;
-        }
-
-        try (Response response = this.buildHttpClient().newCall(request).execute()) {
-
-            Map<String, Object> results = produceResultsFromResponse(response);
-
-            return results;
-
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+                return null;
         }
     }
 
@@ -15,11 +15,20 @@
 package org.kie.kogito.cloud.workitems.service.discovery;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.kie.kogito.cloud.kubernetes.client.KogitoKubeClient;
+import org.kie.kogito.cloud.kubernetes.client.KogitoKubeClientException;
+import org.kie.kogito.cloud.kubernetes.client.operations.MapWalker;
+import org.kie.kogito.cloud.kubernetes.client.operations.Watch;
+import org.kie.kogito.cloud.kubernetes.client.operations.WatchListener;
 import org.kie.kogito.cloud.workitems.ServiceInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,13 +39,25 @@ public abstract class BaseServiceDiscovery implements ServiceDiscovery {
     static final String KEY_ITEMS = "items";
     static final String KEY_SPEC = "spec";
     static final String KEY_CLUSTER_IP = "clusterIP";
+    static final String KEY_METADATA = "metadata";
+    static final String KEY_NAME = "name";
+    static final String KEY_RESOURCE_VERSION = "resourceVersion";
+    static final String EVENT_ADDED = "ADDED";
     static final String DEFAULT_PROTOCOL = "http://";
     static final int DEFAULT_PORT = 80;
 
     protected KogitoKubeClient kubeClient;
 
+    private final ServiceEndpointCache endpointCache;
+    private final Map<String, EndpointWatch> watches = new ConcurrentHashMap<>();
+
     public BaseServiceDiscovery(final KogitoKubeClient kubeClient) {
+        this(kubeClient, new ServiceEndpointCache());
+    }
+
+    public BaseServiceDiscovery(final KogitoKubeClient kubeClient, final ServiceEndpointCache endpointCache) {
         this.kubeClient = kubeClient;
+        this.endpointCache = endpointCache;
     }
 
     /**
@@ -58,6 +79,48 @@ public abstract class BaseServiceDiscovery implements ServiceDiscovery {
      */
     protected abstract ServiceInfo buildService(final List<Map<String, Object>> services, final String service);
 
+    /**
+     * Builds one {@link ServiceInfo} per service returned by {@link #query(String, Map)}, so that the calls can be balanced between them.
+     * 
+     * @param services
+     * @param service
+     * @return
+     */
+    protected List<ServiceInfo> buildServices(final List<Map<String, Object>> services, final String service) {
+        return services.stream()
+                       .map(s -> this.buildService(Collections.singletonList(s), service))
+                       .collect(Collectors.toList());
+    }
+
+    /**
+     * Lists the services matching the query, keeping the whole response so that the services can be watched
+     * from the version of the list. The default implementation only wraps the {@link #query(String, Map)} result,
+     * without any version.
+     * 
+     * @param namespace the namespace where to query the service from
+     * @param labels the labels of the queried services
+     * @return the list response in a map structure, with the services under <code>items</code>
+     */
+    protected Map<String, Object> list(final String namespace, final Map<String, String> labels) {
+        final Map<String, Object> list = new HashMap<>();
+        list.put(KEY_ITEMS, this.query(namespace, labels));
+        return list;
+    }
+
+    /**
+     * Should watch the services returned by {@link #list(String, Map)}, so that the cached endpoints are dropped as soon as they change.
+     * Without a watch, the cached endpoints are only refreshed once expired.
+     * 
+     * @param namespace the namespace where to watch the services
+     * @param labels the labels of the watched services
+     * @param resourceVersion the version of the list to watch the changes from, null if unknown
+     * @param listener the listener to notify of every change
+     * @return the {@link Watch} handle, or null if changes can't be watched
+     */
+    protected Watch watch(final String namespace, final Map<String, String> labels, final String resourceVersion, final WatchListener listener) {
+        return null;
+    }
+
     private Map<String, String> buildLabelMap(final String labelKey, final String labelValue) {
         if (labelKey == null || labelKey.isEmpty()) {
             return null;
@@ -67,20 +130,139 @@ public abstract class BaseServiceDiscovery implements ServiceDiscovery {
     }
 
     public final Optional<ServiceInfo> findEndpoint(String namespace, String labelKey, String labelValue) {
+        final String key = String.format("%s/%s:%s", namespace, labelKey, labelValue);
+        return endpointCache.get(key, () -> this.loadEndpoints(key, namespace, labelKey, labelValue));
+    }
+
+    /**
+     * Stops watching the services and drops all the cached endpoints.
+     */
+    @Override
+    public void close() {
+        watches.values().forEach(EndpointWatch::close);
+        watches.clear();
+        endpointCache.invalidateAll();
+    }
+
+    private List<ServiceInfo> loadEndpoints(String key, String namespace, String labelKey, String labelValue) {
+        final Map<String, String> labels = this.buildLabelMap(labelKey, labelValue);
         LOGGER.debug("About to query for endpoints in namespace {} with labels {}:{}", namespace, labelKey, labelValue);
-        final List<Map<String, Object>> services = query(namespace, this.buildLabelMap(labelKey, labelValue));
+        final Map<String, Object> list = this.list(namespace, labels);
+        final List<Map<String, Object>> services = new MapWalker(list).mapToListMap(KEY_ITEMS).asList();
         LOGGER.debug("Result of services query: {}", services);
 
-        if (services.size() > 1) {
-            LOGGER.warn("Found more than one endpoint using labels {}:{}. Returning the first one in the list. Try to be more specific in the query search.",
-                        labelKey,
-                        labelValue);
-        } else if (services.isEmpty()) {
+        // watch from the version of the list, so that only the changes made after the query drop the endpoints
+        this.watchEndpoints(key, namespace, labels, list, services);
+
+        if (services.isEmpty()) {
             LOGGER.warn("Haven't found any endpoint in the namespace {} with labels {}:{}", namespace, labelKey, labelValue);
-            return Optional.empty();
+            return Collections.emptyList();
+        } else if (services.size() > 1) {
+            LOGGER.debug("Found {} endpoints using labels {}:{}. Calls will be balanced between them.", services.size(), labelKey, labelValue);
+        }
+
+        return this.buildServices(services, labelValue == null || labelValue.isEmpty() ? labelKey : labelValue);
+    }
+
+    private void watchEndpoints(String key, String namespace, Map<String, String> labels, Map<String, Object> list, List<Map<String, Object>> services) {
+        final Set<String> listed = services.stream().map(BaseServiceDiscovery::versionOf).filter(Objects::nonNull).collect(Collectors.toSet());
+        final EndpointWatch endpointWatch = new EndpointWatch(key, namespace, labels, resourceVersionOf(list), listed);
+        // the previous watch, if any, started from an older list: only one watch per key is kept open
+        final EndpointWatch previous = watches.put(key, endpointWatch);
+        if (previous != null) {
+            previous.close();
+        }
+        if (!endpointWatch.start()) {
+            watches.remove(key, endpointWatch);
+        }
+    }
+
+    private static String resourceVersionOf(Map<String, Object> resource) {
+        return (String) new MapWalker(resource, true).mapToMap(KEY_METADATA).asMap().get(KEY_RESOURCE_VERSION);
+    }
+
+    private static String versionOf(Map<String, Object> resource) {
+        final Map<String, Object> metadata = new MapWalker(resource, true).mapToMap(KEY_METADATA).asMap();
+        if (metadata.get(KEY_NAME) == null || metadata.get(KEY_RESOURCE_VERSION) == null) {
+            return null;
+        }
+        return metadata.get(KEY_NAME) + "@" + metadata.get(KEY_RESOURCE_VERSION);
+    }
+
+    /**
+     * Drops the cached endpoints as soon as the watched services change, and stops watching: the next load lists the
+     * services again and watches them from the new list.
+     * The <code>ADDED</code> events of the services already returned by the list are ignored, the server sends them
+     * when it can't start the watch from the version of the list.
+     * Watches are bounded by the server: a watch over without error is started again from the version of the list,
+     * since nothing changed in the meantime; a watch over with an error may have missed changes, so the endpoints are dropped.
+     */
+    private final class EndpointWatch implements WatchListener {
+
+        private final String key;
+        private final String namespace;
+        private final Map<String, String> labels;
+        private final String resourceVersion;
+        private final Set<String> listed;
+        private volatile Watch watch;
+        private volatile boolean closed;
+
+        EndpointWatch(String key, String namespace, Map<String, String> labels, String resourceVersion, Set<String> listed) {
+            this.key = key;
+            this.namespace = namespace;
+            this.labels = labels;
+            this.resourceVersion = resourceVersion;
+            this.listed = listed;
         }
 
-        return Optional.of(this.buildService(services, labelValue == null || labelValue.isEmpty() ? labelKey : labelValue));
+        boolean start() {
+            try {
+                watch = BaseServiceDiscovery.this.watch(namespace, labels, resourceVersion, this);
+            } catch (KogitoKubeClientException e) {
+                LOGGER.debug("Unable to watch the endpoints in namespace {} with labels {}: '{}'. Falling back to the cache expiration.", namespace, labels, e.getMessage());
+                watch = null;
+            }
+            if (closed && watch != null) {
+                // closed while starting
+                watch.close();
+            }
+            return watch != null;
+        }
+
+        @Override
+        public void onEvent(String type, Map<String, Object> resource) {
+            if (closed || (EVENT_ADDED.equals(type) && listed.contains(versionOf(resource)))) {
+                return;
+            }
+            LOGGER.debug("Received {} event for endpoints {}, dropping them from the cache", type, key);
+            endpointCache.invalidate(key);
+            if (watches.remove(key, this)) {
+                this.close();
+            }
+        }
+
+        @Override
+        public void onClose(KogitoKubeClientException cause) {
+            if (closed) {
+                return;
+            }
+            if (cause == null && watches.get(key) == this && this.start()) {
+                LOGGER.debug("Watch of endpoints {} is over, watching them again", key);
+                return;
+            }
+            LOGGER.debug("Watch of endpoints {} is over", key, cause);
+            if (watches.remove(key, this) && cause != null) {
+                endpointCache.invalidate(key);
+            }
+        }
+
+        void close() {
+            closed = true;
+            final Watch current = watch;
+            if (current != null) {
+                current.close();
+            }
+        }
     }
 
     public final Optional<ServiceInfo> findEndpoint(String namespace, String service) {
@@ -20,6 +20,8 @@ import java.util.Map;
 
 import org.kie.kogito.cloud.kubernetes.client.KogitoKubeClient;
 import org.kie.kogito.cloud.kubernetes.client.operations.MapWalker;
+import org.kie.kogito.cloud.kubernetes.client.operations.Watch;
+import org.kie.kogito.cloud.kubernetes.client.operations.WatchListener;
 import org.kie.kogito.cloud.workitems.ServiceInfo;
 
 public class IstioServiceDiscovery extends BaseServiceDiscovery {
@@ -45,15 +47,30 @@ public class IstioServiceDiscovery extends BaseServiceDiscovery {
         this.istioGatewayUrl = istioGatewayUrl;
     }
 
+    public IstioServiceDiscovery(final KogitoKubeClient kubeClient, final String istioGatewayUrl, final ServiceEndpointCache endpointCache) {
+        super(kubeClient, endpointCache);
+        this.istioGatewayUrl = istioGatewayUrl;
+    }
+
     @Override
     protected List<Map<String, Object>> query(String namespace, Map<String, String> labels) {
-        return kubeClient.knativeService()
-                         .listNamespaced(namespace, labels)
-                         .asMapWalker()
+        return new MapWalker(this.list(namespace, labels))
                          .mapToListMap(KEY_ITEMS)
                          .asList();
     }
 
+    @Override
+    protected Map<String, Object> list(String namespace, Map<String, String> labels) {
+        return kubeClient.knativeService()
+                         .listNamespaced(namespace, labels)
+                         .asMap();
+    }
+
+    @Override
+    protected Watch watch(String namespace, Map<String, String> labels, String resourceVersion, WatchListener listener) {
+        return kubeClient.knativeService().watchNamespaced(namespace, labels, resourceVersion, listener);
+    }
+
     @Override
     protected ServiceInfo buildService(List<Map<String, Object>> services, final String service) {
         final Map<String, String> headers = new HashMap<>();
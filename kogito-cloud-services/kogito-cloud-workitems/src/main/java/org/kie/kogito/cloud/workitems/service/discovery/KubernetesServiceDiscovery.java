@@ -20,6 +20,8 @@ import java.util.Map;
 
 import org.kie.kogito.cloud.kubernetes.client.KogitoKubeClient;
 import org.kie.kogito.cloud.kubernetes.client.operations.MapWalker;
+import org.kie.kogito.cloud.kubernetes.client.operations.Watch;
+import org.kie.kogito.cloud.kubernetes.client.operations.WatchListener;
 import org.kie.kogito.cloud.workitems.ServiceInfo;
 
 public class KubernetesServiceDiscovery extends BaseServiceDiscovery {
@@ -31,15 +33,29 @@ public class KubernetesServiceDiscovery extends BaseServiceDiscovery {
         super(kubeClient);
     }
 
+    public KubernetesServiceDiscovery(final KogitoKubeClient kubeClient, final ServiceEndpointCache endpointCache) {
+        super(kubeClient, endpointCache);
+    }
+
     @Override
     protected List<Map<String, Object>> query(String namespace, Map<String, String> labels) {
-        return kubeClient.services()
-                         .listNamespaced(namespace, labels)
-                         .asMapWalker()
+        return new MapWalker(this.list(namespace, labels))
                          .mapToListMap(KEY_ITEMS)
                          .asList();
     }
 
+    @Override
+    protected Map<String, Object> list(String namespace, Map<String, String> labels) {
+        return kubeClient.services()
+                         .listNamespaced(namespace, labels)
+                         .asMap();
+    }
+
+    @Override
+    protected Watch watch(String namespace, Map<String, String> labels, String resourceVersion, WatchListener listener) {
+        return kubeClient.services().watchNamespaced(namespace, labels, resourceVersion, listener);
+    }
+
     @Override
     protected ServiceInfo buildService(List<Map<String, Object>> services, String service) {
         final StringBuilder url = new StringBuilder();
@@ -21,11 +21,11 @@ import org.kie.kogito.cloud.workitems.ServiceInfo;
 /**
  * Service Discovery mechanism: tries to discover the desired endpoint based on the cluster infrastructure: Kubernetes, OpenShift, Istio/KNative or Operators. 
  */
-public interface ServiceDiscovery {
+public interface ServiceDiscovery extends AutoCloseable {
 
     /**
      * Finds an endpoint based on a namespace and the specified label. 
-     * If more than one service is found, the first one is returned.  
+     * If more than one service is found, they are returned in round-robin.
      * The service must reside within the namespace. 
      * 
      * @param namespace the namespace where to look for the namespace. Can't be null.
@@ -37,7 +37,7 @@ public interface ServiceDiscovery {
 
     /**
      * Finds an endpoint based on a namespace with a label key equals to the name of the service. 
-     * If more than one service is found, the first one is returned. 
+     * If more than one service is found, they are returned in round-robin.
      * The service must reside within the namespace.   
      * 
      * @param namespace the namespace where to look for the namespace. Can't be null.
@@ -46,4 +46,10 @@ public interface ServiceDiscovery {
      */
     public Optional<ServiceInfo> findEndpoint(final String namespace, final String service);
 
+    /**
+     * Releases the resources held to discover the endpoints, such as the watches on the Kubernetes API.
+     */
+    @Override
+    default void close() {}
+
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.cloud.workitems.service.discovery;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.kie.kogito.cloud.workitems.ServiceInfo;
+
+/**
+ * Caches the endpoints found by a {@link ServiceDiscovery} for a limited amount of time.
+ * Lookups that didn't find any endpoint are cached as well, for a shorter time, to not flood the Kubernetes API with queries.
+ * When more than one endpoint is found for the same lookup, they are returned in round-robin.
+ */
+public class ServiceEndpointCache {
+
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    public static final long DEFAULT_NEGATIVE_TTL_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public ServiceEndpointCache() {
+        this(DEFAULT_TTL_MILLIS, DEFAULT_NEGATIVE_TTL_MILLIS);
+    }
+
+    /**
+     * @param ttlMillis how long the endpoints found by a lookup are kept
+     * @param negativeTtlMillis how long a lookup that didn't find any endpoint is kept
+     */
+    public ServiceEndpointCache(final long ttlMillis, final long negativeTtlMillis) {
+        this(ttlMillis, negativeTtlMillis, System::currentTimeMillis);
+    }
+
+    ServiceEndpointCache(final long ttlMillis, final long negativeTtlMillis, final LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the next endpoint cached for the given key, loading the endpoints if they are missing or expired.
+     * Concurrent lookups of the same key wait for a single load, which runs on the calling thread outside of any lock,
+     * so that lookups of other keys are never held by a slow query.
+     * 
+     * @param key the lookup key
+     * @param loader queries the endpoints, an empty list if none is found
+     * @return the next endpoint in round-robin, empty if none was found
+     */
+    public Optional<ServiceInfo> get(final String key, final Supplier<List<ServiceInfo>> loader) {
+        while (true) {
+            final Entry entry = entries.get(key);
+            if (entry != null && !entry.isExpired(clock.getAsLong())) {
+                return entry.next();
+            }
+            final Entry loading = new Entry();
+            if (entry == null ? entries.putIfAbsent(key, loading) == null : entries.replace(key, entry, loading)) {
+                load(key, loading, loader);
+                return loading.next();
+            }
+        }
+    }
+
+    /**
+     * Removes the endpoints cached for the given key, the next lookup will load them again.
+     * 
+     * @param key the lookup key
+     */
+    public void invalidate(final String key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private void load(final String key, final Entry entry, final Supplier<List<ServiceInfo>> loader) {
+        final List<ServiceInfo> endpoints;
+        try {
+            endpoints = loader.get();
+        } catch (RuntimeException e) {
+            // failed loads are not cached, the next lookup tries again
+            entries.remove(key, entry);
+            entry.endpoints.completeExceptionally(e);
+            throw e;
+        }
+        final long ttl = endpoints.isEmpty() ? negativeTtlMillis : ttlMillis;
+        entry.expiresAt = clock.getAsLong() + ttl;
+        entry.endpoints.complete(Collections.unmodifiableList(endpoints));
+    }
+
+    private static final class Entry {
+
+        private final CompletableFuture<List<ServiceInfo>> endpoints = new CompletableFuture<>();
+        private final AtomicInteger cursor = new AtomicInteger();
+        // an entry being loaded never expires, the lookups wait for the load instead
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        boolean isExpired(final long now) {
+            return now >= expiresAt;
+        }
+
+        Optional<ServiceInfo> next() {
+            final List<ServiceInfo> loaded;
+            try {
+                loaded = endpoints.join();
+            } catch (CompletionException e) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (loaded.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(loaded.get(Math.floorMod(cursor.getAndIncrement(), loaded.size())));
+        }
+    }
+}
@@ -18,6 +18,10 @@ package org.kie.kogito.cloud.workitems;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import okhttp3.Call;
 import okhttp3.MediaType;
@@ -26,6 +30,8 @@ import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
 import okio.Buffer;
 import okio.BufferedSource;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,11 +40,14 @@ import org.kie.api.runtime.process.WorkItem;
 import org.kie.api.runtime.process.WorkItemManager;
 import org.kie.kogito.cloud.kubernetes.client.KogitoKubeClient;
 import org.kie.kogito.cloud.workitems.service.discovery.ServiceDiscovery;
+import org.kie.kogito.process.workitem.AsyncWorkItemHandler;
 import org.mockito.Mockito;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class DiscoveredServiceWorkItemHandlerTest {
@@ -89,6 +98,84 @@ public class DiscoveredServiceWorkItemHandlerTest {
         assertThat(results).isNotNull().containsKey("test").containsValue("fake");
     }
     
+    @Test
+    public void testAsyncCallCompletesWithResults() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("{\"test\" : \"fake\"}"));
+        server.start();
+        try {
+            httpClient = new OkHttpClient();
+            AsyncTestDiscoveredServiceWorkItemHandler handler = new AsyncTestDiscoveredServiceWorkItemHandler("test", server.url("/test").toString());
+
+            Map<String, Object> results = handler.executeWorkItemAsync(mockWorkItem()).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+            assertThat(results).isEqualTo(Collections.singletonMap("test", "fake"));
+            assertThat(server.takeRequest().getMethod()).isEqualTo("POST");
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void testAsyncCallFailsOnError() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.start();
+        try {
+            httpClient = new OkHttpClient();
+            AsyncTestDiscoveredServiceWorkItemHandler handler = new AsyncTestDiscoveredServiceWorkItemHandler("test", server.url("/test").toString());
+
+            CompletableFuture<Map<String, Object>> results = handler.executeWorkItemAsync(mockWorkItem()).toCompletableFuture();
+
+            assertThatThrownBy(() -> results.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void testAsyncHandlerCompletesWorkItemWhenExecutedBlocking() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("{\"test\" : \"fake\"}"));
+        server.start();
+        try {
+            httpClient = new OkHttpClient();
+            AsyncTestDiscoveredServiceWorkItemHandler handler = new AsyncTestDiscoveredServiceWorkItemHandler("test", server.url("/test").toString());
+            WorkItemManager manager = mock(WorkItemManager.class);
+
+            handler.executeWorkItem(mockWorkItem(), manager);
+
+            verify(manager).completeWorkItem("1", Collections.singletonMap("test", "fake"));
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    private WorkItem mockWorkItem() {
+        WorkItem workItem = Mockito.mock(WorkItem.class);
+        when(workItem.getId()).thenReturn("1");
+        when(workItem.getParameters()).thenReturn(Collections.singletonMap("service", "test"));
+        return workItem;
+    }
+
+    private class AsyncTestDiscoveredServiceWorkItemHandler extends DiscoveredServiceWorkItemHandler implements AsyncWorkItemHandler {
+
+        public AsyncTestDiscoveredServiceWorkItemHandler(String service, String endpoint) {
+            super();
+            this.addServices(service, new ServiceInfo(endpoint, null));
+        }
+
+        @Override
+        public CompletionStage<Map<String, Object>> executeWorkItemAsync(WorkItem workItem) {
+            return discoverAndCallAsync(workItem, "", "service", HttpMethods.POST);
+        }
+
+        @Override
+        protected OkHttpClient buildHttpClient() {
+            return httpClient;
+        }
+    }
+
     private class TestDiscoveredServiceWorkItemHandler extends DiscoveredServiceWorkItemHandler {
 
         public TestDiscoveredServiceWorkItemHandler(String service, String endpoint) {
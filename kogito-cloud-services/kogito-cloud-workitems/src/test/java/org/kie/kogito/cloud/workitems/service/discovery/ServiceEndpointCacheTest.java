@@ -0,0 +1,151 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.cloud.workitems.service.discovery;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.cloud.kubernetes.client.KogitoKubeClientException;
+import org.kie.kogito.cloud.workitems.ServiceInfo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ServiceEndpointCacheTest {
+
+    private static final ServiceInfo ENDPOINT_ONE = new ServiceInfo("http://172.30.158.31:8080/service", null);
+    private static final ServiceInfo ENDPOINT_TWO = new ServiceInfo("http://172.30.158.32:8080/service", null);
+
+    private AtomicLong clock;
+    private AtomicInteger loads;
+    private ServiceEndpointCache cache;
+
+    @BeforeEach
+    public void setup() {
+        clock = new AtomicLong();
+        loads = new AtomicInteger();
+        cache = new ServiceEndpointCache(1000, 100, clock::get);
+    }
+
+    @Test
+    public void endpointsAreCachedUntilExpired() {
+        assertThat(cache.get("key", loader(ENDPOINT_ONE))).hasValue(ENDPOINT_ONE);
+        clock.set(999);
+        assertThat(cache.get("key", loader(ENDPOINT_TWO))).hasValue(ENDPOINT_ONE);
+        assertThat(loads).hasValue(1);
+
+        clock.set(1000);
+        assertThat(cache.get("key", loader(ENDPOINT_TWO))).hasValue(ENDPOINT_TWO);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    public void missingEndpointsAreCachedForShorterTime() {
+        assertThat(cache.get("key", loader())).isEmpty();
+        clock.set(99);
+        assertThat(cache.get("key", loader(ENDPOINT_ONE))).isEmpty();
+        assertThat(loads).hasValue(1);
+
+        clock.set(100);
+        assertThat(cache.get("key", loader(ENDPOINT_ONE))).hasValue(ENDPOINT_ONE);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    public void endpointsAreReturnedInRoundRobin() {
+        Supplier<List<ServiceInfo>> loader = loader(ENDPOINT_ONE, ENDPOINT_TWO);
+        assertThat(cache.get("key", loader)).hasValue(ENDPOINT_ONE);
+        assertThat(cache.get("key", loader)).hasValue(ENDPOINT_TWO);
+        assertThat(cache.get("key", loader)).hasValue(ENDPOINT_ONE);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    public void invalidatedEndpointsAreLoadedAgain() {
+        assertThat(cache.get("key", loader(ENDPOINT_ONE))).hasValue(ENDPOINT_ONE);
+        assertThat(cache.get("other", loader(ENDPOINT_ONE))).hasValue(ENDPOINT_ONE);
+        cache.invalidate("key");
+
+        assertThat(cache.get("key", loader(ENDPOINT_TWO))).hasValue(ENDPOINT_TWO);
+        assertThat(cache.get("other", loader(ENDPOINT_TWO))).hasValue(ENDPOINT_ONE);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    public void slowLoadOnlyHoldsLookupsOfSameKey() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<ServiceInfo>> slow = executor.submit(() -> cache.get("key", () -> {
+                loading.countDown();
+                await(release);
+                return Collections.singletonList(ENDPOINT_ONE);
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Optional<ServiceInfo>> waiting = executor.submit(() -> cache.get("key", loader(ENDPOINT_TWO)));
+
+            // every other key is served while "key" is loading
+            for (int i = 0; i < 100; i++) {
+                assertThat(cache.get("other" + i, loader(ENDPOINT_TWO))).hasValue(ENDPOINT_TWO);
+            }
+            assertThat(waiting.isDone()).isFalse();
+
+            release.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS)).hasValue(ENDPOINT_ONE);
+            assertThat(waiting.get(5, TimeUnit.SECONDS)).hasValue(ENDPOINT_ONE);
+            assertThat(loads).hasValue(100);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failedLoadIsNotCached() {
+        assertThatThrownBy(() -> cache.get("key", () -> {
+            throw new KogitoKubeClientException("connection refused");
+        })).isInstanceOf(KogitoKubeClientException.class);
+
+        assertThat(cache.get("key", loader(ENDPOINT_ONE))).hasValue(ENDPOINT_ONE);
+        assertThat(loads).hasValue(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Supplier<List<ServiceInfo>> loader(ServiceInfo... endpoints) {
+        return () -> {
+            loads.incrementAndGet();
+            return endpoints.length == 0 ? Collections.emptyList() : Arrays.asList(endpoints);
+        };
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.cloud.workitems.service.discovery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.cloud.kubernetes.client.KogitoKubeClient;
+import org.kie.kogito.cloud.kubernetes.client.KogitoKubeClientException;
+import org.kie.kogito.cloud.kubernetes.client.operations.OperationsResponseParser;
+import org.kie.kogito.cloud.kubernetes.client.operations.ServiceOperations;
+import org.kie.kogito.cloud.kubernetes.client.operations.Watch;
+import org.kie.kogito.cloud.kubernetes.client.operations.WatchListener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Service discovery test cases with a mock {@link KogitoKubeClient}, validating how the watch events refresh the cached endpoints.
+ */
+public class WatchedServiceDiscoveryTest {
+
+    private static final String NAMESPACE = "mockns";
+    private static final String ONE_SERVICE = list("41", service("svc1", "172.30.158.31"));
+    private static final String TWO_SERVICES = list("42", service("svc1", "172.30.158.31"), service("svc2", "172.30.158.32"));
+
+    private ServiceOperations serviceOperations;
+    private AtomicReference<WatchListener> listener;
+    private List<Watch> watches;
+    private KubernetesServiceDiscovery serviceDiscovery;
+
+    @BeforeEach
+    public void setup() {
+        KogitoKubeClient kubeClient = mock(KogitoKubeClient.class);
+        serviceOperations = mock(ServiceOperations.class);
+        listener = new AtomicReference<>();
+        watches = new ArrayList<>();
+        when(kubeClient.services()).thenReturn(serviceOperations);
+        when(serviceOperations.watchNamespaced(eq(NAMESPACE), any(), any(), any())).thenAnswer(invocation -> {
+            listener.set(invocation.getArgument(3));
+            Watch watch = mock(Watch.class);
+            watches.add(watch);
+            return watch;
+        });
+        serviceDiscovery = new KubernetesServiceDiscovery(kubeClient);
+    }
+
+    @Test
+    public void endpointsAreQueriedOnce() {
+        when(serviceOperations.listNamespaced(eq(NAMESPACE), any())).thenReturn(new OperationsResponseParser(ONE_SERVICE));
+
+        assertThat(serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service")).hasValueSatisfying(s -> assertThat(s.getUrl()).isEqualTo("http://172.30.158.31:8080/service"));
+        assertThat(serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service")).hasValueSatisfying(s -> assertThat(s.getUrl()).isEqualTo("http://172.30.158.31:8080/service"));
+
+        verify(serviceOperations, times(1)).listNamespaced(eq(NAMESPACE), any());
+        verify(serviceOperations, times(1)).watchNamespaced(eq(NAMESPACE), eq(Collections.singletonMap("test-kogito", "service")), eq("41"), any());
+    }
+
+    @Test
+    public void endpointsAreRefreshedByWatchEvents() {
+        when(serviceOperations.listNamespaced(eq(NAMESPACE), any())).thenReturn(new OperationsResponseParser(ONE_SERVICE), new OperationsResponseParser(TWO_SERVICES));
+
+        assertThat(serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service")).hasValueSatisfying(s -> assertThat(s.getUrl()).isEqualTo("http://172.30.158.31:8080/service"));
+        listener.get().onEvent("ADDED", resource("svc2", "42"));
+
+        assertThat(serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service")).hasValueSatisfying(s -> assertThat(s.getUrl()).isEqualTo("http://172.30.158.31:8080/service"));
+        assertThat(serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service")).hasValueSatisfying(s -> assertThat(s.getUrl()).isEqualTo("http://172.30.158.32:8080/service"));
+        verify(serviceOperations, times(2)).listNamespaced(eq(NAMESPACE), any());
+        // the watch that dropped the endpoints is over, the new one starts from the new list
+        verify(watches.get(0)).close();
+        verify(serviceOperations, times(1)).watchNamespaced(eq(NAMESPACE), any(), eq("42"), any());
+    }
+
+    @Test
+    public void addedEventsOfListedServicesAreIgnored() {
+        when(serviceOperations.listNamespaced(eq(NAMESPACE), any())).thenReturn(new OperationsResponseParser(ONE_SERVICE));
+
+        serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service");
+        listener.get().onEvent("ADDED", resource("svc1", "1"));
+        serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service");
+        verify(serviceOperations, times(1)).listNamespaced(eq(NAMESPACE), any());
+
+        listener.get().onEvent("MODIFIED", resource("svc1", "2"));
+        serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service");
+        verify(serviceOperations, times(2)).listNamespaced(eq(NAMESPACE), any());
+    }
+
+    @Test
+    public void watchesAreClosedWithTheDiscovery() {
+        when(serviceOperations.listNamespaced(eq(NAMESPACE), any())).thenReturn(new OperationsResponseParser(ONE_SERVICE));
+
+        serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service");
+        serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "other");
+        serviceDiscovery.close();
+
+        assertThat(watches).hasSize(2);
+        watches.forEach(watch -> verify(watch).close());
+        serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service");
+        verify(serviceOperations, times(3)).listNamespaced(eq(NAMESPACE), any());
+    }
+
+    @Test
+    public void missingEndpointsAreCachedUntilAdded() {
+        when(serviceOperations.listNamespaced(eq(NAMESPACE), any())).thenReturn(new OperationsResponseParser("{\"items\":[]}"), new OperationsResponseParser(ONE_SERVICE));
+
+        assertThat(serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service")).isEmpty();
+        assertThat(serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service")).isEmpty();
+        listener.get().onEvent("ADDED", resource("svc1", "1"));
+
+        assertThat(serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service")).isPresent();
+        verify(serviceOperations, times(2)).listNamespaced(eq(NAMESPACE), any());
+    }
+
+    @Test
+    public void watchIsStartedAgainOnceClosed() {
+        when(serviceOperations.listNamespaced(eq(NAMESPACE), any())).thenReturn(new OperationsResponseParser(ONE_SERVICE));
+
+        serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service");
+        listener.get().onClose(new KogitoKubeClientException("connection reset"));
+        listener.get().onEvent("DELETED", resource("svc1", "2"));
+        serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service");
+
+        verify(serviceOperations, times(2)).watchNamespaced(eq(NAMESPACE), any(), any(), any());
+        // the failed watch may have missed changes
+        verify(serviceOperations, times(2)).listNamespaced(eq(NAMESPACE), any());
+    }
+
+    @Test
+    public void watchIsStartedAgainFromTheListOnceOverByTimeout() {
+        when(serviceOperations.listNamespaced(eq(NAMESPACE), any())).thenReturn(new OperationsResponseParser(ONE_SERVICE), new OperationsResponseParser(TWO_SERVICES));
+
+        serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service");
+        listener.get().onClose(null);
+        serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service");
+
+        verify(serviceOperations, times(1)).listNamespaced(eq(NAMESPACE), any());
+        verify(serviceOperations, times(2)).watchNamespaced(eq(NAMESPACE), any(), eq("41"), any());
+
+        // the new watch keeps refreshing the endpoints
+        listener.get().onEvent("ADDED", resource("svc2", "42"));
+        serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service");
+        verify(serviceOperations, times(2)).listNamespaced(eq(NAMESPACE), any());
+    }
+
+    @Test
+    public void closedWatchIsNotStartedAgain() {
+        when(serviceOperations.listNamespaced(eq(NAMESPACE), any())).thenReturn(new OperationsResponseParser(ONE_SERVICE));
+
+        serviceDiscovery.findEndpoint(NAMESPACE, "test-kogito", "service");
+        WatchListener closed = listener.get();
+        serviceDiscovery.close();
+        closed.onClose(null);
+
+        verify(serviceOperations, times(1)).watchNamespaced(eq(NAMESPACE), any(), any(), any());
+    }
+
+    private static String list(String resourceVersion, String... services) {
+        return "{\"metadata\":{\"resourceVersion\":\"" + resourceVersion + "\"},\"items\":[" + String.join(",", services) + "]}";
+    }
+
+    private static String service(String name, String clusterIp) {
+        return "{\"metadata\":{\"name\":\"" + name + "\",\"resourceVersion\":\"1\"},\"spec\":{\"clusterIP\":\"" + clusterIp + "\",\"ports\":[{\"port\":8080}]}}";
+    }
+
+    private static Map<String, Object> resource(String name, String resourceVersion) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("name", name);
+        metadata.put("resourceVersion", resourceVersion);
+        return Collections.singletonMap("metadata", metadata);
+    }
+}
@@ -120,9 +120,21 @@ public class ApplicationGenerator {
     }
 
     public List<GeneratedFile> generateComponents() {
-        return generators.stream()
-                .flatMap(gen -> gen.generate().stream())
-                .collect(Collectors.toList());
+        if (!ParallelCodegen.isEnabled(context)) {
+            return generators.stream()
+                    .flatMap(gen -> gen.generate().stream())
+                    .collect(Collectors.toList());
+        }
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            // generators are independent from each other: only the application sections and config are built afterwards
+            Thread.currentThread().setContextClassLoader(classLoader);
+            return ParallelCodegen.map(generators, Generator::generate).stream()
+                    .flatMap(Collection::stream)
+                    .collect(Collectors.toList());
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
     }
 
     public GeneratedFile generateApplicationDescriptor() {
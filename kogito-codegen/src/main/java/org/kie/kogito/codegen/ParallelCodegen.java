@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.codegen;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs independent codegen steps (generators, per-file parsing) on a fork-join pool.
+ * Results are always returned in the order of the input, so that the generated output is deterministic.
+ */
+public final class ParallelCodegen {
+
+    public static final String PARALLEL_CONFIGURATION_KEY = "kogito.codegen.parallel";
+
+    private ParallelCodegen() {
+        // utility class
+    }
+
+    public static boolean isEnabled(GeneratorContext context) {
+        return context == null || context.getApplicationProperty(PARALLEL_CONFIGURATION_KEY)
+                .map(Boolean::parseBoolean)
+                .orElse(true);
+    }
+
+    /**
+     * Applies <code>function</code> to every item, in parallel unless <code>{@value #PARALLEL_CONFIGURATION_KEY}</code>
+     * is set to <code>false</code> in the given context, in which case the items are handled one after the other
+     * by the calling thread.
+     */
+    public static <T, R> List<R> map(GeneratorContext context, Collection<T> items, Function<? super T, ? extends R> function) {
+        if (!isEnabled(context)) {
+            return items.stream().map(function).collect(toList());
+        }
+        return map(items, function);
+    }
+
+    /**
+     * Applies <code>function</code> to every item, in parallel, using the context class loader of the calling thread
+     * in every worker (the build tools rely on it to load the project classes).
+     */
+    public static <T, R> List<R> map(Collection<T> items, Function<? super T, ? extends R> function) {
+        if (items.size() < 2) {
+            return items.stream().map(function).collect(toList());
+        }
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ForkJoinPool pool = new ForkJoinPool(Math.min(items.size(), Runtime.getRuntime().availableProcessors()), p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        }, null, false);
+        try {
+            List<Outcome<R>> outcomes = pool.submit(() -> items.parallelStream().map(item -> Outcome.<T, R>of(function, item)).collect(toList())).get();
+            List<R> results = new ArrayList<>(outcomes.size());
+            for (Outcome<R> outcome : outcomes) {
+                results.add(outcome.getOrThrow());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating code", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Keeps the original failure of a step, so that it is rethrown as is (and in input order) to the caller.
+     * Some generators report their failures as {@link Error}s, which are kept as well.
+     */
+    private static final class Outcome<R> {
+
+        private final R value;
+        private final Throwable failure;
+
+        private Outcome(R value, Throwable failure) {
+            this.value = value;
+            this.failure = failure;
+        }
+
+        static <T, R> Outcome<R> of(Function<? super T, ? extends R> function, T item) {
+            try {
+                return new Outcome<>(function.apply(item), null);
+            } catch (RuntimeException | Error e) {
+                return new Outcome<>(null, e);
+            }
+        }
+
+        R getOrThrow() {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            return value;
+        }
+    }
+}
@@ -21,8 +21,10 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -109,6 +111,28 @@ public class DecisionCodegen extends AbstractGenerator {
                                                  .getOrElseThrow(e -> new RuntimeException("Error compiling DMN model(s)", e));
         List<DMNResource> dmnResources = dmnRuntime.getModels().stream().map(model -> new DMNResource(model, r2cr.get(model.getResource()))).collect(toList());
         resources.addAll(dmnResources);
+        decisionContainerGenerator.withCompilationPlan(dmnResources.stream().map(DMNResource::getCollectedResource).collect(toList()),
+                                                       compilationLevels(dmnResources));
+    }
+
+    /**
+     * The models of the DMNRuntime are sorted by import dependencies: the compilation level of a model is one more than
+     * the highest level of the models it imports, so that models of the same level can be compiled in parallel at runtime.
+     */
+    private static int[] compilationLevels(List<DMNResource> dmnResources) {
+        Map<String, Integer> levelByNamespace = new HashMap<>();
+        int[] levels = new int[dmnResources.size()];
+        for (int i = 0; i < levels.length; i++) {
+            Definitions definitions = dmnResources.get(i).getDmnModel().getDefinitions();
+            levels[i] = definitions.getImport().stream()
+                    .map(imp -> levelByNamespace.get(imp.getNamespace()))
+                    .filter(Objects::nonNull)
+                    .mapToInt(level -> level + 1)
+                    .max()
+                    .orElse(0);
+            levelByNamespace.merge(definitions.getNamespace(), levels[i], Math::max);
+        }
+        return levels;
     }
 
     @Override
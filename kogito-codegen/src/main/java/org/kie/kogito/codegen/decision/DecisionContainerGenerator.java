@@ -24,17 +24,23 @@ import java.util.List;
 import java.util.Optional;
 
 import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.ArrayCreationLevel;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.ArrayCreationExpr;
+import com.github.javaparser.ast.expr.ArrayInitializerExpr;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.PrimitiveType;
 import org.drools.core.util.IoUtils;
 import org.kie.kogito.codegen.AbstractApplicationSection;
 import org.kie.kogito.codegen.AddonsConfig;
@@ -49,7 +55,8 @@ public class DecisionContainerGenerator extends AbstractApplicationSection {
     private static final String TEMPLATE_JAVA = "/class-templates/DecisionContainerTemplate.java";
 
     private String applicationCanonicalName;
-    private final List<CollectedResource> resources;
+    private List<CollectedResource> resources;
+    private int[] compilationLevels;
     private AddonsConfig addonsConfig = AddonsConfig.DEFAULT;
 
     public DecisionContainerGenerator(String applicationCanonicalName, List<CollectedResource> cResources) {
@@ -63,21 +70,36 @@ public class DecisionContainerGenerator extends AbstractApplicationSection {
         return this;
     }
 
+    /**
+     * @param sortedResources the DMN resources sorted by import dependencies
+     * @param compilationLevels the dependency level of each of the sorted resources
+     */
+    public DecisionContainerGenerator withCompilationPlan(List<CollectedResource> sortedResources, int[] compilationLevels) {
+        this.resources = sortedResources;
+        this.compilationLevels = compilationLevels;
+        return this;
+    }
+
     @Override
     public ClassOrInterfaceDeclaration classDeclaration() {
         CompilationUnit clazz = StaticJavaParser.parse(this.getClass().getResourceAsStream(TEMPLATE_JAVA));
         ClassOrInterfaceDeclaration typeDeclaration = (ClassOrInterfaceDeclaration) clazz.getTypes().get(0);
         ClassOrInterfaceType applicationClass = StaticJavaParser.parseClassOrInterfaceType(applicationCanonicalName);
+        Optional<FieldDeclaration> dmnRuntimeField = typeDeclaration.getFieldByName("dmnRuntime");
+        MethodCallExpr initializer = dmnRuntimeField.flatMap(x -> x.getVariable(0).getInitializer())
+                .map(Expression::asMethodCallExpr)
+                .orElseThrow(() -> new RuntimeException("The template " + TEMPLATE_JAVA + " has been modified."));
+        if (compilationLevels != null) {
+            NodeList<Expression> levels = new NodeList<>();
+            for (int level : compilationLevels) {
+                levels.add(new IntegerLiteralExpr(String.valueOf(level)));
+            }
+            initializer.addArgument(new ArrayCreationExpr(PrimitiveType.intType(), NodeList.nodeList(new ArrayCreationLevel()), new ArrayInitializerExpr(levels)));
+        }
         for (CollectedResource resource : resources) {
             MethodCallExpr getResAsStream = getReadResourceMethod(applicationClass, resource);
             MethodCallExpr isr = new MethodCallExpr("readResource").addArgument(getResAsStream);
-            Optional<FieldDeclaration> dmnRuntimeField = typeDeclaration.getFieldByName("dmnRuntime");
-            Optional<Expression> initalizer = dmnRuntimeField.flatMap(x -> x.getVariable(0).getInitializer());
-            if (initalizer.isPresent()) {
-                initalizer.get().asMethodCallExpr().addArgument(isr);
-            } else {
-                throw new RuntimeException("The template " + TEMPLATE_JAVA + " has been modified.");
-            }
+            initializer.addArgument(isr);
         }
 
         if (addonsConfig.useTracing()) {
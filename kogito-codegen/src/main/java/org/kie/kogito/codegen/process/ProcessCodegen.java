@@ -53,6 +53,8 @@ import org.kie.kogito.codegen.ConfigGenerator;
 import org.kie.kogito.codegen.DefaultResourceGeneratorFactory;
 import org.kie.kogito.codegen.GeneratedFile;
 import org.kie.kogito.codegen.GeneratedFile.Type;
+import org.kie.kogito.codegen.GeneratorContext;
+import org.kie.kogito.codegen.ParallelCodegen;
 import org.kie.kogito.codegen.ResourceGeneratorFactory;
 import org.kie.kogito.codegen.di.DependencyInjectionAnnotator;
 import org.kie.kogito.codegen.io.CollectedResource;
@@ -97,23 +99,32 @@ public class ProcessCodegen extends AbstractGenerator {
     private String packageName;
 
     public static ProcessCodegen ofCollectedResources(Collection<CollectedResource> resources) {
-        List<Process> processes = resources.stream()
-                .map(CollectedResource::resource)
-                .flatMap(resource -> {
-                    if (SUPPORTED_BPMN_EXTENSIONS.stream().anyMatch(resource.getSourcePath()::endsWith)) {
-                        return parseProcessFile(resource).stream();
-                    } else {
-                        return SUPPORTED_SW_EXTENSIONS.entrySet()
-                                .stream()
-                                .filter(e -> resource.getSourcePath().endsWith(e.getKey()))
-                                .map(e -> parseWorkflowFile(resource, e.getValue()));
-                    }
-                })
+        return ofCollectedResources(null, resources);
+    }
+
+    public static ProcessCodegen ofCollectedResources(GeneratorContext context, Collection<CollectedResource> resources) {
+        // every file is parsed independently, the result keeps the order of the resources
+        List<Process> processes = ParallelCodegen.map(context, resources, ProcessCodegen::parseCollectedResource)
+                .stream()
+                .flatMap(Collection::stream)
                 .collect(toList());
 
         return ofProcesses(processes);
     }
 
+    private static List<Process> parseCollectedResource(CollectedResource collectedResource) {
+        Resource resource = collectedResource.resource();
+        if (SUPPORTED_BPMN_EXTENSIONS.stream().anyMatch(resource.getSourcePath()::endsWith)) {
+            return new ArrayList<>(parseProcessFile(resource));
+        } else {
+            return SUPPORTED_SW_EXTENSIONS.entrySet()
+                    .stream()
+                    .filter(e -> resource.getSourcePath().endsWith(e.getKey()))
+                    .map(e -> parseWorkflowFile(resource, e.getValue()))
+                    .collect(toList());
+        }
+    }
+
     private static ProcessCodegen ofProcesses(List<Process> processes) {
         return new ProcessCodegen(processes);
     }
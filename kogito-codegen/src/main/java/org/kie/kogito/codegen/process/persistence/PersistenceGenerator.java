@@ -20,6 +20,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -37,11 +38,13 @@ import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.MethodReferenceExpr;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.expr.NullLiteralExpr;
 import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.expr.SimpleName;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.expr.TypeExpr;
 import com.github.javaparser.ast.expr.VariableDeclarationExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.stmt.ExplicitConstructorInvocationStmt;
@@ -74,6 +77,10 @@ public class PersistenceGenerator extends AbstractGenerator {
     
     private static final String KOGITO_APPLICATION_PROTO = "kogito-application.proto";
     private static final String KOGITO_PERSISTENCE_FS_PATH_PROP = "kogito.persistence.filesystem.path";
+    private static final String ARCHIVE_PATH_NAME = "archivePath";
+    private static final String KOGITO_PERSISTENCE_FS_ARCHIVE_PATH_PROP = "kogito.persistence.filesystem.archive.path";
+    private static final String ARCHIVE_RETENTION_NAME = "archiveRetention";
+    private static final String KOGITO_PERSISTENCE_FS_ARCHIVE_RETENTION_PROP = "kogito.persistence.filesystem.archive.retention";
     
     private static final String KOGITO_PROCESS_INSTANCE_FACTORY_PACKAGE= "org.kie.kogito.persistence.KogitoProcessInstancesFactory";
     private static final String KOGITO_PROCESS_INSTANCE_FACTORY_IMPL= "KogitoProcessInstancesFactoryImpl";
@@ -314,6 +321,42 @@ public class PersistenceGenerator extends AbstractGenerator {
 
             persistenceProviderClazz.addMember(pathField);
             persistenceProviderClazz.addMember(pathMethod);
+
+            FieldDeclaration archivePathField = new FieldDeclaration().addVariable(new VariableDeclarator()
+                    .setType(new ClassOrInterfaceType(null, new SimpleName(Optional.class.getCanonicalName()), NodeList.nodeList(new ClassOrInterfaceType(null, String.class.getCanonicalName()))))
+                    .setName(ARCHIVE_PATH_NAME));
+            annotator.withConfigInjection(archivePathField, KOGITO_PERSISTENCE_FS_ARCHIVE_PATH_PROP);
+            // completed and aborted process instances are only archived when a path is configured
+            BlockStmt archivePathMethodBody = new BlockStmt();
+            archivePathMethodBody.addStatement(new ReturnStmt(new MethodCallExpr(new NameExpr(ARCHIVE_PATH_NAME), OR_ELSE).addArgument(new NullLiteralExpr())));
+
+            MethodDeclaration archivePathMethod = new MethodDeclaration()
+                    .addModifier(Keyword.PUBLIC)
+                    .setName(ARCHIVE_PATH_NAME)
+                    .setType(String.class)
+                    .setBody(archivePathMethodBody);
+
+            persistenceProviderClazz.addMember(archivePathField);
+            persistenceProviderClazz.addMember(archivePathMethod);
+
+            FieldDeclaration archiveRetentionField = new FieldDeclaration().addVariable(new VariableDeclarator()
+                    .setType(new ClassOrInterfaceType(null, new SimpleName(Optional.class.getCanonicalName()), NodeList.nodeList(new ClassOrInterfaceType(null, String.class.getCanonicalName()))))
+                    .setName(ARCHIVE_RETENTION_NAME));
+            annotator.withConfigInjection(archiveRetentionField, KOGITO_PERSISTENCE_FS_ARCHIVE_RETENTION_PROP);
+            // ISO-8601 duration (e.g. P30D), archived instances are kept forever and never compacted when not set
+            BlockStmt archiveRetentionMethodBody = new BlockStmt();
+            archiveRetentionMethodBody.addStatement(new ReturnStmt(new MethodCallExpr(new MethodCallExpr(new NameExpr(ARCHIVE_RETENTION_NAME), "map")
+                    .addArgument(new MethodReferenceExpr(new TypeExpr(new ClassOrInterfaceType(null, Duration.class.getCanonicalName())), null, "parse")), OR_ELSE)
+                    .addArgument(new NullLiteralExpr())));
+
+            MethodDeclaration archiveRetentionMethod = new MethodDeclaration()
+                    .addModifier(Keyword.PUBLIC)
+                    .setName(ARCHIVE_RETENTION_NAME)
+                    .setType(Duration.class.getCanonicalName())
+                    .setBody(archiveRetentionMethodBody);
+
+            persistenceProviderClazz.addMember(archiveRetentionField);
+            persistenceProviderClazz.addMember(archiveRetentionMethod);
         }
 
         generatePersistenceProviderClazz(generatedFiles, persistenceProviderClazz, compilationUnit);
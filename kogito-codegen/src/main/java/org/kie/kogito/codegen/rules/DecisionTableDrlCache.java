@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.codegen.rules;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.drools.compiler.compiler.DecisionTableFactory;
+import org.drools.compiler.compiler.DecisionTableProvider;
+import org.drools.compiler.compiler.DrlParser;
+import org.drools.compiler.compiler.DroolsParserException;
+import org.drools.compiler.lang.descr.PackageDescr;
+import org.drools.core.util.IoUtils;
+import org.kie.api.io.Resource;
+import org.kie.internal.builder.DecisionTableConfiguration;
+import org.kie.internal.builder.conf.LanguageLevelOption;
+
+import static org.kie.kogito.codegen.ApplicationGenerator.logger;
+
+/**
+ * DRL generated from the decision tables, stored in a directory by hash of the content of the table and of its
+ * configuration: a table is converted again only when it changed since a previous build. The entries of the
+ * tables that changed or were removed are pruned once the tables of the build are loaded.
+ */
+public class DecisionTableDrlCache {
+
+    // to be increased whenever the content of the cached files changes
+    private static final String FORMAT_VERSION = "1";
+
+    private final Path directory;
+    private final Map<String, String> drls = new ConcurrentHashMap<>();
+    private final AtomicInteger conversions = new AtomicInteger();
+
+    public DecisionTableDrlCache(Path directory) {
+        this.directory = directory;
+    }
+
+    public static boolean isCacheable(DecisionTableConfiguration configuration) {
+        // the rules generated from templates depend on the templates too
+        return configuration != null && configuration.getRuleTemplateConfigurations().isEmpty();
+    }
+
+    /**
+     * Converts the given decision tables, in parallel, unless they are already in the cache.
+     */
+    public void load(Collection<Map.Entry<Resource, DecisionTableConfiguration>> decisionTables) {
+        decisionTables.parallelStream().forEach(decisionTable -> getDrl(decisionTable.getKey(), decisionTable.getValue()));
+    }
+
+    /**
+     * Returns the rules of the given decision table parsed from its DRL, with the table as their resource, as the
+     * knowledge builder does when it converts the table itself: the rules and the build errors refer to the table.
+     * @return the rules, empty when the DRL does not parse, for the table to be built and its errors reported as usual
+     */
+    public Optional<PackageDescr> getPackageDescr(Resource decisionTable, DecisionTableConfiguration configuration, LanguageLevelOption languageLevel) {
+        DrlParser parser = new DrlParser(languageLevel);
+        PackageDescr packageDescr;
+        try {
+            packageDescr = parser.parse(decisionTable, new StringReader(getDrl(decisionTable, configuration)));
+        } catch (DroolsParserException e) {
+            return Optional.empty();
+        }
+        if (packageDescr == null || parser.hasErrors()) {
+            return Optional.empty();
+        }
+        packageDescr.setResource(decisionTable);
+        return Optional.of(packageDescr);
+    }
+
+    public String getDrl(Resource decisionTable, DecisionTableConfiguration configuration) {
+        byte[] content;
+        try (InputStream input = decisionTable.getInputStream()) {
+            content = IoUtils.readBytesFromInputStream(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read decision table " + decisionTable.getSourcePath(), e);
+        }
+        String key = key(content, configuration);
+        return drls.computeIfAbsent(key, k -> read(k).orElseGet(() -> convert(k, decisionTable, configuration)));
+    }
+
+    /**
+     * Deletes the cached DRL of the decision tables that are not part of this build anymore, or that changed since.
+     * To be called once all the decision tables of the build are loaded.
+     */
+    public void prune() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().endsWith(".drl")).collect(Collectors.toList())) {
+                String fileName = file.getFileName().toString();
+                if (!drls.containsKey(fileName.substring(0, fileName.length() - ".drl".length()))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to prune the decision table cache " + directory, e);
+        }
+    }
+
+    /**
+     * Returns the number of decision tables converted by this cache, the other ones were read from the cache.
+     */
+    public int getConversions() {
+        return conversions.get();
+    }
+
+    private Optional<String> read(String key) {
+        Path file = directory.resolve(key + ".drl");
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // converted again below
+            return Optional.empty();
+        }
+    }
+
+    private String convert(String key, Resource decisionTable, DecisionTableConfiguration configuration) {
+        String drl = DecisionTableFactory.loadFromResource(decisionTable, configuration);
+        conversions.incrementAndGet();
+        try {
+            Files.createDirectories(directory);
+            // written aside and moved, so that concurrent builds never read a partial file
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temp, drl.getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, directory.resolve(key + ".drl"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Unable to cache the DRL of decision table " + decisionTable.getSourcePath(), e);
+        }
+        return drl;
+    }
+
+    private static String key(byte[] content, DecisionTableConfiguration configuration) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(content);
+        DecisionTableProvider provider = DecisionTableFactory.getDecisionTableProvider();
+        String version = provider == null ? null : provider.getClass().getPackage().getImplementationVersion();
+        String settings = FORMAT_VERSION + '|' + version + '|' + configuration.getInputType() + '|' +
+                configuration.getWorksheetName() + '|' + configuration.isTrimCell();
+        digest.update(settings.getBytes(StandardCharsets.UTF_8));
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(String.format("%02x", b));
+        }
+        return key.toString();
+    }
+}
@@ -18,7 +18,9 @@ package org.kie.kogito.codegen.rules;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -42,8 +44,10 @@ import org.drools.compiler.compiler.DecisionTableFactory;
 import org.drools.compiler.compiler.DroolsError;
 import org.drools.compiler.kproject.ReleaseIdImpl;
 import org.drools.compiler.kproject.models.KieModuleModelImpl;
+import org.drools.compiler.lang.descr.PackageDescr;
 import org.drools.core.builder.conf.impl.DecisionTableConfigurationImpl;
 import org.drools.core.builder.conf.impl.ResourceConfigurationImpl;
+import org.drools.core.io.impl.DescrResource;
 import org.drools.modelcompiler.builder.GeneratedFile;
 import org.drools.modelcompiler.builder.ModelBuilderImpl;
 import org.kie.api.builder.model.KieBaseModel;
@@ -60,6 +64,7 @@ import org.kie.internal.builder.DecisionTableConfiguration;
 import org.kie.internal.builder.DecisionTableInputType;
 import org.kie.internal.builder.ResourceChangeSet;
 import org.kie.internal.builder.RuleTemplateConfiguration;
+import org.kie.internal.builder.conf.LanguageLevelOption;
 import org.kie.internal.io.ResourceTypeImpl;
 import org.kie.internal.ruleunit.RuleUnitDescription;
 import org.kie.kogito.codegen.AbstractGenerator;
@@ -110,6 +115,11 @@ public class IncrementalRuleCodegen extends AbstractGenerator {
         return new IncrementalRuleCodegen(resources);
     }
 
+    /**
+     * Directory of the decision table cache, relative to the build directory
+     */
+    public static final String DECISION_TABLE_CACHE_DIRECTORY = "kogito-cache/decision-tables";
+
     private static final String operationalDashboardDmnTemplate = "/grafana-dashboard-template/operational-dashboard-template.json";
     private final Collection<Resource> resources;
     private RuleUnitContainerGenerator moduleGenerator;
@@ -127,6 +137,7 @@ public class IncrementalRuleCodegen extends AbstractGenerator {
     private String packageName = KnowledgeBuilderConfigurationImpl.DEFAULT_PACKAGE;
     private final boolean decisionTableSupported;
     private final Map<String, RuleUnitConfig> configs;
+    private DecisionTableDrlCache decisionTableCache;
 
 
     private IncrementalRuleCodegen(Collection<Resource> resources) {
@@ -176,8 +187,13 @@ public class IncrementalRuleCodegen extends AbstractGenerator {
 
         ModelBuilderImpl<KogitoPackageSources> modelBuilder = new ModelBuilderImpl<>( KogitoPackageSources::dumpSources, configuration, dummyReleaseId, true, hotReloadMode );
 
+        if (decisionTableCache != null) {
+            decisionTableCache.load( cacheableDecisionTables() );
+            decisionTableCache.prune();
+        }
+
         CompositeKnowledgeBuilder batch = modelBuilder.batch();
-        resources.forEach(f -> addResource( batch, f ) );
+        resources.forEach(f -> addResource( batch, f, configuration.getLanguageLevel() ) );
 
         try {
             batch.build();
@@ -224,31 +240,58 @@ public class IncrementalRuleCodegen extends AbstractGenerator {
         return generatedFiles;
     }
 
-    private void addResource( CompositeKnowledgeBuilder batch, Resource resource ) {
+    private void addResource( CompositeKnowledgeBuilder batch, Resource resource, LanguageLevelOption languageLevel ) {
         if (resource.getResourceType() == ResourceType.PROPERTIES) {
             return;
         }
         if (resource.getResourceType() == ResourceType.DTABLE) {
-            Resource resourceProps = findPropertiesResource(resource);
-            if (resourceProps != null) {
-                // TODO delete this method and use the one in AbstractKieModule when it will be available since drools 7.44
-                ResourceConfiguration conf = loadResourceConfiguration( resource.getSourcePath(), x -> true, x -> {
-                    try {
-                        return resourceProps.getInputStream();
-                    } catch (IOException ioe) {
-                        throw new RuntimeException(ioe);
+            DecisionTableConfiguration conf = decisionTableConfiguration( resource );
+            if (decisionTableCache != null && DecisionTableDrlCache.isCacheable( conf )) {
+                for (DecisionTableConfiguration sheetConf : sheetConfigurations( conf )) {
+                    Optional<PackageDescr> packageDescr = decisionTableCache.getPackageDescr( resource, sheetConf, languageLevel );
+                    if (packageDescr.isPresent()) {
+                        batch.add( new DescrResource( packageDescr.get() ), ResourceType.DESCR );
+                    } else {
+                        batch.add( resource, ResourceType.DTABLE, sheetConf );
                     }
-                } );
-                if  (conf instanceof DecisionTableConfiguration ) {
-                    // TODO delete this method and use the one in AbstractKieModule when it will be available since drools 7.44
-                    addDTableToCompiler( batch, resource, (( DecisionTableConfiguration ) conf) );
-                    return;
                 }
+                return;
+            }
+            if (conf != null && findPropertiesResource(resource) != null) {
+                // TODO delete this method and use the one in AbstractKieModule when it will be available since drools 7.44
+                addDTableToCompiler( batch, resource, conf );
+                return;
             }
         }
         batch.add( resource, resource.getResourceType() );
     }
 
+    private DecisionTableConfiguration decisionTableConfiguration( Resource resource ) {
+        Resource resourceProps = findPropertiesResource(resource);
+        // TODO delete this method and use the one in AbstractKieModule when it will be available since drools 7.44
+        ResourceConfiguration conf = loadResourceConfiguration( resource.getSourcePath(), x -> resourceProps != null, x -> {
+            try {
+                return resourceProps.getInputStream();
+            } catch (IOException ioe) {
+                throw new RuntimeException(ioe);
+            }
+        } );
+        return conf instanceof DecisionTableConfiguration ? ( DecisionTableConfiguration ) conf : null;
+    }
+
+    private List<Map.Entry<Resource, DecisionTableConfiguration>> cacheableDecisionTables() {
+        List<Map.Entry<Resource, DecisionTableConfiguration>> decisionTables = new ArrayList<>();
+        for (Resource resource : resources) {
+            if (resource.getResourceType() == ResourceType.DTABLE) {
+                DecisionTableConfiguration conf = decisionTableConfiguration( resource );
+                if (DecisionTableDrlCache.isCacheable( conf )) {
+                    sheetConfigurations( conf ).forEach( sheetConf -> decisionTables.add( new AbstractMap.SimpleEntry<>( resource, sheetConf ) ) );
+                }
+            }
+        }
+        return decisionTables;
+    }
+
     private Resource findPropertiesResource(Resource resource) {
         return resources.stream().filter( r -> r.getSourcePath().equals( resource.getSourcePath() + ".properties" ) ).findFirst().orElse( null );
     }
@@ -462,6 +505,14 @@ public class IncrementalRuleCodegen extends AbstractGenerator {
         return this;
     }
 
+    /**
+     * Reuses the DRL generated from the decision tables by previous builds, stored in the given directory
+     */
+    public IncrementalRuleCodegen withDecisionTableCache(Path directory) {
+        this.decisionTableCache = new DecisionTableDrlCache(directory);
+        return this;
+    }
+
     // --- TODO all the code below can be deleted when the corresponging methods will be available in AbstractKieModule since drools 7.44
 
     public static ResourceConfiguration loadResourceConfiguration( String fileName, Predicate<String> fileAvailable, Function<String, InputStream> fileProvider ) {
@@ -497,14 +548,21 @@ public class IncrementalRuleCodegen extends AbstractGenerator {
     }
 
     private static void addDTableToCompiler( CompositeKnowledgeBuilder ckbuilder, Resource resource, DecisionTableConfiguration dtableConf, ResourceChangeSet rcs ) {
+        for (DecisionTableConfiguration sheetConf : sheetConfigurations( dtableConf )) {
+            ckbuilder.add( resource, ResourceType.DTABLE, sheetConf, rcs );
+        }
+    }
+
+    private static List<DecisionTableConfiguration> sheetConfigurations( DecisionTableConfiguration dtableConf ) {
         String sheetNames = dtableConf.getWorksheetName();
         if (sheetNames == null || sheetNames.indexOf( ',' ) < 0) {
-            ckbuilder.add( resource, ResourceType.DTABLE, dtableConf, rcs );
-        } else {
-            for (String sheetName : sheetNames.split( "\\," ) ) {
-                ckbuilder.add( resource, ResourceType.DTABLE, new DecisionTableConfigurationDelegate( dtableConf, sheetName), rcs );
-            }
+            return Collections.singletonList( dtableConf );
+        }
+        List<DecisionTableConfiguration> sheetConfs = new ArrayList<>();
+        for (String sheetName : sheetNames.split( "\\," ) ) {
+            sheetConfs.add( new DecisionTableConfigurationDelegate( dtableConf, sheetName) );
         }
+        return sheetConfs;
     }
 
     static class DecisionTableConfigurationDelegate implements DecisionTableConfiguration {
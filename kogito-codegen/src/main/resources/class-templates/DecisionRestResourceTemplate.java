@@ -38,7 +38,23 @@ public class DMNRestResourceTemplate {
         org.kie.kogito.dmn.rest.DMNResult result = new org.kie.kogito.dmn.rest.DMNResult("$modelNamespace$", "$modelName$", decision.evaluateAll(decision.newContext($inputData$)));
         return $extractContextMethod$(result);
     }
-    
+
+    @POST
+    @Path("/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public java.util.List<Object> dmn_batch(java.util.List<java.util.Map<String, Object>> batch) {
+        org.kie.kogito.decision.DecisionModel decision = application.decisionModels().getDecisionModel("$modelNamespace$", "$modelName$");
+        java.util.List<Object> outputs = new java.util.ArrayList<>(batch.size());
+        for (org.kie.dmn.api.core.DMNResult evaluated : decision.evaluateBatch(batch)) {
+            org.kie.kogito.dmn.rest.DMNResult result = new org.kie.kogito.dmn.rest.DMNResult("$modelNamespace$", "$modelName$", evaluated);
+            Object context = $extractContextMethod$(result);
+            // a context already serialized is written as it is
+            outputs.add(context instanceof String ? new com.fasterxml.jackson.databind.util.RawValue((String) context) : context);
+        }
+        return outputs;
+    }
+
     @GET
     @Produces(MediaType.APPLICATION_XML)
     public String dmn() throws java.io.IOException {
@@ -23,11 +23,14 @@ public class PredictionModels implements org.kie.kogito.prediction.PredictionMod
         };
     }
 
+    // models are resolved once, along with their evaluator
+    private final java.util.Map<java.lang.String, org.kie.kogito.prediction.PredictionModel> predictionModels = new java.util.concurrent.ConcurrentHashMap<>();
+
     public PredictionModels(org.kie.kogito.Application app) {
     }
 
     public org.kie.kogito.prediction.PredictionModel getPredictionModel(java.lang.String modelName) {
-        return new org.kie.kogito.pmml.PmmlPredictionModel(getPMMLRuntime(modelName), modelName);
+        return predictionModels.computeIfAbsent(modelName, name -> new org.kie.kogito.pmml.PmmlPredictionModel(getPMMLRuntime(name), name));
     }
 
     private org.kie.pmml.evaluator.api.executor.PMMLRuntime getPMMLRuntime(java.lang.String modelName) {
@@ -4,8 +4,32 @@ public class ConfigBean extends org.kie.kogito.conf.StaticConfigBean {
     @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.service.url")
     java.util.Optional<java.lang.String> kogitoService;
 
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.events.processinstances.delta.snapshot-interval")
+    java.util.Optional<java.lang.Integer> deltaEventsSnapshotInterval;
+
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.events.usertasks.trimming.threshold")
+    java.util.Optional<java.lang.Integer> userTaskEventTrimmingThreshold;
+
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.jobs.catch-up.misfire-threshold")
+    java.util.Optional<java.lang.Long> jobsCatchUpMisfireThreshold;
+
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.jobs.catch-up.misfire-policy")
+    java.util.Optional<java.lang.String> jobsCatchUpMisfirePolicy;
+
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.jobs.catch-up.parallelism")
+    java.util.Optional<java.lang.Integer> jobsCatchUpParallelism;
+
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.jobs.catch-up.max-instances-per-second")
+    java.util.Optional<java.lang.Integer> jobsCatchUpMaxInstancesPerSecond;
+
     @javax.annotation.PostConstruct
     protected void init() {
         setServiceUrl(kogitoService.orElse(""));
+        setDeltaEventsSnapshotInterval(deltaEventsSnapshotInterval.orElse(null));
+        setUserTaskEventTrimmingThreshold(userTaskEventTrimmingThreshold.orElse(null));
+        setJobsCatchUpMisfireThreshold(jobsCatchUpMisfireThreshold.orElse(null));
+        setJobsCatchUpMisfirePolicy(jobsCatchUpMisfirePolicy.orElse(null));
+        setJobsCatchUpParallelism(jobsCatchUpParallelism.orElse(null));
+        setJobsCatchUpMaxInstancesPerSecond(jobsCatchUpMaxInstancesPerSecond.orElse(null));
     }
 }
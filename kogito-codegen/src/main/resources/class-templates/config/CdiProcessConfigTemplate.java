@@ -30,7 +30,11 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
               unitOfWorkManager,
               jobsService,
               eventPublishers,
-              configBean.getServiceUrl());
+              configBean);
     }
 
+    @javax.annotation.PreDestroy
+    public void destroy() {
+        close();
+    }
 }
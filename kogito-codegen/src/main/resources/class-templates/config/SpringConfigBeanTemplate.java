@@ -4,8 +4,32 @@ public class ConfigBean extends org.kie.kogito.conf.StaticConfigBean {
     @org.springframework.beans.factory.annotation.Value("${kogito.service.url:#{null}}")
     java.util.Optional<java.lang.String> kogitoService;
 
+    @org.springframework.beans.factory.annotation.Value("${kogito.events.processinstances.delta.snapshot-interval:#{null}}")
+    java.util.Optional<java.lang.Integer> deltaEventsSnapshotInterval;
+
+    @org.springframework.beans.factory.annotation.Value("${kogito.events.usertasks.trimming.threshold:#{null}}")
+    java.util.Optional<java.lang.Integer> userTaskEventTrimmingThreshold;
+
+    @org.springframework.beans.factory.annotation.Value("${kogito.jobs.catch-up.misfire-threshold:#{null}}")
+    java.util.Optional<java.lang.Long> jobsCatchUpMisfireThreshold;
+
+    @org.springframework.beans.factory.annotation.Value("${kogito.jobs.catch-up.misfire-policy:#{null}}")
+    java.util.Optional<java.lang.String> jobsCatchUpMisfirePolicy;
+
+    @org.springframework.beans.factory.annotation.Value("${kogito.jobs.catch-up.parallelism:#{null}}")
+    java.util.Optional<java.lang.Integer> jobsCatchUpParallelism;
+
+    @org.springframework.beans.factory.annotation.Value("${kogito.jobs.catch-up.max-instances-per-second:#{null}}")
+    java.util.Optional<java.lang.Integer> jobsCatchUpMaxInstancesPerSecond;
+
     @javax.annotation.PostConstruct
     protected void init() {
         setServiceUrl(kogitoService.orElse(""));
+        setDeltaEventsSnapshotInterval(deltaEventsSnapshotInterval.orElse(null));
+        setUserTaskEventTrimmingThreshold(userTaskEventTrimmingThreshold.orElse(null));
+        setJobsCatchUpMisfireThreshold(jobsCatchUpMisfireThreshold.orElse(null));
+        setJobsCatchUpMisfirePolicy(jobsCatchUpMisfirePolicy.orElse(null));
+        setJobsCatchUpParallelism(jobsCatchUpParallelism.orElse(null));
+        setJobsCatchUpMaxInstancesPerSecond(jobsCatchUpMaxInstancesPerSecond.orElse(null));
     }
 }
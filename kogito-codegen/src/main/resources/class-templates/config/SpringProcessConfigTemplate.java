@@ -10,7 +10,7 @@ import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.services.signal.DefaultSignalManagerHub;
 
 @org.springframework.stereotype.Component
-public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessConfig {
+public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessConfig implements org.springframework.beans.factory.DisposableBean {
 
     @org.springframework.beans.factory.annotation.Autowired
     public ProcessConfig(
@@ -28,6 +28,11 @@ public class ProcessConfig extends org.kie.kogito.process.impl.AbstractProcessCo
               unitOfWorkManager,
               jobsService,
               eventPublishers,
-              configBean.getServiceUrl());
+              configBean);
+    }
+
+    @Override
+    public void destroy() {
+        close();
     }
 }
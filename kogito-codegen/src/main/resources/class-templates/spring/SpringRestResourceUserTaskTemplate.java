@@ -6,6 +6,7 @@ import java.util.Map;
 import org.jbpm.util.JsonSchemaUtil;
 import org.kie.api.runtime.process.WorkItemNotFoundException;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.impl.Sig;
 import org.springframework.http.MediaType;
@@ -77,7 +78,7 @@ public class $Type$Resource {
                                @RequestParam(value = "group", required = false) final List<String> groups) {
         return process
             .instances()
-            .findById(id)
+            .findById(id, ProcessInstanceReadMode.READ_ONLY)
             .map(pi -> $TaskInput$.from(pi.workItem(workItemId, Policies.of(user, groups))))
             .map(m -> ResponseEntity.ok(m))
             .orElseGet(() -> ResponseEntity.notFound().build());
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.codegen;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ParallelCodegenTest {
+
+    @Test
+    public void resultsKeepInputOrder() {
+        List<Integer> input = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        assertThat(ParallelCodegen.map(input, i -> i * 2))
+                .isEqualTo(input.stream().map(i -> i * 2).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void originalFailureIsRethrown() {
+        List<Integer> input = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+        assertThatThrownBy(() -> ParallelCodegen.map(input, i -> {
+            if (i >= 42) {
+                throw new IllegalArgumentException("failed " + i);
+            }
+            return i;
+        })).isExactlyInstanceOf(IllegalArgumentException.class).hasMessage("failed 42");
+    }
+
+    @Test
+    public void firstFailureInInputOrderIsRethrownWhenErrors() {
+        List<Integer> input = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+        assertThatThrownBy(() -> ParallelCodegen.map(input, i -> {
+            if (i == 10) {
+                throw new IllegalArgumentException("failed " + i);
+            }
+            if (i > 10) {
+                throw new AssertionError("failed " + i);
+            }
+            return i;
+        })).isExactlyInstanceOf(IllegalArgumentException.class).hasMessage("failed 10");
+    }
+
+    @Test
+    public void workersUseCallerContextClassLoader() {
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        ClassLoader custom = new ClassLoader(previous) {
+        };
+        Thread.currentThread().setContextClassLoader(custom);
+        try {
+            assertThat(ParallelCodegen.map(IntStream.range(0, 10).boxed().collect(Collectors.toList()), i -> Thread.currentThread().getContextClassLoader()))
+                    .containsOnly(custom);
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+    }
+
+    @Test
+    public void disabledByConfiguration() {
+        Properties properties = new Properties();
+        properties.put(ParallelCodegen.PARALLEL_CONFIGURATION_KEY, "false");
+
+        assertThat(ParallelCodegen.isEnabled(GeneratorContext.ofProperties(properties))).isFalse();
+        assertThat(ParallelCodegen.isEnabled(GeneratorContext.ofProperties(new Properties()))).isTrue();
+    }
+
+    @Test
+    public void disabledByConfigurationRunsOnCallingThread() {
+        Properties properties = new Properties();
+        properties.put(ParallelCodegen.PARALLEL_CONFIGURATION_KEY, "false");
+        Thread caller = Thread.currentThread();
+
+        assertThat(ParallelCodegen.map(GeneratorContext.ofProperties(properties), IntStream.range(0, 100).boxed().collect(Collectors.toList()), i -> Thread.currentThread()))
+                .containsOnly(caller);
+    }
+}
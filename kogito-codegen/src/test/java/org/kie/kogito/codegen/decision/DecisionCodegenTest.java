@@ -22,7 +22,9 @@ import java.util.List;
 import java.util.Properties;
 import java.util.stream.Collectors;
 
+import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.codegen.AddonsConfig;
@@ -59,6 +61,23 @@ public class DecisionCodegenTest {
         assertNotNull(classDeclaration);
     }
 
+    @Test
+    public void generateBatchEndpoint() throws Exception {
+        DecisionCodegen codeGenerator = DecisionCodegen.ofCollectedResources(CollectedResource.fromPaths(Paths.get("src/test/resources/decision/models/vacationDays").toAbsolutePath()));
+        codeGenerator.setContext(stronglyTypedContext());
+
+        GeneratedFile resource = codeGenerator.generate().stream()
+                .filter(file -> file.relativePath().equals("decision/VacationsResource.java"))
+                .findFirst().get();
+        MethodDeclaration batchMethod = StaticJavaParser.parse(new String(resource.contents()))
+                .findFirst(MethodDeclaration.class, method -> method.getNameAsString().equals("dmn_batch")).get();
+
+        assertThat(batchMethod.getAnnotationByName("Path").get().toString()).isEqualTo("@Path(\"/batch\")");
+        assertThat(batchMethod.getParameter(0).getTypeAsString()).isEqualTo("java.util.List<java.util.Map<String,Object>>");
+        assertThat(batchMethod.getTypeAsString()).isEqualTo("java.util.List<Object>");
+        assertThat(batchMethod.toString()).contains("decision.evaluateBatch(batch)", "\"Vacations\"", "extractStronglyTypedContextIfSucceded(result)");
+    }
+
     private GeneratorContext stronglyTypedContext() {
         Properties properties = new Properties();
         properties.put(DecisionCodegen.STRONGLY_TYPED_CONFIGURATION_KEY, Boolean.TRUE.toString());
@@ -126,6 +145,16 @@ public class DecisionCodegenTest {
         assertNotNull(classDeclaration);
     }
 
+    @Test
+    public void compilationPlanFollowsImports() throws Exception {
+        DecisionCodegen codeGenerator = DecisionCodegen.ofCollectedResources(CollectedResource.fromPaths(Paths.get("src/test/resources/decision-imports").toAbsolutePath()));
+        codeGenerator.generate();
+
+        String dmnRuntimeInitializer = codeGenerator.section().classDeclaration().getFieldByName("dmnRuntime").get().getVariable(0).getInitializer().get().toString();
+        assertThat(dmnRuntimeInitializer).contains("new int[] { 0, 1 }");
+        assertThat(dmnRuntimeInitializer.indexOf("Imported.dmn")).isLessThan(dmnRuntimeInitializer.indexOf("Importing.dmn"));
+    }
+
     @Test
     public void emptyName() throws Exception {
         DecisionCodegen codeGenerator = DecisionCodegen.ofCollectedResources(CollectedResource.fromPaths(Paths.get("src/test/resources/decision-empty-name").toAbsolutePath()));
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.codegen.process;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.api.definition.process.Process;
+import org.kie.kogito.codegen.GeneratedFile;
+import org.kie.kogito.codegen.GeneratorContext;
+import org.kie.kogito.codegen.context.QuarkusKogitoBuildContext;
+import org.kie.kogito.codegen.io.CollectedResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProcessCodegenTest {
+
+    private static final int PROCESSES = 4;
+
+    @Test
+    public void parallelParsingGeneratesSameFiles(@TempDir Path tmpDir) throws Exception {
+        String template = new String(Files.readAllBytes(Paths.get("src/test/resources/usertask/UserTasksProcess.bpmn2")), StandardCharsets.UTF_8);
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < PROCESSES; i++) {
+            Path file = tmpDir.resolve("UserTasksProcess" + i + ".bpmn2");
+            Files.write(file, template.replace("id=\"UserTasksProcess\"", "id=\"UserTasksProcess" + i + "\"").getBytes(StandardCharsets.UTF_8));
+            files.add(file.toFile());
+        }
+        Collection<CollectedResource> resources = CollectedResource.fromFiles(tmpDir, files.toArray(new File[0]));
+
+        List<Process> sequential = ProcessCodegen.parseProcesses(files);
+        ProcessCodegen parallel = ProcessCodegen.ofCollectedResources(resources);
+
+        assertThat(paths(configure(parallel))).isEqualTo(paths(configure(new ProcessCodegen(sequential))));
+    }
+
+    private static List<String> paths(ProcessCodegen codegen) {
+        return codegen.generate().stream().map(GeneratedFile::relativePath).collect(Collectors.toList());
+    }
+
+    private static ProcessCodegen configure(ProcessCodegen codegen) {
+        GeneratorContext context = GeneratorContext.ofProperties(new Properties());
+        context.withBuildContext(new QuarkusKogitoBuildContext(className -> true));
+        codegen.setContext(context);
+        codegen.setPackageName("org.kie.kogito.app");
+        return codegen;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.codegen.process.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.NoSuchElementException;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.codegen.GeneratedFile;
+import org.kie.kogito.codegen.GeneratorContext;
+import org.kie.kogito.codegen.context.QuarkusKogitoBuildContext;
+import org.kie.kogito.codegen.data.Person;
+import org.kie.kogito.codegen.di.CDIDependencyInjectionAnnotator;
+
+import static com.github.javaparser.StaticJavaParser.parse;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSystemPersistenceGeneratorTest {
+
+    private static final String TEST_RESOURCES = "src/test/resources";
+    GeneratorContext context = GeneratorContext.ofResourcePath(new File(TEST_RESOURCES));
+    final Path targetDirectory = Paths.get("target");
+
+    @Test
+    void archiveIsConfigurable() {
+        context.withBuildContext(new QuarkusKogitoBuildContext((className -> true)));
+        PersistenceGenerator persistenceGenerator = new PersistenceGenerator(targetDirectory.toFile(), Collections.singleton(Person.class), true, null, null, Collections.emptyList(), PersistenceGenerator.FILESYSTEM_PERSISTENCE_TYPE);
+        persistenceGenerator.setPackageName(this.getClass().getPackage().getName());
+        persistenceGenerator.setContext(context);
+        persistenceGenerator.setDependencyInjection(new CDIDependencyInjectionAnnotator());
+        Collection<GeneratedFile> generatedFiles = persistenceGenerator.generate();
+
+        GeneratedFile classFile = generatedFiles.stream().filter(gf -> gf.getType() == GeneratedFile.Type.CLASS).findFirst()
+                .orElseThrow(() -> new NoSuchElementException("No class generated"));
+        assertThat(classFile.relativePath()).isEqualTo("org/kie/kogito/persistence/KogitoProcessInstancesFactoryImpl.java");
+
+        CompilationUnit compilationUnit = parse(new ByteArrayInputStream(classFile.contents()));
+        ClassOrInterfaceDeclaration classDeclaration = compilationUnit.findFirst(ClassOrInterfaceDeclaration.class).get();
+
+        assertThat(configProperty(classDeclaration, "archivePath")).isEqualTo("kogito.persistence.filesystem.archive.path");
+        assertThat(configProperty(classDeclaration, "archiveRetention")).isEqualTo("kogito.persistence.filesystem.archive.retention");
+
+        MethodDeclaration retention = classDeclaration.getMethodsByName("archiveRetention").get(0);
+        assertThat(retention.getTypeAsString()).isEqualTo("java.time.Duration");
+        assertThat(retention.getBody().get().toString()).contains("archiveRetention.map(java.time.Duration::parse).orElse(null)");
+    }
+
+    private static String configProperty(ClassOrInterfaceDeclaration classDeclaration, String field) {
+        FieldDeclaration declaration = classDeclaration.getFieldByName(field).orElseThrow(() -> new NoSuchElementException("No field " + field));
+        return declaration.getAnnotationByName("ConfigProperty").get().asNormalAnnotationExpr().getPairs().get(0).getValue().asStringLiteralExpr().asString();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.codegen.rules;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.drools.compiler.compiler.DecisionTableFactory;
+import org.drools.compiler.compiler.DecisionTableProvider;
+import org.drools.compiler.lang.descr.PackageDescr;
+import org.drools.core.builder.conf.impl.DecisionTableConfigurationImpl;
+import org.drools.core.io.impl.ByteArrayResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.api.internal.utils.ServiceRegistry;
+import org.kie.api.io.Resource;
+import org.kie.internal.builder.DecisionTableConfiguration;
+import org.kie.internal.builder.DecisionTableInputType;
+import org.kie.internal.builder.conf.LanguageLevelOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DecisionTableDrlCacheTest {
+
+    @BeforeEach
+    public void setup() {
+        DecisionTableFactory.setDecisionTableProvider(ServiceRegistry.getInstance().get(DecisionTableProvider.class));
+    }
+
+    @Test
+    public void convertOnlyChangedTables(@TempDir Path directory) throws Exception {
+        DecisionTableConfiguration conf = csvConfiguration();
+        Resource table = decisionTable("Discounts", 10);
+
+        DecisionTableDrlCache cache = new DecisionTableDrlCache(directory);
+        String drl = cache.getDrl(table, conf);
+        assertEquals(DecisionTableFactory.loadFromResource(table, conf), drl);
+        assertTrue(drl.contains("rule \"Discounts_"));
+        assertEquals(drl, cache.getDrl(table, conf));
+        assertEquals(1, cache.getConversions());
+
+        // as a following build would do
+        DecisionTableDrlCache nextBuild = new DecisionTableDrlCache(directory);
+        assertEquals(drl, nextBuild.getDrl(decisionTable("Discounts", 10), conf));
+        assertEquals(0, nextBuild.getConversions());
+
+        String changed = nextBuild.getDrl(decisionTable("Discounts", 11), conf);
+        assertNotEquals(drl, changed);
+        assertEquals(1, nextBuild.getConversions());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.filter(file -> file.toString().endsWith(".drl")).count());
+        }
+    }
+
+    @Test
+    public void rulesReferToTheDecisionTable(@TempDir Path directory) {
+        DecisionTableConfiguration conf = csvConfiguration();
+        Resource table = decisionTable("Discounts", 10);
+        new DecisionTableDrlCache(directory).load(Collections.singletonList(new AbstractMap.SimpleEntry<>(table, conf)));
+
+        DecisionTableDrlCache nextBuild = new DecisionTableDrlCache(directory);
+        PackageDescr packageDescr = nextBuild.getPackageDescr(table, conf, LanguageLevelOption.DRL6).get();
+
+        assertEquals(0, nextBuild.getConversions());
+        assertEquals("org.kie.kogito.codegen.rules.dtable", packageDescr.getName());
+        assertEquals(10, packageDescr.getRules().size());
+        assertSame(table, packageDescr.getResource());
+        assertEquals("org/kie/kogito/codegen/rules/dtable/Discounts.csv", packageDescr.getResource().getSourcePath());
+    }
+
+    @Test
+    public void pruneEntriesOfChangedAndRemovedTables(@TempDir Path directory) throws Exception {
+        DecisionTableConfiguration conf = csvConfiguration();
+        List<Map.Entry<Resource, DecisionTableConfiguration>> tables = new ArrayList<>();
+        tables.add(new AbstractMap.SimpleEntry<>(decisionTable("Kept", 10), conf));
+        tables.add(new AbstractMap.SimpleEntry<>(decisionTable("Changed", 10), conf));
+        tables.add(new AbstractMap.SimpleEntry<>(decisionTable("Removed", 10), conf));
+        DecisionTableDrlCache cache = new DecisionTableDrlCache(directory);
+        cache.load(tables);
+        cache.prune();
+        assertEquals(3, cachedFiles(directory));
+
+        DecisionTableDrlCache nextBuild = new DecisionTableDrlCache(directory);
+        nextBuild.load(Arrays.asList(tables.get(0), new AbstractMap.SimpleEntry<>(decisionTable("Changed", 11), conf)));
+        nextBuild.prune();
+
+        assertEquals(1, nextBuild.getConversions());
+        assertEquals(2, cachedFiles(directory));
+        DecisionTableDrlCache lastBuild = new DecisionTableDrlCache(directory);
+        lastBuild.load(Collections.singletonList(tables.get(0)));
+        assertEquals(0, lastBuild.getConversions());
+    }
+
+    private static long cachedFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".drl")).count();
+        }
+    }
+
+    private static DecisionTableConfiguration csvConfiguration() {
+        DecisionTableConfiguration conf = new DecisionTableConfigurationImpl();
+        conf.setInputType(DecisionTableInputType.CSV);
+        return conf;
+    }
+
+    private static Resource decisionTable(String name, int rows) {
+        StringBuilder csv = new StringBuilder();
+        csv.append("RuleSet,org.kie.kogito.codegen.rules.dtable\n")
+                .append("Import,java.util.Map\n")
+                .append("\n")
+                .append("RuleTable ").append(name).append('\n')
+                .append("CONDITION,ACTION\n")
+                .append("$m : Map,\n")
+                .append("size > $param,System.out.println($param);\n")
+                .append("Min size,Discount\n");
+        for (int row = 0; row < rows; row++) {
+            csv.append(row).append(',').append(row % 50).append('\n');
+        }
+        ByteArrayResource resource = new ByteArrayResource(csv.toString().getBytes(StandardCharsets.UTF_8));
+        resource.setSourcePath("org/kie/kogito/codegen/rules/dtable/" + name + ".csv");
+        return resource;
+    }
+}
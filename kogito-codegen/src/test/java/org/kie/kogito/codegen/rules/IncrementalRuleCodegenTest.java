@@ -16,6 +16,7 @@
 package org.kie.kogito.codegen.rules;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
@@ -24,6 +25,7 @@ import org.drools.compiler.compiler.DecisionTableFactory;
 import org.drools.compiler.compiler.DecisionTableProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.kie.api.internal.utils.ServiceRegistry;
 import org.kie.api.io.ResourceType;
 import org.kie.kogito.codegen.AddonsConfig;
@@ -104,6 +106,24 @@ public class IncrementalRuleCodegenTest {
         assertRules(2, 1, generatedFiles.size() - externalizedLambda);
     }
 
+    @Test
+    public void generateSingleDtableWithCache(@TempDir Path cache) {
+        for (int build = 0; build < 2; build++) {
+            IncrementalRuleCodegen incrementalRuleCodegen =
+                    IncrementalRuleCodegen.ofCollectedResources(
+                            CollectedResource.fromFiles(
+                                    Paths.get("src/test/resources"),
+                                    new File("src/test/resources/org/drools/simple/candrink/CanDrink.xls")))
+                            .withDecisionTableCache(cache);
+            incrementalRuleCodegen.setPackageName("com.acme");
+
+            List<GeneratedFile> generatedFiles = incrementalRuleCodegen.withHotReloadMode().generate();
+            int externalizedLambda = 5;
+            assertRules(2, 1, generatedFiles.size() - externalizedLambda);
+        }
+        assertEquals(1, cache.toFile().list((dir, name) -> name.endsWith(".drl")).length);
+    }
+
     @Test
     public void generateSingleUnit() {
         IncrementalRuleCodegen incrementalRuleCodegen =
@@ -260,7 +260,7 @@ public class GenerateModelMojo extends AbstractKieMojo {
         // if not null, the property has been overridden, and we should use the specified value
 
         if (generateProcesses()) {
-            appGen.withGenerator(ProcessCodegen.ofCollectedResources(CollectedResource.fromDirectory(kieSourcesDirectory.toPath())))
+            appGen.withGenerator(ProcessCodegen.ofCollectedResources(context, CollectedResource.fromDirectory(kieSourcesDirectory.toPath())))
                     .withAddons(addonsConfig)
                     .withClassLoader(projectClassLoader);
         }
@@ -271,7 +271,8 @@ public class GenerateModelMojo extends AbstractKieMojo {
                     .withKModule(getKModuleModel())
                     .withClassLoader(projectClassLoader)
                     .withAddons(addonsConfig)
-                    .withRestServices(useRestServices);
+                    .withRestServices(useRestServices)
+                    .withDecisionTableCache(targetDirectory.toPath().resolve(IncrementalRuleCodegen.DECISION_TABLE_CACHE_DIRECTORY));
         }
 
         boolean isJPMMLAvailable = hasClassOnClasspath(project, "org.kie.dmn.jpmml.DMNjPMMLInvocationEvaluator");
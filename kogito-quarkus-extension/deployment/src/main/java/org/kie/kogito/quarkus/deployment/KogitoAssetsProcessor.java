@@ -187,14 +187,15 @@ public class KogitoAssetsProcessor {
 
         // configure each individual generator. Ordering is relevant.
 
-        appGen.withGenerator(ProcessCodegen.ofCollectedResources(CollectedResource.fromPaths(paths)))
+        appGen.withGenerator(ProcessCodegen.ofCollectedResources(context, CollectedResource.fromPaths(paths)))
                 .withAddons(addonsConfig)
                 .withClassLoader(classLoader);
 
         appGen.withGenerator(IncrementalRuleCodegen.ofCollectedResources(CollectedResource.fromPaths(paths)))
                 .withKModule(findKieModuleModel(appPaths))
                 .withAddons(addonsConfig)
-                .withClassLoader(classLoader);
+                .withClassLoader(classLoader)
+                .withDecisionTableCache(appPaths.getFirstProjectPath().resolve("target").resolve(IncrementalRuleCodegen.DECISION_TABLE_CACHE_DIRECTORY));
 
         appGen.withGenerator(PredictionCodegen.ofCollectedResources(isJPMMLAvailable, CollectedResource.fromPaths(paths)))
                 .withAddons(addonsConfig);